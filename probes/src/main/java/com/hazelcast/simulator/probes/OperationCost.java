@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.probes;
+
+import static java.lang.String.format;
+import static java.util.Locale.US;
+
+/**
+ * The cost of recorded operations for the load generator, e.g. the CPU time and the allocated bytes of the recording threads.
+ *
+ * The values are sampled per thread over a batch of operations, so they include the overhead of the test between two
+ * operations. If a metric is not supported by the JVM, its value is always zero.
+ */
+public final class OperationCost {
+
+    private static final double NANOS_PER_MICRO = 1000d;
+
+    private final long operationCount;
+    private final long cpuTimeNanos;
+    private final long allocatedBytes;
+
+    public OperationCost(long operationCount, long cpuTimeNanos, long allocatedBytes) {
+        this.operationCount = operationCount;
+        this.cpuTimeNanos = cpuTimeNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public long getOperationCount() {
+        return operationCount;
+    }
+
+    public long getCpuTimeNanos() {
+        return cpuTimeNanos;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public double getCpuTimeNanosPerOperation() {
+        return (operationCount == 0) ? 0 : cpuTimeNanos / (double) operationCount;
+    }
+
+    public double getAllocatedBytesPerOperation() {
+        return (operationCount == 0) ? 0 : allocatedBytes / (double) operationCount;
+    }
+
+    /**
+     * Returns the sum of this and another {@link OperationCost}.
+     *
+     * @param other the {@link OperationCost} to add, can be <tt>null</tt>
+     * @return a new {@link OperationCost} with the summed values
+     */
+    public OperationCost add(OperationCost other) {
+        if (other == null) {
+            return this;
+        }
+        return new OperationCost(operationCount + other.operationCount, cpuTimeNanos + other.cpuTimeNanos,
+                allocatedBytes + other.allocatedBytes);
+    }
+
+    @Override
+    public String toString() {
+        return format(US, "%.2f us CPU/op, %.2f bytes allocated/op, %d sampled ops",
+                getCpuTimeNanosPerOperation() / NANOS_PER_MICRO, getAllocatedBytesPerOperation(), operationCount);
+    }
+}
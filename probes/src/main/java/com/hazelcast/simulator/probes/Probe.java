@@ -53,6 +53,18 @@ public interface Probe {
      */
     void recordValue(long latencyNanos);
 
+    /**
+     * Adds a latency value in nanoseconds to the probe result and corrects it for coordinated omission.
+     *
+     * If the latency value is larger than the expected interval between two operations, the probe will also record the values
+     * of the operations which should have been executed in the meantime (see
+     * {@link org.HdrHistogram.Recorder#recordValueWithExpectedInterval(long, long)}).
+     *
+     * @param latencyNanos          latency value in nanoseconds
+     * @param expectedIntervalNanos expected interval between two operations in nanoseconds
+     */
+    void recordValue(long latencyNanos, long expectedIntervalNanos);
+
     /**
      * Get an interval {@link Histogram}, which will include a stable, consistent view of all latency values accumulated since the
      * last interval histogram was taken.
@@ -62,4 +74,13 @@ public interface Probe {
      * @return a {@link Histogram} containing the latency values accumulated since the last interval histogram was taken
      */
     Histogram getIntervalHistogram();
+
+    /**
+     * Get the {@link OperationCost} of all recording threads, which accumulated since the last interval cost was taken.
+     *
+     * Resets the cost values and starts accumulating them for the next interval.
+     *
+     * @return the {@link OperationCost} of the last interval or <tt>null</tt> if operation cost accounting is disabled
+     */
+    OperationCost getIntervalOperationCost();
 }
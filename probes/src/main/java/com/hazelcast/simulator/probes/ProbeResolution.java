@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.probes;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Defines the resolution of the latency values which are recorded by a {@link Probe}.
+ */
+public enum ProbeResolution {
+
+    MICROSECONDS(TimeUnit.MICROSECONDS, "µs"),
+    NANOSECONDS(TimeUnit.NANOSECONDS, "ns");
+
+    private static final long DEFAULT_MAXIMUM_LATENCY_SECONDS = 60;
+
+    private final TimeUnit timeUnit;
+    private final String symbol;
+
+    ProbeResolution(TimeUnit timeUnit, String symbol) {
+        this.timeUnit = timeUnit;
+        this.symbol = symbol;
+    }
+
+    /**
+     * Returns the unit symbol of this resolution, e.g. for log output.
+     *
+     * @return the unit symbol
+     */
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Returns the default highest trackable latency value in this resolution.
+     *
+     * @return the default highest trackable value
+     */
+    public long getDefaultHighestTrackableValue() {
+        return timeUnit.convert(DEFAULT_MAXIMUM_LATENCY_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Converts a nanosecond value into this resolution.
+     *
+     * @param nanos the value in nanoseconds
+     * @return the value in this resolution
+     */
+    public long fromNanos(long nanos) {
+        return timeUnit.convert(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Converts a value of this resolution into microseconds.
+     *
+     * @param value the value in this resolution
+     * @return the value in microseconds
+     */
+    public long toMicros(long value) {
+        return timeUnit.toMicros(value);
+    }
+
+    /**
+     * Returns the number of values of this resolution per microsecond.
+     *
+     * Can be used as output value unit scaling ratio for {@link org.HdrHistogram.Histogram}, to print all values in microseconds.
+     *
+     * @return the scaling ratio to microseconds
+     */
+    public double getMicrosScalingRatio() {
+        return timeUnit.convert(1, TimeUnit.MICROSECONDS);
+    }
+}
@@ -27,6 +27,13 @@ public interface Result {
 
     double getThroughput();
 
+    /**
+     * Returns the {@link ProbeResolution} of the latency values in the histograms of this result.
+     *
+     * @return the {@link ProbeResolution} of this result
+     */
+    ProbeResolution getResolution();
+
     boolean isEmpty();
 
     void addHistogram(String probeName, Histogram histogram);
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.probes.binary;
+
+import com.hazelcast.simulator.probes.ProbeResolution;
+import com.hazelcast.simulator.probes.Result;
+import com.hazelcast.simulator.probes.impl.ResultImpl;
+import com.hazelcast.simulator.utils.FileUtilsException;
+import org.HdrHistogram.Histogram;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Set;
+
+import static com.hazelcast.simulator.utils.CommonUtils.closeQuietly;
+import static org.HdrHistogram.Histogram.decodeFromCompressedByteBuffer;
+
+/**
+ * Reads and writes a {@link Result} in a compact binary format.
+ *
+ * The format consists of a length-prefixed header with the test name, invocations, throughput, {@link ProbeResolution} and the
+ * number of probes, followed by the probe name and the length-prefixed compressed HdrHistogram encoding per probe. In contrast
+ * to the XML format the histograms don't have to be Base64 encoded, so results can be written and loaded much faster.
+ */
+public final class ResultBinaryUtils {
+
+    public static final String FILE_EXTENSION = "hprb";
+
+    static final int MAGIC_NUMBER = 0x48505242;
+    static final int FORMAT_VERSION = 1;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ResultBinaryUtils() {
+    }
+
+    public static void toBinary(Result result, File file) {
+        OutputStream outputStream = null;
+        try {
+            outputStream = new FileOutputStream(file);
+            toBinary(result, outputStream);
+        } catch (IOException e) {
+            throw new FileUtilsException("Could not write probe result to " + file.getAbsolutePath(), e);
+        } finally {
+            closeQuietly(outputStream);
+        }
+    }
+
+    public static void toBinary(Result result, OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream, BUFFER_SIZE));
+
+        Set<String> probeNames = result.probeNames();
+        writeHeader(result, probeNames.size(), out);
+
+        ByteBuffer buffer = null;
+        for (String probeName : probeNames) {
+            Histogram histogram = result.getHistogram(probeName);
+            int neededCapacity = histogram.getNeededByteBufferCapacity();
+            if (buffer == null || buffer.capacity() < neededCapacity) {
+                buffer = ByteBuffer.allocate(neededCapacity);
+            }
+            buffer.clear();
+            int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+
+            out.writeUTF(probeName);
+            out.writeInt(length);
+            out.write(buffer.array(), 0, length);
+        }
+        out.flush();
+    }
+
+    public static Result fromBinary(File file) {
+        InputStream inputStream = null;
+        try {
+            inputStream = new FileInputStream(file);
+            return fromBinary(inputStream);
+        } catch (IOException e) {
+            throw new FileUtilsException("Could not read probe result from " + file.getAbsolutePath(), e);
+        } finally {
+            closeQuietly(inputStream);
+        }
+    }
+
+    public static Result fromBinary(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream, BUFFER_SIZE));
+
+        int magicNumber = in.readInt();
+        if (magicNumber != MAGIC_NUMBER) {
+            throw new IllegalArgumentException("Not a binary probe result (invalid magic number)");
+        }
+        int formatVersion = in.readInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported binary probe result format version " + formatVersion);
+        }
+
+        // the header length allows future versions to append fields, which are skipped by this reader
+        int headerLength = in.readInt();
+        byte[] header = new byte[headerLength];
+        in.readFully(header);
+        DataInputStream headerIn = new DataInputStream(new ByteArrayInputStream(header));
+
+        String testName = headerIn.readUTF();
+        long invocations = headerIn.readLong();
+        double throughput = headerIn.readDouble();
+        ProbeResolution resolution = ProbeResolution.valueOf(headerIn.readUTF());
+        int probeCount = headerIn.readInt();
+
+        Result result = new ResultImpl(testName, invocations, throughput, resolution);
+        byte[] bytes = new byte[0];
+        for (int i = 0; i < probeCount; i++) {
+            String probeName = in.readUTF();
+            int length = in.readInt();
+            if (bytes.length < length) {
+                bytes = new byte[length];
+            }
+            in.readFully(bytes, 0, length);
+            result.addHistogram(probeName, decodeHistogram(probeName, bytes, length));
+        }
+        return result;
+    }
+
+    private static void writeHeader(Result result, int probeCount, DataOutputStream out) throws IOException {
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        header.writeUTF(result.getTestName());
+        header.writeLong(result.getInvocations());
+        header.writeDouble(result.getThroughput());
+        header.writeUTF(result.getResolution().name());
+        header.writeInt(probeCount);
+        header.flush();
+
+        out.writeInt(MAGIC_NUMBER);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(headerBytes.size());
+        headerBytes.writeTo(out);
+    }
+
+    private static Histogram decodeHistogram(String probeName, byte[] bytes, int length) {
+        try {
+            return decodeFromCompressedByteBuffer(ByteBuffer.wrap(bytes, 0, length), 0);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Could not parse histogram of probe " + probeName, e);
+        }
+    }
+}
@@ -15,27 +15,96 @@
  */
 package com.hazelcast.simulator.probes.impl;
 
+import com.hazelcast.simulator.probes.OperationCost;
 import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.ProbeResolution;
 import org.HdrHistogram.Histogram;
-import org.HdrHistogram.Recorder;
+import org.HdrHistogram.SingleWriterRecorder;
 
-import java.util.concurrent.TimeUnit;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * Measures the latency distribution of a test.
+ * {@link Probe} implementation with an individual {@link SingleWriterRecorder} per recording thread.
+ *
+ * The recording threads don't contend on a shared recorder and {@link #started()}/{@link #done()} don't allocate. The values of
+ * all threads are merged in {@link #getIntervalHistogram()}.
+ *
+ * The latency values are recorded with a configurable {@link ProbeResolution}, highest trackable value and number of significant
+ * value digits.
+ *
+ * The recorder of a terminated thread is removed after its final values have been drained, so short-lived recording threads
+ * don't accumulate.
+ *
+ * Optionally the probe accounts the {@link OperationCost} of the recording threads. Every recording thread samples its CPU time
+ * and allocated bytes after a configurable number of recorded operations, so the cost of the sampling is amortized over a batch
+ * of operations.
  */
 public class ProbeImpl implements Probe {
 
-    public static final long MAXIMUM_LATENCY = TimeUnit.SECONDS.toMicros(60);
+    public static final long MAXIMUM_LATENCY = ProbeResolution.MICROSECONDS.getDefaultHighestTrackableValue();
     public static final int LATENCY_PRECISION = 4;
 
-    private final Recorder recorder = new Recorder(MAXIMUM_LATENCY, LATENCY_PRECISION);
-    private final ThreadLocal<Long> threadLocalStarted = new ThreadLocal<Long>();
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private final List<ThreadRecorder> threadRecorders = new CopyOnWriteArrayList<ThreadRecorder>();
+    private final ThreadLocal<ThreadRecorder> threadLocalRecorder = new ThreadLocal<ThreadRecorder>() {
+        @Override
+        protected ThreadRecorder initialValue() {
+            ThreadRecorder threadRecorder = new ThreadRecorder(Thread.currentThread(), numberOfSignificantValueDigits,
+                    costSampleInterval > 0);
+            threadRecorders.add(threadRecorder);
+            return threadRecorder;
+        }
+    };
 
     private final boolean isThroughputProbe;
+    private final ProbeResolution resolution;
+    private final long highestTrackableValue;
+    private final int numberOfSignificantValueDigits;
+    private final int costSampleInterval;
+
+    private long intervalStartTimestamp = System.currentTimeMillis();
 
     public ProbeImpl(boolean isThroughputProbe) {
+        this(isThroughputProbe, ProbeResolution.MICROSECONDS, MAXIMUM_LATENCY, LATENCY_PRECISION);
+    }
+
+    /**
+     * Creates a probe with a custom resolution.
+     *
+     * @param isThroughputProbe              <tt>true</tt> if probe is relevant for throughput, <tt>false</tt> otherwise
+     * @param resolution                     the {@link ProbeResolution} of the recorded latency values
+     * @param highestTrackableValue          the highest trackable latency value in the given resolution, larger values are
+     *                                       recorded as this value
+     * @param numberOfSignificantValueDigits the number of significant decimal digits of the recorded latency values
+     */
+    public ProbeImpl(boolean isThroughputProbe, ProbeResolution resolution, long highestTrackableValue,
+                     int numberOfSignificantValueDigits) {
+        this(isThroughputProbe, resolution, highestTrackableValue, numberOfSignificantValueDigits, 0);
+    }
+
+    /**
+     * Creates a probe with a custom resolution and optional operation cost accounting.
+     *
+     * @param isThroughputProbe              <tt>true</tt> if probe is relevant for throughput, <tt>false</tt> otherwise
+     * @param resolution                     the {@link ProbeResolution} of the recorded latency values
+     * @param highestTrackableValue          the highest trackable latency value in the given resolution, larger values are
+     *                                       recorded as this value
+     * @param numberOfSignificantValueDigits the number of significant decimal digits of the recorded latency values
+     * @param costSampleInterval             the number of recorded operations per thread between two samples of the
+     *                                       {@link OperationCost}, <tt>0</tt> disables the operation cost accounting
+     */
+    public ProbeImpl(boolean isThroughputProbe, ProbeResolution resolution, long highestTrackableValue,
+                     int numberOfSignificantValueDigits, int costSampleInterval) {
+        if (costSampleInterval < 0) {
+            throw new IllegalArgumentException("costSampleInterval cannot be negative, but was " + costSampleInterval);
+        }
+        this.costSampleInterval = costSampleInterval;
         this.isThroughputProbe = isThroughputProbe;
+        this.resolution = resolution;
+        this.highestTrackableValue = highestTrackableValue;
+        this.numberOfSignificantValueDigits = numberOfSignificantValueDigits;
     }
 
     @Override
@@ -45,18 +114,18 @@ public class ProbeImpl implements Probe {
 
     @Override
     public void started() {
-        long now = System.nanoTime();
-        threadLocalStarted.set(now);
+        threadLocalRecorder.get().started = System.nanoTime();
     }
 
     @Override
     public void done() {
         long now = System.nanoTime();
-        Long started = threadLocalStarted.get();
-        if (started == null) {
+        ThreadRecorder threadRecorder = threadLocalRecorder.get();
+        if (threadRecorder.started == NOT_STARTED) {
             throw new IllegalStateException("You have to call started() before done()");
         }
-        recordValue(now - started);
+        threadRecorder.recorder.recordValue(getLatency(now - threadRecorder.started));
+        recordCost(threadRecorder);
     }
 
     @Override
@@ -69,12 +138,153 @@ public class ProbeImpl implements Probe {
 
     @Override
     public void recordValue(long latencyNanos) {
-        int latencyMicros = (int) TimeUnit.NANOSECONDS.toMicros(latencyNanos);
-        recorder.recordValue(latencyMicros > MAXIMUM_LATENCY ? MAXIMUM_LATENCY : (latencyMicros < 0 ? 0 : latencyMicros));
+        ThreadRecorder threadRecorder = threadLocalRecorder.get();
+        threadRecorder.recorder.recordValue(getLatency(latencyNanos));
+        recordCost(threadRecorder);
     }
 
     @Override
-    public Histogram getIntervalHistogram() {
-        return recorder.getIntervalHistogram();
+    public void recordValue(long latencyNanos, long expectedIntervalNanos) {
+        long expectedInterval = resolution.fromNanos(expectedIntervalNanos);
+        ThreadRecorder threadRecorder = threadLocalRecorder.get();
+        threadRecorder.recorder.recordValueWithExpectedInterval(getLatency(latencyNanos), expectedInterval);
+        recordCost(threadRecorder);
+    }
+
+    @Override
+    public synchronized Histogram getIntervalHistogram() {
+        Histogram intervalHistogram = new Histogram(highestTrackableValue, numberOfSignificantValueDigits);
+        for (ThreadRecorder threadRecorder : threadRecorders) {
+            // a terminated thread cannot record anymore, so this is the final interval of its recorder
+            boolean isTerminated = !threadRecorder.thread.isAlive();
+            threadRecorder.intervalHistogram = threadRecorder.recorder.getIntervalHistogram(threadRecorder.intervalHistogram);
+            intervalHistogram.add(threadRecorder.intervalHistogram);
+            if (isTerminated) {
+                threadRecorder.isHistogramDrained = true;
+                removeIfDrained(threadRecorder);
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        intervalHistogram.setStartTimeStamp(intervalStartTimestamp);
+        intervalHistogram.setEndTimeStamp(now);
+        intervalStartTimestamp = now;
+
+        return intervalHistogram;
+    }
+
+    @Override
+    public synchronized OperationCost getIntervalOperationCost() {
+        if (costSampleInterval == 0) {
+            return null;
+        }
+        OperationCost intervalCost = new OperationCost(0, 0, 0);
+        for (ThreadRecorder threadRecorder : threadRecorders) {
+            boolean isTerminated = !threadRecorder.thread.isAlive();
+            intervalCost = intervalCost.add(threadRecorder.getIntervalCost());
+            if (isTerminated) {
+                threadRecorder.isCostDrained = true;
+                removeIfDrained(threadRecorder);
+            }
+        }
+        return intervalCost;
+    }
+
+    /**
+     * Returns the {@link ProbeResolution} of the recorded latency values.
+     *
+     * @return the {@link ProbeResolution} of this probe
+     */
+    public ProbeResolution getResolution() {
+        return resolution;
+    }
+
+    // package-private for testing
+    int getThreadRecorderCount() {
+        return threadRecorders.size();
+    }
+
+    private void removeIfDrained(ThreadRecorder threadRecorder) {
+        if (threadRecorder.isHistogramDrained && (costSampleInterval == 0 || threadRecorder.isCostDrained)) {
+            threadRecorders.remove(threadRecorder);
+        }
+    }
+
+    private void recordCost(ThreadRecorder threadRecorder) {
+        if (costSampleInterval == 0) {
+            return;
+        }
+        threadRecorder.operationsSinceCostSample++;
+        if (threadRecorder.operationsSinceCostSample >= costSampleInterval) {
+            threadRecorder.sampleCost();
+        }
+    }
+
+    private long getLatency(long latencyNanos) {
+        long latency = resolution.fromNanos(latencyNanos);
+        return latency > highestTrackableValue ? highestTrackableValue : (latency < 0 ? 0 : latency);
+    }
+
+    private static final class ThreadRecorder {
+
+        // auto-resizing, so the memory footprint per thread just grows with the recorded latency range
+        private final SingleWriterRecorder recorder;
+        private final Thread thread;
+
+        private Histogram intervalHistogram;
+        private long started = NOT_STARTED;
+
+        // the cost values are just written by the recording thread, the sampled values are read by the interval cost
+        private int operationsSinceCostSample;
+        private long lastCpuTimeNanos;
+        private long lastAllocatedBytes;
+        private volatile long costOperationCount;
+        private volatile long cpuTimeNanos;
+        private volatile long allocatedBytes;
+
+        private long reportedOperationCount;
+        private long reportedCpuTimeNanos;
+        private long reportedAllocatedBytes;
+
+        // just accessed by the synchronized interval methods of the probe
+        private boolean isHistogramDrained;
+        private boolean isCostDrained;
+
+        private ThreadRecorder(Thread thread, int numberOfSignificantValueDigits, boolean isCostEnabled) {
+            this.recorder = new SingleWriterRecorder(numberOfSignificantValueDigits);
+            this.thread = thread;
+            if (isCostEnabled) {
+                // the recorder is created by the recording thread, so this is the baseline of the first sample
+                this.lastCpuTimeNanos = ThreadCostUtils.getCurrentThreadCpuTime();
+                this.lastAllocatedBytes = ThreadCostUtils.getCurrentThreadAllocatedBytes();
+            }
+        }
+
+        private void sampleCost() {
+            long currentCpuTimeNanos = ThreadCostUtils.getCurrentThreadCpuTime();
+            long currentAllocatedBytes = ThreadCostUtils.getCurrentThreadAllocatedBytes();
+
+            cpuTimeNanos += currentCpuTimeNanos - lastCpuTimeNanos;
+            allocatedBytes += currentAllocatedBytes - lastAllocatedBytes;
+            costOperationCount += operationsSinceCostSample;
+
+            lastCpuTimeNanos = currentCpuTimeNanos;
+            lastAllocatedBytes = currentAllocatedBytes;
+            operationsSinceCostSample = 0;
+        }
+
+        private OperationCost getIntervalCost() {
+            long currentOperationCount = costOperationCount;
+            long currentCpuTimeNanos = cpuTimeNanos;
+            long currentAllocatedBytes = allocatedBytes;
+
+            OperationCost intervalCost = new OperationCost(currentOperationCount - reportedOperationCount,
+                    currentCpuTimeNanos - reportedCpuTimeNanos, currentAllocatedBytes - reportedAllocatedBytes);
+
+            reportedOperationCount = currentOperationCount;
+            reportedCpuTimeNanos = currentCpuTimeNanos;
+            reportedAllocatedBytes = currentAllocatedBytes;
+            return intervalCost;
+        }
     }
 }
@@ -15,6 +15,7 @@
  */
 package com.hazelcast.simulator.probes.impl;
 
+import com.hazelcast.simulator.probes.ProbeResolution;
 import com.hazelcast.simulator.probes.Result;
 import org.HdrHistogram.Histogram;
 
@@ -31,13 +32,19 @@ public class ResultImpl implements Result {
     private final String testName;
     private final long invocations;
     private final double throughput;
+    private final ProbeResolution resolution;
 
     private final Map<String, Histogram> probeHistogramMap;
 
     public ResultImpl(String testName, long invocations, double throughput) {
+        this(testName, invocations, throughput, ProbeResolution.MICROSECONDS);
+    }
+
+    public ResultImpl(String testName, long invocations, double throughput, ProbeResolution resolution) {
         this.testName = testName;
         this.invocations = invocations;
         this.throughput = throughput;
+        this.resolution = resolution;
 
         this.probeHistogramMap = new HashMap<String, Histogram>();
     }
@@ -57,6 +64,12 @@ public class ResultImpl implements Result {
         return throughput;
     }
 
+    @Override
+    public ProbeResolution getResolution() {
+        // results which have been written before the resolution was configurable are always in microseconds
+        return (resolution == null ? ProbeResolution.MICROSECONDS : resolution);
+    }
+
     @Override
     public boolean isEmpty() {
         return probeHistogramMap.isEmpty();
@@ -100,7 +113,7 @@ public class ResultImpl implements Result {
             outputStream = new ByteArrayOutputStream();
             stream = new PrintStream(outputStream, true, "UTF-8");
 
-            histogram.outputPercentileDistribution(stream, 1.0);
+            histogram.outputPercentileDistribution(stream, getResolution().getMicrosScalingRatio());
             return new String(outputStream.toByteArray(), "UTF-8");
         } catch (Exception e) {
             return null;
@@ -0,0 +1,53 @@
+package com.hazelcast.simulator.probes;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class OperationCostTest {
+
+    @Test
+    public void testPerOperationValues() {
+        OperationCost cost = new OperationCost(4, 10000, 1024);
+
+        assertEquals(4, cost.getOperationCount());
+        assertEquals(10000, cost.getCpuTimeNanos());
+        assertEquals(1024, cost.getAllocatedBytes());
+        assertEquals(2500.0, cost.getCpuTimeNanosPerOperation(), 0.0001);
+        assertEquals(256.0, cost.getAllocatedBytesPerOperation(), 0.0001);
+    }
+
+    @Test
+    public void testPerOperationValues_withoutOperations() {
+        OperationCost cost = new OperationCost(0, 10000, 1024);
+
+        assertEquals(0.0, cost.getCpuTimeNanosPerOperation(), 0.0001);
+        assertEquals(0.0, cost.getAllocatedBytesPerOperation(), 0.0001);
+    }
+
+    @Test
+    public void testAdd() {
+        OperationCost cost = new OperationCost(4, 10000, 1024).add(new OperationCost(6, 5000, 2048));
+
+        assertEquals(10, cost.getOperationCount());
+        assertEquals(15000, cost.getCpuTimeNanos());
+        assertEquals(3072, cost.getAllocatedBytes());
+    }
+
+    @Test
+    public void testAdd_withNull() {
+        OperationCost cost = new OperationCost(4, 10000, 1024);
+
+        assertSame(cost, cost.add(null));
+    }
+
+    @Test
+    public void testToString() {
+        String text = new OperationCost(4, 10000, 1024).toString();
+
+        assertTrue(text.contains("2.50 us CPU/op"));
+        assertTrue(text.contains("256.00 bytes allocated/op"));
+    }
+}
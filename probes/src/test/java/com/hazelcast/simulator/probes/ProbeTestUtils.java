@@ -66,6 +66,7 @@ public final class ProbeTestUtils {
     public static void assertEqualsResult(Result firstResult, Result secondResult) {
         assertEquals(firstResult.getInvocations(), secondResult.getInvocations());
         assertEquals(firstResult.getThroughput(), secondResult.getThroughput(), 0.0001);
+        assertEquals(firstResult.getResolution(), secondResult.getResolution());
         assertEquals(firstResult.probeNames(), secondResult.probeNames());
 
         for (String probeName : firstResult.probeNames()) {
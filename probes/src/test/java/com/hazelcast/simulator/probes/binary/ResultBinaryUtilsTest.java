@@ -0,0 +1,102 @@
+package com.hazelcast.simulator.probes.binary;
+
+import com.hazelcast.simulator.probes.ProbeResolution;
+import com.hazelcast.simulator.probes.Result;
+import com.hazelcast.simulator.probes.impl.ResultImpl;
+import com.hazelcast.simulator.utils.FileUtilsException;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+
+import static com.hazelcast.simulator.probes.ProbeTestUtils.assertEqualsResult;
+import static com.hazelcast.simulator.probes.ProbeTestUtils.createProbeResult;
+import static com.hazelcast.simulator.probes.ProbeTestUtils.createRandomHistogram;
+import static com.hazelcast.simulator.probes.binary.ResultBinaryUtils.fromBinary;
+import static com.hazelcast.simulator.probes.binary.ResultBinaryUtils.toBinary;
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.ReflectionUtils.invokePrivateConstructor;
+
+public class ResultBinaryUtilsTest {
+
+    private final File resultFile = new File("tmpProbeResult." + ResultBinaryUtils.FILE_EXTENSION);
+
+    @After
+    public void tearDown() {
+        deleteQuiet(resultFile);
+    }
+
+    @Test
+    public void testConstructor() throws Exception {
+        invokePrivateConstructor(ResultBinaryUtils.class);
+    }
+
+    @Test
+    public void testProbeResult() {
+        Result expected = createProbeResult(1);
+        Result actual = serializeAndDeserializeAgain(expected);
+        assertEqualsResult(expected, actual);
+    }
+
+    @Test
+    public void testProbeResult_multipleProbes() {
+        Result expected = createProbeResult(3);
+        Result actual = serializeAndDeserializeAgain(expected);
+        assertEqualsResult(expected, actual);
+    }
+
+    @Test
+    public void testProbeResult_emptyResult() {
+        Result expected = createProbeResult(0);
+        Result actual = serializeAndDeserializeAgain(expected);
+        assertEqualsResult(expected, actual);
+    }
+
+    @Test
+    public void testProbeResult_withNanosecondResolution() {
+        Result expected = new ResultImpl("NanosecondResolutionTest", 1000, 500.0, ProbeResolution.NANOSECONDS);
+        expected.addHistogram("probe", createRandomHistogram(1000));
+
+        Result actual = serializeAndDeserializeAgain(expected);
+        assertEqualsResult(expected, actual);
+    }
+
+    @Test
+    public void testProbeResult_withStreams() throws Exception {
+        Result expected = createProbeResult(2);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        toBinary(expected, outputStream);
+        Result actual = fromBinary(new ByteArrayInputStream(outputStream.toByteArray()));
+
+        assertEqualsResult(expected, actual);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testProbeResult_invalidMagicNumber() throws Exception {
+        fromBinary(new ByteArrayInputStream("invalid probe result".getBytes("UTF-8")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testProbeResult_invalidFormatVersion() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(ResultBinaryUtils.MAGIC_NUMBER);
+        out.writeInt(ResultBinaryUtils.FORMAT_VERSION + 1);
+
+        fromBinary(new ByteArrayInputStream(outputStream.toByteArray()));
+    }
+
+    @Test(expected = FileUtilsException.class)
+    public void testFromBinary_fileNotFound() {
+        fromBinary(new File("notFound." + ResultBinaryUtils.FILE_EXTENSION));
+    }
+
+    private Result serializeAndDeserializeAgain(Result result) {
+        toBinary(result, resultFile);
+        return fromBinary(resultFile);
+    }
+}
@@ -1,13 +1,20 @@
 package com.hazelcast.simulator.probes.impl;
 
+import com.hazelcast.simulator.probes.OperationCost;
 import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.ProbeResolution;
+import org.HdrHistogram.Histogram;
 import org.junit.Test;
 
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.simulator.probes.ProbeTestUtils.assertHistogram;
+import static com.hazelcast.simulator.probes.impl.ProbeImpl.LATENCY_PRECISION;
+import static com.hazelcast.simulator.probes.impl.ProbeImpl.MAXIMUM_LATENCY;
 import static com.hazelcast.simulator.utils.CommonUtils.sleepNanos;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class ProbeImplTest {
@@ -79,4 +86,133 @@ public class ProbeImplTest {
 
         assertHistogram(probe.getIntervalHistogram(), expectedCount, expectedMinValue, expectedMaxValue, expectedMeanValue);
     }
+
+    @Test
+    public void testRecordValue_withExpectedInterval() {
+        long latencyValue = 1000;
+        long expectedIntervalValue = 250;
+
+        probe.recordValue(TimeUnit.MILLISECONDS.toNanos(latencyValue), TimeUnit.MILLISECONDS.toNanos(expectedIntervalValue));
+
+        // the values of the three omitted operations (750, 500 and 250 ms) have to be recorded as well
+        assertHistogram(probe.getIntervalHistogram(), 4, expectedIntervalValue, latencyValue, 625);
+    }
+
+    @Test
+    public void testGetIntervalHistogram_withMultipleThreads() throws Exception {
+        int threadCount = 4;
+        final int recordCount = 1000;
+
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int record = 0; record < recordCount; record++) {
+                        probe.recordValue(TimeUnit.MILLISECONDS.toNanos(100));
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertHistogram(probe.getIntervalHistogram(), threadCount * recordCount, 100, 100, 100);
+        assertEquals(0, probe.getIntervalHistogram().getTotalCount());
+    }
+
+    @Test
+    public void testGetIntervalHistogram_removesRecordersOfTerminatedThreads() throws Exception {
+        probe.recordValue(TimeUnit.MILLISECONDS.toNanos(100));
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                probe.recordValue(TimeUnit.MILLISECONDS.toNanos(100));
+            }
+        };
+        thread.start();
+        thread.join();
+        assertEquals(2, probe.getThreadRecorderCount());
+
+        assertHistogram(probe.getIntervalHistogram(), 2, 100, 100, 100);
+        assertEquals(1, probe.getThreadRecorderCount());
+    }
+
+    @Test
+    public void testGetIntervalOperationCost_removesRecordersOfTerminatedThreadsAfterFinalCost() throws Exception {
+        final ProbeImpl costProbe = new ProbeImpl(true, ProbeResolution.MICROSECONDS, MAXIMUM_LATENCY, LATENCY_PRECISION, 1);
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                costProbe.recordValue(TimeUnit.MILLISECONDS.toNanos(100));
+            }
+        };
+        thread.start();
+        thread.join();
+
+        assertEquals(1, costProbe.getIntervalHistogram().getTotalCount());
+        assertEquals(1, costProbe.getThreadRecorderCount());
+
+        assertEquals(1, costProbe.getIntervalOperationCost().getOperationCount());
+        assertEquals(0, costProbe.getThreadRecorderCount());
+    }
+
+    @Test
+    public void testRecordValue_withNanosecondResolution() {
+        ProbeImpl nanosProbe = new ProbeImpl(false, ProbeResolution.NANOSECONDS, TimeUnit.SECONDS.toNanos(1), 3);
+
+        nanosProbe.recordValue(250);
+        nanosProbe.recordValue(750);
+        nanosProbe.recordValue(TimeUnit.SECONDS.toNanos(5));
+
+        Histogram histogram = nanosProbe.getIntervalHistogram();
+        assertEquals(ProbeResolution.NANOSECONDS, nanosProbe.getResolution());
+        assertEquals(3, histogram.getTotalCount());
+        assertEquals(250, histogram.getMinValue());
+        assertEquals(750, histogram.getValueAtPercentile(50));
+        assertTrue(histogram.valuesAreEquivalent(TimeUnit.SECONDS.toNanos(1), histogram.getMaxValue()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withNegativeCostSampleInterval() {
+        new ProbeImpl(false, ProbeResolution.MICROSECONDS, MAXIMUM_LATENCY, LATENCY_PRECISION, -1);
+    }
+
+    @Test
+    public void testGetIntervalOperationCost_disabled() {
+        probe.recordValue(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertNull(probe.getIntervalOperationCost());
+    }
+
+    @Test
+    public void testGetIntervalOperationCost() {
+        ProbeImpl costProbe = new ProbeImpl(true, ProbeResolution.MICROSECONDS, MAXIMUM_LATENCY, LATENCY_PRECISION, 10);
+
+        long[][] garbage = new long[25][];
+        for (int i = 0; i < 25; i++) {
+            garbage[i] = new long[1024];
+            costProbe.recordValue(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+
+        // just the completed batches of operations are accounted
+        OperationCost cost = costProbe.getIntervalOperationCost();
+        assertEquals(20, cost.getOperationCount());
+        assertTrue(garbage.length > 0);
+        if (ThreadCostUtils.isAllocatedBytesSupported()) {
+            assertTrue(cost.getAllocatedBytes() >= 10 * 1024 * 8);
+        }
+        if (ThreadCostUtils.isCpuTimeSupported()) {
+            assertTrue(cost.getCpuTimeNanos() >= 0);
+        }
+
+        assertEquals(0, costProbe.getIntervalOperationCost().getOperationCount());
+
+        for (int i = 0; i < 5; i++) {
+            costProbe.recordValue(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        assertEquals(10, costProbe.getIntervalOperationCost().getOperationCount());
+    }
 }
@@ -1,5 +1,6 @@
 package com.hazelcast.simulator.probes.xml;
 
+import com.hazelcast.simulator.probes.ProbeResolution;
 import com.hazelcast.simulator.probes.Result;
 import com.hazelcast.simulator.probes.impl.ResultImpl;
 import com.thoughtworks.xstream.converters.ConversionException;
@@ -9,6 +10,7 @@ import org.junit.Test;
 import static com.hazelcast.simulator.probes.ProbeTestUtils.assertEqualsResult;
 import static com.hazelcast.simulator.probes.ProbeTestUtils.cleanup;
 import static com.hazelcast.simulator.probes.ProbeTestUtils.createProbeResult;
+import static com.hazelcast.simulator.probes.ProbeTestUtils.createRandomHistogram;
 import static com.hazelcast.simulator.probes.ProbeTestUtils.getResultFile;
 import static com.hazelcast.simulator.probes.ProbeTestUtils.serializeAndDeserializeAgain;
 import static com.hazelcast.simulator.probes.xml.ResultXmlUtils.fromXml;
@@ -16,6 +18,7 @@ import static com.hazelcast.simulator.probes.xml.ResultXmlUtils.toXml;
 import static com.hazelcast.simulator.utils.FileUtils.writeText;
 import static com.hazelcast.simulator.utils.ReflectionUtils.invokePrivateConstructor;
 import static org.apache.commons.codec.binary.Base64.encodeBase64String;
+import static org.junit.Assert.assertEquals;
 
 public class ResultXmlUtilsTest {
 
@@ -50,6 +53,25 @@ public class ResultXmlUtilsTest {
         assertEqualsResult(expected, actual);
     }
 
+    @Test
+    public void testProbeResult_withNanosecondResolution() {
+        Result expected = new ResultImpl("NanosecondResolutionTest", 1000, 500.0, ProbeResolution.NANOSECONDS);
+        expected.addHistogram("probe", createRandomHistogram(1000));
+
+        Result actual = serializeAndDeserializeAgain(expected);
+        assertEqualsResult(expected, actual);
+    }
+
+    @Test
+    public void testProbeResult_withoutResolution() {
+        Result result = new ResultImpl("WithoutResolutionTest", 1000, 500.0);
+
+        String xml = toXml(result).replace("<resolution>MICROSECONDS</resolution>", "");
+        writeText(xml, getResultFile());
+
+        assertEquals(ProbeResolution.MICROSECONDS, fromXml(getResultFile()).getResolution());
+    }
+
     @Test(expected = ConversionException.class)
     public void testProbeResult_invalidHistogramXml() {
         Result result = new ResultImpl("InvalidHistogramXmlTest", 1000, 500.0);
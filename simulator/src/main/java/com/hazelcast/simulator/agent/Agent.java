@@ -20,6 +20,7 @@ import com.hazelcast.simulator.agent.workerjvm.WorkerJvmManager;
 import com.hazelcast.simulator.common.CoordinatorLogger;
 import com.hazelcast.simulator.common.ShutdownThread;
 import com.hazelcast.simulator.protocol.connector.AgentConnector;
+import com.hazelcast.simulator.protocol.connector.TransportType;
 import com.hazelcast.simulator.protocol.operation.OperationTypeCounter;
 import com.hazelcast.simulator.test.TestSuite;
 import org.apache.log4j.Logger;
@@ -55,6 +56,8 @@ public class Agent {
     private final String cloudIdentity;
     private final String cloudCredential;
 
+    private final TransportType transportType;
+
     private final WorkerJvmFailureMonitor workerJvmFailureMonitor;
     private final AgentConnector agentConnector;
     private final CoordinatorLogger coordinatorLogger;
@@ -62,7 +65,7 @@ public class Agent {
     private volatile TestSuite testSuite;
 
     public Agent(int addressIndex, String publicAddress, int port, String cloudProvider, String cloudIdentity,
-                 String cloudCredential, int threadPoolSize, int workerLastSeenTimeoutSeconds) {
+                 String cloudCredential, int threadPoolSize, int workerLastSeenTimeoutSeconds, TransportType transportType) {
         SHUTDOWN_STARTED.set(false);
 
         this.addressIndex = addressIndex;
@@ -73,9 +76,11 @@ public class Agent {
         this.cloudIdentity = cloudIdentity;
         this.cloudCredential = cloudCredential;
 
+        this.transportType = transportType;
+
         this.workerJvmFailureMonitor = new WorkerJvmFailureMonitor(this, workerJvmManager, workerLastSeenTimeoutSeconds);
 
-        this.agentConnector = AgentConnector.createInstance(this, workerJvmManager, port, threadPoolSize);
+        this.agentConnector = AgentConnector.createInstance(this, workerJvmManager, port, threadPoolSize, transportType);
         this.agentConnector.start();
 
         this.coordinatorLogger = new CoordinatorLogger(agentConnector);
@@ -104,6 +109,10 @@ public class Agent {
         return port;
     }
 
+    public TransportType getTransportType() {
+        return transportType;
+    }
+
     public AgentConnector getAgentConnector() {
         return agentConnector;
     }
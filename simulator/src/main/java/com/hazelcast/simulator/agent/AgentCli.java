@@ -15,6 +15,7 @@
  */
 package com.hazelcast.simulator.agent;
 
+import com.hazelcast.simulator.protocol.connector.TransportType;
 import com.hazelcast.simulator.utils.CliUtils;
 import com.hazelcast.simulator.utils.CommandLineExitException;
 import joptsimple.OptionParser;
@@ -43,6 +44,10 @@ final class AgentCli {
             "Size of the thread pool to connect to Worker instances.")
             .withRequiredArg().ofType(Integer.class).defaultsTo(0);
 
+    private final OptionSpec<String> transportSpec = parser.accepts("transport",
+            "Netty transport for the Simulator protocol (nio or epoll).")
+            .withRequiredArg().ofType(String.class).defaultsTo("nio");
+
     private final OptionSpec<Integer> workerLastSeenTimeoutSecondsSpec = parser.accepts("workerLastSeenTimeoutSeconds",
             "Timeout value for worker timeout detection.")
             .withRequiredArg().ofType(Integer.class).defaultsTo(DEFAULT_WORKER_LAST_SEEN_TIMEOUT_SECONDS);
@@ -86,8 +91,9 @@ final class AgentCli {
         String cloudCredential = options.valueOf(agentCli.cloudCredentialSpec);
         Integer threadPoolSize = options.valueOf(agentCli.threadPoolSizeSpec);
         Integer workerLastSeenTimeoutSeconds = options.valueOf(agentCli.workerLastSeenTimeoutSecondsSpec);
+        TransportType transportType = TransportType.fromString(options.valueOf(agentCli.transportSpec));
 
         return new Agent(addressIndex, publicAddress, port, cloudProvider, cloudIdentity, cloudCredential, threadPoolSize,
-                workerLastSeenTimeoutSeconds);
+                workerLastSeenTimeoutSeconds, transportType);
     }
 }
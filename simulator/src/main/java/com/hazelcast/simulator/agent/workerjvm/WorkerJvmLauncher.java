@@ -17,6 +17,7 @@ package com.hazelcast.simulator.agent.workerjvm;
 
 import com.hazelcast.simulator.agent.Agent;
 import com.hazelcast.simulator.agent.SpawnWorkerFailedException;
+import com.hazelcast.simulator.protocol.connector.TransportType;
 import com.hazelcast.simulator.protocol.core.AddressLevel;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.worker.WorkerType;
@@ -237,8 +238,11 @@ public class WorkerJvmLauncher {
         args.add("-DagentIndex=" + agent.getAddressIndex());
         args.add("-DworkerIndex=" + workerIndex);
         args.add("-DworkerPort=" + workerPort);
+        args.add("-D" + TransportType.PROPERTY_NAME + "=" + agent.getTransportType());
         args.add("-DautoCreateHzInstance=" + workerJvmSettings.isAutoCreateHzInstance());
         args.add("-DworkerPerformanceMonitorIntervalSeconds=" + workerJvmSettings.getWorkerPerformanceMonitorIntervalSeconds());
+        args.add("-DworkerPerformanceMonitorSampleIntervalMillis="
+                + workerJvmSettings.getWorkerPerformanceMonitorSampleIntervalMillis());
         args.add("-DhzConfigFile=" + hzConfigFile.getAbsolutePath());
 
         // add class name to start correct worker type
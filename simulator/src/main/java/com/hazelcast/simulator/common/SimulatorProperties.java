@@ -146,6 +146,10 @@ public class SimulatorProperties {
         return parseInt(get("AGENT_PORT", "9000"));
     }
 
+    public String getProtocolTransport() {
+        return get("PROTOCOL_TRANSPORT", "nio");
+    }
+
     public int getHazelcastPort() {
         return parseInt(get("HAZELCAST_PORT", "5701"));
     }
@@ -18,6 +18,7 @@ package com.hazelcast.simulator.coordinator;
 import com.hazelcast.simulator.cluster.ClusterLayout;
 import com.hazelcast.simulator.common.SimulatorProperties;
 import com.hazelcast.simulator.protocol.connector.CoordinatorConnector;
+import com.hazelcast.simulator.protocol.connector.TransportType;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.operation.OperationTypeCounter;
 import com.hazelcast.simulator.protocol.registry.AgentData;
@@ -67,7 +68,7 @@ public final class Coordinator {
 
     private final TestPhaseListenerContainer testPhaseListenerContainer = new TestPhaseListenerContainer();
     private final PerformanceStateContainer performanceStateContainer = new PerformanceStateContainer();
-    private final TestHistogramContainer testHistogramContainer = new TestHistogramContainer(performanceStateContainer);
+    private final TestHistogramContainer testHistogramContainer;
 
     private final TestSuite testSuite;
     private final ComponentRegistry componentRegistry;
@@ -95,6 +96,8 @@ public final class Coordinator {
         this.workerParameters = workerParameters;
         this.clusterLayoutParameters = clusterLayoutParameters;
 
+        this.testHistogramContainer = new TestHistogramContainer(performanceStateContainer,
+                coordinatorParameters.isExportProbeResultsAsXml());
         this.failureContainer = new FailureContainer(testSuite, componentRegistry);
 
         this.simulatorProperties = coordinatorParameters.getSimulatorProperties();
@@ -205,8 +208,9 @@ public final class Coordinator {
 
     private void startCoordinatorConnector() {
         try {
+            TransportType transportType = TransportType.fromString(simulatorProperties.getProtocolTransport());
             coordinatorConnector = new CoordinatorConnector(failureContainer, testPhaseListenerContainer,
-                    performanceStateContainer, testHistogramContainer);
+                    performanceStateContainer, testHistogramContainer, transportType);
             ThreadSpawner spawner = new ThreadSpawner("startCoordinatorConnector", true);
             for (final AgentData agentData : componentRegistry.getAgents()) {
                 final int agentPort = simulatorProperties.getAgentPort();
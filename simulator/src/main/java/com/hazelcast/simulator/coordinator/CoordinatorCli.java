@@ -117,6 +117,27 @@ final class CoordinatorCli {
                     FailureType.getIdsAsString()))
             .withRequiredArg().ofType(String.class).defaultsTo("workerTimeout");
 
+    private final OptionSpec exportProbeResultsAsXmlSpec = parser.accepts("exportProbeResultsAsXml",
+            "If defined the probe results are exported as XML in addition to the binary format.");
+
+    private final OptionSpec<Long> throughputSearchLatencySpec = parser.accepts("throughputSearchLatency",
+            "If defined the run phase of each test is used to search the maximum sustainable throughput, where the latency"
+                    + " stays within the given limit in µs. Requires --monitorPerformance and --duration, which is divided"
+                    + " into the steps of the search.")
+            .withRequiredArg().ofType(Long.class);
+
+    private final OptionSpec<Double> throughputSearchPercentileSpec = parser.accepts("throughputSearchPercentile",
+            "The latency percentile which is checked against the latency limit of --throughputSearchLatency.")
+            .withRequiredArg().ofType(Double.class).defaultsTo(99.0);
+
+    private final OptionSpec<Double> throughputSearchMaxThroughputSpec = parser.accepts("throughputSearchMaxThroughput",
+            "The upper bound of the throughput search in operations per second (in total over all Workers).")
+            .withRequiredArg().ofType(Double.class).defaultsTo(100000.0);
+
+    private final OptionSpec<Integer> throughputSearchStepsSpec = parser.accepts("throughputSearchSteps",
+            "The maximum number of steps of the throughput search.")
+            .withRequiredArg().ofType(Integer.class).defaultsTo(8);
+
     private final OptionSpec parallelSpec = parser.accepts("parallel",
             "If defined tests are run in parallel.");
 
@@ -219,7 +240,9 @@ final class CoordinatorCli {
                 options.valueOf(cli.verifyEnabledSpec),
                 options.has(cli.parallelSpec),
                 options.valueOf(cli.workerRefreshSpec),
-                options.valueOf(cli.syncToTestPhaseSpec)
+                options.valueOf(cli.syncToTestPhaseSpec),
+                options.has(cli.exportProbeResultsAsXmlSpec),
+                getThroughputSearchParameters(cli, options, testSuite)
         );
 
         String memberHzConfig = loadMemberHzConfig(options, cli);
@@ -270,6 +293,28 @@ final class CoordinatorCli {
         return testSuite;
     }
 
+    private static ThroughputSearchParameters getThroughputSearchParameters(CoordinatorCli cli, OptionSet options,
+                                                                            TestSuite testSuite) {
+        if (!options.has(cli.throughputSearchLatencySpec)) {
+            return null;
+        }
+        if (!options.has(cli.monitorPerformanceSpec)) {
+            throw new CommandLineExitException("--throughputSearchLatency requires --monitorPerformance");
+        }
+        if (testSuite.getDurationSeconds() == 0) {
+            throw new CommandLineExitException("--throughputSearchLatency requires --duration");
+        }
+        try {
+            return new ThroughputSearchParameters(
+                    options.valueOf(cli.throughputSearchLatencySpec),
+                    options.valueOf(cli.throughputSearchPercentileSpec),
+                    options.valueOf(cli.throughputSearchMaxThroughputSpec),
+                    options.valueOf(cli.throughputSearchStepsSpec));
+        } catch (IllegalArgumentException e) {
+            throw new CommandLineExitException("Invalid throughput search: " + e.getMessage());
+        }
+    }
+
     private static ComponentRegistry getComponentRegistry(CoordinatorCli cli, OptionSet options, TestSuite testSuite,
                                                           SimulatorProperties simulatorProperties) {
         ComponentRegistry componentRegistry;
@@ -34,12 +34,29 @@ class CoordinatorParameters {
     private final boolean parallel;
     private final boolean refreshJvm;
     private final boolean passiveMembers;
+    private final boolean exportProbeResultsAsXml;
+    private final ThroughputSearchParameters throughputSearchParameters;
 
     private final TestPhase lastTestPhaseToSync;
 
     CoordinatorParameters(SimulatorProperties properties, String workerClassPath, boolean uploadHazelcastJARs,
                                  boolean enterpriseEnabled, boolean verifyEnabled, boolean parallel, boolean refreshJvm,
                                  TestPhase lastTestPhaseToSync) {
+        this(properties, workerClassPath, uploadHazelcastJARs, enterpriseEnabled, verifyEnabled, parallel, refreshJvm,
+                lastTestPhaseToSync, false);
+    }
+
+    CoordinatorParameters(SimulatorProperties properties, String workerClassPath, boolean uploadHazelcastJARs,
+                                 boolean enterpriseEnabled, boolean verifyEnabled, boolean parallel, boolean refreshJvm,
+                                 TestPhase lastTestPhaseToSync, boolean exportProbeResultsAsXml) {
+        this(properties, workerClassPath, uploadHazelcastJARs, enterpriseEnabled, verifyEnabled, parallel, refreshJvm,
+                lastTestPhaseToSync, exportProbeResultsAsXml, null);
+    }
+
+    CoordinatorParameters(SimulatorProperties properties, String workerClassPath, boolean uploadHazelcastJARs,
+                                 boolean enterpriseEnabled, boolean verifyEnabled, boolean parallel, boolean refreshJvm,
+                                 TestPhase lastTestPhaseToSync, boolean exportProbeResultsAsXml,
+                                 ThroughputSearchParameters throughputSearchParameters) {
         this.simulatorProperties = properties;
         this.workerClassPath = workerClassPath;
 
@@ -49,6 +66,8 @@ class CoordinatorParameters {
         this.parallel = parallel;
         this.refreshJvm = refreshJvm;
         this.passiveMembers = parseBoolean(properties.get("PASSIVE_MEMBERS", "true"));
+        this.exportProbeResultsAsXml = exportProbeResultsAsXml;
+        this.throughputSearchParameters = throughputSearchParameters;
 
         this.lastTestPhaseToSync = lastTestPhaseToSync;
     }
@@ -85,6 +104,19 @@ class CoordinatorParameters {
         return passiveMembers;
     }
 
+    boolean isExportProbeResultsAsXml() {
+        return exportProbeResultsAsXml;
+    }
+
+    /**
+     * Returns the parameters for the search of the maximum sustainable throughput.
+     *
+     * @return the {@link ThroughputSearchParameters} or {@code null} if the throughput search is disabled
+     */
+    ThroughputSearchParameters getThroughputSearchParameters() {
+        return throughputSearchParameters;
+    }
+
     TestPhase getLastTestPhaseToSync() {
         return lastTestPhaseToSync;
     }
@@ -15,16 +15,22 @@
  */
 package com.hazelcast.simulator.coordinator;
 
+import com.hazelcast.simulator.probes.ProbeResolution;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import com.hazelcast.simulator.worker.performance.PauseState;
 import com.hazelcast.simulator.worker.performance.PerformanceState;
+import org.HdrHistogram.Histogram;
 import org.apache.log4j.Logger;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -34,9 +40,12 @@ import static com.hazelcast.simulator.utils.FormatUtils.formatDouble;
 import static com.hazelcast.simulator.utils.FormatUtils.formatLong;
 import static com.hazelcast.simulator.utils.FormatUtils.formatPercentage;
 import static com.hazelcast.simulator.worker.performance.PerformanceState.INTERVAL_LATENCY_PERCENTILE;
+import static java.lang.Math.max;
 import static java.lang.Math.round;
 import static java.lang.String.format;
 import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static javax.xml.bind.DatatypeConverter.parseBase64Binary;
+import static org.HdrHistogram.Histogram.decodeFromCompressedByteBuffer;
 
 /**
  * Responsible for storing and formatting performance metrics from Simulator workers.
@@ -49,6 +58,9 @@ public class PerformanceStateContainer {
 
     static final String PERFORMANCE_FILE_NAME = "performance.txt";
 
+    // the queues are just drained while the performance is logged, so they are capped for tests which are not monitored
+    static final int MAX_QUEUED_INTERVALS = 1000;
+
     private static final long DISPLAY_LATENCY_AS_MICROS_MAX_VALUE = TimeUnit.SECONDS.toMicros(1);
 
     private static final Logger LOGGER = Logger.getLogger(PerformanceStateContainer.class);
@@ -61,10 +73,28 @@ public class PerformanceStateContainer {
     private final ConcurrentMap<String, AtomicReference<Queue<WorkerPerformanceState>>> testPerformanceStateQueue
             = new ConcurrentHashMap<String, AtomicReference<Queue<WorkerPerformanceState>>>();
 
+    // holds an AtomicReference per testCaseId with a queue of encoded interval histograms per probe over time
+    private final ConcurrentMap<String, AtomicReference<Queue<Map<String, String>>>> testIntervalHistogramQueue
+            = new ConcurrentHashMap<String, AtomicReference<Queue<Map<String, String>>>>();
+
+    // holds an AtomicReference per testCaseId with a queue of PauseState instances of the Workers running that test over time
+    private final ConcurrentMap<String, AtomicReference<Queue<PauseState>>> testPauseStateQueue
+            = new ConcurrentHashMap<String, AtomicReference<Queue<PauseState>>>();
+
+    // holds the ProbeResolution per testCaseId
+    private final ConcurrentMap<String, ProbeResolution> testProbeResolutionMap
+            = new ConcurrentHashMap<String, ProbeResolution>();
+
     public void init(String testCaseId) {
         Queue<WorkerPerformanceState> queue = new ConcurrentLinkedQueue<WorkerPerformanceState>();
         AtomicReference<Queue<WorkerPerformanceState>> reference = new AtomicReference<Queue<WorkerPerformanceState>>(queue);
         testPerformanceStateQueue.put(testCaseId, reference);
+
+        Queue<Map<String, String>> histogramQueue = new LinkedBlockingQueue<Map<String, String>>(MAX_QUEUED_INTERVALS);
+        testIntervalHistogramQueue.put(testCaseId, new AtomicReference<Queue<Map<String, String>>>(histogramQueue));
+
+        Queue<PauseState> pauseStateQueue = new LinkedBlockingQueue<PauseState>(MAX_QUEUED_INTERVALS);
+        testPauseStateQueue.put(testCaseId, new AtomicReference<Queue<PauseState>>(pauseStateQueue));
     }
 
     public void updatePerformanceState(SimulatorAddress workerAddress, Map<String, PerformanceState> performanceStates) {
@@ -85,22 +115,88 @@ public class PerformanceStateContainer {
         }
     }
 
+    public void updateIntervalHistograms(Map<String, Map<String, String>> intervalHistograms,
+                                         Map<String, ProbeResolution> probeResolutions) {
+        for (Map.Entry<String, Map<String, String>> entry : intervalHistograms.entrySet()) {
+            String testCaseId = entry.getKey();
+            ProbeResolution probeResolution = probeResolutions.get(testCaseId);
+            if (probeResolution != null) {
+                testProbeResolutionMap.put(testCaseId, probeResolution);
+            }
+
+            AtomicReference<Queue<Map<String, String>>> atomicReference = testIntervalHistogramQueue.get(testCaseId);
+            if (atomicReference != null) {
+                Queue<Map<String, String>> histogramQueue = atomicReference.get();
+                if (histogramQueue != null) {
+                    addCapped(histogramQueue, entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the JVM pauses of a Worker to all tests which are running on that Worker, so they can be shown next to the latencies.
+     *
+     * @param testCaseIds the testCaseIds of the tests running on the Worker
+     * @param pauseState  the {@link PauseState} of the Worker, can be {@code null}
+     */
+    public void updatePauseState(Set<String> testCaseIds, PauseState pauseState) {
+        if (pauseState == null) {
+            return;
+        }
+        for (String testCaseId : testCaseIds) {
+            AtomicReference<Queue<PauseState>> atomicReference = testPauseStateQueue.get(testCaseId);
+            if (atomicReference != null) {
+                Queue<PauseState> pauseStateQueue = atomicReference.get();
+                if (pauseStateQueue != null) {
+                    addCapped(pauseStateQueue, pauseState);
+                }
+            }
+        }
+    }
+
+    /**
+     * Formats the performance numbers of a test, which have been received since the last call.
+     *
+     * Removes the received performance states of the test and, if operations have been received, also its interval histograms
+     * via {@link #getIntervalHistogramsForTestCase(String)} and its pauses via {@link #getPauseNumbers(String)}. So this is the
+     * single consumer of these values and must not be combined with other calls of these methods.
+     *
+     * @param testCaseId the testCaseId to retrieve the performance numbers for
+     * @return the formatted performance numbers or an empty {@link String} if no operations have been received
+     */
     public String getPerformanceNumbers(String testCaseId) {
         PerformanceState performanceState = getPerformanceStateForTestCase(testCaseId);
         if (performanceState.isEmpty() || performanceState.getOperationCount() < 1) {
             return "";
         }
-        String latencyUnit = "µs";
         long avgLatencyValue = round(performanceState.getIntervalAvgLatency());
         long percentileLatencyValue = performanceState.getIntervalPercentileLatency();
         long maxLatencyValue = performanceState.getIntervalMaxLatency();
+
+        // prefer the merged histograms of all Workers, since the percentiles of different Workers cannot be aggregated
+        Map<String, Histogram> intervalHistograms = getIntervalHistogramsForTestCase(testCaseId);
+        if (!intervalHistograms.isEmpty()) {
+            ProbeResolution probeResolution = getProbeResolution(testCaseId);
+            avgLatencyValue = Long.MIN_VALUE;
+            percentileLatencyValue = Long.MIN_VALUE;
+            maxLatencyValue = Long.MIN_VALUE;
+            for (Histogram histogram : intervalHistograms.values()) {
+                avgLatencyValue = max(avgLatencyValue, round(histogram.getMean() / probeResolution.getMicrosScalingRatio()));
+                percentileLatencyValue = max(percentileLatencyValue,
+                        probeResolution.toMicros(histogram.getValueAtPercentile(INTERVAL_LATENCY_PERCENTILE)));
+                maxLatencyValue = max(maxLatencyValue, probeResolution.toMicros(histogram.getMaxValue()));
+            }
+        }
+
+        String latencyUnit = "µs";
         if (avgLatencyValue > DISPLAY_LATENCY_AS_MICROS_MAX_VALUE) {
             latencyUnit = "ms";
             avgLatencyValue = MICROSECONDS.toMillis(avgLatencyValue);
             percentileLatencyValue = MICROSECONDS.toMillis(percentileLatencyValue);
             maxLatencyValue = MICROSECONDS.toMillis(maxLatencyValue);
         }
-        return String.format("%s ops %s ops/s %s %s (avg) %s %s (%sth) %s %s (max)",
+        return String.format("%s ops %s ops/s %s %s (avg) %s %s (%sth) %s %s (max)%s",
                 formatLong(performanceState.getOperationCount(), OPERATION_COUNT_FORMAT_LENGTH),
                 formatDouble(performanceState.getIntervalThroughput(), THROUGHPUT_FORMAT_LENGTH),
                 formatLong(avgLatencyValue, LATENCY_FORMAT_LENGTH),
@@ -109,10 +205,42 @@ public class PerformanceStateContainer {
                 latencyUnit,
                 INTERVAL_LATENCY_PERCENTILE,
                 formatLong(maxLatencyValue, LATENCY_FORMAT_LENGTH),
-                latencyUnit
+                latencyUnit,
+                getPauseNumbers(testCaseId)
         );
     }
 
+    /**
+     * Returns the longest GC pause and the GC count of all Workers of a test, which have been received since the last call.
+     *
+     * The received pauses are removed by this call, so there must be a single consumer per test. If they are not retrieved,
+     * just the latest {@value #MAX_QUEUED_INTERVALS} pauses are kept.
+     *
+     * @param testCaseId the testCaseId to retrieve the pauses for
+     * @return the formatted pauses or an empty {@link String} if no pauses have been received
+     */
+    String getPauseNumbers(String testCaseId) {
+        AtomicReference<Queue<PauseState>> atomicReference = testPauseStateQueue.get(testCaseId);
+        if (atomicReference == null) {
+            return "";
+        }
+        Queue<PauseState> pauseStates = atomicReference.getAndSet(new LinkedBlockingQueue<PauseState>(MAX_QUEUED_INTERVALS));
+        if (pauseStates.isEmpty()) {
+            return "";
+        }
+
+        long gcCount = 0;
+        long gcMaxMillis = 0;
+        for (PauseState pauseState : pauseStates) {
+            gcCount += pauseState.getGcCount();
+            // the total GC time is an upper bound of the longest GC pause, if the latter is not available
+            long maxMillis = pauseState.getGcMaxMillis();
+            gcMaxMillis = max(gcMaxMillis, maxMillis == PauseState.NOT_AVAILABLE ? pauseState.getGcTotalMillis() : maxMillis);
+        }
+        return format(" %s ms (gc max) %s gcs", formatLong(gcMaxMillis, LATENCY_FORMAT_LENGTH),
+                formatLong(gcCount, LATENCY_FORMAT_LENGTH));
+    }
+
     PerformanceState getPerformanceStateForTestCase(String testCaseId) {
         // return if no queue of WorkerPerformanceState can be found (unknown testCaseId)
         AtomicReference<Queue<WorkerPerformanceState>> atomicReference = testPerformanceStateQueue.get(testCaseId);
@@ -143,6 +271,60 @@ public class PerformanceStateContainer {
         return performanceState;
     }
 
+    /**
+     * Merges the interval histograms of all Workers which have been received since the last call, per probe.
+     *
+     * The received interval histograms are removed by this call, so there must be a single consumer per test. If they are not
+     * retrieved, just the latest {@value #MAX_QUEUED_INTERVALS} intervals are kept.
+     *
+     * @param testCaseId the testCaseId to retrieve the interval histograms for
+     * @return a map with the merged interval histogram per probe (values are in the {@link ProbeResolution} of the test)
+     */
+    Map<String, Histogram> getIntervalHistogramsForTestCase(String testCaseId) {
+        Map<String, Histogram> mergedHistograms = new HashMap<String, Histogram>();
+
+        // return if no queue of interval histograms can be found (unknown testCaseId)
+        AtomicReference<Queue<Map<String, String>>> atomicReference = testIntervalHistogramQueue.get(testCaseId);
+        if (atomicReference == null) {
+            return mergedHistograms;
+        }
+
+        // swap queue of interval histograms for this testCaseId
+        Queue<Map<String, String>> histogramQueue
+                = atomicReference.getAndSet(new LinkedBlockingQueue<Map<String, String>>(MAX_QUEUED_INTERVALS));
+
+        // merge the interval histograms from all Workers per probe
+        for (Map<String, String> probeHistogramMap : histogramQueue) {
+            for (Map.Entry<String, String> entry : probeHistogramMap.entrySet()) {
+                String probeName = entry.getKey();
+                Histogram histogram = decodeHistogram(testCaseId, probeName, entry.getValue());
+                if (histogram == null || histogram.getTotalCount() == 0) {
+                    continue;
+                }
+                Histogram merged = mergedHistograms.get(probeName);
+                if (merged == null) {
+                    histogram.setAutoResize(true);
+                    mergedHistograms.put(probeName, histogram);
+                } else {
+                    merged.add(histogram);
+                }
+            }
+        }
+        return mergedHistograms;
+    }
+
+    private static <E> void addCapped(Queue<E> queue, E element) {
+        // drop the oldest elements if the queue is full
+        while (!queue.offer(element)) {
+            queue.poll();
+        }
+    }
+
+    ProbeResolution getProbeResolution(String testCaseId) {
+        ProbeResolution probeResolution = testProbeResolutionMap.get(testCaseId);
+        return (probeResolution == null ? ProbeResolution.MICROSECONDS : probeResolution);
+    }
+
     void logDetailedPerformanceInfo() {
         PerformanceState totalPerformanceState = new PerformanceState();
         Map<SimulatorAddress, PerformanceState> agentPerformanceStateMap = new HashMap<SimulatorAddress, PerformanceState>();
@@ -207,6 +389,16 @@ public class PerformanceStateContainer {
         return (map == null ? candidate : map);
     }
 
+    private static Histogram decodeHistogram(String testCaseId, String probeName, String encodedHistogram) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(parseBase64Binary(encodedHistogram));
+            return decodeFromCompressedByteBuffer(buffer, 0);
+        } catch (Exception e) {
+            LOGGER.warn("Could not decode interval histogram from test " + testCaseId + " of probe " + probeName);
+            return null;
+        }
+    }
+
     private static final class WorkerPerformanceState {
 
         private final SimulatorAddress simulatorAddress;
@@ -15,14 +15,19 @@
  */
 package com.hazelcast.simulator.coordinator;
 
+import com.hazelcast.simulator.probes.ProbeResolution;
 import com.hazelcast.simulator.protocol.operation.CreateTestOperation;
+import com.hazelcast.simulator.protocol.operation.SetTargetThroughputOperation;
 import com.hazelcast.simulator.protocol.operation.StartTestOperation;
 import com.hazelcast.simulator.protocol.operation.StartTestPhaseOperation;
 import com.hazelcast.simulator.protocol.operation.StopTestOperation;
 import com.hazelcast.simulator.protocol.registry.ComponentRegistry;
+import com.hazelcast.simulator.protocol.registry.WorkerData;
 import com.hazelcast.simulator.test.TestCase;
 import com.hazelcast.simulator.test.TestPhase;
 import com.hazelcast.simulator.test.TestSuite;
+import com.hazelcast.simulator.worker.performance.PerformanceState;
+import org.HdrHistogram.Histogram;
 import org.apache.log4j.Logger;
 
 import java.util.Map;
@@ -42,9 +47,11 @@ import static com.hazelcast.simulator.test.TestPhase.SETUP;
 import static com.hazelcast.simulator.utils.CommonUtils.getElapsedSeconds;
 import static com.hazelcast.simulator.utils.CommonUtils.rethrow;
 import static com.hazelcast.simulator.utils.CommonUtils.sleepSeconds;
+import static com.hazelcast.simulator.utils.FileUtils.appendText;
 import static com.hazelcast.simulator.utils.FormatUtils.formatPercentage;
 import static com.hazelcast.simulator.utils.FormatUtils.padRight;
 import static com.hazelcast.simulator.utils.FormatUtils.secondsToHuman;
+import static java.lang.Math.max;
 import static java.lang.String.format;
 
 /**
@@ -54,6 +61,8 @@ import static java.lang.String.format;
  */
 final class TestCaseRunner implements TestPhaseListener {
 
+    static final String MAX_SUSTAINABLE_THROUGHPUT_FILE_NAME = "max-sustainable-throughput.txt";
+
     private static final int RUN_PHASE_LOG_INTERVAL_SECONDS = 30;
     private static final int WAIT_FOR_PHASE_COMPLETION_LOG_INTERVAL_SECONDS = 30;
 
@@ -83,6 +92,8 @@ final class TestCaseRunner implements TestPhaseListener {
     private final int logPerformanceIntervalSeconds;
     private final int logRunPhaseIntervalSeconds;
 
+    private final ThroughputSearch throughputSearch;
+
     TestCaseRunner(int testIndex, TestCase testCase, Coordinator coordinator, int paddingLength,
                    Map<TestPhase, CountDownLatch> testPhaseSyncMap) {
         this.testIndex = testIndex;
@@ -101,8 +112,9 @@ final class TestCaseRunner implements TestPhaseListener {
         CoordinatorParameters coordinatorParameters = coordinator.getCoordinatorParameters();
         this.isVerifyEnabled = coordinatorParameters.isVerifyEnabled();
 
-        ClusterLayoutParameters clusterLayoutParameters = coordinator.getClusterLayoutParameters();
-        this.isPassiveMembers = (coordinatorParameters.isPassiveMembers() && clusterLayoutParameters.getClientWorkerCount() > 0);
+        this.isPassiveMembers = (coordinatorParameters.isPassiveMembers()
+                && coordinator.getClusterLayoutParameters().getClientWorkerCount() > 0);
+        this.throughputSearch = createThroughputSearch(coordinatorParameters);
 
         WorkerParameters workerParameters = coordinator.getWorkerParameters();
         this.monitorPerformance = workerParameters.isMonitorPerformance();
@@ -176,12 +188,22 @@ final class TestCaseRunner implements TestPhaseListener {
     }
 
     private void startTest() {
+        if (throughputSearch != null) {
+            // the Workers should start with the target throughput of the first step
+            setTargetThroughput(throughputSearch.getTargetThroughput());
+        }
         echo(format("Starting Test start (%s members)", (isPassiveMembers) ? "passive" : "active"));
         remoteClient.sendToTestOnAllWorkers(testCaseId, new StartTestOperation(isPassiveMembers));
         echo("Completed Test start");
     }
 
     private void waitForTestCompletion() throws Exception {
+        if (throughputSearch != null) {
+            runThroughputSearch();
+            waitForGlobalTestPhaseCompletion(RUN);
+            return;
+        }
+
         StopThread stopThread = null;
         if (testSuite.getDurationSeconds() > 0) {
             stopThread = new StopThread();
@@ -204,6 +226,91 @@ final class TestCaseRunner implements TestPhaseListener {
         waitForGlobalTestPhaseCompletion(RUN);
     }
 
+    private void runThroughputSearch() {
+        ThroughputSearchParameters throughputSearchParameters = throughputSearch.getParameters();
+        int steps = throughputSearchParameters.getSteps();
+        int stepSeconds = max(testSuite.getDurationSeconds() / steps, 2 * logPerformanceIntervalSeconds);
+        echo(format("Test will search the maximum sustainable throughput in up to %d steps of %s", steps,
+                secondsToHuman(stepSeconds)));
+        if (steps * stepSeconds > testSuite.getDurationSeconds()) {
+            echo(format("Throughput search may take up to %s, which exceeds the test duration of %s",
+                    secondsToHuman(steps * stepSeconds), secondsToHuman(testSuite.getDurationSeconds())));
+        }
+
+        while (throughputSearch.hasNextStep()) {
+            if (isThroughputSearchAborted()) {
+                break;
+            }
+            double targetThroughput = throughputSearch.getTargetThroughput();
+            setTargetThroughput(targetThroughput);
+
+            // discard the performance data of the previous step and the transition to the new target throughput
+            sleepSeconds(logPerformanceIntervalSeconds);
+            performanceStateContainer.getPerformanceStateForTestCase(testCaseId);
+            performanceStateContainer.getIntervalHistogramsForTestCase(testCaseId);
+
+            sleepSeconds(stepSeconds - logPerformanceIntervalSeconds);
+            PerformanceState performanceState = performanceStateContainer.getPerformanceStateForTestCase(testCaseId);
+            double measuredThroughput = (performanceState.isEmpty() ? 0 : performanceState.getIntervalThroughput());
+            long latencyMicros = getIntervalLatencyMicros(throughputSearchParameters.getLatencyPercentile());
+
+            int step = throughputSearch.getStep() + 1;
+            boolean isSustainable = throughputSearch.addResult(measuredThroughput, latencyMicros);
+            echo(format("Throughput search step %d: target %.2f ops/s, measured %.2f ops/s, %d µs (%sth) -> %s", step,
+                    targetThroughput, measuredThroughput, latencyMicros, throughputSearchParameters.getLatencyPercentile(),
+                    isSustainable ? "sustainable" : "not sustainable"));
+        }
+
+        echo("Starting Test stop");
+        remoteClient.sendToTestOnAllWorkers(testCaseId, new StopTestOperation());
+        waitForPhaseCompletion(RUN);
+        echo("Completed Test stop");
+
+        double maxSustainableThroughput = throughputSearch.getMaxSustainableThroughput();
+        echo(format("Maximum sustainable throughput: %.2f ops/s (%d µs at %sth percentile)", maxSustainableThroughput,
+                throughputSearchParameters.getLatencyLimitMicros(), throughputSearchParameters.getLatencyPercentile()));
+        appendText(format("%s %.2f%n", testCaseId, maxSustainableThroughput), MAX_SUSTAINABLE_THROUGHPUT_FILE_NAME);
+    }
+
+    private boolean isThroughputSearchAborted() {
+        if (failureContainer.hasCriticalFailure(testCaseId)) {
+            echo("Critical failure detected, aborting throughput search");
+            return true;
+        }
+        if (failureContainer.hasCriticalFailure() && testSuite.isFailFast()) {
+            echo("Aborting throughput search due to failure");
+            return true;
+        }
+        return false;
+    }
+
+    private void setTargetThroughput(double targetThroughput) {
+        double workerTargetThroughput = targetThroughput / max(1, getLoadGeneratingWorkerCount());
+        remoteClient.sendToTestOnAllWorkers(testCaseId, new SetTargetThroughputOperation(workerTargetThroughput));
+    }
+
+    private int getLoadGeneratingWorkerCount() {
+        if (!isPassiveMembers) {
+            return componentRegistry.workerCount();
+        }
+        int clientWorkerCount = 0;
+        for (WorkerData workerData : componentRegistry.getWorkers()) {
+            if (!workerData.isMemberWorker()) {
+                clientWorkerCount++;
+            }
+        }
+        return clientWorkerCount;
+    }
+
+    private long getIntervalLatencyMicros(double percentile) {
+        ProbeResolution probeResolution = performanceStateContainer.getProbeResolution(testCaseId);
+        long latencyMicros = -1;
+        for (Histogram histogram : performanceStateContainer.getIntervalHistogramsForTestCase(testCaseId).values()) {
+            latencyMicros = max(latencyMicros, probeResolution.toMicros(histogram.getValueAtPercentile(percentile)));
+        }
+        return latencyMicros;
+    }
+
     private void waitForPhaseCompletion(TestPhase testPhase) {
         int completedWorkers = phaseCompletedMap.get(testPhase).get();
         int expectedWorkers = getExpectedWorkerCount(testPhase);
@@ -260,6 +367,11 @@ final class TestCaseRunner implements TestPhaseListener {
         return latch;
     }
 
+    private static ThroughputSearch createThroughputSearch(CoordinatorParameters coordinatorParameters) {
+        ThroughputSearchParameters throughputSearchParameters = coordinatorParameters.getThroughputSearchParameters();
+        return (throughputSearchParameters == null ? null : new ThroughputSearch(throughputSearchParameters));
+    }
+
     private void echo(String msg) {
         remoteClient.logOnAllAgents(prefix + msg);
         LOGGER.info(prefix + msg);
@@ -15,7 +15,9 @@
  */
 package com.hazelcast.simulator.coordinator;
 
+import com.hazelcast.simulator.probes.ProbeResolution;
 import com.hazelcast.simulator.probes.Result;
+import com.hazelcast.simulator.probes.binary.ResultBinaryUtils;
 import com.hazelcast.simulator.probes.impl.ResultImpl;
 import com.hazelcast.simulator.probes.xml.ResultXmlUtils;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
@@ -42,14 +44,37 @@ public class TestHistogramContainer {
 
     private final ConcurrentMap<SimulatorAddress, ConcurrentMap<String, Map<String, String>>> workerTestProbeHistogramMap
             = new ConcurrentHashMap<SimulatorAddress, ConcurrentMap<String, Map<String, String>>>();
+    private final ConcurrentMap<String, ProbeResolution> testProbeResolutionMap
+            = new ConcurrentHashMap<String, ProbeResolution>();
 
     private final PerformanceStateContainer performanceStateContainer;
+    private final boolean exportProbeResultsAsXml;
 
     public TestHistogramContainer(PerformanceStateContainer performanceStateContainer) {
+        this(performanceStateContainer, false);
+    }
+
+    /**
+     * Creates a {@link TestHistogramContainer}.
+     *
+     * @param performanceStateContainer the {@link PerformanceStateContainer} to retrieve the performance numbers from
+     * @param exportProbeResultsAsXml   {@code true} if the probe results should also be exported as XML
+     */
+    public TestHistogramContainer(PerformanceStateContainer performanceStateContainer, boolean exportProbeResultsAsXml) {
         this.performanceStateContainer = performanceStateContainer;
+        this.exportProbeResultsAsXml = exportProbeResultsAsXml;
+    }
+
+    public void addTestHistograms(SimulatorAddress workerAddress, String testId, Map<String, String> histograms) {
+        addTestHistograms(workerAddress, testId, histograms, ProbeResolution.MICROSECONDS);
     }
 
-    public synchronized void addTestHistograms(SimulatorAddress workerAddress, String testId, Map<String, String> histograms) {
+    public synchronized void addTestHistograms(SimulatorAddress workerAddress, String testId, Map<String, String> histograms,
+                                               ProbeResolution probeResolution) {
+        if (probeResolution != null) {
+            testProbeResolutionMap.put(testId, probeResolution);
+        }
+
         ConcurrentMap<String, Map<String, String>> testHistogramMap = workerTestProbeHistogramMap.get(workerAddress);
         if (testHistogramMap == null) {
             testHistogramMap = new ConcurrentHashMap<String, Map<String, String>>();
@@ -66,17 +91,24 @@ public class TestHistogramContainer {
         PerformanceState performanceState = performanceStateContainer.getPerformanceStateForTestCase(testCaseId);
         Result result = aggregateHistogramsForTestCase(testCaseId, performanceState);
         if (!result.isEmpty()) {
-            String fileName = "probes-" + testSuiteId + '_' + testCaseId + ".xml";
-            ResultXmlUtils.toXml(result, new File(fileName));
+            String fileName = "probes-" + testSuiteId + '_' + testCaseId;
+            ResultBinaryUtils.toBinary(result, new File(fileName + '.' + ResultBinaryUtils.FILE_EXTENSION));
+            if (exportProbeResultsAsXml) {
+                ResultXmlUtils.toXml(result, new File(fileName + ".xml"));
+            }
             logProbesResultInHumanReadableFormat(testCaseId, result);
         }
     }
 
     private synchronized Result aggregateHistogramsForTestCase(String testCaseId, PerformanceState state) {
+        ProbeResolution probeResolution = testProbeResolutionMap.get(testCaseId);
+        if (probeResolution == null) {
+            probeResolution = ProbeResolution.MICROSECONDS;
+        }
         if (state == null) {
-            return new ResultImpl(testCaseId, 0, 0.0d);
+            return new ResultImpl(testCaseId, 0, 0.0d, probeResolution);
         }
-        Result result = new ResultImpl(testCaseId, state.getOperationCount(), state.getTotalThroughput());
+        Result result = new ResultImpl(testCaseId, state.getOperationCount(), state.getTotalThroughput(), probeResolution);
         for (ConcurrentMap<String, Map<String, String>> testHistogramMap : workerTestProbeHistogramMap.values()) {
             Map<String, String> probeHistogramMap = testHistogramMap.get(testCaseId);
             if (probeHistogramMap == null) {
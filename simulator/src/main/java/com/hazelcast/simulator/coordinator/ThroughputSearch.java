@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.coordinator;
+
+/**
+ * Binary search for the maximum sustainable throughput of a single Simulator Test.
+ *
+ * The first step probes the configured maximum throughput. If the latency limit is violated, the search interval is halved in
+ * each following step. A step is sustainable if the latency at the configured percentile stays within the limit and the
+ * measured throughput reaches the target throughput (otherwise the Workers cannot keep up with the schedule).
+ *
+ * The search stops after the configured number of steps or when the search interval is smaller than {@link #PRECISION} of the
+ * upper bound.
+ */
+final class ThroughputSearch {
+
+    static final double PRECISION = 0.01;
+    static final double SUSTAINED_THROUGHPUT_RATIO = 0.9;
+
+    private final ThroughputSearchParameters parameters;
+
+    private double lowerBound;
+    private double upperBound;
+    private int step;
+    private boolean isFinished;
+
+    ThroughputSearch(ThroughputSearchParameters parameters) {
+        this.parameters = parameters;
+        this.upperBound = parameters.getMaxThroughput();
+    }
+
+    ThroughputSearchParameters getParameters() {
+        return parameters;
+    }
+
+    boolean hasNextStep() {
+        return !isFinished && step < parameters.getSteps();
+    }
+
+    int getStep() {
+        return step;
+    }
+
+    double getTargetThroughput() {
+        return (step == 0 ? upperBound : (lowerBound + upperBound) / 2);
+    }
+
+    /**
+     * Adds the result of the current step and returns if the target throughput was sustainable.
+     *
+     * @param measuredThroughput the measured throughput in operations per second
+     * @param latencyMicros      the measured latency at the configured percentile in µs, {@code -1} if no latency was recorded
+     * @return {@code true} if the target throughput was sustainable, {@code false} otherwise
+     */
+    boolean addResult(double measuredThroughput, long latencyMicros) {
+        double targetThroughput = getTargetThroughput();
+        boolean isSustainable = isSustainable(targetThroughput, measuredThroughput, latencyMicros);
+        if (isSustainable) {
+            lowerBound = targetThroughput;
+            // the maximum throughput is sustainable, so there is nothing to search for
+            isFinished = (step == 0);
+        } else {
+            upperBound = targetThroughput;
+        }
+        step++;
+        if (upperBound - lowerBound < upperBound * PRECISION) {
+            isFinished = true;
+        }
+        return isSustainable;
+    }
+
+    /**
+     * Returns the highest target throughput which was sustainable.
+     *
+     * @return the maximum sustainable throughput in operations per second or {@code 0} if no step was sustainable
+     */
+    double getMaxSustainableThroughput() {
+        return lowerBound;
+    }
+
+    private boolean isSustainable(double targetThroughput, double measuredThroughput, long latencyMicros) {
+        if (latencyMicros < 0 || latencyMicros > parameters.getLatencyLimitMicros()) {
+            return false;
+        }
+        return measuredThroughput >= targetThroughput * SUSTAINED_THROUGHPUT_RATIO;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.coordinator;
+
+/**
+ * Parameters for the search of the maximum sustainable throughput of a Simulator Test.
+ */
+class ThroughputSearchParameters {
+
+    private static final double MAX_PERCENTILE = 100;
+
+    private final long latencyLimitMicros;
+    private final double latencyPercentile;
+    private final double maxThroughput;
+    private final int steps;
+
+    ThroughputSearchParameters(long latencyLimitMicros, double latencyPercentile, double maxThroughput, int steps) {
+        if (latencyLimitMicros < 1) {
+            throw new IllegalArgumentException("Latency limit has to be at least 1 µs, but was " + latencyLimitMicros);
+        }
+        if (latencyPercentile <= 0 || latencyPercentile > MAX_PERCENTILE) {
+            throw new IllegalArgumentException("Latency percentile has to be in (0, 100], but was " + latencyPercentile);
+        }
+        if (maxThroughput <= 0) {
+            throw new IllegalArgumentException("Maximum throughput has to be positive, but was " + maxThroughput);
+        }
+        if (steps < 1) {
+            throw new IllegalArgumentException("Steps have to be at least 1, but were " + steps);
+        }
+        this.latencyLimitMicros = latencyLimitMicros;
+        this.latencyPercentile = latencyPercentile;
+        this.maxThroughput = maxThroughput;
+        this.steps = steps;
+    }
+
+    long getLatencyLimitMicros() {
+        return latencyLimitMicros;
+    }
+
+    double getLatencyPercentile() {
+        return latencyPercentile;
+    }
+
+    double getMaxThroughput() {
+        return maxThroughput;
+    }
+
+    int getSteps() {
+        return steps;
+    }
+}
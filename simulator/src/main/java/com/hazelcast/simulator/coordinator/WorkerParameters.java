@@ -29,6 +29,7 @@ import static java.lang.String.format;
 public class WorkerParameters {
 
     private static final int DEFAULT_WORKER_PERFORMANCE_MONITOR_INTERVAL_SECONDS = 10;
+    private static final int DEFAULT_WORKER_PERFORMANCE_MONITOR_SAMPLE_INTERVAL_MILLIS = 100;
 
     private final boolean autoCreateHzInstance;
     private final int workerStartupTimeout;
@@ -44,6 +45,7 @@ public class WorkerParameters {
 
     private final boolean monitorPerformance;
     private final int workerPerformanceMonitorIntervalSeconds;
+    private final int workerPerformanceMonitorSampleIntervalMillis;
 
     private final JavaProfiler profiler;
     private final String profilerSettings;
@@ -66,6 +68,7 @@ public class WorkerParameters {
 
         this.monitorPerformance = monitorPerformance;
         this.workerPerformanceMonitorIntervalSeconds = initWorkerPerformanceMonitorIntervalSeconds(properties);
+        this.workerPerformanceMonitorSampleIntervalMillis = initWorkerPerformanceMonitorSampleIntervalMillis(properties);
 
         this.profiler = initProfiler(properties);
         this.profilerSettings = initProfilerSettings(properties);
@@ -80,6 +83,14 @@ public class WorkerParameters {
         return Integer.parseInt(intervalSeconds);
     }
 
+    private int initWorkerPerformanceMonitorSampleIntervalMillis(SimulatorProperties properties) {
+        String intervalMillis = properties.get("WORKER_PERFORMANCE_MONITOR_SAMPLE_INTERVAL_MILLIS");
+        if (intervalMillis == null || intervalMillis.isEmpty()) {
+            return DEFAULT_WORKER_PERFORMANCE_MONITOR_SAMPLE_INTERVAL_MILLIS;
+        }
+        return Integer.parseInt(intervalMillis);
+    }
+
     private JavaProfiler initProfiler(SimulatorProperties properties) {
         String profilerName = properties.get("PROFILER");
         if (profilerName == null || profilerName.isEmpty()) {
@@ -142,6 +153,10 @@ public class WorkerParameters {
         return workerPerformanceMonitorIntervalSeconds;
     }
 
+    public int getWorkerPerformanceMonitorSampleIntervalMillis() {
+        return workerPerformanceMonitorSampleIntervalMillis;
+    }
+
     public int getRunPhaseLogIntervalSeconds(int runPhaseLogIntervalSeconds) {
         if (!monitorPerformance) {
             return runPhaseLogIntervalSeconds;
@@ -17,37 +17,39 @@ package com.hazelcast.simulator.protocol.connector;
 
 import com.hazelcast.simulator.protocol.core.Response;
 import com.hazelcast.simulator.protocol.core.ResponseFuture;
+import com.hazelcast.simulator.protocol.core.ResponseFutureRegistry;
 import com.hazelcast.simulator.protocol.core.ResponseType;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.core.SimulatorMessage;
 import com.hazelcast.simulator.protocol.core.SimulatorProtocolException;
+import com.hazelcast.simulator.protocol.core.WriteCoalescer;
+import com.hazelcast.simulator.protocol.operation.BatchOperation;
+import com.hazelcast.simulator.protocol.operation.OperationCodec;
+import com.hazelcast.simulator.protocol.operation.OperationType;
 import com.hazelcast.simulator.protocol.operation.OperationTypeCounter;
 import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.group.ChannelGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import org.apache.log4j.Logger;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
-import static com.hazelcast.simulator.protocol.core.ResponseFuture.createFutureKey;
-import static com.hazelcast.simulator.protocol.core.ResponseFuture.createInstance;
-import static com.hazelcast.simulator.protocol.operation.OperationCodec.toJson;
-import static com.hazelcast.simulator.protocol.operation.OperationType.getOperationType;
+import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
 import static com.hazelcast.simulator.utils.CommonUtils.joinThread;
 import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
 import static com.hazelcast.simulator.utils.ExecutorFactory.createFixedThreadPool;
@@ -55,40 +57,48 @@ import static java.lang.String.format;
 
 /**
  * Abstract {@link ServerConnector} class for Simulator Agent and Worker.
+ *
+ * Submitted messages to the Coordinator, which are pending on the message queue, are sent together in a {@link BatchOperation}.
+ * All written messages are flushed once per event loop tick via the {@link WriteCoalescer} of each channel.
  */
 abstract class AbstractServerConnector implements ServerConnector {
 
+    static final int MAX_BATCH_SIZE = 128;
+
     private static final Logger LOGGER = Logger.getLogger(AbstractServerConnector.class);
     private static final SimulatorMessage POISON_PILL = new SimulatorMessage(null, null, 0, null, null);
 
     private final AtomicLong messageIds = new AtomicLong();
-    private final ConcurrentMap<String, ResponseFuture> messageQueueFutures = new ConcurrentHashMap<String, ResponseFuture>();
+    private final ResponseFutureRegistry messageQueueFutures = new ResponseFutureRegistry();
     private final BlockingQueue<SimulatorMessage> messageQueue = new LinkedBlockingQueue<SimulatorMessage>();
     private final MessageQueueThread messageQueueThread = new MessageQueueThread();
 
-    private final ConcurrentMap<String, ResponseFuture> futureMap;
+    private final ResponseFutureRegistry futureRegistry;
     private final SimulatorAddress localAddress;
     private final int addressIndex;
     private final int port;
 
+    private final TransportType transportType;
     private final EventLoopGroup group;
     private final ExecutorService executorService;
 
     private Channel channel;
 
-    AbstractServerConnector(ConcurrentMap<String, ResponseFuture> futureMap, SimulatorAddress localAddress, int port,
-                            int threadPoolSize) {
-        this(futureMap, localAddress, port, threadPoolSize, createFixedThreadPool(threadPoolSize, "AbstractServerConnector"));
+    AbstractServerConnector(ResponseFutureRegistry futureRegistry, SimulatorAddress localAddress, int port,
+                            int threadPoolSize, TransportType transportType) {
+        this(futureRegistry, localAddress, port, threadPoolSize, transportType,
+                createFixedThreadPool(threadPoolSize, "AbstractServerConnector"));
     }
 
-    AbstractServerConnector(ConcurrentMap<String, ResponseFuture> futureMap, SimulatorAddress localAddress, int port,
-                            int threadPoolSize, ExecutorService executorService) {
-        this.futureMap = futureMap;
+    AbstractServerConnector(ResponseFutureRegistry futureRegistry, SimulatorAddress localAddress, int port,
+                            int threadPoolSize, TransportType transportType, ExecutorService executorService) {
+        this.futureRegistry = futureRegistry;
         this.localAddress = localAddress;
         this.addressIndex = localAddress.getAddressIndex();
         this.port = port;
 
-        this.group = new NioEventLoopGroup(threadPoolSize);
+        this.transportType = transportType;
+        this.group = transportType.newEventLoopGroup(threadPoolSize);
         this.executorService = executorService;
     }
 
@@ -104,14 +114,16 @@ abstract class AbstractServerConnector implements ServerConnector {
         ChannelFuture future = bootstrap.bind().syncUninterruptibly();
         channel = future.channel();
 
-        LOGGER.info(format("ServerConnector %s listens on %s", localAddress, channel.localAddress()));
+        LOGGER.info(format("ServerConnector %s listens on %s via %s transport", localAddress, channel.localAddress(),
+                transportType));
     }
 
     private ServerBootstrap getServerBootstrap() {
         ServerBootstrap bootstrap = new ServerBootstrap();
         bootstrap.group(group)
-                .channel(NioServerSocketChannel.class)
+                .channel(transportType.getServerChannelClass())
                 .localAddress(new InetSocketAddress(port))
+                .childOption(ChannelOption.ALLOCATOR, transportType.getAllocator())
                 .childHandler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     public void initChannel(SocketChannel channel) {
@@ -146,8 +158,8 @@ abstract class AbstractServerConnector implements ServerConnector {
     }
 
     @Override
-    public ConcurrentMap<String, ResponseFuture> getFutureMap() {
-        return futureMap;
+    public ResponseFutureRegistry getFutureRegistry() {
+        return futureRegistry;
     }
 
     @Override
@@ -180,6 +192,10 @@ abstract class AbstractServerConnector implements ServerConnector {
         return writeAsync(message);
     }
 
+    TransportType getTransportType() {
+        return transportType;
+    }
+
     EventLoopGroup getEventLoopGroup() {
         return group;
     }
@@ -194,29 +210,95 @@ abstract class AbstractServerConnector implements ServerConnector {
 
     ResponseFuture submit(SimulatorAddress source, SimulatorAddress destination, SimulatorOperation operation) {
         SimulatorMessage message = createSimulatorMessage(source, destination, operation);
-        String futureKey = createFutureKey(source, message.getMessageId(), 0);
-        ResponseFuture responseFuture = createInstance(messageQueueFutures, futureKey);
+        ResponseFuture responseFuture = messageQueueFutures.createFuture(source, message.getMessageId(), 0);
         messageQueue.add(message);
         return responseFuture;
     }
 
     private SimulatorMessage createSimulatorMessage(SimulatorAddress src, SimulatorAddress dst, SimulatorOperation op) {
-        return new SimulatorMessage(dst, src, messageIds.incrementAndGet(), getOperationType(op), toJson(op));
+        return OperationCodec.createSimulatorMessage(dst, src, messageIds.incrementAndGet(), op);
     }
 
     private ResponseFuture writeAsync(SimulatorMessage message) {
         long messageId = message.getMessageId();
-        String futureKey = createFutureKey(message.getSource(), messageId, addressIndex);
-        ResponseFuture future = createInstance(futureMap, futureKey);
+        ResponseFuture future = futureRegistry.createFuture(message.getSource(), messageId, addressIndex);
         if (LOGGER.isTraceEnabled()) {
-            LOGGER.trace(format("[%d] %s created ResponseFuture %s", messageId, localAddress, futureKey));
+            LOGGER.trace(format("[%d] %s created %s", messageId, localAddress, future));
         }
         OperationTypeCounter.sent(message.getOperationType());
-        getChannelGroup().writeAndFlush(message);
+        writeToChannels(message);
 
         return future;
     }
 
+    private List<ResponseFuture> writeBatchAsync(List<SimulatorMessage> messages) {
+        if (messages.size() == 1) {
+            return Collections.singletonList(writeAsync(messages.get(0)));
+        }
+
+        List<ResponseFuture> futures = new ArrayList<ResponseFuture>(messages.size());
+        for (SimulatorMessage message : messages) {
+            futures.add(futureRegistry.createFuture(message.getSource(), message.getMessageId(), addressIndex));
+            OperationTypeCounter.sent(message.getOperationType());
+        }
+        SimulatorMessage batchMessage = new SimulatorMessage(COORDINATOR, localAddress, messageIds.incrementAndGet(),
+                OperationType.BATCH, null, new BatchOperation(messages));
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("[%d] %s created batch of %d messages", batchMessage.getMessageId(), localAddress,
+                    messages.size()));
+        }
+        writeToChannels(batchMessage);
+
+        return futures;
+    }
+
+    private void writeToChannels(SimulatorMessage message) {
+        for (Channel groupChannel : getChannelGroup()) {
+            WriteCoalescer.getInstance(groupChannel).write(message);
+        }
+    }
+
+    /**
+     * Sends the messages from the message queue and waits for their responses.
+     *
+     * Consecutive messages to the Coordinator are sent in a single batch, all other messages are sent one by one.
+     */
+    private void sendQueuedMessages(List<SimulatorMessage> messages) throws InterruptedException {
+        List<SimulatorMessage> batch = new ArrayList<SimulatorMessage>(messages.size());
+        for (SimulatorMessage message : messages) {
+            if (COORDINATOR.equals(message.getDestination())) {
+                batch.add(message);
+                continue;
+            }
+            sendAndWaitForResponses(batch);
+            batch.clear();
+            sendAndWaitForResponses(Collections.singletonList(message));
+        }
+        sendAndWaitForResponses(batch);
+    }
+
+    private void sendAndWaitForResponses(List<SimulatorMessage> messages) throws InterruptedException {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        List<ResponseFuture> futures = writeBatchAsync(messages);
+        for (int i = 0; i < messages.size(); i++) {
+            SimulatorMessage message = messages.get(i);
+            Response response = futures.get(i).get();
+
+            ResponseFuture responseFuture = messageQueueFutures.get(message.getSource(), message.getMessageId(), 0);
+            if (responseFuture != null) {
+                responseFuture.set(response);
+            }
+
+            ResponseType responseType = response.getFirstErrorResponseType();
+            if (!responseType.equals(ResponseType.SUCCESS)) {
+                LOGGER.error("Got response type " + responseType + " for " + message);
+            }
+        }
+    }
+
     private final class MessageQueueThread extends Thread {
 
         private static final int WAIT_FOR_EMPTY_QUEUE_MILLIS = 100;
@@ -227,26 +309,21 @@ abstract class AbstractServerConnector implements ServerConnector {
 
         @Override
         public void run() {
+            List<SimulatorMessage> messages = new ArrayList<SimulatorMessage>(MAX_BATCH_SIZE);
             while (true) {
                 try {
-                    SimulatorMessage message = messageQueue.take();
-                    if (POISON_PILL.equals(message)) {
+                    messages.add(messageQueue.take());
+                    messageQueue.drainTo(messages, MAX_BATCH_SIZE - 1);
+
+                    int poisonPillIndex = messages.indexOf(POISON_PILL);
+                    if (poisonPillIndex != -1) {
+                        sendQueuedMessages(messages.subList(0, poisonPillIndex));
                         LOGGER.info("ServerConnectorMessageQueueThread received POISON_PILL and will stop...");
                         break;
                     }
 
-                    Response response = writeAsync(message).get();
-
-                    String futureKey = createFutureKey(message.getSource(), message.getMessageId(), 0);
-                    ResponseFuture responseFuture = messageQueueFutures.get(futureKey);
-                    if (responseFuture != null) {
-                        responseFuture.set(response);
-                    }
-
-                    ResponseType responseType = response.getFirstErrorResponseType();
-                    if (!responseType.equals(ResponseType.SUCCESS)) {
-                        LOGGER.error("Got response type " + responseType + " for " + message);
-                    }
+                    sendQueuedMessages(messages);
+                    messages.clear();
                 } catch (Exception e) {
                     LOGGER.error("Error while sending message from messageQueue", e);
                     throw new SimulatorProtocolException("Error while sending message from messageQueue", e);
@@ -20,7 +20,7 @@ import com.hazelcast.simulator.agent.workerjvm.WorkerJvmManager;
 import com.hazelcast.simulator.protocol.core.ClientConnectorManager;
 import com.hazelcast.simulator.protocol.core.ConnectionManager;
 import com.hazelcast.simulator.protocol.core.Response;
-import com.hazelcast.simulator.protocol.core.ResponseFuture;
+import com.hazelcast.simulator.protocol.core.ResponseFutureRegistry;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.exception.RemoteExceptionLogger;
 import com.hazelcast.simulator.protocol.handler.ConnectionListenerHandler;
@@ -30,6 +30,7 @@ import com.hazelcast.simulator.protocol.handler.ForwardToCoordinatorHandler;
 import com.hazelcast.simulator.protocol.handler.ForwardToWorkerHandler;
 import com.hazelcast.simulator.protocol.handler.MessageConsumeHandler;
 import com.hazelcast.simulator.protocol.handler.MessageEncoder;
+import com.hazelcast.simulator.protocol.handler.RelayResponseHandler;
 import com.hazelcast.simulator.protocol.handler.ResponseEncoder;
 import com.hazelcast.simulator.protocol.handler.ResponseHandler;
 import com.hazelcast.simulator.protocol.handler.SimulatorFrameDecoder;
@@ -39,8 +40,6 @@ import com.hazelcast.simulator.protocol.processors.AgentOperationProcessor;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.group.ChannelGroup;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import static com.hazelcast.simulator.protocol.core.AddressLevel.AGENT;
 import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
@@ -59,7 +58,7 @@ public class AgentConnector extends AbstractServerConnector implements ClientPip
     private final ClientConnectorManager clientConnectorManager = new ClientConnectorManager();
 
     private final AgentOperationProcessor processor;
-    private final ConcurrentMap<String, ResponseFuture> futureMap;
+    private final ResponseFutureRegistry futureRegistry;
 
     private final SimulatorAddress localAddress;
     private final int addressIndex;
@@ -67,14 +66,15 @@ public class AgentConnector extends AbstractServerConnector implements ClientPip
     private final ConnectionManager connectionManager;
     private final WorkerJvmManager workerJvmManager;
 
-    AgentConnector(ConcurrentMap<String, ResponseFuture> futureMap, SimulatorAddress localAddress, int port, Agent agent,
-                   WorkerJvmManager workerJvmManager, ConnectionManager connectionManager, int threadPoolSize) {
-        super(futureMap, localAddress, port, threadPoolSize);
+    AgentConnector(ResponseFutureRegistry futureRegistry, SimulatorAddress localAddress, int port, Agent agent,
+                   WorkerJvmManager workerJvmManager, ConnectionManager connectionManager, int threadPoolSize,
+                   TransportType transportType) {
+        super(futureRegistry, localAddress, port, threadPoolSize, transportType);
 
         RemoteExceptionLogger exceptionLogger = new RemoteExceptionLogger(localAddress, AGENT_EXCEPTION, this);
         this.processor = new AgentOperationProcessor(exceptionLogger, agent, workerJvmManager, getExecutorService());
 
-        this.futureMap = futureMap;
+        this.futureRegistry = futureRegistry;
 
         this.localAddress = localAddress;
         this.addressIndex = localAddress.getAddressIndex();
@@ -85,14 +85,16 @@ public class AgentConnector extends AbstractServerConnector implements ClientPip
 
     @Override
     public void configureClientPipeline(ChannelPipeline pipeline, SimulatorAddress remoteAddress,
-                                        ConcurrentMap<String, ResponseFuture> futureMap) {
+                                        ResponseFutureRegistry futureRegistry) {
         pipeline.addLast("responseEncoder", new ResponseEncoder(localAddress));
         pipeline.addLast("messageEncoder", new MessageEncoder(localAddress, remoteAddress));
         pipeline.addLast("frameDecoder", new SimulatorFrameDecoder());
+        pipeline.addLast("relayResponseHandler", new RelayResponseHandler(localAddress, remoteAddress, futureRegistry,
+                workerJvmManager));
         pipeline.addLast("protocolDecoder", new SimulatorProtocolDecoder(localAddress, workerJvmManager));
         pipeline.addLast("forwardToCoordinatorHandler", new ForwardToCoordinatorHandler(localAddress, connectionManager,
                 workerJvmManager));
-        pipeline.addLast("responseHandler", new ResponseHandler(localAddress, remoteAddress, getFutureMap()));
+        pipeline.addLast("responseHandler", new ResponseHandler(localAddress, remoteAddress, getFutureRegistry()));
         pipeline.addLast("messageConsumeHandler", new MessageConsumeHandler(localAddress, processor, getExecutorService()));
         pipeline.addLast("exceptionHandler", new ExceptionHandler(this));
     }
@@ -105,10 +107,9 @@ public class AgentConnector extends AbstractServerConnector implements ClientPip
         pipeline.addLast("messageEncoder", new MessageEncoder(localAddress, COORDINATOR));
         pipeline.addLast("frameDecoder", new SimulatorFrameDecoder());
         pipeline.addLast("protocolDecoder", new SimulatorProtocolDecoder(localAddress));
-        pipeline.addLast("forwardToWorkerHandler", new ForwardToWorkerHandler(localAddress, clientConnectorManager,
-                getExecutorService()));
+        pipeline.addLast("forwardToWorkerHandler", new ForwardToWorkerHandler(localAddress, clientConnectorManager));
         pipeline.addLast("messageConsumeHandler", new MessageConsumeHandler(localAddress, processor, getExecutorService()));
-        pipeline.addLast("responseHandler", new ResponseHandler(localAddress, COORDINATOR, futureMap, addressIndex));
+        pipeline.addLast("responseHandler", new ResponseHandler(localAddress, COORDINATOR, futureRegistry, addressIndex));
         pipeline.addLast("exceptionHandler", new ExceptionHandler(this));
     }
 
@@ -132,13 +133,28 @@ public class AgentConnector extends AbstractServerConnector implements ClientPip
      * @param threadPoolSize   size of the Netty thread pool to connect to Worker instances
      */
     public static AgentConnector createInstance(Agent agent, WorkerJvmManager workerJvmManager, int port, int threadPoolSize) {
-        ConcurrentMap<String, ResponseFuture> futureMap = new ConcurrentHashMap<String, ResponseFuture>();
+        return createInstance(agent, workerJvmManager, port, threadPoolSize, TransportType.NIO);
+    }
+
+    /**
+     * Creates an {@link AgentConnector} instance.
+     *
+     * @param agent            instance of this Simulator Agent
+     * @param workerJvmManager manager for WorkerJVM instances
+     * @param port             the port for incoming connections
+     * @param threadPoolSize   size of the Netty thread pool to connect to Worker instances
+     * @param transportType    the {@link TransportType} for the connections to the Coordinator and the Worker instances
+     */
+    public static AgentConnector createInstance(Agent agent, WorkerJvmManager workerJvmManager, int port, int threadPoolSize,
+                                                TransportType transportType) {
+        ResponseFutureRegistry futureRegistry = new ResponseFutureRegistry();
         SimulatorAddress localAddress = new SimulatorAddress(AGENT, agent.getAddressIndex(), 0, 0);
         ConnectionManager connectionManager = new ConnectionManager();
 
         threadPoolSize = max(DEFAULT_THREAD_POOL_SIZE, threadPoolSize);
 
-        return new AgentConnector(futureMap, localAddress, port, agent, workerJvmManager, connectionManager, threadPoolSize);
+        return new AgentConnector(futureRegistry, localAddress, port, agent, workerJvmManager, connectionManager, threadPoolSize,
+                transportType);
     }
 
     /**
@@ -151,8 +167,8 @@ public class AgentConnector extends AbstractServerConnector implements ClientPip
      */
     public SimulatorAddress addWorker(int workerIndex, String workerHost, int workerPort) {
         SimulatorAddress remoteAddress = localAddress.getChild(workerIndex);
-        ClientConnector clientConnector = new ClientConnector(this, getEventLoopGroup(), futureMap, localAddress, remoteAddress,
-                workerIndex, workerHost, workerPort);
+        ClientConnector clientConnector = new ClientConnector(this, getEventLoopGroup(), getTransportType(), futureRegistry,
+                localAddress, remoteAddress, workerIndex, workerHost, workerPort);
         clientConnector.start();
 
         clientConnectorManager.addClient(workerIndex, clientConnector);
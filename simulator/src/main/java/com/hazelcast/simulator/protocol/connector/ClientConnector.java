@@ -17,9 +17,11 @@ package com.hazelcast.simulator.protocol.connector;
 
 import com.hazelcast.simulator.protocol.core.Response;
 import com.hazelcast.simulator.protocol.core.ResponseFuture;
+import com.hazelcast.simulator.protocol.core.ResponseFutureRegistry;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.core.SimulatorMessage;
 import com.hazelcast.simulator.protocol.core.SimulatorProtocolException;
+import com.hazelcast.simulator.protocol.core.WriteCoalescer;
 import com.hazelcast.simulator.protocol.operation.OperationTypeCounter;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
@@ -29,15 +31,11 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import org.apache.log4j.Logger;
 
 import java.net.InetSocketAddress;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
-import static com.hazelcast.simulator.protocol.core.ResponseFuture.createFutureKey;
-import static com.hazelcast.simulator.protocol.core.ResponseFuture.createInstance;
 import static com.hazelcast.simulator.protocol.core.SimulatorMessageCodec.getMessageId;
 import static com.hazelcast.simulator.protocol.core.SimulatorMessageCodec.getSourceAddress;
 import static java.lang.String.format;
@@ -53,7 +51,8 @@ public class ClientConnector {
 
     private final ClientPipelineConfigurator pipelineConfigurator;
     private final EventLoopGroup group;
-    private final ConcurrentMap<String, ResponseFuture> futureMap;
+    private final TransportType transportType;
+    private final ResponseFutureRegistry futureRegistry;
 
     private final SimulatorAddress localAddress;
     private final SimulatorAddress remoteAddress;
@@ -64,12 +63,13 @@ public class ClientConnector {
 
     private Channel channel;
 
-    ClientConnector(ClientPipelineConfigurator pipelineConfigurator, EventLoopGroup group,
-                    ConcurrentMap<String, ResponseFuture> futureMap, SimulatorAddress localAddress,
+    ClientConnector(ClientPipelineConfigurator pipelineConfigurator, EventLoopGroup group, TransportType transportType,
+                    ResponseFutureRegistry futureRegistry, SimulatorAddress localAddress,
                     SimulatorAddress remoteAddress, int remoteIndex, String remoteHost, int remotePort) {
         this.pipelineConfigurator = pipelineConfigurator;
         this.group = group;
-        this.futureMap = futureMap;
+        this.transportType = transportType;
+        this.futureRegistry = futureRegistry;
 
         this.localAddress = localAddress;
         this.remoteAddress = remoteAddress;
@@ -91,14 +91,15 @@ public class ClientConnector {
         Bootstrap bootstrap = new Bootstrap();
         bootstrap
                 .group(group)
-                .channel(NioSocketChannel.class)
+                .channel(transportType.getChannelClass())
                 .remoteAddress(new InetSocketAddress(remoteHost, remotePort))
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECT_TIMEOUT_MILLIS)
                 .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.ALLOCATOR, transportType.getAllocator())
                 .handler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     public void initChannel(SocketChannel channel) {
-                        pipelineConfigurator.configureClientPipeline(channel.pipeline(), remoteAddress, futureMap);
+                        pipelineConfigurator.configureClientPipeline(channel.pipeline(), remoteAddress, futureRegistry);
                     }
                 });
         return bootstrap;
@@ -110,8 +111,8 @@ public class ClientConnector {
         }
     }
 
-    public ConcurrentMap<String, ResponseFuture> getFutureMap() {
-        return futureMap;
+    public ResponseFutureRegistry getFutureRegistry() {
+        return futureRegistry;
     }
 
     public SimulatorAddress getRemoteAddress() {
@@ -119,7 +120,7 @@ public class ClientConnector {
     }
 
     public void forwardToChannel(ByteBuf buffer) {
-        channel.writeAndFlush(buffer);
+        WriteCoalescer.getInstance(channel).write(buffer);
     }
 
     public Response write(SimulatorMessage message) {
@@ -136,13 +137,31 @@ public class ClientConnector {
         return writeAsync(getSourceAddress(buffer), getMessageId(buffer), buffer);
     }
 
+    /**
+     * Writes an encoded {@link SimulatorMessage} and relays the encoded {@link Response} to the given {@link Channel}.
+     *
+     * @param buffer       the encoded {@link SimulatorMessage}
+     * @param relayChannel the {@link Channel} to relay the encoded {@link Response} to
+     * @return the relay {@link ResponseFuture}
+     */
+    public ResponseFuture relayAsync(ByteBuf buffer, Channel relayChannel) {
+        SimulatorAddress source = getSourceAddress(buffer);
+        long messageId = getMessageId(buffer);
+        ResponseFuture future = futureRegistry.createRelayFuture(source, messageId, remoteIndex, relayChannel);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("[%d] %s created %s", messageId, localAddress, future));
+        }
+        WriteCoalescer.getInstance(channel).write(buffer);
+
+        return future;
+    }
+
     private ResponseFuture writeAsync(SimulatorAddress source, long messageId, Object msg) {
-        String futureKey = createFutureKey(source, messageId, remoteIndex);
-        ResponseFuture future = createInstance(futureMap, futureKey);
+        ResponseFuture future = futureRegistry.createFuture(source, messageId, remoteIndex);
         if (LOGGER.isTraceEnabled()) {
-            LOGGER.trace(format("[%d] %s created ResponseFuture %s", messageId, localAddress, futureKey));
+            LOGGER.trace(format("[%d] %s created %s", messageId, localAddress, future));
         }
-        channel.writeAndFlush(msg);
+        WriteCoalescer.getInstance(channel).write(msg);
 
         return future;
     }
@@ -21,6 +21,7 @@ import com.hazelcast.simulator.coordinator.TestHistogramContainer;
 import com.hazelcast.simulator.coordinator.TestPhaseListenerContainer;
 import com.hazelcast.simulator.protocol.core.Response;
 import com.hazelcast.simulator.protocol.core.ResponseFuture;
+import com.hazelcast.simulator.protocol.core.ResponseFutureRegistry;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.core.SimulatorMessage;
 import com.hazelcast.simulator.protocol.core.SimulatorProtocolException;
@@ -36,7 +37,6 @@ import com.hazelcast.simulator.protocol.processors.CoordinatorOperationProcessor
 import com.hazelcast.simulator.utils.ThreadSpawner;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import org.apache.log4j.Logger;
 
 import java.util.ArrayList;
@@ -51,8 +51,7 @@ import static com.hazelcast.simulator.protocol.connector.ServerConnector.DEFAULT
 import static com.hazelcast.simulator.protocol.connector.ServerConnector.DEFAULT_SHUTDOWN_TIMEOUT;
 import static com.hazelcast.simulator.protocol.core.ResponseType.FAILURE_AGENT_NOT_FOUND;
 import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
-import static com.hazelcast.simulator.protocol.operation.OperationCodec.toJson;
-import static com.hazelcast.simulator.protocol.operation.OperationType.getOperationType;
+import static com.hazelcast.simulator.protocol.operation.OperationCodec.createSimulatorMessage;
 import static com.hazelcast.simulator.utils.ExecutorFactory.createFixedThreadPool;
 import static java.lang.String.format;
 import static org.junit.Assert.fail;
@@ -66,37 +65,47 @@ public class CoordinatorConnector implements ClientPipelineConfigurator {
     private static final Logger LOGGER = Logger.getLogger(CoordinatorConnector.class);
     private static final int EXECUTOR_POOL_SIZE = Runtime.getRuntime().availableProcessors() + 1;
 
-    private final EventLoopGroup group = new NioEventLoopGroup();
     private final AtomicLong messageIds = new AtomicLong();
     private final ConcurrentMap<Integer, ClientConnector> agents = new ConcurrentHashMap<Integer, ClientConnector>();
     private final LocalExceptionLogger exceptionLogger = new LocalExceptionLogger();
 
     private final CoordinatorOperationProcessor processor;
+    private final TransportType transportType;
+    private final EventLoopGroup group;
     private final ExecutorService executorService;
 
     public CoordinatorConnector(FailureContainer failureContainer, TestPhaseListenerContainer testPhaseListenerContainer,
                                 PerformanceStateContainer performanceStateContainer,
                                 TestHistogramContainer testHistogramContainer) {
         this(failureContainer, testPhaseListenerContainer, performanceStateContainer, testHistogramContainer,
+                TransportType.NIO);
+    }
+
+    public CoordinatorConnector(FailureContainer failureContainer, TestPhaseListenerContainer testPhaseListenerContainer,
+                                PerformanceStateContainer performanceStateContainer,
+                                TestHistogramContainer testHistogramContainer, TransportType transportType) {
+        this(failureContainer, testPhaseListenerContainer, performanceStateContainer, testHistogramContainer, transportType,
                 createFixedThreadPool(EXECUTOR_POOL_SIZE, "CoordinatorConnector"));
     }
 
     CoordinatorConnector(FailureContainer failureContainer, TestPhaseListenerContainer testPhaseListenerContainer,
                          PerformanceStateContainer performanceStateContainer, TestHistogramContainer testHistogramContainer,
-                         ExecutorService executorService) {
+                         TransportType transportType, ExecutorService executorService) {
         this.processor = new CoordinatorOperationProcessor(exceptionLogger, failureContainer, testPhaseListenerContainer,
                 performanceStateContainer, testHistogramContainer);
+        this.transportType = transportType;
+        this.group = transportType.newEventLoopGroup(0);
         this.executorService = executorService;
     }
 
     @Override
     public void configureClientPipeline(ChannelPipeline pipeline, SimulatorAddress remoteAddress,
-                                        ConcurrentMap<String, ResponseFuture> futureMap) {
+                                        ResponseFutureRegistry futureRegistry) {
         pipeline.addLast("messageEncoder", new MessageEncoder(COORDINATOR, remoteAddress));
         pipeline.addLast("responseEncoder", new ResponseEncoder(COORDINATOR));
         pipeline.addLast("frameDecoder", new SimulatorFrameDecoder());
         pipeline.addLast("protocolDecoder", new SimulatorProtocolDecoder(COORDINATOR));
-        pipeline.addLast("responseHandler", new ResponseHandler(COORDINATOR, remoteAddress, futureMap));
+        pipeline.addLast("responseHandler", new ResponseHandler(COORDINATOR, remoteAddress, futureRegistry));
         pipeline.addLast("messageConsumeHandler", new MessageConsumeHandler(COORDINATOR, processor, executorService));
     }
 
@@ -133,9 +142,9 @@ public class CoordinatorConnector implements ClientPipelineConfigurator {
      * @param agentPort  the port of the Simulator Agent
      */
     public void addAgent(int agentIndex, String agentHost, int agentPort) {
-        ConcurrentHashMap<String, ResponseFuture> futureMap = new ConcurrentHashMap<String, ResponseFuture>();
-        ClientConnector client = new ClientConnector(this, group, futureMap, COORDINATOR, COORDINATOR.getChild(agentIndex),
-                agentIndex, agentHost, agentPort);
+        ResponseFutureRegistry futureRegistry = new ResponseFutureRegistry();
+        ClientConnector client = new ClientConnector(this, group, transportType, futureRegistry, COORDINATOR,
+                COORDINATOR.getChild(agentIndex), agentIndex, agentHost, agentPort);
         client.start();
 
         agents.put(agentIndex, client);
@@ -161,8 +170,7 @@ public class CoordinatorConnector implements ClientPipelineConfigurator {
      * @return a {@link Response} with the response of all addressed Simulator components.
      */
     public Response write(SimulatorAddress destination, SimulatorOperation operation) {
-        SimulatorMessage message = new SimulatorMessage(destination, COORDINATOR, messageIds.incrementAndGet(),
-                getOperationType(operation), toJson(operation));
+        SimulatorMessage message = createSimulatorMessage(destination, COORDINATOR, messageIds.incrementAndGet(), operation);
 
         int agentAddressIndex = destination.getAgentIndex();
         Response response = new Response(message);
@@ -203,11 +211,11 @@ public class CoordinatorConnector implements ClientPipelineConfigurator {
      */
     public void assertEmptyFutureMaps() {
         for (ClientConnector clientConnector : agents.values()) {
-            ConcurrentMap<String, ResponseFuture> futureMap = clientConnector.getFutureMap();
+            ResponseFutureRegistry futureRegistry = clientConnector.getFutureRegistry();
             SimulatorAddress remoteAddress = clientConnector.getRemoteAddress();
-            int futureMapSize = futureMap.size();
-            if (futureMapSize > 0) {
-                LOGGER.error("Future entries: " + futureMap.toString());
+            int futureRegistrySize = futureRegistry.size();
+            if (futureRegistrySize > 0) {
+                LOGGER.error("Future entries: " + futureRegistry.toString());
                 fail(format("FutureMap of ClientConnector %s is not empty", remoteAddress));
             }
         }
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.protocol.connector;
+
+import com.hazelcast.simulator.utils.CommandLineExitException;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.apache.log4j.Logger;
+
+import static java.lang.String.format;
+import static java.util.Arrays.asList;
+
+/**
+ * Defines the Netty transport which is used by the Simulator connectors.
+ *
+ * The {@link #EPOLL} transport uses the native epoll implementation of Netty with pooled direct buffers. It is just available
+ * on Linux, so {@link #fromString(String)} falls back to {@link #NIO} on all other platforms.
+ */
+public enum TransportType {
+
+    /**
+     * Portable Java NIO transport.
+     */
+    NIO {
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        EventLoopGroup newEventLoopGroup(int threadPoolSize) {
+            return new NioEventLoopGroup(threadPoolSize);
+        }
+
+        @Override
+        Class<? extends ServerSocketChannel> getServerChannelClass() {
+            return NioServerSocketChannel.class;
+        }
+
+        @Override
+        Class<? extends SocketChannel> getChannelClass() {
+            return NioSocketChannel.class;
+        }
+
+        @Override
+        ByteBufAllocator getAllocator() {
+            return ByteBufAllocator.DEFAULT;
+        }
+    },
+
+    /**
+     * Native Linux epoll transport with pooled direct buffers.
+     */
+    EPOLL {
+        @Override
+        public boolean isAvailable() {
+            return Epoll.isAvailable();
+        }
+
+        @Override
+        EventLoopGroup newEventLoopGroup(int threadPoolSize) {
+            return new EpollEventLoopGroup(threadPoolSize);
+        }
+
+        @Override
+        Class<? extends ServerSocketChannel> getServerChannelClass() {
+            return EpollServerSocketChannel.class;
+        }
+
+        @Override
+        Class<? extends SocketChannel> getChannelClass() {
+            return EpollSocketChannel.class;
+        }
+
+        @Override
+        ByteBufAllocator getAllocator() {
+            return PooledDirectAllocatorHolder.ALLOCATOR;
+        }
+    };
+
+    /**
+     * Name of the system property which is used to pass the transport type to the Worker JVMs.
+     */
+    public static final String PROPERTY_NAME = "protocolTransport";
+
+    private static final Logger LOGGER = Logger.getLogger(TransportType.class);
+
+    /**
+     * Checks if this transport can be used on the current platform.
+     *
+     * @return {@code true} if the transport is available, {@code false} otherwise
+     */
+    public abstract boolean isAvailable();
+
+    abstract EventLoopGroup newEventLoopGroup(int threadPoolSize);
+
+    abstract Class<? extends ServerSocketChannel> getServerChannelClass();
+
+    abstract Class<? extends SocketChannel> getChannelClass();
+
+    abstract ByteBufAllocator getAllocator();
+
+    /**
+     * Returns the {@link TransportType} for the given name.
+     *
+     * Falls back to {@link #NIO} if the name is {@code null} or empty or if the requested transport is not available.
+     *
+     * @param name the case-insensitive name of the transport type
+     * @return the {@link TransportType}
+     * @throws CommandLineExitException if the name is no valid transport type
+     */
+    public static TransportType fromString(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return NIO;
+        }
+        TransportType transportType;
+        try {
+            transportType = TransportType.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new CommandLineExitException(format("Unknown transport type: %s (supported values are %s)", name,
+                    asList(values())));
+        }
+        if (!transportType.isAvailable()) {
+            LOGGER.warn(format("Transport %s is not available, falling back to %s (%s)", transportType, NIO,
+                    Epoll.unavailabilityCause()));
+            return NIO;
+        }
+        return transportType;
+    }
+
+    /**
+     * Lazy holder, so the pooled direct buffers are just allocated if the {@link #EPOLL} transport is used.
+     */
+    private static final class PooledDirectAllocatorHolder {
+
+        private static final ByteBufAllocator ALLOCATOR = new PooledByteBufAllocator(true);
+    }
+}
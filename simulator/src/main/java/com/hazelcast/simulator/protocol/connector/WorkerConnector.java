@@ -18,6 +18,7 @@ package com.hazelcast.simulator.protocol.connector;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.simulator.protocol.core.ConnectionManager;
 import com.hazelcast.simulator.protocol.core.ResponseFuture;
+import com.hazelcast.simulator.protocol.core.ResponseFutureRegistry;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.core.TestProcessorManager;
 import com.hazelcast.simulator.protocol.exception.ExceptionLogger;
@@ -42,8 +43,6 @@ import com.hazelcast.simulator.worker.WorkerType;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.group.ChannelGroup;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import static com.hazelcast.simulator.protocol.core.AddressLevel.WORKER;
 import static com.hazelcast.simulator.protocol.exception.ExceptionType.WORKER_EXCEPTION;
@@ -63,14 +62,14 @@ public class WorkerConnector extends AbstractServerConnector {
 
     private final ConnectionManager connectionManager;
     private final TestProcessorManager testProcessorManager;
-    private final ConcurrentMap<String, ResponseFuture> futureMap;
+    private final ResponseFutureRegistry futureRegistry;
 
-    WorkerConnector(ConcurrentMap<String, ResponseFuture> futureMap, SimulatorAddress localAddress, int port,
-                    boolean useRemoteLogger, WorkerType type, HazelcastInstance hazelcastInstance, Worker worker,
-                    ConnectionManager connectionManager) {
-        super(futureMap, localAddress, port, DEFAULT_THREAD_POOL_SIZE);
+    WorkerConnector(ResponseFutureRegistry futureRegistry, SimulatorAddress localAddress, int port, WorkerType type,
+                    HazelcastInstance hazelcastInstance, Worker worker, ConnectionManager connectionManager,
+                    WorkerConnectorParameters parameters) {
+        super(futureRegistry, localAddress, port, DEFAULT_THREAD_POOL_SIZE, parameters.getTransportType());
 
-        ExceptionLogger exceptionLogger = createExceptionLogger(localAddress, useRemoteLogger);
+        ExceptionLogger exceptionLogger = createExceptionLogger(localAddress, parameters.isUseRemoteLogger());
         this.processor = new WorkerOperationProcessor(exceptionLogger, type, hazelcastInstance, worker, localAddress);
 
         this.localAddress = localAddress;
@@ -78,7 +77,7 @@ public class WorkerConnector extends AbstractServerConnector {
 
         this.connectionManager = connectionManager;
         this.testProcessorManager = new TestProcessorManager(localAddress);
-        this.futureMap = futureMap;
+        this.futureRegistry = futureRegistry;
     }
 
     @Override
@@ -93,7 +92,8 @@ public class WorkerConnector extends AbstractServerConnector {
         pipeline.addLast("testProtocolDecoder", new SimulatorProtocolDecoder(localAddress.getChild(0)));
         pipeline.addLast("testMessageConsumeHandler", new MessageTestConsumeHandler(testProcessorManager, localAddress,
                 getExecutorService()));
-        pipeline.addLast("responseHandler", new ResponseHandler(localAddress, localAddress.getParent(), futureMap, addressIndex));
+        pipeline.addLast("responseHandler",
+                new ResponseHandler(localAddress, localAddress.getParent(), futureRegistry, addressIndex));
         pipeline.addLast("exceptionHandler", new ExceptionHandler(serverConnector));
     }
 
@@ -131,12 +131,30 @@ public class WorkerConnector extends AbstractServerConnector {
      */
     public static WorkerConnector createInstance(int parentAddressIndex, int addressIndex, int port, WorkerType type,
                                                  HazelcastInstance hazelcastInstance, Worker worker, boolean useRemoteLogger) {
-        ConcurrentMap<String, ResponseFuture> futureMap = new ConcurrentHashMap<String, ResponseFuture>();
+        return createInstance(parentAddressIndex, addressIndex, port, type, hazelcastInstance, worker,
+                new WorkerConnectorParameters(useRemoteLogger, TransportType.NIO));
+    }
+
+    /**
+     * Creates a {@link WorkerConnector} instance.
+     *
+     * @param parentAddressIndex the index of the parent Simulator Agent
+     * @param addressIndex       the index of this Simulator Worker
+     * @param port               the port for incoming connections
+     * @param type               the {@link WorkerType} of this Simulator Worker
+     * @param hazelcastInstance  the {@link HazelcastInstance} for this Simulator Worker
+     * @param worker             the {@link Worker} instance of this Simulator Worker
+     * @param parameters         the {@link WorkerConnectorParameters} for this Simulator Worker
+     */
+    public static WorkerConnector createInstance(int parentAddressIndex, int addressIndex, int port, WorkerType type,
+                                                 HazelcastInstance hazelcastInstance, Worker worker,
+                                                 WorkerConnectorParameters parameters) {
+        ResponseFutureRegistry futureRegistry = new ResponseFutureRegistry();
         SimulatorAddress localAddress = new SimulatorAddress(WORKER, parentAddressIndex, addressIndex, 0);
         ConnectionManager connectionManager = new ConnectionManager();
 
-        return new WorkerConnector(futureMap, localAddress, port, useRemoteLogger, type, hazelcastInstance, worker,
-                connectionManager);
+        return new WorkerConnector(futureRegistry, localAddress, port, type, hazelcastInstance, worker, connectionManager,
+                parameters);
     }
 
     /**
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.protocol.connector;
+
+import com.hazelcast.simulator.protocol.exception.FileExceptionLogger;
+import com.hazelcast.simulator.protocol.exception.RemoteExceptionLogger;
+
+/**
+ * Optional parameters of a {@link WorkerConnector}.
+ */
+public final class WorkerConnectorParameters {
+
+    private final boolean useRemoteLogger;
+    private final TransportType transportType;
+
+    /**
+     * Creates the parameters of a {@link WorkerConnector}.
+     *
+     * @param useRemoteLogger determines if the {@link RemoteExceptionLogger} or {@link FileExceptionLogger} should be used
+     * @param transportType   the {@link TransportType} for the connection to the Simulator Agent
+     */
+    public WorkerConnectorParameters(boolean useRemoteLogger, TransportType transportType) {
+        this.useRemoteLogger = useRemoteLogger;
+        this.transportType = transportType;
+    }
+
+    public boolean isUseRemoteLogger() {
+        return useRemoteLogger;
+    }
+
+    public TransportType getTransportType() {
+        return transportType;
+    }
+}
@@ -83,6 +83,10 @@ public final class ResponseCodec {
         return in.getLong(OFFSET_MESSAGE_ID);
     }
 
+    public static SimulatorAddress getDestination(ByteBuf in) {
+        return decodeSimulatorAddress(in.slice(OFFSET_DST_ADDRESS, ADDRESS_SIZE));
+    }
+
     public static int getDestinationAddressLevel(ByteBuf in) {
         return in.getInt(OFFSET_DST_ADDRESS);
     }
@@ -15,65 +15,76 @@
  */
 package com.hazelcast.simulator.protocol.core;
 
-import java.util.concurrent.ConcurrentMap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
-import static java.lang.Long.parseLong;
 import static java.lang.String.format;
 
 /**
  * A {@link Future} implementation to wait asynchronously for the {@link Response} to a {@link SimulatorMessage}.
+ *
+ * The future is completed without taking a lock and removes itself from its {@link ResponseFutureRegistry}. Besides blocking
+ * on {@link #get()}, a {@link ResponseListener} can be added to be notified on completion.
+ *
+ * A relay future has a relay {@link Channel}. It can be completed via {@link #relay(ByteBuf)}, which passes the encoded
+ * {@link Response} frame straight through to the relay channel, without decoding and encoding it again.
  */
 public final class ResponseFuture implements Future<Response> {
 
-    private static final long ONE_MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+    /**
+     * Marker {@link Response} of a future, which has been completed via {@link #relay(ByteBuf)}.
+     */
+    public static final Response RELAYED = new Response(0, null);
+
+    private static final AtomicReferenceFieldUpdater<ResponseFuture, Response> RESPONSE
+            = AtomicReferenceFieldUpdater.newUpdater(ResponseFuture.class, Response.class, "response");
+    private static final AtomicReferenceFieldUpdater<ResponseFuture, ListenerNode> LISTENERS
+            = AtomicReferenceFieldUpdater.newUpdater(ResponseFuture.class, ListenerNode.class, "listeners");
+
+    private final CountDownLatch responseLatch = new CountDownLatch(1);
 
-    private final ConcurrentMap<String, ResponseFuture> futureMap;
-    private final String key;
+    private final ResponseFutureRegistry registry;
+    private final SimulatorAddress source;
+    private final long messageId;
+    private final int remoteAddressIndex;
+    private final Channel relayChannel;
 
     private volatile Response response;
+    private volatile ListenerNode listeners;
 
-    private ResponseFuture(ConcurrentMap<String, ResponseFuture> futureMap, String key) {
-        this.futureMap = futureMap;
-        this.key = key;
+    ResponseFuture(ResponseFutureRegistry registry, SimulatorAddress source, long messageId, int remoteAddressIndex) {
+        this(registry, source, messageId, remoteAddressIndex, null);
     }
 
-    /**
-     * Creates a {@link ResponseFuture} instance.
-     *
-     * @param futureMap the map of {@link ResponseFuture} where we add this one to
-     * @param key       the key for this {@link ResponseFuture} in the map
-     * @return the {@link ResponseFuture} instance
-     */
-    public static ResponseFuture createInstance(ConcurrentMap<String, ResponseFuture> futureMap, String key) {
-        ResponseFuture future = new ResponseFuture(futureMap, key);
-        futureMap.put(key, future);
+    ResponseFuture(ResponseFutureRegistry registry, SimulatorAddress source, long messageId, int remoteAddressIndex,
+                   Channel relayChannel) {
+        this.registry = registry;
+        this.source = source;
+        this.messageId = messageId;
+        this.remoteAddressIndex = remoteAddressIndex;
+        this.relayChannel = relayChannel;
+    }
 
-        return future;
+    public SimulatorAddress getSource() {
+        return source;
     }
 
-    /**
-     * Creates a map key for a {@link ResponseFuture}.
-     *
-     * @param source             the source {@link SimulatorAddress} of a {@link SimulatorMessage}
-     * @param messageId          the messageId of a {@link SimulatorMessage}
-     * @param remoteAddressIndex the address index of a remote Simulator component
-     * @return the key for the {@link ResponseFuture} map
-     */
-    public static String createFutureKey(SimulatorAddress source, long messageId, int remoteAddressIndex) {
-        return source.toString() + '-' + messageId + '-' + remoteAddressIndex;
+    public long getMessageId() {
+        return messageId;
     }
 
-    public static SimulatorAddress getSourceFromFutureKey(String futureKey) {
-        String sourceString = futureKey.substring(0, futureKey.indexOf('-'));
-        return SimulatorAddress.fromString(sourceString);
+    public int getRemoteAddressIndex() {
+        return remoteAddressIndex;
     }
 
-    public static long getMessageIdFromFutureKey(String futureKey) {
-        String messageIdString = futureKey.substring(futureKey.indexOf('-') + 1, futureKey.lastIndexOf('-'));
-        return parseLong(messageIdString);
+    public boolean isRelay() {
+        return (relayChannel != null);
     }
 
     @Override
@@ -91,27 +102,76 @@ public final class ResponseFuture implements Future<Response> {
         return (response != null);
     }
 
-    public void set(Response response) {
+    /**
+     * Completes this future with the given {@link Response}.
+     *
+     * Only the first {@link Response} is set, subsequent calls are ignored.
+     *
+     * @param response the {@link Response} to set
+     * @return {@code true} if the future was completed by this call, {@code false} if it was already completed
+     */
+    public boolean set(Response response) {
         if (response == null) {
             throw new IllegalArgumentException("response is null");
         }
+        if (!RESPONSE.compareAndSet(this, null, response)) {
+            return false;
+        }
 
-        synchronized (this) {
-            this.response = response;
-            notifyAll();
+        registry.remove(this);
+        responseLatch.countDown();
+        notifyListeners(response);
+        return true;
+    }
+
+    /**
+     * Completes this future by writing the encoded {@link Response} frame to the relay {@link Channel}.
+     *
+     * The ownership of the frame is passed to this method. If the future was already completed, e.g. by a timeout, the frame
+     * is released. The listeners are notified with {@link #RELAYED}.
+     *
+     * @param frame the encoded {@link Response} frame
+     * @return {@code true} if the frame was relayed by this call, {@code false} if the future was already completed
+     * @throws IllegalStateException if this future has no relay {@link Channel}
+     */
+    public boolean relay(ByteBuf frame) {
+        if (relayChannel == null) {
+            frame.release();
+            throw new IllegalStateException("ResponseFuture has no relay channel: " + this);
+        }
+        if (!RESPONSE.compareAndSet(this, null, RELAYED)) {
+            frame.release();
+            return false;
+        }
+
+        registry.remove(this);
+        WriteCoalescer.getInstance(relayChannel).write(frame);
+        responseLatch.countDown();
+        notifyListeners(RELAYED);
+        return true;
+    }
+
+    /**
+     * Adds a {@link ResponseListener} which is notified when this future is completed.
+     *
+     * @param listener the {@link ResponseListener} to add
+     */
+    public void addListener(ResponseListener listener) {
+        ListenerNode head;
+        do {
+            head = listeners;
+        } while (!LISTENERS.compareAndSet(this, head, new ListenerNode(listener, head)));
+
+        Response tmpResponse = response;
+        if (tmpResponse != null) {
+            notifyListeners(tmpResponse);
         }
     }
 
     @Override
     public Response get() throws InterruptedException {
-        synchronized (this) {
-            while (response == null) {
-                wait();
-            }
-
-            futureMap.remove(key);
-            return response;
-        }
+        responseLatch.await();
+        return response;
     }
 
     @Override
@@ -120,21 +180,48 @@ public final class ResponseFuture implements Future<Response> {
             throw new IllegalArgumentException("Invalid timeout or timeUnit for ResponseFuture.get()");
         }
 
-        long remainingTimeoutNanos = timeUnit.toNanos(timeout);
-        synchronized (this) {
-            while (response == null && remainingTimeoutNanos > ONE_MILLISECOND) {
-                long started = System.nanoTime();
-                wait(TimeUnit.NANOSECONDS.toMillis(remainingTimeoutNanos));
-                remainingTimeoutNanos -= System.nanoTime() - started;
-            }
-
-            Response tmpResponse = response;
-            if (tmpResponse == null) {
-                throw new TimeoutException(format("Timeout while waiting for response (%d ms)", timeUnit.toMillis(timeout)));
-            }
-
-            futureMap.remove(key);
-            return tmpResponse;
+        if (!responseLatch.await(timeout, timeUnit)) {
+            throw new TimeoutException(format("Timeout while waiting for response (%d ms)", timeUnit.toMillis(timeout)));
+        }
+        return response;
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseFuture{"
+                + "source=" + source
+                + ", messageId=" + messageId
+                + ", remoteAddressIndex=" + remoteAddressIndex
+                + ", relay=" + isRelay()
+                + ", done=" + isDone()
+                + '}';
+    }
+
+    boolean matches(SimulatorAddress source, long messageId, int remoteAddressIndex) {
+        return (this.messageId == messageId && this.remoteAddressIndex == remoteAddressIndex && this.source.equals(source));
+    }
+
+    /**
+     * Notifies all listeners, which have been added before.
+     *
+     * Each listener is detached atomically, so it is notified exactly once, even if a listener is added concurrently.
+     */
+    private void notifyListeners(Response response) {
+        ListenerNode node = LISTENERS.getAndSet(this, null);
+        while (node != null) {
+            node.listener.onResponse(response);
+            node = node.next;
+        }
+    }
+
+    private static final class ListenerNode {
+
+        private final ResponseListener listener;
+        private final ListenerNode next;
+
+        private ListenerNode(ResponseListener listener, ListenerNode next) {
+            this.listener = listener;
+            this.next = next;
         }
     }
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.protocol.core;
+
+import io.netty.channel.Channel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free registry of {@link ResponseFuture} instances.
+ *
+ * A future is identified by the source {@link SimulatorAddress} and the messageId of the {@link SimulatorMessage} and the address
+ * index of the remote Simulator component. The futures are stored in a fixed number of slots, which are selected by the messageId
+ * and the remote address index. Since messageIds are increasing, the in-flight futures are spread over all slots, so the chains
+ * of colliding futures stay short. The slots are updated with compare-and-set, so neither registering nor completing a future
+ * takes a lock or creates a key object.
+ */
+public final class ResponseFutureRegistry {
+
+    static final int DEFAULT_SLOT_COUNT = 1024;
+
+    private static final int HASH_MULTIPLIER = 31;
+
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicReferenceArray<Node> slots;
+    private final int mask;
+
+    public ResponseFutureRegistry() {
+        this(DEFAULT_SLOT_COUNT);
+    }
+
+    ResponseFutureRegistry(int slotCount) {
+        if (slotCount < 1 || Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("slotCount must be a positive power of two, but was " + slotCount);
+        }
+        this.slots = new AtomicReferenceArray<Node>(slotCount);
+        this.mask = slotCount - 1;
+    }
+
+    /**
+     * Creates a {@link ResponseFuture} and adds it to this registry.
+     *
+     * @param source             the source {@link SimulatorAddress} of a {@link SimulatorMessage}
+     * @param messageId          the messageId of a {@link SimulatorMessage}
+     * @param remoteAddressIndex the address index of a remote Simulator component
+     * @return the registered {@link ResponseFuture}
+     */
+    public ResponseFuture createFuture(SimulatorAddress source, long messageId, int remoteAddressIndex) {
+        return addFuture(new ResponseFuture(this, source, messageId, remoteAddressIndex));
+    }
+
+    /**
+     * Creates a relay {@link ResponseFuture} and adds it to this registry.
+     *
+     * @param source             the source {@link SimulatorAddress} of a {@link SimulatorMessage}
+     * @param messageId          the messageId of a {@link SimulatorMessage}
+     * @param remoteAddressIndex the address index of a remote Simulator component
+     * @param relayChannel       the {@link Channel} to relay the encoded {@link Response} to
+     * @return the registered {@link ResponseFuture}
+     */
+    public ResponseFuture createRelayFuture(SimulatorAddress source, long messageId, int remoteAddressIndex,
+                                            Channel relayChannel) {
+        return addFuture(new ResponseFuture(this, source, messageId, remoteAddressIndex, relayChannel));
+    }
+
+    private ResponseFuture addFuture(ResponseFuture future) {
+        int slot = getSlot(future.getMessageId(), future.getRemoteAddressIndex());
+        Node head;
+        do {
+            head = slots.get(slot);
+        } while (!slots.compareAndSet(slot, head, new Node(future, head)));
+        size.incrementAndGet();
+
+        return future;
+    }
+
+    /**
+     * Returns the registered {@link ResponseFuture}.
+     *
+     * @param source             the source {@link SimulatorAddress} of a {@link SimulatorMessage}
+     * @param messageId          the messageId of a {@link SimulatorMessage}
+     * @param remoteAddressIndex the address index of a remote Simulator component
+     * @return the {@link ResponseFuture} or {@code null} if no future is registered
+     */
+    public ResponseFuture get(SimulatorAddress source, long messageId, int remoteAddressIndex) {
+        Node node = slots.get(getSlot(messageId, remoteAddressIndex));
+        while (node != null) {
+            if (node.future.matches(source, messageId, remoteAddressIndex)) {
+                return node.future;
+            }
+            node = node.next;
+        }
+        return null;
+    }
+
+    /**
+     * Removes a {@link ResponseFuture} from this registry.
+     *
+     * @param future the {@link ResponseFuture} to remove
+     * @return {@code true} if the future was registered, {@code false} otherwise
+     */
+    public boolean remove(ResponseFuture future) {
+        int slot = getSlot(future.getMessageId(), future.getRemoteAddressIndex());
+        while (true) {
+            Node head = slots.get(slot);
+            Node newHead = removeNode(head, future);
+            if (newHead == head) {
+                return false;
+            }
+            if (slots.compareAndSet(slot, head, newHead)) {
+                size.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public boolean isEmpty() {
+        return (size.get() == 0);
+    }
+
+    /**
+     * Returns a snapshot of all registered {@link ResponseFuture} instances.
+     *
+     * @return a {@link List} of the registered futures
+     */
+    public List<ResponseFuture> getFutures() {
+        List<ResponseFuture> futures = new ArrayList<ResponseFuture>(size.get());
+        for (int slot = 0; slot < slots.length(); slot++) {
+            Node node = slots.get(slot);
+            while (node != null) {
+                futures.add(node.future);
+                node = node.next;
+            }
+        }
+        return futures;
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseFutureRegistry{"
+                + "futures=" + getFutures()
+                + '}';
+    }
+
+    private int getSlot(long messageId, int remoteAddressIndex) {
+        int hash = (int) (messageId ^ (messageId >>> Integer.SIZE)) * HASH_MULTIPLIER + remoteAddressIndex;
+        return hash & mask;
+    }
+
+    /**
+     * Returns the chain without the given {@link ResponseFuture}.
+     *
+     * The nodes before the removed future are copied, since the chain is shared with concurrent readers. If the future is not
+     * found, the original head is returned.
+     */
+    private static Node removeNode(Node head, ResponseFuture future) {
+        if (head == null) {
+            return null;
+        }
+        if (head.future == future) {
+            return head.next;
+        }
+        Node next = removeNode(head.next, future);
+        return (next == head.next) ? head : new Node(head.future, next);
+    }
+
+    private static final class Node {
+
+        private final ResponseFuture future;
+        private final Node next;
+
+        private Node(ResponseFuture future, Node next) {
+            this.future = future;
+            this.next = next;
+        }
+    }
+}
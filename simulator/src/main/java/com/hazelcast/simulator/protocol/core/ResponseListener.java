@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.protocol.core;
+
+/**
+ * Callback which is notified when a {@link ResponseFuture} is completed.
+ */
+public interface ResponseListener {
+
+    /**
+     * Is called once when the {@link Response} of a {@link ResponseFuture} has been set.
+     *
+     * The callback is executed by the thread which completes the future, so it should not block. If the future has already
+     * been completed when the listener is added, the callback is executed by the thread which adds the listener.
+     *
+     * @param response the received {@link Response}
+     */
+    void onResponse(Response response);
+}
@@ -16,10 +16,15 @@
 package com.hazelcast.simulator.protocol.core;
 
 import com.hazelcast.simulator.protocol.operation.OperationType;
+import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
+
+import static com.hazelcast.simulator.protocol.operation.OperationCodec.toJson;
 
 /**
- * Message with a JSON serialized {@link com.hazelcast.simulator.protocol.operation.SimulatorOperation} which can be sent
- * from any Simulator component to another.
+ * Message with a {@link SimulatorOperation} which can be sent from any Simulator component to another.
+ *
+ * The operation is either carried as JSON serialized operation data or as {@link SimulatorOperation} instance, which is
+ * encoded with the binary codec of its {@link OperationType}.
  */
 public class SimulatorMessage {
 
@@ -29,14 +34,21 @@ public class SimulatorMessage {
 
     private final OperationType operationType;
     private final String operationData;
+    private final SimulatorOperation operation;
 
     public SimulatorMessage(SimulatorAddress destination, SimulatorAddress source, long messageId,
                             OperationType operationType, String operationData) {
+        this(destination, source, messageId, operationType, operationData, null);
+    }
+
+    public SimulatorMessage(SimulatorAddress destination, SimulatorAddress source, long messageId,
+                            OperationType operationType, String operationData, SimulatorOperation operation) {
         this.destination = destination;
         this.source = source;
         this.messageId = messageId;
         this.operationType = operationType;
         this.operationData = operationData;
+        this.operation = operation;
     }
 
     public SimulatorAddress getDestination() {
@@ -59,6 +71,24 @@ public class SimulatorMessage {
         return operationData;
     }
 
+    /**
+     * Returns the {@link SimulatorOperation} of a binary encoded message.
+     *
+     * @return the {@link SimulatorOperation} or {@code null} if the operation is JSON serialized
+     */
+    public SimulatorOperation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Checks if the {@link SimulatorOperation} of this message is encoded with a binary codec.
+     *
+     * @return {@code true} if the operation is binary encoded, {@code false} if it is JSON serialized
+     */
+    public boolean isBinary() {
+        return (operation != null);
+    }
+
     @Override
     public String toString() {
         return "SimulatorMessage{"
@@ -66,7 +96,7 @@ public class SimulatorMessage {
                 + ", source=" + source
                 + ", messageId=" + messageId
                 + ", operationType=" + operationType
-                + ", operationData='" + operationData + '\''
+                + ", operationData='" + (isBinary() ? toJson(operation) : operationData) + '\''
                 + '}';
     }
 }
@@ -16,16 +16,24 @@
 package com.hazelcast.simulator.protocol.core;
 
 import com.hazelcast.simulator.protocol.operation.OperationType;
+import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 
 import static com.hazelcast.simulator.protocol.core.BaseCodec.ADDRESS_SIZE;
 import static com.hazelcast.simulator.protocol.core.BaseCodec.INT_SIZE;
 import static com.hazelcast.simulator.protocol.core.BaseCodec.LONG_SIZE;
 import static com.hazelcast.simulator.protocol.core.SimulatorAddressCodec.decodeSimulatorAddress;
+import static com.hazelcast.simulator.protocol.operation.OperationCodec.decodeBinary;
+import static com.hazelcast.simulator.protocol.operation.OperationCodec.encodeBinary;
 import static io.netty.util.CharsetUtil.UTF_8;
 
 /**
  * Encodes and decodes a {@link SimulatorMessage}.
+ *
+ * The header is followed by a single byte which defines the encoding of the operation data, which is either JSON or the binary
+ * codec of the {@link OperationType}. The operation data is written directly into the {@link ByteBuf}, so the frame length is
+ * set after the payload has been encoded.
  */
 public final class SimulatorMessageCodec {
 
@@ -36,15 +44,17 @@ public final class SimulatorMessageCodec {
     private static final int OFFSET_SRC_ADDRESS = OFFSET_DST_ADDRESS + ADDRESS_SIZE;
     private static final int OFFSET_MESSAGE_ID = OFFSET_SRC_ADDRESS + ADDRESS_SIZE;
 
-    private static final int HEADER_SIZE = 2 * INT_SIZE + LONG_SIZE + 2 * ADDRESS_SIZE;
+    private static final int HEADER_SIZE = 2 * INT_SIZE + LONG_SIZE + 2 * ADDRESS_SIZE + 1;
+
+    private static final byte ENCODING_JSON = 0;
+    private static final byte ENCODING_BINARY = 1;
 
     private SimulatorMessageCodec() {
     }
 
     public static void encodeByteBuf(SimulatorMessage msg, ByteBuf buffer) {
-        byte[] data = msg.getOperationData().getBytes(UTF_8);
-
-        buffer.writeInt(HEADER_SIZE + data.length);
+        int frameLengthIndex = buffer.writerIndex();
+        buffer.writeInt(0);
         buffer.writeInt(MAGIC_BYTES);
 
         SimulatorAddressCodec.encodeByteBuf(msg.getDestination(), buffer);
@@ -53,7 +63,15 @@ public final class SimulatorMessageCodec {
         buffer.writeLong(msg.getMessageId());
         buffer.writeInt(msg.getOperationType().toInt());
 
-        buffer.writeBytes(data);
+        if (msg.isBinary()) {
+            buffer.writeByte(ENCODING_BINARY);
+            encodeBinary(msg.getOperationType(), msg.getOperation(), buffer);
+        } else {
+            buffer.writeByte(ENCODING_JSON);
+            ByteBufUtil.writeUtf8(buffer, msg.getOperationData());
+        }
+
+        buffer.setInt(frameLengthIndex, buffer.writerIndex() - frameLengthIndex - INT_SIZE);
     }
 
     public static SimulatorMessage decodeSimulatorMessage(ByteBuf buffer) {
@@ -69,10 +87,14 @@ public final class SimulatorMessageCodec {
 
         long messageId = buffer.readLong();
         OperationType operationType = OperationType.fromInt(buffer.readInt());
+        byte encoding = buffer.readByte();
 
-        String operationData = buffer.readSlice(dataLength).toString(UTF_8);
-
-        return new SimulatorMessage(destination, source, messageId, operationType, operationData);
+        ByteBuf data = buffer.readSlice(dataLength);
+        if (encoding == ENCODING_BINARY) {
+            SimulatorOperation operation = decodeBinary(operationType, data);
+            return new SimulatorMessage(destination, source, messageId, operationType, null, operation);
+        }
+        return new SimulatorMessage(destination, source, messageId, operationType, data.toString(UTF_8));
     }
 
     public static boolean isSimulatorMessage(ByteBuf in) {
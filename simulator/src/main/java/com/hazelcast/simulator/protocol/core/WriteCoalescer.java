@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.protocol.core;
+
+import io.netty.channel.Channel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
+import org.apache.log4j.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces the writes to a {@link Channel}, so all messages which are written during an event loop tick are sent with a single
+ * flush.
+ *
+ * The messages are queued and written by a task on the event loop of the channel, which is only scheduled once for all pending
+ * messages. The order of the messages is preserved.
+ */
+public final class WriteCoalescer implements Runnable {
+
+    static final int MAX_MESSAGES_PER_FLUSH = 1024;
+
+    private static final AttributeKey<WriteCoalescer> WRITE_COALESCER = AttributeKey.valueOf("writeCoalescer");
+
+    private static final Logger LOGGER = Logger.getLogger(WriteCoalescer.class);
+
+    private final Queue<Object> pendingMessages = new ConcurrentLinkedQueue<Object>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final Channel channel;
+
+    private WriteCoalescer(Channel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Returns the {@link WriteCoalescer} of a {@link Channel}.
+     *
+     * @param channel the {@link Channel}
+     * @return the {@link WriteCoalescer} of the {@link Channel}
+     */
+    public static WriteCoalescer getInstance(Channel channel) {
+        Attribute<WriteCoalescer> attribute = channel.attr(WRITE_COALESCER);
+        WriteCoalescer writeCoalescer = attribute.get();
+        if (writeCoalescer == null) {
+            WriteCoalescer newWriteCoalescer = new WriteCoalescer(channel);
+            writeCoalescer = attribute.setIfAbsent(newWriteCoalescer);
+            if (writeCoalescer == null) {
+                writeCoalescer = newWriteCoalescer;
+            }
+        }
+        return writeCoalescer;
+    }
+
+    /**
+     * Writes a message to the {@link Channel}, which will be flushed together with all other pending messages.
+     *
+     * @param msg the message to write
+     */
+    public void write(Object msg) {
+        pendingMessages.add(msg);
+        scheduleFlush();
+    }
+
+    @Override
+    public void run() {
+        scheduled.set(false);
+
+        for (int i = 0; i < MAX_MESSAGES_PER_FLUSH; i++) {
+            Object msg = pendingMessages.poll();
+            if (msg == null) {
+                break;
+            }
+            channel.write(msg);
+        }
+        channel.flush();
+
+        if (!pendingMessages.isEmpty()) {
+            scheduleFlush();
+        }
+    }
+
+    private void scheduleFlush() {
+        if (!scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            channel.eventLoop().execute(this);
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Could not write pending messages, since the event loop of " + channel + " has been shut down");
+            Object msg = pendingMessages.poll();
+            while (msg != null) {
+                ReferenceCountUtil.release(msg);
+                msg = pendingMessages.poll();
+            }
+            scheduled.set(false);
+        }
+    }
+}
@@ -20,6 +20,7 @@ import com.hazelcast.simulator.protocol.core.AddressLevel;
 import com.hazelcast.simulator.protocol.core.ConnectionManager;
 import com.hazelcast.simulator.protocol.core.Response;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import com.hazelcast.simulator.protocol.core.WriteCoalescer;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
@@ -71,7 +72,7 @@ public class ForwardToCoordinatorHandler extends SimpleChannelInboundHandler<Byt
             }
 
             buffer.retain();
-            iterator.next().writeAndFlush(buffer);
+            WriteCoalescer.getInstance(iterator.next()).write(buffer);
         }
     }
 }
@@ -21,9 +21,9 @@ import com.hazelcast.simulator.protocol.core.ClientConnectorManager;
 import com.hazelcast.simulator.protocol.core.Response;
 import com.hazelcast.simulator.protocol.core.ResponseCodec;
 import com.hazelcast.simulator.protocol.core.ResponseFuture;
+import com.hazelcast.simulator.protocol.core.ResponseListener;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.core.SimulatorMessageCodec;
-import com.hazelcast.simulator.protocol.core.SimulatorProtocolException;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
@@ -32,19 +32,31 @@ import org.apache.log4j.Logger;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.simulator.protocol.core.ResponseCodec.isResponse;
 import static com.hazelcast.simulator.protocol.core.ResponseType.FAILURE_WORKER_NOT_FOUND;
+import static com.hazelcast.simulator.protocol.core.ResponseType.FAILURE_WORKER_TIMEOUT;
 import static com.hazelcast.simulator.protocol.core.SimulatorMessageCodec.getSourceAddress;
 import static com.hazelcast.simulator.protocol.core.SimulatorMessageCodec.isSimulatorMessage;
 import static java.lang.String.format;
 
 /**
  * A {@link SimpleChannelInboundHandler} to forward a received {@link ByteBuf} to a connected Simulator Worker.
+ *
+ * The received frame is passed through without decoding the operation, so all operation types take the same relay path. Each
+ * addressed Worker gets its own retained duplicate of the frame, so the writes don't share the reader index.
+ *
+ * The response of a single addressed Worker is relayed as encoded frame by the {@link RelayResponseHandler}. The responses of
+ * multiple Workers are combined as they arrive, without blocking a thread per forwarded message. The combined {@link Response}
+ * is written when the last Worker has responded. If the response timeout has been reached, a combined {@link Response} with
+ * {@link com.hazelcast.simulator.protocol.core.ResponseType#FAILURE_WORKER_TIMEOUT} is written.
  */
 public class ForwardToWorkerHandler extends SimpleChannelInboundHandler<ByteBuf> {
 
+    static final long DEFAULT_RESPONSE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
     private static final Logger LOGGER = Logger.getLogger(ForwardToWorkerHandler.class);
 
     private final AttributeKey<Integer> forwardAddressIndex = AttributeKey.valueOf("forwardAddressIndex");
@@ -53,15 +65,19 @@ public class ForwardToWorkerHandler extends SimpleChannelInboundHandler<ByteBuf>
     private final AddressLevel addressLevel;
 
     private final ClientConnectorManager clientConnectorManager;
-    private final ExecutorService executorService;
+    private final long responseTimeoutMillis;
 
-    public ForwardToWorkerHandler(SimulatorAddress localAddress, ClientConnectorManager clientConnectorManager,
-                                  ExecutorService executorService) {
+    public ForwardToWorkerHandler(SimulatorAddress localAddress, ClientConnectorManager clientConnectorManager) {
+        this(localAddress, clientConnectorManager, DEFAULT_RESPONSE_TIMEOUT_MILLIS);
+    }
+
+    ForwardToWorkerHandler(SimulatorAddress localAddress, ClientConnectorManager clientConnectorManager,
+                           long responseTimeoutMillis) {
         this.localAddress = localAddress;
         this.addressLevel = localAddress.getAddressLevel();
 
         this.clientConnectorManager = clientConnectorManager;
-        this.executorService = executorService;
+        this.responseTimeoutMillis = responseTimeoutMillis;
     }
 
     @Override
@@ -78,47 +94,49 @@ public class ForwardToWorkerHandler extends SimpleChannelInboundHandler<ByteBuf>
         }
     }
 
-    private void forwardSimulatorMessage(final ChannelHandlerContext ctx, ByteBuf buffer, int workerAddressIndex) {
-        final long messageId = SimulatorMessageCodec.getMessageId(buffer);
+    private void forwardSimulatorMessage(ChannelHandlerContext ctx, ByteBuf buffer, int workerAddressIndex) {
+        long messageId = SimulatorMessageCodec.getMessageId(buffer);
 
-        final List<ResponseFuture> futureList = new ArrayList<ResponseFuture>();
-        final Response response = new Response(messageId, getSourceAddress(buffer));
+        Response response = new Response(messageId, getSourceAddress(buffer));
         if (workerAddressIndex == 0) {
-            if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace(format("[%d] %s forwarding message to all workers", messageId, addressLevel));
-            }
-            for (ClientConnector clientConnector : clientConnectorManager.getClientConnectors()) {
-                buffer.retain();
-                futureList.add(clientConnector.writeAsync(buffer));
-            }
-        } else {
-            ClientConnector clientConnector = clientConnectorManager.get(workerAddressIndex);
-            if (clientConnector == null) {
-                LOGGER.error(format("[%d] %s Worker %d not found!", messageId, addressLevel, workerAddressIndex));
-                response.addResponse(localAddress, FAILURE_WORKER_NOT_FOUND);
-                ctx.writeAndFlush(response);
-                return;
-            }
-            if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace(format("[%d] %s forwarding message to Worker %d", messageId, addressLevel, workerAddressIndex));
-            }
-            buffer.retain();
-            futureList.add(clientConnector.writeAsync(buffer));
+            forwardToAllWorkers(ctx, buffer, response);
+            return;
         }
-        executorService.submit(new Runnable() {
-            @Override
-            public void run() {
-                try {
-                    for (ResponseFuture future : futureList) {
-                        response.addResponse(future.get());
-                    }
-                    ctx.writeAndFlush(response);
-                } catch (InterruptedException e) {
-                    LOGGER.warn("ResponseFuture.get() got interrupted!", e);
-                    throw new SimulatorProtocolException("ResponseFuture.get() got interrupted!", e);
-                }
-            }
-        });
+
+        ClientConnector clientConnector = clientConnectorManager.get(workerAddressIndex);
+        if (clientConnector == null) {
+            LOGGER.error(format("[%d] %s Worker %d not found!", messageId, addressLevel, workerAddressIndex));
+            response.addResponse(localAddress, FAILURE_WORKER_NOT_FOUND);
+            ctx.writeAndFlush(response);
+            return;
+        }
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("[%d] %s relaying message to Worker %d", messageId, addressLevel, workerAddressIndex));
+        }
+
+        ResponseAggregator aggregator = new ResponseAggregator(ctx, response, 1);
+        buffer.retain();
+        aggregator.addFuture(clientConnector.relayAsync(buffer, ctx.channel()), clientConnector.getRemoteAddress());
+        aggregator.scheduleTimeout(responseTimeoutMillis);
+    }
+
+    private void forwardToAllWorkers(ChannelHandlerContext ctx, ByteBuf buffer, Response response) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("[%d] %s forwarding message to all workers", response.getMessageId(), addressLevel));
+        }
+
+        List<ClientConnector> clientConnectors = new ArrayList<ClientConnector>(clientConnectorManager.getClientConnectors());
+        if (clientConnectors.isEmpty()) {
+            ctx.writeAndFlush(response);
+            return;
+        }
+
+        ResponseAggregator aggregator = new ResponseAggregator(ctx, response, clientConnectors.size());
+        for (ClientConnector clientConnector : clientConnectors) {
+            ByteBuf duplicate = buffer.duplicate().retain();
+            aggregator.addFuture(clientConnector.writeAsync(duplicate), clientConnector.getRemoteAddress());
+        }
+        aggregator.scheduleTimeout(responseTimeoutMillis);
     }
 
     private void forwardResponse(ChannelHandlerContext ctx, ByteBuf buffer, int workerAddressIndex) {
@@ -137,4 +155,83 @@ public class ForwardToWorkerHandler extends SimpleChannelInboundHandler<ByteBuf>
         buffer.retain();
         clientConnector.forwardToChannel(buffer);
     }
+
+    /**
+     * Combines the {@link Response} instances of the addressed Workers and writes the combined {@link Response}, when the last
+     * one has been received.
+     *
+     * Nothing is written if the {@link Response} of a relay future has already been relayed.
+     *
+     * Pending futures are completed with {@link com.hazelcast.simulator.protocol.core.ResponseType#FAILURE_WORKER_TIMEOUT} when
+     * the timeout has been reached, which also removes them from their registry.
+     */
+    private static final class ResponseAggregator implements ResponseListener, Runnable {
+
+        private final List<ResponseFuture> futures = new ArrayList<ResponseFuture>();
+        private final List<SimulatorAddress> workerAddresses = new ArrayList<SimulatorAddress>();
+
+        private final ChannelHandlerContext ctx;
+        private final Response response;
+
+        private int pendingResponses;
+        private boolean relayed;
+        private ScheduledFuture<?> timeoutFuture;
+
+        private ResponseAggregator(ChannelHandlerContext ctx, Response response, int expectedResponses) {
+            this.ctx = ctx;
+            this.response = response;
+            this.pendingResponses = expectedResponses;
+        }
+
+        private void addFuture(ResponseFuture future, SimulatorAddress workerAddress) {
+            futures.add(future);
+            workerAddresses.add(workerAddress);
+            future.addListener(this);
+        }
+
+        private void scheduleTimeout(long timeoutMillis) {
+            ScheduledFuture<?> scheduledFuture = ctx.executor().schedule(this, timeoutMillis, TimeUnit.MILLISECONDS);
+            synchronized (this) {
+                if (pendingResponses > 0) {
+                    timeoutFuture = scheduledFuture;
+                    return;
+                }
+            }
+            scheduledFuture.cancel(false);
+        }
+
+        @Override
+        public void onResponse(Response workerResponse) {
+            synchronized (this) {
+                if (workerResponse == ResponseFuture.RELAYED) {
+                    relayed = true;
+                } else {
+                    response.addResponse(workerResponse);
+                }
+                if (--pendingResponses > 0) {
+                    return;
+                }
+                if (timeoutFuture != null) {
+                    timeoutFuture.cancel(false);
+                }
+                if (relayed) {
+                    return;
+                }
+            }
+            ctx.writeAndFlush(response);
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < futures.size(); i++) {
+                ResponseFuture future = futures.get(i);
+                SimulatorAddress workerAddress = workerAddresses.get(i);
+                Response timeoutResponse = new Response(future.getMessageId(), future.getSource(), workerAddress,
+                        FAILURE_WORKER_TIMEOUT);
+                if (future.set(timeoutResponse)) {
+                    LOGGER.warn(format("[%d] Worker %s did not respond in time", future.getMessageId(), workerAddress));
+                }
+            }
+        }
+    }
 }
@@ -20,6 +20,8 @@ import com.hazelcast.simulator.protocol.core.Response;
 import com.hazelcast.simulator.protocol.core.ResponseType;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.core.SimulatorMessage;
+import com.hazelcast.simulator.protocol.operation.BatchOperation;
+import com.hazelcast.simulator.protocol.operation.OperationType;
 import com.hazelcast.simulator.protocol.processors.OperationProcessor;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
@@ -33,6 +35,8 @@ import static java.lang.String.format;
 /**
  * A {@link SimpleChannelInboundHandler} to deserialize a {@link com.hazelcast.simulator.protocol.operation.SimulatorOperation}
  * from a received {@link SimulatorMessage} and execute it on the configured {@link OperationProcessor}.
+ *
+ * The messages of a {@link BatchOperation} are executed in order by a single task, which sends a {@link Response} per message.
  */
 public class MessageConsumeHandler extends SimpleChannelInboundHandler<SimulatorMessage> {
 
@@ -60,6 +64,11 @@ public class MessageConsumeHandler extends SimpleChannelInboundHandler<Simulator
                     localAddress));
         }
 
+        if (msg.getOperationType() == OperationType.BATCH) {
+            consumeBatch(ctx, (BatchOperation) fromSimulatorMessage(msg));
+            return;
+        }
+
         executorService.submit(new Runnable() {
             @Override
             public void run() {
@@ -68,4 +77,17 @@ public class MessageConsumeHandler extends SimpleChannelInboundHandler<Simulator
             }
         });
     }
+
+    private void consumeBatch(final ChannelHandlerContext ctx, final BatchOperation batchOperation) {
+        executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                for (SimulatorMessage msg : batchOperation.getMessages()) {
+                    ResponseType responseType = processor.process(fromSimulatorMessage(msg), msg.getSource());
+                    ctx.write(new Response(msg.getMessageId(), msg.getSource(), localAddress, responseType));
+                }
+                ctx.flush();
+            }
+        });
+    }
 }
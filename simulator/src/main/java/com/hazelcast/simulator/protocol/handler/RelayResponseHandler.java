@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.protocol.handler;
+
+import com.hazelcast.simulator.agent.workerjvm.WorkerJvmManager;
+import com.hazelcast.simulator.protocol.core.AddressLevel;
+import com.hazelcast.simulator.protocol.core.Response;
+import com.hazelcast.simulator.protocol.core.ResponseCodec;
+import com.hazelcast.simulator.protocol.core.ResponseFuture;
+import com.hazelcast.simulator.protocol.core.ResponseFutureRegistry;
+import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import org.apache.log4j.Logger;
+
+import static com.hazelcast.simulator.protocol.core.ResponseCodec.isResponse;
+import static java.lang.String.format;
+
+/**
+ * A {@link ChannelInboundHandlerAdapter} to relay a received {@link Response} frame of a Simulator Worker to the parent
+ * Simulator component, without decoding it.
+ *
+ * If the {@link ResponseFuture} of the received {@link Response} is a relay future, the frame is passed straight through to the
+ * relay channel. All other frames are passed to the next handler.
+ */
+public class RelayResponseHandler extends ChannelInboundHandlerAdapter {
+
+    private static final Logger LOGGER = Logger.getLogger(RelayResponseHandler.class);
+
+    private final SimulatorAddress localAddress;
+    private final AddressLevel addressLevel;
+    private final SimulatorAddress remoteAddress;
+    private final int remoteAddressIndex;
+
+    private final ResponseFutureRegistry futureRegistry;
+    private final WorkerJvmManager workerJvmManager;
+
+    public RelayResponseHandler(SimulatorAddress localAddress, SimulatorAddress remoteAddress,
+                                ResponseFutureRegistry futureRegistry, WorkerJvmManager workerJvmManager) {
+        this.localAddress = localAddress;
+        this.addressLevel = localAddress.getAddressLevel();
+        this.remoteAddress = remoteAddress;
+        this.remoteAddressIndex = remoteAddress.getAddressIndex();
+
+        this.futureRegistry = futureRegistry;
+        this.workerJvmManager = workerJvmManager;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof ByteBuf && relay((ByteBuf) msg)) {
+            return;
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    private boolean relay(ByteBuf buffer) {
+        if (!isResponse(buffer)) {
+            return false;
+        }
+        long messageId = ResponseCodec.getMessageId(buffer);
+        ResponseFuture future = futureRegistry.get(ResponseCodec.getDestination(buffer), messageId, remoteAddressIndex);
+        if (future == null || !future.isRelay()) {
+            return false;
+        }
+
+        if (workerJvmManager != null) {
+            workerJvmManager.updateLastSeenTimestamp(remoteAddress);
+        }
+        if (future.relay(buffer)) {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(format("[%d] %s %s relayed response from %s", messageId, addressLevel, localAddress,
+                        remoteAddress));
+            }
+        } else {
+            LOGGER.warn(format("[%d] %s %s dropped late response from %s", messageId, addressLevel, localAddress,
+                    remoteAddress));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.protocol.operation;
+
+import com.hazelcast.simulator.protocol.core.SimulatorMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Envelope which carries multiple {@link SimulatorMessage} instances to the same destination in a single frame.
+ *
+ * The receiver processes the messages in their original order and sends a {@link com.hazelcast.simulator.protocol.core.Response}
+ * per contained message. The envelope itself is not answered.
+ */
+public class BatchOperation implements SimulatorOperation {
+
+    /**
+     * The batched {@link SimulatorMessage} instances.
+     */
+    private final List<SimulatorMessage> messages;
+
+    public BatchOperation(List<SimulatorMessage> messages) {
+        this.messages = new ArrayList<SimulatorMessage>(messages);
+    }
+
+    public List<SimulatorMessage> getMessages() {
+        return messages;
+    }
+}
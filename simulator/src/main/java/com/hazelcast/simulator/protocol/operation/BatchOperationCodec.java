@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.protocol.operation;
+
+import com.hazelcast.simulator.protocol.core.SimulatorMessage;
+import io.netty.buffer.ByteBuf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.simulator.protocol.core.SimulatorMessageCodec.decodeSimulatorMessage;
+import static com.hazelcast.simulator.protocol.core.SimulatorMessageCodec.encodeByteBuf;
+
+/**
+ * {@link BinaryOperationCodec} for the {@link BatchOperation}, which writes the complete frames of the batched messages.
+ */
+class BatchOperationCodec extends BinaryOperationCodec<BatchOperation> {
+
+    @Override
+    public void encode(BatchOperation operation, ByteBuf buffer) {
+        List<SimulatorMessage> messages = operation.getMessages();
+        buffer.writeInt(messages.size());
+        for (SimulatorMessage message : messages) {
+            encodeByteBuf(message, buffer);
+        }
+    }
+
+    @Override
+    public BatchOperation decode(ByteBuf buffer) {
+        int messageCount = buffer.readInt();
+        List<SimulatorMessage> messages = new ArrayList<SimulatorMessage>(messageCount);
+        for (int i = 0; i < messageCount; i++) {
+            messages.add(decodeSimulatorMessage(buffer));
+        }
+        return new BatchOperation(messages);
+    }
+}
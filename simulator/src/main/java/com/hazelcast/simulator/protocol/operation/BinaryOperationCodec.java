@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.protocol.operation;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.netty.util.CharsetUtil.UTF_8;
+
+/**
+ * Encodes and decodes a {@link SimulatorOperation} directly into and from a {@link ByteBuf}.
+ *
+ * Is registered per {@link OperationType} for operations which are sent frequently or carry large payloads, so they bypass the
+ * JSON serialization and the intermediate {@link String} and byte array copies it requires.
+ *
+ * @param <O> the type of the {@link SimulatorOperation}
+ */
+public abstract class BinaryOperationCodec<O extends SimulatorOperation> {
+
+    private static final int NULL_LENGTH = -1;
+
+    /**
+     * Writes the given {@link SimulatorOperation} to the {@link ByteBuf}.
+     *
+     * @param operation the {@link SimulatorOperation} to encode
+     * @param buffer    the {@link ByteBuf} to write to
+     */
+    public abstract void encode(O operation, ByteBuf buffer);
+
+    /**
+     * Reads a {@link SimulatorOperation} from the {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to read from
+     * @return the decoded {@link SimulatorOperation}
+     */
+    public abstract O decode(ByteBuf buffer);
+
+    static void writeString(ByteBuf buffer, String value) {
+        if (value == null) {
+            buffer.writeInt(NULL_LENGTH);
+            return;
+        }
+        int lengthIndex = buffer.writerIndex();
+        buffer.writeInt(0);
+        int length = ByteBufUtil.writeUtf8(buffer, value);
+        buffer.setInt(lengthIndex, length);
+    }
+
+    static String readString(ByteBuf buffer) {
+        int length = buffer.readInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        String value = buffer.toString(buffer.readerIndex(), length, UTF_8);
+        buffer.skipBytes(length);
+        return value;
+    }
+
+    static <E extends Enum<E>> void writeEnum(ByteBuf buffer, E value) {
+        writeString(buffer, (value == null) ? null : value.name());
+    }
+
+    static <E extends Enum<E>> E readEnum(ByteBuf buffer, Class<E> enumType) {
+        String name = readString(buffer);
+        return (name == null) ? null : Enum.valueOf(enumType, name);
+    }
+
+    static void writeStringMap(ByteBuf buffer, Map<String, String> map) {
+        if (map == null) {
+            buffer.writeInt(NULL_LENGTH);
+            return;
+        }
+        buffer.writeInt(map.size());
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            writeString(buffer, entry.getKey());
+            writeString(buffer, entry.getValue());
+        }
+    }
+
+    static Map<String, String> readStringMap(ByteBuf buffer) {
+        int size = buffer.readInt();
+        if (size == NULL_LENGTH) {
+            return null;
+        }
+        Map<String, String> map = new HashMap<String, String>(size);
+        for (int i = 0; i < size; i++) {
+            String key = readString(buffer);
+            map.put(key, readString(buffer));
+        }
+        return map;
+    }
+}
@@ -16,13 +16,25 @@
 package com.hazelcast.simulator.protocol.operation;
 
 import com.google.gson.Gson;
+import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.core.SimulatorMessage;
+import io.netty.buffer.ByteBuf;
+
+import static com.hazelcast.simulator.protocol.operation.OperationType.getOperationType;
 
 /**
  * Encodes and decodes a {@link SimulatorOperation}.
+ *
+ * Operations with a registered {@link BinaryOperationCodec} are written directly into the {@link ByteBuf} of the channel, all
+ * other operations are serialized to JSON. The binary encoding can be disabled for debugging by setting the system property
+ * {@value #JSON_ONLY_PROPERTY} to {@code true} on the sending side, the receiving side always accepts both encodings.
  */
 public final class OperationCodec {
 
+    public static final String JSON_ONLY_PROPERTY = "simulator.protocol.jsonOnly";
+
+    private static final boolean JSON_ONLY = Boolean.getBoolean(JSON_ONLY_PROPERTY);
+
     private static final Gson GSON = new Gson();
 
     private OperationCodec() {
@@ -36,7 +48,43 @@ public final class OperationCodec {
         return GSON.fromJson(json, classType);
     }
 
+    public static SimulatorMessage createSimulatorMessage(SimulatorAddress destination, SimulatorAddress source, long messageId,
+                                                          SimulatorOperation operation) {
+        return createSimulatorMessage(destination, source, messageId, operation, JSON_ONLY);
+    }
+
+    static SimulatorMessage createSimulatorMessage(SimulatorAddress destination, SimulatorAddress source, long messageId,
+                                                   SimulatorOperation operation, boolean jsonOnly) {
+        OperationType operationType = getOperationType(operation);
+        if (jsonOnly || operationType.getBinaryCodec() == null) {
+            return new SimulatorMessage(destination, source, messageId, operationType, toJson(operation));
+        }
+        return new SimulatorMessage(destination, source, messageId, operationType, null, operation);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static void encodeBinary(OperationType operationType, SimulatorOperation operation, ByteBuf buffer) {
+        BinaryOperationCodec<SimulatorOperation> codec = (BinaryOperationCodec<SimulatorOperation>) getBinaryCodec(operationType);
+        codec.encode(operation, buffer);
+    }
+
+    public static SimulatorOperation decodeBinary(OperationType operationType, ByteBuf buffer) {
+        return getBinaryCodec(operationType).decode(buffer);
+    }
+
     public static SimulatorOperation fromSimulatorMessage(SimulatorMessage message) {
+        SimulatorOperation operation = message.getOperation();
+        if (operation != null) {
+            return operation;
+        }
         return fromJson(message.getOperationData(), message.getOperationType().getClassType());
     }
+
+    private static BinaryOperationCodec<? extends SimulatorOperation> getBinaryCodec(OperationType operationType) {
+        BinaryOperationCodec<? extends SimulatorOperation> codec = operationType.getBinaryCodec();
+        if (codec == null) {
+            throw new IllegalArgumentException("OperationType " + operationType + " has no binary codec");
+        }
+        return codec;
+    }
 }
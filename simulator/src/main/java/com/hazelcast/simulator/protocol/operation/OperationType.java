@@ -34,8 +34,8 @@ public enum OperationType {
     EXCEPTION(ExceptionOperation.class, 3),
     FAILURE(FailureOperation.class, 4),
     PHASE_COMPLETED(PhaseCompletedOperation.class, 5),
-    PERFORMANCE_STATE(PerformanceStateOperation.class, 6),
-    TEST_HISTOGRAMS(TestHistogramOperation.class, 7),
+    PERFORMANCE_STATE(PerformanceStateOperation.class, 6, new PerformanceStateOperationCodec()),
+    TEST_HISTOGRAMS(TestHistogramOperation.class, 7, new TestHistogramOperationCodec()),
 
     // AgentOperationProcessor
     INIT_TEST_SUITE(InitTestSuiteOperation.class, 8),
@@ -51,14 +51,25 @@ public enum OperationType {
     // TestOperationProcessor
     START_TEST_PHASE(StartTestPhaseOperation.class, 15),
     START_TEST(StartTestOperation.class, 16),
-    STOP_TEST(StopTestOperation.class, 17);
+    STOP_TEST(StopTestOperation.class, 17),
+    SET_TARGET_THROUGHPUT(SetTargetThroughputOperation.class, 18),
+
+    // MessageConsumeHandler
+    BATCH(BatchOperation.class, 19, new BatchOperationCodec());
 
     private final Class<? extends SimulatorOperation> classType;
     private final int classId;
+    private final BinaryOperationCodec<? extends SimulatorOperation> binaryCodec;
 
     OperationType(Class<? extends SimulatorOperation> classType, int classId) {
+        this(classType, classId, null);
+    }
+
+    OperationType(Class<? extends SimulatorOperation> classType, int classId,
+                  BinaryOperationCodec<? extends SimulatorOperation> binaryCodec) {
         this.classType = classType;
         this.classId = classId;
+        this.binaryCodec = binaryCodec;
 
         OperationTypeRegistry.register(this, classType, classId);
     }
@@ -109,6 +120,15 @@ public enum OperationType {
         return classType;
     }
 
+    /**
+     * Returns the {@link BinaryOperationCodec} of the {@link OperationType}.
+     *
+     * @return the {@link BinaryOperationCodec} or {@code null} if the {@link SimulatorOperation} is serialized to JSON
+     */
+    public BinaryOperationCodec<? extends SimulatorOperation> getBinaryCodec() {
+        return binaryCodec;
+    }
+
     /**
      * Stores and validates the registered {@link OperationType} entries.
      *
@@ -15,6 +15,8 @@
  */
 package com.hazelcast.simulator.protocol.operation;
 
+import com.hazelcast.simulator.probes.ProbeResolution;
+import com.hazelcast.simulator.worker.performance.PauseState;
 import com.hazelcast.simulator.worker.performance.PerformanceState;
 
 import java.util.HashMap;
@@ -23,6 +25,11 @@ import java.util.Map;
 /**
  * Sends a {@link PerformanceState} per running Simulator Test to the Coordinator, which contains the last snapshot of performance
  * numbers from that test.
+ *
+ * Also contains the encoded interval {@link org.HdrHistogram.Histogram} per probe, so the Coordinator can merge the real
+ * histograms of all Workers instead of aggregating their pre-calculated percentiles.
+ *
+ * The optional {@link PauseState} contains the GC and safepoint pauses of the Worker in the same interval.
  */
 public class PerformanceStateOperation implements SimulatorOperation {
 
@@ -31,6 +38,21 @@ public class PerformanceStateOperation implements SimulatorOperation {
      */
     private final Map<String, PerformanceState> performanceStates = new HashMap<String, PerformanceState>();
 
+    /**
+     * Map of encoded interval {@link org.HdrHistogram.Histogram} per probe per Simulator Test.
+     */
+    private final Map<String, Map<String, String>> intervalHistograms = new HashMap<String, Map<String, String>>();
+
+    /**
+     * Map of {@link ProbeResolution} per Simulator Test, which is needed to interpret the values of the interval histograms.
+     */
+    private final Map<String, ProbeResolution> probeResolutions = new HashMap<String, ProbeResolution>();
+
+    /**
+     * The JVM pauses of the Worker in this interval, can be {@code null}.
+     */
+    private PauseState pauseState;
+
     public void addPerformanceState(String testId, PerformanceState performanceState) {
         performanceStates.put(testId, performanceState);
     }
@@ -38,4 +60,25 @@ public class PerformanceStateOperation implements SimulatorOperation {
     public Map<String, PerformanceState> getPerformanceStates() {
         return performanceStates;
     }
+
+    public void addIntervalHistograms(String testId, Map<String, String> histograms, ProbeResolution probeResolution) {
+        intervalHistograms.put(testId, histograms);
+        probeResolutions.put(testId, probeResolution);
+    }
+
+    public Map<String, Map<String, String>> getIntervalHistograms() {
+        return intervalHistograms;
+    }
+
+    public Map<String, ProbeResolution> getProbeResolutions() {
+        return probeResolutions;
+    }
+
+    public void setPauseState(PauseState pauseState) {
+        this.pauseState = pauseState;
+    }
+
+    public PauseState getPauseState() {
+        return pauseState;
+    }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.protocol.operation;
+
+import com.hazelcast.simulator.probes.ProbeResolution;
+import com.hazelcast.simulator.worker.performance.PauseState;
+import com.hazelcast.simulator.worker.performance.PerformanceState;
+import io.netty.buffer.ByteBuf;
+
+import java.util.Map;
+
+/**
+ * {@link BinaryOperationCodec} for the {@link PerformanceStateOperation}, which is sent by every Worker once per second.
+ *
+ * The encoded interval histograms are written as length prefixed UTF-8 strings. The optional {@link PauseState} is written
+ * with a leading presence flag.
+ */
+class PerformanceStateOperationCodec extends BinaryOperationCodec<PerformanceStateOperation> {
+
+    @Override
+    public void encode(PerformanceStateOperation operation, ByteBuf buffer) {
+        Map<String, PerformanceState> performanceStates = operation.getPerformanceStates();
+        buffer.writeInt(performanceStates.size());
+        for (Map.Entry<String, PerformanceState> entry : performanceStates.entrySet()) {
+            writeString(buffer, entry.getKey());
+            encodePerformanceState(entry.getValue(), buffer);
+        }
+
+        Map<String, Map<String, String>> intervalHistograms = operation.getIntervalHistograms();
+        Map<String, ProbeResolution> probeResolutions = operation.getProbeResolutions();
+        buffer.writeInt(intervalHistograms.size());
+        for (Map.Entry<String, Map<String, String>> entry : intervalHistograms.entrySet()) {
+            String testId = entry.getKey();
+            writeString(buffer, testId);
+            writeEnum(buffer, probeResolutions.get(testId));
+            writeStringMap(buffer, entry.getValue());
+        }
+
+        encodePauseState(operation.getPauseState(), buffer);
+    }
+
+    @Override
+    public PerformanceStateOperation decode(ByteBuf buffer) {
+        PerformanceStateOperation operation = new PerformanceStateOperation();
+
+        int performanceStateCount = buffer.readInt();
+        for (int i = 0; i < performanceStateCount; i++) {
+            String testId = readString(buffer);
+            operation.addPerformanceState(testId, decodePerformanceState(buffer));
+        }
+
+        int intervalHistogramCount = buffer.readInt();
+        for (int i = 0; i < intervalHistogramCount; i++) {
+            String testId = readString(buffer);
+            ProbeResolution probeResolution = readEnum(buffer, ProbeResolution.class);
+            operation.addIntervalHistograms(testId, readStringMap(buffer), probeResolution);
+        }
+
+        operation.setPauseState(decodePauseState(buffer));
+        return operation;
+    }
+
+    private static void encodePerformanceState(PerformanceState state, ByteBuf buffer) {
+        buffer.writeLong(state.getOperationCount());
+        buffer.writeDouble(state.getIntervalThroughput());
+        buffer.writeDouble(state.getTotalThroughput());
+        buffer.writeDouble(state.getIntervalAvgLatency());
+        buffer.writeLong(state.getIntervalPercentileLatency());
+        buffer.writeLong(state.getIntervalMaxLatency());
+    }
+
+    private static PerformanceState decodePerformanceState(ByteBuf buffer) {
+        long operationCount = buffer.readLong();
+        double intervalThroughput = buffer.readDouble();
+        double totalThroughput = buffer.readDouble();
+        double intervalAvgLatency = buffer.readDouble();
+        long intervalPercentileLatency = buffer.readLong();
+        long intervalMaxLatency = buffer.readLong();
+        return new PerformanceState(operationCount, intervalThroughput, totalThroughput, intervalAvgLatency,
+                intervalPercentileLatency, intervalMaxLatency);
+    }
+
+    private static void encodePauseState(PauseState state, ByteBuf buffer) {
+        if (state == null) {
+            buffer.writeBoolean(false);
+            return;
+        }
+        buffer.writeBoolean(true);
+        buffer.writeLong(state.getTimestamp());
+        buffer.writeLong(state.getGcCount());
+        buffer.writeLong(state.getGcTotalMillis());
+        buffer.writeLong(state.getGcMaxMillis());
+        buffer.writeLong(state.getSafepointCount());
+        buffer.writeLong(state.getSafepointTotalMillis());
+    }
+
+    private static PauseState decodePauseState(ByteBuf buffer) {
+        if (!buffer.readBoolean()) {
+            return null;
+        }
+        long timestamp = buffer.readLong();
+        long gcCount = buffer.readLong();
+        long gcTotalMillis = buffer.readLong();
+        long gcMaxMillis = buffer.readLong();
+        long safepointCount = buffer.readLong();
+        long safepointTotalMillis = buffer.readLong();
+        return new PauseState(timestamp, gcCount, gcTotalMillis, gcMaxMillis, safepointCount, safepointTotalMillis);
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.protocol.operation;
+
+/**
+ * Sets the target throughput of the {@link com.hazelcast.simulator.test.TestPhase#RUN} phase of a Simulator Test.
+ *
+ * The throughput is distributed equally to the worker threads of the test, which are paced with a constant
+ * {@link com.hazelcast.simulator.worker.metronome.LoadProfile}.
+ */
+public class SetTargetThroughputOperation implements SimulatorOperation {
+
+    /**
+     * Defines the target throughput of a single Worker in operations per second.
+     */
+    private final double targetThroughput;
+
+    public SetTargetThroughputOperation(double targetThroughput) {
+        this.targetThroughput = targetThroughput;
+    }
+
+    public double getTargetThroughput() {
+        return targetThroughput;
+    }
+}
@@ -15,6 +15,8 @@
  */
 package com.hazelcast.simulator.protocol.operation;
 
+import com.hazelcast.simulator.probes.ProbeResolution;
+
 import java.util.Map;
 
 /**
@@ -35,9 +37,19 @@ public class TestHistogramOperation implements SimulatorOperation {
      */
     private final Map<String, String> probeHistograms;
 
+    /**
+     * {@link ProbeResolution} of the latency values in the histograms.
+     */
+    private final ProbeResolution probeResolution;
+
     public TestHistogramOperation(String testId, Map<String, String> probeHistograms) {
+        this(testId, probeHistograms, ProbeResolution.MICROSECONDS);
+    }
+
+    public TestHistogramOperation(String testId, Map<String, String> probeHistograms, ProbeResolution probeResolution) {
         this.testId = testId;
         this.probeHistograms = probeHistograms;
+        this.probeResolution = probeResolution;
     }
 
     public String getTestId() {
@@ -47,4 +59,8 @@ public class TestHistogramOperation implements SimulatorOperation {
     public Map<String, String> getProbeHistograms() {
         return probeHistograms;
     }
+
+    public ProbeResolution getProbeResolution() {
+        return probeResolution;
+    }
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.protocol.operation;
+
+import com.hazelcast.simulator.probes.ProbeResolution;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * {@link BinaryOperationCodec} for the {@link TestHistogramOperation}, which carries the encoded histograms of all probes.
+ */
+class TestHistogramOperationCodec extends BinaryOperationCodec<TestHistogramOperation> {
+
+    @Override
+    public void encode(TestHistogramOperation operation, ByteBuf buffer) {
+        writeString(buffer, operation.getTestId());
+        writeEnum(buffer, operation.getProbeResolution());
+        writeStringMap(buffer, operation.getProbeHistograms());
+    }
+
+    @Override
+    public TestHistogramOperation decode(ByteBuf buffer) {
+        String testId = readString(buffer);
+        ProbeResolution probeResolution = readEnum(buffer, ProbeResolution.class);
+        return new TestHistogramOperation(testId, readStringMap(buffer), probeResolution);
+    }
+}
@@ -106,9 +106,12 @@ public class CoordinatorOperationProcessor extends OperationProcessor {
 
     private void processPerformanceState(PerformanceStateOperation operation, SimulatorAddress sourceAddress) {
         performanceStateContainer.updatePerformanceState(sourceAddress, operation.getPerformanceStates());
+        performanceStateContainer.updateIntervalHistograms(operation.getIntervalHistograms(), operation.getProbeResolutions());
+        performanceStateContainer.updatePauseState(operation.getPerformanceStates().keySet(), operation.getPauseState());
     }
 
     private void processTestHistogram(TestHistogramOperation operation, SimulatorAddress sourceAddress) {
-        testHistogramContainer.addTestHistograms(sourceAddress, operation.getTestId(), operation.getProbeHistograms());
+        testHistogramContainer.addTestHistograms(sourceAddress, operation.getTestId(), operation.getProbeHistograms(),
+                operation.getProbeResolution());
     }
 }
@@ -24,6 +24,7 @@ import com.hazelcast.simulator.protocol.operation.IntegrationTestOperation;
 import com.hazelcast.simulator.protocol.operation.LogOperation;
 import com.hazelcast.simulator.protocol.operation.OperationType;
 import com.hazelcast.simulator.protocol.operation.PhaseCompletedOperation;
+import com.hazelcast.simulator.protocol.operation.SetTargetThroughputOperation;
 import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
 import com.hazelcast.simulator.protocol.operation.StartTestOperation;
 import com.hazelcast.simulator.protocol.operation.StartTestPhaseOperation;
@@ -106,6 +107,9 @@ public class TestOperationProcessor extends OperationProcessor {
             case STOP_TEST:
                 processStopTest();
                 break;
+            case SET_TARGET_THROUGHPUT:
+                processSetTargetThroughput((SetTargetThroughputOperation) operation);
+                break;
             default:
                 return UNSUPPORTED_OPERATION_ON_THIS_PROCESSOR;
         }
@@ -194,6 +198,11 @@ public class TestOperationProcessor extends OperationProcessor {
         testContainer.getTestContext().stop();
     }
 
+    private void processSetTargetThroughput(SetTargetThroughputOperation operation) {
+        LOGGER.info(format("Setting target throughput of %s to %.2f ops/s", testId, operation.getTargetThroughput()));
+        testContainer.setTargetThroughput(operation.getTargetThroughput());
+    }
+
     private void sendPhaseCompletedOperation(TestPhase testPhase) {
         PhaseCompletedOperation operation = new PhaseCompletedOperation(testPhase);
         worker.getWorkerConnector().submitFromTest(testAddress, COORDINATOR, operation);
@@ -17,6 +17,7 @@ package com.hazelcast.simulator.test;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.ProbeResolution;
 import com.hazelcast.simulator.probes.impl.ProbeImpl;
 import com.hazelcast.simulator.test.annotations.InjectHazelcastInstance;
 import com.hazelcast.simulator.test.annotations.InjectProbe;
@@ -32,6 +33,9 @@ import com.hazelcast.simulator.utils.AnnotationFilter.TeardownFilter;
 import com.hazelcast.simulator.utils.AnnotationFilter.VerifyFilter;
 import com.hazelcast.simulator.utils.AnnotationFilter.WarmupFilter;
 import com.hazelcast.simulator.utils.ThreadSpawner;
+import com.hazelcast.simulator.worker.metronome.LoadProfile;
+import com.hazelcast.simulator.worker.metronome.LoadProfileType;
+import com.hazelcast.simulator.worker.tasks.AbstractWorker;
 import com.hazelcast.simulator.worker.tasks.IMultipleProbesWorker;
 import com.hazelcast.simulator.worker.tasks.IWorker;
 import org.apache.log4j.Logger;
@@ -41,10 +45,14 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+import static com.hazelcast.simulator.probes.impl.ProbeImpl.LATENCY_PRECISION;
 import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.getAtMostOneMethodWithoutArgs;
 import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.getAtMostOneVoidMethodSkipArgsCheck;
 import static com.hazelcast.simulator.utils.AnnotationReflectionUtils.getAtMostOneVoidMethodWithoutArgs;
@@ -55,8 +63,11 @@ import static com.hazelcast.simulator.utils.PropertyBindingSupport.getPropertyVa
 import static com.hazelcast.simulator.utils.ReflectionUtils.invokeMethod;
 import static com.hazelcast.simulator.utils.ReflectionUtils.setFieldValue;
 import static com.hazelcast.simulator.worker.tasks.IWorker.DEFAULT_WORKER_PROBE_NAME;
+import static java.lang.Double.parseDouble;
 import static java.lang.Integer.parseInt;
+import static java.lang.Long.parseLong;
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static org.apache.commons.lang3.text.WordUtils.capitalizeFully;
 
 /**
@@ -72,9 +83,35 @@ import static org.apache.commons.lang3.text.WordUtils.capitalizeFully;
  */
 public class TestContainer {
 
+    static final String PROBE_HIGHEST_TRACKABLE_VALUE_PROPERTY_NAME = "probeHighestTrackableValue";
+    static final String PROBE_SIGNIFICANT_DIGITS_PROPERTY_NAME = "probeSignificantDigits";
+    static final String PROBE_COST_SAMPLE_INTERVAL_PROPERTY_NAME = "probeCostSampleInterval";
+
     private static final int DEFAULT_RUN_WITH_WORKER_THREAD_COUNT = 10;
     private static final String THREAD_COUNT_PROPERTY_NAME = "threadCount";
-    private static final Set<String> OPTIONAL_TEST_PROPERTIES = Collections.singleton(THREAD_COUNT_PROPERTY_NAME);
+    private static final String PROBE_RESOLUTION_PROPERTY_NAME = "probeResolution";
+    private static final String LOAD_PROFILE_PROPERTY_NAME = "loadProfile";
+    private static final String LOAD_PROFILE_START_FREQUENCY_PROPERTY_NAME = "loadProfileStartFrequency";
+    private static final String LOAD_PROFILE_TARGET_FREQUENCY_PROPERTY_NAME = "loadProfileTargetFrequency";
+    private static final String LOAD_PROFILE_PERIOD_SECONDS_PROPERTY_NAME = "loadProfilePeriodSeconds";
+    private static final String LOAD_PROFILE_STEPS_PROPERTY_NAME = "loadProfileSteps";
+    private static final String LOAD_PROFILE_BURST_SECONDS_PROPERTY_NAME = "loadProfileBurstSeconds";
+    private static final Set<String> OPTIONAL_TEST_PROPERTIES = Collections.unmodifiableSet(new HashSet<String>(asList(
+            THREAD_COUNT_PROPERTY_NAME,
+            PROBE_RESOLUTION_PROPERTY_NAME,
+            PROBE_HIGHEST_TRACKABLE_VALUE_PROPERTY_NAME,
+            PROBE_SIGNIFICANT_DIGITS_PROPERTY_NAME,
+            PROBE_COST_SAMPLE_INTERVAL_PROPERTY_NAME,
+            LOAD_PROFILE_PROPERTY_NAME,
+            LOAD_PROFILE_START_FREQUENCY_PROPERTY_NAME,
+            LOAD_PROFILE_TARGET_FREQUENCY_PROPERTY_NAME,
+            LOAD_PROFILE_PERIOD_SECONDS_PROPERTY_NAME,
+            LOAD_PROFILE_STEPS_PROPERTY_NAME,
+            LOAD_PROFILE_BURST_SECONDS_PROPERTY_NAME)));
+
+    private static final int DEFAULT_LOAD_PROFILE_PERIOD_SECONDS = 60;
+    private static final int DEFAULT_LOAD_PROFILE_STEPS = 10;
+    private static final int DEFAULT_LOAD_PROFILE_BURST_SECONDS = 1;
 
     private static final Logger LOGGER = Logger.getLogger(TestContainer.class);
 
@@ -85,6 +122,13 @@ public class TestContainer {
     private final Object testClassInstance;
     private final Class testClassType;
     private final int runWithWorkerThreadCount;
+    private final ProbeResolution probeResolution;
+    private final long probeHighestTrackableValue;
+    private final int probeSignificantDigits;
+    private final int probeCostSampleInterval;
+    private final Queue<AbstractWorker> pacedWorkers = new ConcurrentLinkedQueue<AbstractWorker>();
+
+    private volatile LoadProfile loadProfile;
 
     private boolean runWithWorker;
     private Object[] setupArguments;
@@ -93,7 +137,10 @@ public class TestContainer {
     private volatile boolean isRunning;
 
     public TestContainer(TestContext testContext, TestCase testCase) {
-        this(testContext, getTestClassInstance(testCase), getThreadCount(testCase));
+        this(testContext, getTestClassInstance(testCase), getThreadCount(testCase), new TestContainerParameters(
+                getProbeResolution(testCase), getProbeHighestTrackableValue(testCase), getProbeSignificantDigits(testCase),
+                parseInt(getPropertyValueOrDefault(testCase, PROBE_COST_SAMPLE_INTERVAL_PROPERTY_NAME, "0")),
+                getLoadProfile(testCase)));
     }
 
     public TestContainer(TestContext testContext, Object testClassInstance) {
@@ -101,17 +148,26 @@ public class TestContainer {
     }
 
     public TestContainer(TestContext testContext, Object testClassInstance, int runWithWorkerThreadCount) {
+        this(testContext, testClassInstance, runWithWorkerThreadCount, TestContainerParameters.DEFAULT);
+    }
+
+    TestContainer(TestContext testContext, Object testClassInstance, int runWithWorkerThreadCount,
+                  TestContainerParameters parameters) {
         if (testContext == null) {
             throw new NullPointerException("testContext cannot be null!");
         }
         if (testClassInstance == null) {
             throw new NullPointerException("testClassInstance cannot be null!");
         }
-
         this.testContext = testContext;
         this.testClassInstance = testClassInstance;
         this.testClassType = testClassInstance.getClass();
         this.runWithWorkerThreadCount = runWithWorkerThreadCount;
+        this.probeResolution = parameters.getProbeResolution();
+        this.probeHighestTrackableValue = parameters.getProbeHighestTrackableValue();
+        this.probeSignificantDigits = parameters.getProbeSignificantDigits();
+        this.probeCostSampleInterval = parameters.getProbeCostSampleInterval();
+        this.loadProfile = parameters.getLoadProfile();
 
         injectDependencies();
         initTestMethods();
@@ -137,6 +193,39 @@ public class TestContainer {
         return probeMap;
     }
 
+    public ProbeResolution getProbeResolution() {
+        return probeResolution;
+    }
+
+    /**
+     * Returns the {@link LoadProfile} of the workers.
+     *
+     * @return the {@link LoadProfile} or {@code null} if no load profile is configured
+     */
+    public LoadProfile getLoadProfile() {
+        return loadProfile;
+    }
+
+    public int getRunWithWorkerThreadCount() {
+        return runWithWorkerThreadCount;
+    }
+
+    /**
+     * Paces the worker threads of this test with a constant {@link LoadProfile}, so they reach the given throughput in total.
+     *
+     * Can be called before and during the {@link TestPhase#RUN} phase. Has no effect on tests which don't use an
+     * {@link AbstractWorker}.
+     *
+     * @param targetThroughput the target throughput of all worker threads in operations per second
+     */
+    public void setTargetThroughput(double targetThroughput) {
+        LoadProfile newLoadProfile = LoadProfile.constant(targetThroughput / Math.max(1, runWithWorkerThreadCount));
+        loadProfile = newLoadProfile;
+        for (AbstractWorker worker : pacedWorkers) {
+            worker.setLoadProfile(newLoadProfile);
+        }
+    }
+
     public void invoke(TestPhase testPhase) throws Exception {
         switch (testPhase) {
             case RUN:
@@ -299,7 +388,8 @@ public class TestContainer {
     private Probe getOrCreateProbe(String probeName, boolean isThroughputProbe) {
         Probe probe = probeMap.get(probeName);
         if (probe == null) {
-            probe = new ProbeImpl(isThroughputProbe);
+            probe = new ProbeImpl(isThroughputProbe, probeResolution, probeHighestTrackableValue, probeSignificantDigits,
+                    probeCostSampleInterval);
             probeMap.put(probeName, probe);
         }
         return probe;
@@ -316,6 +406,14 @@ public class TestContainer {
             if (operationProbes != null) {
                 ((IMultipleProbesWorker) worker).setProbeMap(operationProbes);
             }
+            if (worker instanceof AbstractWorker) {
+                // the worker is registered first, so it cannot miss a concurrent change of the target throughput
+                pacedWorkers.add((AbstractWorker) worker);
+                LoadProfile currentLoadProfile = loadProfile;
+                if (currentLoadProfile != null) {
+                    ((AbstractWorker) worker).setLoadProfile(currentLoadProfile);
+                }
+            }
             spawner.spawn(worker);
         }
         spawner.awaitCompletion();
@@ -344,6 +442,64 @@ public class TestContainer {
         return (threadCountProperty == null ? DEFAULT_RUN_WITH_WORKER_THREAD_COUNT : parseInt(threadCountProperty));
     }
 
+    private static ProbeResolution getProbeResolution(TestCase testCase) {
+        String probeResolutionProperty = getPropertyValue(testCase, PROBE_RESOLUTION_PROPERTY_NAME);
+        if (probeResolutionProperty == null) {
+            return ProbeResolution.MICROSECONDS;
+        }
+        try {
+            return ProbeResolution.valueOf(probeResolutionProperty.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalTestException(format("Unknown %s: %s (supported values are %s)", PROBE_RESOLUTION_PROPERTY_NAME,
+                    probeResolutionProperty, asList(ProbeResolution.values())));
+        }
+    }
+
+    private static long getProbeHighestTrackableValue(TestCase testCase) {
+        String highestTrackableValueProperty = getPropertyValue(testCase, PROBE_HIGHEST_TRACKABLE_VALUE_PROPERTY_NAME);
+        if (highestTrackableValueProperty == null) {
+            return getProbeResolution(testCase).getDefaultHighestTrackableValue();
+        }
+        return parseLong(highestTrackableValueProperty);
+    }
+
+    private static int getProbeSignificantDigits(TestCase testCase) {
+        String significantDigitsProperty = getPropertyValue(testCase, PROBE_SIGNIFICANT_DIGITS_PROPERTY_NAME);
+        return (significantDigitsProperty == null ? LATENCY_PRECISION : parseInt(significantDigitsProperty));
+    }
+
+    private static LoadProfile getLoadProfile(TestCase testCase) {
+        String loadProfileProperty = getPropertyValue(testCase, LOAD_PROFILE_PROPERTY_NAME);
+        if (loadProfileProperty == null) {
+            return null;
+        }
+        LoadProfileType type;
+        try {
+            type = LoadProfileType.valueOf(loadProfileProperty.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalTestException(format("Unknown %s: %s (supported values are %s)", LOAD_PROFILE_PROPERTY_NAME,
+                    loadProfileProperty, asList(LoadProfileType.values())));
+        }
+        try {
+            return LoadProfile.create(type,
+                    parseDouble(getPropertyValueOrDefault(testCase, LOAD_PROFILE_START_FREQUENCY_PROPERTY_NAME, "0")),
+                    parseDouble(getPropertyValueOrDefault(testCase, LOAD_PROFILE_TARGET_FREQUENCY_PROPERTY_NAME, "0")),
+                    parseInt(getPropertyValueOrDefault(testCase, LOAD_PROFILE_PERIOD_SECONDS_PROPERTY_NAME,
+                            String.valueOf(DEFAULT_LOAD_PROFILE_PERIOD_SECONDS))),
+                    parseInt(getPropertyValueOrDefault(testCase, LOAD_PROFILE_STEPS_PROPERTY_NAME,
+                            String.valueOf(DEFAULT_LOAD_PROFILE_STEPS))),
+                    parseInt(getPropertyValueOrDefault(testCase, LOAD_PROFILE_BURST_SECONDS_PROPERTY_NAME,
+                            String.valueOf(DEFAULT_LOAD_PROFILE_BURST_SECONDS))));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalTestException(format("Invalid %s: %s", LOAD_PROFILE_PROPERTY_NAME, e.getMessage()));
+        }
+    }
+
+    private static String getPropertyValueOrDefault(TestCase testCase, String propertyName, String defaultValue) {
+        String propertyValue = getPropertyValue(testCase, propertyName);
+        return (propertyValue == null ? defaultValue : propertyValue);
+    }
+
     private static void assertFieldType(Class fieldType, Class expectedFieldType, Class<? extends Annotation> annotation) {
         if (!expectedFieldType.equals(fieldType)) {
             throw new IllegalTestException(format("Found %s annotation on field of type %s, but %s is required!",
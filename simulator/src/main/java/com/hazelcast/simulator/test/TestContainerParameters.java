@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.test;
+
+import com.hazelcast.simulator.probes.ProbeResolution;
+import com.hazelcast.simulator.worker.metronome.LoadProfile;
+
+import static com.hazelcast.simulator.probes.impl.ProbeImpl.LATENCY_PRECISION;
+import static com.hazelcast.simulator.probes.impl.ProbeImpl.MAXIMUM_LATENCY;
+import static com.hazelcast.simulator.test.TestContainer.PROBE_COST_SAMPLE_INTERVAL_PROPERTY_NAME;
+import static com.hazelcast.simulator.test.TestContainer.PROBE_HIGHEST_TRACKABLE_VALUE_PROPERTY_NAME;
+import static com.hazelcast.simulator.test.TestContainer.PROBE_SIGNIFICANT_DIGITS_PROPERTY_NAME;
+import static java.lang.String.format;
+
+/**
+ * Optional probe and load profile parameters of a {@link TestContainer}.
+ */
+final class TestContainerParameters {
+
+    static final TestContainerParameters DEFAULT = new TestContainerParameters(ProbeResolution.MICROSECONDS, MAXIMUM_LATENCY,
+            LATENCY_PRECISION, 0, null);
+
+    private static final long MIN_PROBE_HIGHEST_TRACKABLE_VALUE = 2;
+    private static final int MAX_PROBE_SIGNIFICANT_DIGITS = 5;
+
+    private final ProbeResolution probeResolution;
+    private final long probeHighestTrackableValue;
+    private final int probeSignificantDigits;
+    private final int probeCostSampleInterval;
+    private final LoadProfile loadProfile;
+
+    /**
+     * Creates the parameters of a {@link TestContainer}.
+     *
+     * @param probeResolution            the {@link ProbeResolution} of the injected probes
+     * @param probeHighestTrackableValue the highest trackable latency of the injected probes
+     * @param probeSignificantDigits     the number of significant digits of the injected probes
+     * @param probeCostSampleInterval    the interval in which the probes sample the operation cost or 0 to disable it
+     * @param loadProfile                the {@link LoadProfile} of the workers or {@code null} if the workers are not paced
+     * @throws IllegalTestException if a probe parameter is out of range
+     */
+    TestContainerParameters(ProbeResolution probeResolution, long probeHighestTrackableValue, int probeSignificantDigits,
+                            int probeCostSampleInterval, LoadProfile loadProfile) {
+        // these are the limits of the HdrHistogram, which would fail later with a less descriptive exception
+        if (probeHighestTrackableValue < MIN_PROBE_HIGHEST_TRACKABLE_VALUE) {
+            throw new IllegalTestException(format("Invalid %s: %d (has to be at least %d)",
+                    PROBE_HIGHEST_TRACKABLE_VALUE_PROPERTY_NAME, probeHighestTrackableValue, MIN_PROBE_HIGHEST_TRACKABLE_VALUE));
+        }
+        if (probeSignificantDigits < 0 || probeSignificantDigits > MAX_PROBE_SIGNIFICANT_DIGITS) {
+            throw new IllegalTestException(format("Invalid %s: %d (has to be between 0 and %d)",
+                    PROBE_SIGNIFICANT_DIGITS_PROPERTY_NAME, probeSignificantDigits, MAX_PROBE_SIGNIFICANT_DIGITS));
+        }
+        if (probeCostSampleInterval < 0) {
+            throw new IllegalTestException(format("Invalid %s: %d (has to be a positive number or 0 to disable it)",
+                    PROBE_COST_SAMPLE_INTERVAL_PROPERTY_NAME, probeCostSampleInterval));
+        }
+
+        this.probeResolution = probeResolution;
+        this.probeHighestTrackableValue = probeHighestTrackableValue;
+        this.probeSignificantDigits = probeSignificantDigits;
+        this.probeCostSampleInterval = probeCostSampleInterval;
+        this.loadProfile = loadProfile;
+    }
+
+    ProbeResolution getProbeResolution() {
+        return probeResolution;
+    }
+
+    long getProbeHighestTrackableValue() {
+        return probeHighestTrackableValue;
+    }
+
+    int getProbeSignificantDigits() {
+        return probeSignificantDigits;
+    }
+
+    int getProbeCostSampleInterval() {
+        return probeCostSampleInterval;
+    }
+
+    LoadProfile getLoadProfile() {
+        return loadProfile;
+    }
+}
@@ -17,7 +17,9 @@ package com.hazelcast.simulator.worker;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.simulator.common.ShutdownThread;
+import com.hazelcast.simulator.protocol.connector.TransportType;
 import com.hazelcast.simulator.protocol.connector.WorkerConnector;
+import com.hazelcast.simulator.protocol.connector.WorkerConnectorParameters;
 import com.hazelcast.simulator.protocol.operation.OperationTypeCounter;
 import com.hazelcast.simulator.protocol.processors.WorkerOperationProcessor;
 import com.hazelcast.simulator.utils.ExceptionReporter;
@@ -65,6 +67,12 @@ public final class MemberWorker implements Worker {
 
     MemberWorker(WorkerType type, String publicAddress, int agentIndex, int workerIndex, int workerPort, String hzConfigFile,
                  boolean autoCreateHzInstance, int workerPerformanceMonitorIntervalSeconds) throws Exception {
+        this(type, publicAddress, agentIndex, workerIndex, workerPort, hzConfigFile, autoCreateHzInstance,
+                new MemberWorkerParameters(workerPerformanceMonitorIntervalSeconds, 0, TransportType.NIO));
+    }
+
+    MemberWorker(WorkerType type, String publicAddress, int agentIndex, int workerIndex, int workerPort, String hzConfigFile,
+                 boolean autoCreateHzInstance, MemberWorkerParameters parameters) throws Exception {
         SHUTDOWN_STARTED.set(false);
 
         this.type = type;
@@ -75,10 +83,12 @@ public final class MemberWorker implements Worker {
 
         this.hazelcastInstance = getHazelcastInstance();
 
-        this.workerConnector = WorkerConnector.createInstance(agentIndex, workerIndex, workerPort, type, hazelcastInstance, this);
+        this.workerConnector = WorkerConnector.createInstance(agentIndex, workerIndex, workerPort, type, hazelcastInstance, this,
+                new WorkerConnectorParameters(false, parameters.getTransportType()));
         this.workerConnector.start();
 
-        this.workerPerformanceMonitor = initWorkerPerformanceMonitor(workerPerformanceMonitorIntervalSeconds);
+        this.workerPerformanceMonitor = initWorkerPerformanceMonitor(parameters.getWorkerPerformanceMonitorIntervalSeconds(),
+                parameters.getWorkerPerformanceMonitorSampleIntervalMillis());
 
         Runtime.getRuntime().addShutdownHook(new WorkerShutdownThread(true));
 
@@ -141,12 +151,13 @@ public final class MemberWorker implements Worker {
         return instance;
     }
 
-    private WorkerPerformanceMonitor initWorkerPerformanceMonitor(int intervalSeconds) {
+    private WorkerPerformanceMonitor initWorkerPerformanceMonitor(int intervalSeconds, int sampleIntervalMillis) {
         if (intervalSeconds < 1) {
             return null;
         }
         WorkerOperationProcessor processor = (WorkerOperationProcessor) workerConnector.getProcessor();
-        return new WorkerPerformanceMonitor(workerConnector, processor.getTests(), intervalSeconds, TimeUnit.SECONDS);
+        return new WorkerPerformanceMonitor(workerConnector, processor.getTests(), intervalSeconds, TimeUnit.SECONDS,
+                sampleIntervalMillis, TimeUnit.MILLISECONDS);
     }
 
     private void signalStartToAgent() {
@@ -178,6 +189,9 @@ public final class MemberWorker implements Worker {
 
         boolean autoCreateHzInstance = parseBoolean(System.getProperty("autoCreateHzInstance", "true"));
         int workerPerformanceMonitorIntervalSeconds = parseInt(System.getProperty("workerPerformanceMonitorIntervalSeconds"));
+        int workerPerformanceMonitorSampleIntervalMillis
+                = parseInt(System.getProperty("workerPerformanceMonitorSampleIntervalMillis", "0"));
+        TransportType transportType = TransportType.fromString(System.getProperty(TransportType.PROPERTY_NAME));
 
         logHeader("Hazelcast Worker #" + workerIndex + " (" + type + ')');
         logInputArguments();
@@ -191,12 +205,16 @@ public final class MemberWorker implements Worker {
         LOGGER.info("Agent index: " + agentIndex);
         LOGGER.info("Worker index: " + workerIndex);
         LOGGER.info("Worker port: " + workerPort);
+        LOGGER.info("Protocol transport: " + transportType);
 
         LOGGER.info("autoCreateHzInstance: " + autoCreateHzInstance);
         LOGGER.info("workerPerformanceMonitorIntervalSeconds: " + workerPerformanceMonitorIntervalSeconds);
+        LOGGER.info("workerPerformanceMonitorSampleIntervalMillis: " + workerPerformanceMonitorSampleIntervalMillis);
 
+        MemberWorkerParameters parameters = new MemberWorkerParameters(workerPerformanceMonitorIntervalSeconds,
+                workerPerformanceMonitorSampleIntervalMillis, transportType);
         MemberWorker worker = new MemberWorker(type, publicAddress, agentIndex, workerIndex, workerPort, hzConfigFile,
-                autoCreateHzInstance, workerPerformanceMonitorIntervalSeconds);
+                autoCreateHzInstance, parameters);
 
         logHeader("Successfully started Hazelcast Worker #" + workerIndex);
 
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker;
+
+import com.hazelcast.simulator.protocol.connector.TransportType;
+
+/**
+ * Parameters of the {@link com.hazelcast.simulator.worker.performance.WorkerPerformanceMonitor} and the protocol transport
+ * of a {@link MemberWorker}.
+ */
+final class MemberWorkerParameters {
+
+    private final int workerPerformanceMonitorIntervalSeconds;
+    private final int workerPerformanceMonitorSampleIntervalMillis;
+    private final TransportType transportType;
+
+    /**
+     * Creates the parameters of a {@link MemberWorker}.
+     *
+     * @param workerPerformanceMonitorIntervalSeconds      the interval of the performance monitor or 0 to disable it
+     * @param workerPerformanceMonitorSampleIntervalMillis the interval of the high resolution samples or 0 to disable them
+     * @param transportType                                the {@link TransportType} for the connection to the Simulator Agent
+     */
+    MemberWorkerParameters(int workerPerformanceMonitorIntervalSeconds, int workerPerformanceMonitorSampleIntervalMillis,
+                           TransportType transportType) {
+        this.workerPerformanceMonitorIntervalSeconds = workerPerformanceMonitorIntervalSeconds;
+        this.workerPerformanceMonitorSampleIntervalMillis = workerPerformanceMonitorSampleIntervalMillis;
+        this.transportType = transportType;
+    }
+
+    int getWorkerPerformanceMonitorIntervalSeconds() {
+        return workerPerformanceMonitorIntervalSeconds;
+    }
+
+    int getWorkerPerformanceMonitorSampleIntervalMillis() {
+        return workerPerformanceMonitorSampleIntervalMillis;
+    }
+
+    TransportType getTransportType() {
+        return transportType;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.distribution;
+
+import java.util.Random;
+
+import static java.lang.Math.max;
+
+/**
+ * Sends {@link #HOT_OPERATION_FRACTION} of the accesses to the first {@link #HOT_KEY_FRACTION} of the keys.
+ */
+final class HotspotKeyDistribution implements KeyDistribution {
+
+    static final double HOT_KEY_FRACTION = 0.2;
+    static final double HOT_OPERATION_FRACTION = 0.8;
+
+    private final int keyCount;
+    private final int hotKeyCount;
+    private final Random random;
+
+    HotspotKeyDistribution(int keyCount, Random random) {
+        this.keyCount = keyCount;
+        this.hotKeyCount = max(1, (int) (keyCount * HOT_KEY_FRACTION));
+        this.random = random;
+    }
+
+    @Override
+    public int nextKeyIndex() {
+        if (hotKeyCount == keyCount || random.nextDouble() < HOT_OPERATION_FRACTION) {
+            return random.nextInt(hotKeyCount);
+        }
+        return hotKeyCount + random.nextInt(keyCount - hotKeyCount);
+    }
+
+    @Override
+    public int getKeyCount() {
+        return keyCount;
+    }
+}
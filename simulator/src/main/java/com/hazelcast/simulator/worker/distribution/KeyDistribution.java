@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.distribution;
+
+/**
+ * Selects the index of the next key a worker accesses, out of a fixed number of keys.
+ *
+ * Instances are not thread-safe, so each worker thread needs its own instance.
+ */
+public interface KeyDistribution {
+
+    /**
+     * Returns the index of the next key.
+     *
+     * @return the key index between <tt>0</tt> (inclusive) and {@link #getKeyCount()} (exclusive)
+     */
+    int nextKeyIndex();
+
+    /**
+     * Returns the number of keys this distribution selects from.
+     *
+     * @return the number of keys
+     */
+    int getKeyCount();
+}
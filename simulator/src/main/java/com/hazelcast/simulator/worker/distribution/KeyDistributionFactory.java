@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.distribution;
+
+import java.util.Random;
+
+public final class KeyDistributionFactory {
+
+    private KeyDistributionFactory() {
+    }
+
+    /**
+     * Creates a {@link KeyDistribution} instance.
+     *
+     * @param type     the {@link KeyDistributionType} to create
+     * @param keyCount the number of keys to select from
+     * @param random   the {@link Random} instance to use, which should not be shared with other threads
+     * @return a {@link KeyDistribution} instance
+     */
+    public static KeyDistribution create(KeyDistributionType type, int keyCount, Random random) {
+        if (keyCount < 1) {
+            throw new IllegalArgumentException("keyCount has to be a positive number, but was " + keyCount);
+        }
+        switch (type) {
+            case ZIPFIAN:
+                return new ZipfianKeyDistribution(keyCount, random);
+            case SCRAMBLED_ZIPFIAN:
+                return new ScrambledZipfianKeyDistribution(keyCount, random);
+            case HOTSPOT:
+                return new HotspotKeyDistribution(keyCount, random);
+            case LATEST:
+                return new LatestKeyDistribution(keyCount, random);
+            case SEQUENTIAL:
+                return new SequentialKeyDistribution(keyCount);
+            default:
+                return new UniformKeyDistribution(keyCount, random);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.distribution;
+
+/**
+ * Defines how the accesses of a worker are spread over the keys of a test.
+ *
+ * Can be configured via a test property, e.g. <tt>keyDistribution=SCRAMBLED_ZIPFIAN</tt>.
+ */
+public enum KeyDistributionType {
+
+    /**
+     * All keys are accessed with the same probability.
+     */
+    UNIFORM,
+
+    /**
+     * Some keys are accessed much more often than others, following a zipfian distribution. The popular keys are clustered
+     * at the low key indices.
+     */
+    ZIPFIAN,
+
+    /**
+     * Like {@link #ZIPFIAN}, but the popular keys are scattered over all key indices, so they end up in different partitions.
+     */
+    SCRAMBLED_ZIPFIAN,
+
+    /**
+     * A fixed fraction of hot keys receives most of the accesses, the accesses within the hot and the cold keys are uniform.
+     */
+    HOTSPOT,
+
+    /**
+     * Like {@link #ZIPFIAN}, but the popular keys are clustered at the high key indices, so the most recently inserted keys
+     * are accessed most often.
+     */
+    LATEST,
+
+    /**
+     * The keys are accessed one after another, starting again at the first key after the last one.
+     */
+    SEQUENTIAL
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.distribution;
+
+import java.util.Random;
+
+/**
+ * Selects the keys with a zipfian distribution, but scatters the popular keys over all key indices by hashing them.
+ *
+ * Since the hashed key indices can collide, the number of distinct popular keys is slightly lower than with
+ * {@link ZipfianKeyDistribution}.
+ */
+final class ScrambledZipfianKeyDistribution extends ZipfianKeyDistribution {
+
+    private static final long FNV_OFFSET_BASIS_64 = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME_64 = 1099511628211L;
+
+    private static final int BYTES_PER_LONG = 8;
+    private static final int BITS_PER_BYTE = 8;
+    private static final int BYTE_MASK = 0xff;
+
+    ScrambledZipfianKeyDistribution(int keyCount, Random random) {
+        super(keyCount, random);
+    }
+
+    @Override
+    public int nextKeyIndex() {
+        long hash = hashFNV64(super.nextKeyIndex());
+        return (int) ((hash & Long.MAX_VALUE) % getKeyCount());
+    }
+
+    /**
+     * 64 bit FNV-1a hash, see http://en.wikipedia.org/wiki/Fowler_Noll_Vo_hash
+     *
+     * @param value the value to hash
+     * @return the hash value
+     */
+    static long hashFNV64(long value) {
+        long hash = FNV_OFFSET_BASIS_64;
+        long remaining = value;
+        for (int i = 0; i < BYTES_PER_LONG; i++) {
+            hash ^= remaining & BYTE_MASK;
+            hash *= FNV_PRIME_64;
+            remaining >>= BITS_PER_BYTE;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.distribution;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.lang.Math.min;
+import static java.lang.Math.pow;
+
+/**
+ * Selects the keys with a zipfian distribution, so key index 0 is the most popular, key index 1 the second most popular and
+ * so on.
+ *
+ * The algorithm is from "Quickly Generating Billion-Record Synthetic Databases", Jim Gray et al, SIGMOD 1994. The calculation of
+ * zeta is linear to the number of keys, so it is cached per key count and shared by all worker threads.
+ */
+class ZipfianKeyDistribution implements KeyDistribution {
+
+    static final double ZIPFIAN_CONSTANT = 0.99;
+
+    private static final ConcurrentMap<Integer, Double> ZETA_CACHE = new ConcurrentHashMap<Integer, Double>();
+
+    private final int keyCount;
+    private final Random random;
+
+    private final double zetaN;
+    private final double alpha;
+    private final double eta;
+    private final double secondKeyThreshold;
+
+    ZipfianKeyDistribution(int keyCount, Random random) {
+        this.keyCount = keyCount;
+        this.random = random;
+
+        double zeta2 = zeta(2);
+        this.zetaN = getZeta(keyCount);
+        this.alpha = 1.0 / (1.0 - ZIPFIAN_CONSTANT);
+        this.eta = (1 - pow(2.0 / keyCount, 1 - ZIPFIAN_CONSTANT)) / (1 - zeta2 / zetaN);
+        this.secondKeyThreshold = 1.0 + 1.0 / pow(2, ZIPFIAN_CONSTANT);
+    }
+
+    @Override
+    public int nextKeyIndex() {
+        double u = random.nextDouble();
+        double uz = u * zetaN;
+        if (uz < 1.0) {
+            return 0;
+        }
+        if (uz < secondKeyThreshold) {
+            return min(1, keyCount - 1);
+        }
+        return min((int) (keyCount * pow(eta * u - eta + 1, alpha)), keyCount - 1);
+    }
+
+    @Override
+    public int getKeyCount() {
+        return keyCount;
+    }
+
+    static double getZeta(int keyCount) {
+        Double zeta = ZETA_CACHE.get(keyCount);
+        if (zeta == null) {
+            zeta = zeta(keyCount);
+            ZETA_CACHE.putIfAbsent(keyCount, zeta);
+        }
+        return zeta;
+    }
+
+    private static double zeta(int n) {
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1 / pow(i + 1, ZIPFIAN_CONSTANT);
+        }
+        return sum;
+    }
+}
@@ -17,81 +17,113 @@ package com.hazelcast.simulator.worker.loadsupport;
 
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.ICompletableFuture;
-
-import java.util.concurrent.Semaphore;
+import org.apache.log4j.Logger;
 
 import static com.hazelcast.simulator.utils.CommonUtils.rethrow;
+import static java.lang.String.format;
 import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
+/**
+ * Asynchronous implementation of {@link Streamer}, which limits the number of in-flight operations with an
+ * {@link AdaptiveConcurrencyLimit}.
+ *
+ * The limit starts low and grows while the latency is stable, so the streamer finds the sustainable rate of the cluster
+ * instead of relying on a fixed concurrency level. The current limit and the average queueing delay are logged periodically
+ * while entries are pushed and once more by {@link #await()}.
+ *
+ * The entries have to be pushed by a single thread.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
 abstract class AbstractAsyncStreamer<K, V> implements Streamer<K, V> {
 
-    private static final int DEFAULT_CONCURRENCY_LEVEL = 1000;
+    static final int INITIAL_CONCURRENCY_LIMIT = 100;
+    static final int MIN_CONCURRENCY_LIMIT = 10;
+    static final int MAX_CONCURRENCY_LIMIT = 10000;
+
     private static final long DEFAULT_TIMEOUT_MINUTES = 2;
+    private static final long LOG_INTERVAL_NANOS = SECONDS.toNanos(10);
 
-    private final int concurrencyLevel;
-    private final Semaphore semaphore;
-    private final ExecutionCallback callback;
+    private static final Logger LOGGER = Logger.getLogger(AbstractAsyncStreamer.class);
 
-    private volatile Throwable storedException;
+    private final AdaptiveConcurrencyLimit concurrencyLimit = new AdaptiveConcurrencyLimit(INITIAL_CONCURRENCY_LIMIT,
+            MIN_CONCURRENCY_LIMIT, MAX_CONCURRENCY_LIMIT);
 
-    AbstractAsyncStreamer() {
-        this.concurrencyLevel = DEFAULT_CONCURRENCY_LEVEL;
-        this.semaphore = new Semaphore(DEFAULT_CONCURRENCY_LEVEL);
-        this.callback = new StreamerExecutionCallback();
-    }
+    private long pushedEntries;
+    private long nextLogNanos;
+
+    private volatile Throwable storedException;
 
     abstract ICompletableFuture storeAsync(K key, V value);
 
     @Override
     @SuppressWarnings("unchecked")
     public void pushEntry(K key, V value) {
-        acquirePermit(1);
-        ICompletableFuture<V> future = storeAsync(key, value);
-        future.andThen(callback);
+        concurrencyLimit.acquire(DEFAULT_TIMEOUT_MINUTES, MINUTES);
+        long started = System.nanoTime();
+        logProgress(started);
+        ICompletableFuture<V> future;
+        try {
+            future = storeAsync(key, value);
+        } catch (RuntimeException e) {
+            concurrencyLimit.releaseOnFailure();
+            throw e;
+        }
+        future.andThen(new StreamerExecutionCallback(started));
     }
 
     @Override
     public void await() {
-        waitForInFlightOperationsFinished();
-        releasePermit(concurrencyLevel);
+        concurrencyLimit.awaitCompletion(DEFAULT_TIMEOUT_MINUTES, MINUTES);
+        logConcurrencyLimit("Streamed");
+        pushedEntries = 0;
         rethrowExceptionIfAny();
     }
 
-    private void waitForInFlightOperationsFinished() {
-        acquirePermit(concurrencyLevel);
+    int getConcurrencyLimit() {
+        return concurrencyLimit.getLimit();
     }
 
-    private void rethrowExceptionIfAny() {
-        if (storedException != null) {
-            throw rethrow(storedException);
+    private void logProgress(long now) {
+        if (pushedEntries++ == 0) {
+            nextLogNanos = now + LOG_INTERVAL_NANOS;
+        } else if (now - nextLogNanos >= 0) {
+            logConcurrencyLimit("Pushed");
+            nextLogNanos = now + LOG_INTERVAL_NANOS;
         }
     }
 
-    private void releasePermit(int count) {
-        semaphore.release(count);
+    private void logConcurrencyLimit(String action) {
+        LOGGER.info(format("%s %d entries with concurrency limit %d (avg queueing delay %d µs)", action, pushedEntries,
+                concurrencyLimit.getLimit(), NANOSECONDS.toMicros(concurrencyLimit.getAvgQueueingDelayNanos())));
     }
 
-    private void acquirePermit(int count) {
-        try {
-            if (!semaphore.tryAcquire(count, DEFAULT_TIMEOUT_MINUTES, MINUTES)) {
-                throw new IllegalStateException("Timeout when trying to acquire a permit!");
-            }
-        } catch (InterruptedException e) {
-            throw rethrow(e);
+    private void rethrowExceptionIfAny() {
+        if (storedException != null) {
+            throw rethrow(storedException);
         }
     }
 
     private final class StreamerExecutionCallback implements ExecutionCallback<V> {
 
+        private final long started;
+
+        private StreamerExecutionCallback(long started) {
+            this.started = started;
+        }
+
         @Override
         public void onResponse(V response) {
-            releasePermit(1);
+            concurrencyLimit.release(System.nanoTime() - started);
         }
 
         @Override
         public void onFailure(Throwable t) {
             storedException = t;
-            releasePermit(1);
+            concurrencyLimit.releaseOnFailure();
         }
     }
 }
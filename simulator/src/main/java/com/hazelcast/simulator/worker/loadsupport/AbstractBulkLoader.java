@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.loadsupport;
+
+import com.hazelcast.core.Member;
+import com.hazelcast.core.PartitionService;
+import org.apache.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import static com.hazelcast.simulator.utils.CommonUtils.rethrow;
+import static com.hazelcast.simulator.utils.ExecutorFactory.createFixedThreadPool;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Bulk loading implementation of {@link Streamer}, which groups the entries by the owner of their partition and stores them
+ * in batches.
+ *
+ * Each batch is stored by a single call to its owning member from a pool of loader threads. The number of in-flight batches
+ * is limited by an {@link AdaptiveConcurrencyLimit}, which follows the observed latency per entry, so the loader saturates the
+ * cluster without overloading it. The load throughput is logged by {@link #await()}.
+ *
+ * The entries have to be pushed by a single thread. The loader threads are started on the first {@link #pushEntry(Object,
+ * Object)} and stopped by {@link #await()} or when a failed batch is reported by {@link #pushEntry(Object, Object)}.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+abstract class AbstractBulkLoader<K, V> implements Streamer<K, V> {
+
+    static final int DEFAULT_BATCH_SIZE = 1000;
+    static final int DEFAULT_THREAD_COUNT = Runtime.getRuntime().availableProcessors();
+
+    private static final long DEFAULT_TIMEOUT_MINUTES = 2;
+    private static final Object UNKNOWN_OWNER = new Object();
+
+    private static final Logger LOGGER = Logger.getLogger(AbstractBulkLoader.class);
+
+    private final Map<Object, Map<K, V>> batches = new HashMap<Object, Map<K, V>>();
+    private final PartitionService partitionService;
+    private final int threadCount;
+    private final int batchSize;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+    private ExecutorService executor;
+    private long startedNanos;
+    private long entryCount;
+
+    private volatile Throwable storedException;
+
+    AbstractBulkLoader(PartitionService partitionService, int threadCount, int batchSize) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("threadCount must be positive, but was " + threadCount);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive, but was " + batchSize);
+        }
+        this.partitionService = partitionService;
+        this.threadCount = threadCount;
+        this.batchSize = batchSize;
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(Math.max(1, threadCount / 2), 1, threadCount);
+    }
+
+    abstract void storeAll(Map<K, V> batch);
+
+    @Override
+    public void pushEntry(K key, V value) {
+        if (storedException != null) {
+            shutdownExecutor();
+            rethrowExceptionIfAny();
+        }
+        if (executor == null) {
+            executor = createFixedThreadPool(threadCount, "bulkloader");
+            startedNanos = System.nanoTime();
+            entryCount = 0;
+        }
+
+        Object owner = getOwner(key);
+        Map<K, V> batch = batches.get(owner);
+        if (batch == null) {
+            batch = new HashMap<K, V>();
+            batches.put(owner, batch);
+        }
+        batch.put(key, value);
+        entryCount++;
+
+        if (batch.size() >= batchSize) {
+            batches.remove(owner);
+            try {
+                submit(batch);
+            } catch (RuntimeException e) {
+                shutdownExecutor();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void await() {
+        if (executor != null) {
+            try {
+                if (storedException == null) {
+                    for (Map<K, V> batch : batches.values()) {
+                        submit(batch);
+                    }
+                }
+            } finally {
+                shutdownExecutor();
+            }
+            if (storedException == null) {
+                logThroughput();
+            }
+        }
+        rethrowExceptionIfAny();
+    }
+
+    // package-private for testing
+    boolean isStarted() {
+        return executor != null;
+    }
+
+    private void shutdownExecutor() {
+        if (executor == null) {
+            return;
+        }
+        try {
+            concurrencyLimit.awaitCompletion(DEFAULT_TIMEOUT_MINUTES, MINUTES);
+        } finally {
+            executor.shutdown();
+            executor = null;
+            batches.clear();
+        }
+    }
+
+    private Object getOwner(K key) {
+        Member owner = partitionService.getPartition(key).getOwner();
+        return (owner == null) ? UNKNOWN_OWNER : owner;
+    }
+
+    private void submit(Map<K, V> batch) {
+        concurrencyLimit.acquire(DEFAULT_TIMEOUT_MINUTES, MINUTES);
+        executor.execute(new BatchTask(batch));
+    }
+
+    private void logThroughput() {
+        long elapsedNanos = Math.max(1, System.nanoTime() - startedNanos);
+        LOGGER.info(format("Loaded %d entries in %d ms (%.2f entries/s, concurrency limit %d)", entryCount,
+                NANOSECONDS.toMillis(elapsedNanos), entryCount * (double) SECONDS.toNanos(1) / elapsedNanos,
+                concurrencyLimit.getLimit()));
+    }
+
+    private void rethrowExceptionIfAny() {
+        if (storedException != null) {
+            throw rethrow(storedException);
+        }
+    }
+
+    private final class BatchTask implements Runnable {
+
+        private final Map<K, V> batch;
+
+        private BatchTask(Map<K, V> batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void run() {
+            long started = System.nanoTime();
+            try {
+                storeAll(batch);
+            } catch (Throwable t) {
+                storedException = t;
+                concurrencyLimit.releaseOnFailure();
+                return;
+            }
+            long latencyNanos = System.nanoTime() - started;
+            concurrencyLimit.release(latencyNanos / batch.size());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.loadsupport;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.simulator.utils.CommonUtils.rethrow;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Limits the number of in-flight operations with a limit, which adapts to the observed latency.
+ *
+ * The limit grows additively while the latency stays close to the lowest observed latency and shrinks multiplicatively when
+ * the latency is inflated or an operation fails (AIMD). Like in TCP Vegas the latency above the lowest observed latency is
+ * considered as queueing delay, which indicates that the operations queue up in the cluster.
+ *
+ * Like in TCP the limit starts with a slow start phase, which doubles the limit per window of operations until the first
+ * decrease, so a low initial limit quickly reaches the capacity of the cluster.
+ *
+ * The limit is decreased at most once per observed latency, so a burst of slow responses of the same window just counts once.
+ * The lowest observed latency slowly drifts towards the current latency, so a single fast outlier cannot pin the limit to its
+ * minimum.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final double DECREASE_FACTOR = 0.75;
+    private static final int BASELINE_DRIFT_DIVISOR = 100;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private double limit;
+    private boolean isSlowStart = true;
+    private int inFlight;
+    private long releaseCount;
+    private long totalQueueingDelayNanos;
+    private long baselineLatencyNanos = Long.MAX_VALUE;
+    private long nextDecreaseNanos;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(String.format("Invalid limits (initial: %d, min: %d, max: %d)",
+                    initialLimit, minLimit, maxLimit));
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.nextDecreaseNanos = System.nanoTime();
+    }
+
+    /**
+     * Waits until the number of in-flight operations is below the current limit and acquires a permit.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the {@link TimeUnit} of the timeout
+     * @throws IllegalStateException if no permit could be acquired within the timeout
+     */
+    synchronized void acquire(long timeout, TimeUnit unit) {
+        long deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+        while (inFlight >= getLimit()) {
+            awaitUntil(deadlineNanos, "Timeout when trying to acquire a permit!");
+        }
+        inFlight++;
+    }
+
+    /**
+     * Releases a permit of a successful operation and adapts the limit to its latency.
+     *
+     * @param latencyNanos the latency of the operation in nanoseconds
+     * @return the queueing delay of the operation in nanoseconds
+     */
+    synchronized long release(long latencyNanos) {
+        inFlight--;
+        if (latencyNanos < baselineLatencyNanos) {
+            baselineLatencyNanos = latencyNanos;
+        } else {
+            baselineLatencyNanos += (latencyNanos - baselineLatencyNanos) / BASELINE_DRIFT_DIVISOR;
+        }
+
+        if (latencyNanos <= baselineLatencyNanos * LATENCY_TOLERANCE) {
+            // grows by the window size (slow start) or by one per window of operations
+            limit = Math.min(maxLimit, limit + (isSlowStart ? 1 : 1 / limit));
+        } else {
+            decrease(latencyNanos);
+        }
+        notifyAll();
+
+        long queueingDelayNanos = Math.max(0, latencyNanos - baselineLatencyNanos);
+        releaseCount++;
+        totalQueueingDelayNanos += queueingDelayNanos;
+        return queueingDelayNanos;
+    }
+
+    /**
+     * Releases a permit of a failed operation and decreases the limit.
+     */
+    synchronized void releaseOnFailure() {
+        inFlight--;
+        decrease(baselineLatencyNanos == Long.MAX_VALUE ? 0 : baselineLatencyNanos);
+        notifyAll();
+    }
+
+    /**
+     * Waits until all in-flight operations have released their permits.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the {@link TimeUnit} of the timeout
+     * @throws IllegalStateException if the in-flight operations didn't finish within the timeout
+     */
+    synchronized void awaitCompletion(long timeout, TimeUnit unit) {
+        long deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+        while (inFlight > 0) {
+            awaitUntil(deadlineNanos, "Timeout when waiting for in-flight operations to finish!");
+        }
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Returns the average queueing delay of all successful operations.
+     *
+     * @return the average queueing delay in nanoseconds or <tt>0</tt> if no operation has been released
+     */
+    synchronized long getAvgQueueingDelayNanos() {
+        return (releaseCount == 0) ? 0 : totalQueueingDelayNanos / releaseCount;
+    }
+
+    private void decrease(long latencyNanos) {
+        long now = System.nanoTime();
+        if (now - nextDecreaseNanos < 0) {
+            return;
+        }
+        limit = Math.max(minLimit, limit * DECREASE_FACTOR);
+        isSlowStart = false;
+        nextDecreaseNanos = now + latencyNanos;
+    }
+
+    private void awaitUntil(long deadlineNanos, String timeoutMessage) {
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        if (remainingNanos <= 0) {
+            throw new IllegalStateException(timeoutMessage);
+        }
+        try {
+            NANOSECONDS.timedWait(this, remainingNanos);
+        } catch (InterruptedException e) {
+            throw rethrow(e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.loadsupport;
+
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.PartitionService;
+
+import java.util.Map;
+
+/**
+ * Bulk loading implementation of {@link Streamer} for {@link IMap}.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+final class MapBulkLoader<K, V> extends AbstractBulkLoader<K, V> {
+
+    private final IMap<K, V> map;
+
+    MapBulkLoader(PartitionService partitionService, IMap<K, V> map, int threadCount, int batchSize) {
+        super(partitionService, threadCount, batchSize);
+        this.map = map;
+    }
+
+    @Override
+    void storeAll(Map<K, V> batch) {
+        map.putAll(batch);
+    }
+}
@@ -19,7 +19,8 @@ package com.hazelcast.simulator.worker.loadsupport;
  * Streamer is used for storage initialization during a warm-up phase.
  *
  * With Hazelcast version 3.5 or newer it does use asynchronous operations so it's extremely fast,
- * but it has own back-pressure and doesn't rely on back-pressure provided by Hazelcast.
+ * but it has own back-pressure and doesn't rely on back-pressure provided by Hazelcast. The number of in-flight operations
+ * adapts to the observed latency, so the load runs at the sustainable rate of the cluster.
  *
  * For older Hazelcast versions a synchronous version is created by the factory.
  *
@@ -16,6 +16,7 @@
 package com.hazelcast.simulator.worker.loadsupport;
 
 import com.hazelcast.cache.ICache;
+import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
 import com.hazelcast.instance.BuildInfo;
 import com.hazelcast.instance.BuildInfoProvider;
@@ -25,11 +26,15 @@ import javax.cache.Cache;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.hazelcast.simulator.utils.VersionUtils.isMinVersion;
+import static com.hazelcast.simulator.worker.loadsupport.AbstractBulkLoader.DEFAULT_BATCH_SIZE;
+import static com.hazelcast.simulator.worker.loadsupport.AbstractBulkLoader.DEFAULT_THREAD_COUNT;
 
 /**
  * Creates {@link Streamer} instances for {@link IMap} and {@link Cache}.
  *
  * If possible an asynchronous variant is created, otherwise it will be synchronous.
+ *
+ * For large data sets a bulk loader can be created, which stores the entries in batches per member with multiple threads.
  */
 public final class StreamerFactory {
 
@@ -67,6 +72,63 @@ public final class StreamerFactory {
         return new SyncCacheStreamer<K, V>(cache);
     }
 
+    /**
+     * Creates a bulk loading {@link Streamer} for {@link IMap} with the default thread count and batch size.
+     *
+     * @param hz    the {@link HazelcastInstance} to determine the owners of the keys
+     * @param map   the {@link IMap} to load
+     * @param <K>   key type
+     * @param <V>   value type
+     * @return the bulk loading {@link Streamer}
+     */
+    public static <K, V> Streamer<K, V> getBulkInstance(HazelcastInstance hz, IMap<K, V> map) {
+        return getBulkInstance(hz, map, DEFAULT_THREAD_COUNT, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a bulk loading {@link Streamer} for {@link IMap}.
+     *
+     * @param hz          the {@link HazelcastInstance} to determine the owners of the keys
+     * @param map         the {@link IMap} to load
+     * @param threadCount the number of loader threads
+     * @param batchSize   the maximum number of entries per batch
+     * @param <K>         key type
+     * @param <V>         value type
+     * @return the bulk loading {@link Streamer}
+     */
+    public static <K, V> Streamer<K, V> getBulkInstance(HazelcastInstance hz, IMap<K, V> map, int threadCount, int batchSize) {
+        return new MapBulkLoader<K, V>(hz.getPartitionService(), map, threadCount, batchSize);
+    }
+
+    /**
+     * Creates a bulk loading {@link Streamer} for {@link Cache} with the default thread count and batch size.
+     *
+     * @param hz    the {@link HazelcastInstance} to determine the owners of the keys
+     * @param cache the {@link Cache} to load
+     * @param <K>   key type
+     * @param <V>   value type
+     * @return the bulk loading {@link Streamer}
+     */
+    public static <K, V> Streamer<K, V> getBulkInstance(HazelcastInstance hz, Cache<K, V> cache) {
+        return getBulkInstance(hz, cache, DEFAULT_THREAD_COUNT, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a bulk loading {@link Streamer} for {@link Cache}.
+     *
+     * @param hz          the {@link HazelcastInstance} to determine the owners of the keys
+     * @param cache       the {@link Cache} to load
+     * @param threadCount the number of loader threads
+     * @param batchSize   the maximum number of entries per batch
+     * @param <K>         key type
+     * @param <V>         value type
+     * @return the bulk loading {@link Streamer}
+     */
+    public static <K, V> Streamer<K, V> getBulkInstance(HazelcastInstance hz, Cache<K, V> cache, int threadCount,
+                                                        int batchSize) {
+        return new CacheBulkLoader<K, V>(hz.getPartitionService(), cache, threadCount, batchSize);
+    }
+
     static void enforceAsync(boolean enforceAsync) {
         CREATE_ASYNC.set(enforceAsync);
     }
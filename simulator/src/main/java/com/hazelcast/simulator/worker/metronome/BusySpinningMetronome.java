@@ -28,6 +28,7 @@ final class BusySpinningMetronome implements Metronome {
 
     private final long intervalNanos;
 
+    private boolean isStarted;
     private long waitUntil;
 
     BusySpinningMetronome(long intervalNanos) {
@@ -37,7 +38,8 @@ final class BusySpinningMetronome implements Metronome {
     @Override
     public void waitForNext() {
         // set random interval on the first run
-        if (waitUntil == 0) {
+        if (!isStarted) {
+            isStarted = true;
             waitUntil = System.nanoTime() + nextLong(0, intervalNanos);
         }
 
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.metronome;
+
+import static com.hazelcast.simulator.utils.CommonUtils.sleepNanos;
+import static org.apache.commons.lang3.RandomUtils.nextLong;
+
+/**
+ * {@link ScheduledMetronome} implementation with a fixed interval, which sleeps or busy loops depending on its
+ * {@link MetronomeType}.
+ *
+ * The first tick is randomized within the first interval. Since {@link java.util.concurrent.locks.LockSupport#parkNanos(long)}
+ * may return early, the sleeping variant checks the remaining time until the next tick in a loop.
+ *
+ * It is recommended to create a new instance for each worker thread, so they are clocked interleaved.
+ */
+final class FixedScheduleMetronome implements ScheduledMetronome {
+
+    private final long intervalNanos;
+    private final boolean isBusySpinning;
+
+    private boolean isStarted;
+    private long waitUntil;
+    private long intendedStartNanos;
+
+    FixedScheduleMetronome(long intervalNanos, MetronomeType type) {
+        this.intervalNanos = intervalNanos;
+        this.isBusySpinning = (type == MetronomeType.BUSY_SPINNING);
+    }
+
+    @Override
+    public void waitForNext() {
+        // set random interval on the first run
+        if (!isStarted) {
+            isStarted = true;
+            waitUntil = System.nanoTime() + nextLong(0, intervalNanos);
+        }
+
+        long remainingNanos = waitUntil - System.nanoTime();
+        while (remainingNanos > 0) {
+            if (!isBusySpinning) {
+                sleepNanos(remainingNanos);
+            }
+            remainingNanos = waitUntil - System.nanoTime();
+        }
+
+        intendedStartNanos = waitUntil;
+        waitUntil += intervalNanos;
+    }
+
+    @Override
+    public long getIntendedStartNanos() {
+        return intendedStartNanos;
+    }
+
+    @Override
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+}
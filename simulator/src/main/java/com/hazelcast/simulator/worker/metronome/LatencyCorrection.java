@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.metronome;
+
+/**
+ * Defines how a worker corrects the recorded latency of operations which are scheduled by a {@link Metronome}.
+ *
+ * Without a correction a stalled operation delays all following operations of the worker, but their latency is measured from
+ * their actual start. The queueing delay is hidden from the results (coordinated omission).
+ */
+public enum LatencyCorrection {
+
+    /**
+     * Records the latency from the actual start of the operation.
+     */
+    NONE,
+
+    /**
+     * Records the latency from the intended start time of the operation, which is defined by a {@link ScheduledMetronome}.
+     */
+    INTENDED_START_TIME,
+
+    /**
+     * Records the latency from the actual start of the operation and adds the values of omitted operations, based on the
+     * {@link ScheduledMetronome} interval (see {@link com.hazelcast.simulator.probes.Probe#recordValue(long, long)}).
+     */
+    EXPECTED_INTERVAL
+}
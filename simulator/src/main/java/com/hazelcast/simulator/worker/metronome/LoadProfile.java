@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.metronome;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Describes how the frequency of a {@link Metronome} changes over the runtime of a test.
+ *
+ * The frequencies are defined in Hz per worker thread, like the frequency of {@link MetronomeFactory#withFixedFrequency(float)}.
+ * Instances are immutable and can be shared between threads.
+ */
+public final class LoadProfile {
+
+    private static final double TWO_PI = 2 * Math.PI;
+
+    private final LoadProfileType type;
+    private final double startFrequency;
+    private final double targetFrequency;
+    private final long periodNanos;
+    private final int steps;
+    private final long burstNanos;
+
+    private LoadProfile(LoadProfileType type, double startFrequency, double targetFrequency, int periodSeconds, int steps,
+                        int burstSeconds) {
+        if (startFrequency < 0 || targetFrequency < 0) {
+            throw new IllegalArgumentException(format("Frequencies cannot be negative, but were %.2f and %.2f",
+                    startFrequency, targetFrequency));
+        }
+        if (type != LoadProfileType.CONSTANT && periodSeconds < 1) {
+            throw new IllegalArgumentException("Period has to be at least 1 second, but was " + periodSeconds);
+        }
+        if (steps < 1) {
+            throw new IllegalArgumentException("Steps have to be at least 1, but were " + steps);
+        }
+        if (burstSeconds < 0 || burstSeconds > periodSeconds) {
+            throw new IllegalArgumentException(format("Burst has to be between 0 and %d seconds, but was %d",
+                    periodSeconds, burstSeconds));
+        }
+        this.type = type;
+        this.startFrequency = startFrequency;
+        this.targetFrequency = targetFrequency;
+        this.periodNanos = SECONDS.toNanos(periodSeconds);
+        this.steps = steps;
+        this.burstNanos = SECONDS.toNanos(burstSeconds);
+    }
+
+    /**
+     * Creates a {@link LoadProfile} with a constant frequency.
+     *
+     * @param frequency the frequency in Hz
+     * @return the {@link LoadProfile}
+     */
+    public static LoadProfile constant(double frequency) {
+        return new LoadProfile(LoadProfileType.CONSTANT, frequency, frequency, 0, 1, 0);
+    }
+
+    /**
+     * Creates a {@link LoadProfile} which increases the frequency linearly and keeps the target frequency afterwards.
+     *
+     * @param startFrequency  the initial frequency in Hz
+     * @param targetFrequency the frequency in Hz which is reached at the end of the ramp
+     * @param durationSeconds the duration of the ramp in seconds
+     * @return the {@link LoadProfile}
+     */
+    public static LoadProfile ramp(double startFrequency, double targetFrequency, int durationSeconds) {
+        return new LoadProfile(LoadProfileType.RAMP, startFrequency, targetFrequency, durationSeconds, 1, 0);
+    }
+
+    /**
+     * Creates a {@link LoadProfile} which increases the frequency in equal steps and keeps the target frequency afterwards.
+     *
+     * @param startFrequency  the frequency in Hz of the first step
+     * @param targetFrequency the frequency in Hz of the last step
+     * @param stepSeconds     the duration of each step in seconds
+     * @param steps           the number of steps (including the first and the last step)
+     * @return the {@link LoadProfile}
+     */
+    public static LoadProfile step(double startFrequency, double targetFrequency, int stepSeconds, int steps) {
+        return new LoadProfile(LoadProfileType.STEP, startFrequency, targetFrequency, stepSeconds, steps, 0);
+    }
+
+    /**
+     * Creates a {@link LoadProfile} which oscillates between two frequencies, e.g. to simulate a daily cycle.
+     *
+     * @param minFrequency  the frequency in Hz at the beginning and the end of each period
+     * @param maxFrequency  the frequency in Hz in the middle of each period
+     * @param periodSeconds the duration of a full cycle in seconds
+     * @return the {@link LoadProfile}
+     */
+    public static LoadProfile sinusoid(double minFrequency, double maxFrequency, int periodSeconds) {
+        return new LoadProfile(LoadProfileType.SINUSOID, minFrequency, maxFrequency, periodSeconds, 1, 0);
+    }
+
+    /**
+     * Creates a {@link LoadProfile} with periodic bursts.
+     *
+     * @param baseFrequency  the frequency in Hz between the bursts
+     * @param burstFrequency the frequency in Hz during the bursts
+     * @param periodSeconds  the duration in seconds between the start of two bursts
+     * @param burstSeconds   the duration of each burst in seconds
+     * @return the {@link LoadProfile}
+     */
+    public static LoadProfile burst(double baseFrequency, double burstFrequency, int periodSeconds, int burstSeconds) {
+        return new LoadProfile(LoadProfileType.BURST, baseFrequency, burstFrequency, periodSeconds, 1, burstSeconds);
+    }
+
+    /**
+     * Creates a {@link LoadProfile} of the given {@link LoadProfileType}.
+     *
+     * Parameters which are not used by the type are ignored.
+     *
+     * @param type            the {@link LoadProfileType}
+     * @param startFrequency  the start (or minimum/base) frequency in Hz
+     * @param targetFrequency the target (or maximum/burst) frequency in Hz
+     * @param periodSeconds   the duration of the ramp, each step, a cycle or a burst period in seconds
+     * @param steps           the number of steps
+     * @param burstSeconds    the duration of each burst in seconds
+     * @return the {@link LoadProfile}
+     */
+    public static LoadProfile create(LoadProfileType type, double startFrequency, double targetFrequency, int periodSeconds,
+                                     int steps, int burstSeconds) {
+        switch (type) {
+            case RAMP:
+                return ramp(startFrequency, targetFrequency, periodSeconds);
+            case STEP:
+                return step(startFrequency, targetFrequency, periodSeconds, steps);
+            case SINUSOID:
+                return sinusoid(startFrequency, targetFrequency, periodSeconds);
+            case BURST:
+                return burst(startFrequency, targetFrequency, periodSeconds, burstSeconds);
+            default:
+                return constant(targetFrequency);
+        }
+    }
+
+    public LoadProfileType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the frequency at the given elapsed time since the start of the load profile.
+     *
+     * @param elapsedNanos the elapsed time in nanoseconds
+     * @return the frequency in Hz
+     */
+    public double getFrequency(long elapsedNanos) {
+        switch (type) {
+            case RAMP:
+                if (elapsedNanos >= periodNanos) {
+                    return targetFrequency;
+                }
+                return startFrequency + (targetFrequency - startFrequency) * elapsedNanos / periodNanos;
+            case STEP:
+                long step = Math.min(elapsedNanos / periodNanos, steps - 1);
+                return (steps == 1 ? targetFrequency : startFrequency + (targetFrequency - startFrequency) * step / (steps - 1));
+            case SINUSOID:
+                double phase = TWO_PI * (elapsedNanos % periodNanos) / periodNanos;
+                return startFrequency + (targetFrequency - startFrequency) * (1 - Math.cos(phase)) / 2;
+            case BURST:
+                return (elapsedNanos % periodNanos < burstNanos ? targetFrequency : startFrequency);
+            default:
+                return targetFrequency;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return format("LoadProfile{type=%s, startFrequency=%.2f, targetFrequency=%.2f, periodSeconds=%d, steps=%d,"
+                + " burstSeconds=%d}", type, startFrequency, targetFrequency, NANOSECONDS.toSeconds(periodNanos), steps,
+                NANOSECONDS.toSeconds(burstNanos));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.metronome;
+
+import static com.hazelcast.simulator.utils.CommonUtils.sleepNanos;
+import static java.lang.Math.round;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.commons.lang3.RandomUtils.nextDouble;
+
+/**
+ * {@link ScheduledMetronome} which follows the frequency of a {@link LoadProfile}.
+ *
+ * The time to the next operation is calculated by integrating the frequency of the load profile in steps of at most 10 ms, so a
+ * low frequency at the current operation doesn't stall the metronome after the frequency has been increased. If the load
+ * profile has a frequency of 0 Hz the metronome waits until the frequency is increased again.
+ */
+final class LoadProfileMetronome implements ScheduledMetronome {
+
+    private static final long ONE_SECOND_NANOS = SECONDS.toNanos(1);
+    private static final long IDLE_INTERVAL_NANOS = MILLISECONDS.toNanos(10);
+
+    private final LoadProfile loadProfile;
+
+    private boolean isStarted;
+    private long startNanos;
+    private long waitUntil;
+    private long intervalNanos;
+
+    LoadProfileMetronome(LoadProfile loadProfile) {
+        this.loadProfile = loadProfile;
+    }
+
+    @Override
+    public void waitForNext() {
+        // set random interval on the first run
+        double remainingTicks = 1;
+        if (!isStarted) {
+            isStarted = true;
+            startNanos = System.nanoTime();
+            waitUntil = startNanos;
+            remainingTicks = nextDouble(0, 1);
+        }
+
+        // advance the schedule in steps of at most IDLE_INTERVAL_NANOS, so the frequency is re-evaluated during long intervals
+        while (true) {
+            long currentIntervalNanos = getIntervalNanos(waitUntil - startNanos);
+            if (currentIntervalNanos > 0 && remainingTicks * currentIntervalNanos <= IDLE_INTERVAL_NANOS) {
+                waitUntil += round(remainingTicks * currentIntervalNanos);
+                intervalNanos = currentIntervalNanos;
+                break;
+            }
+            if (currentIntervalNanos > 0) {
+                remainingTicks -= (double) IDLE_INTERVAL_NANOS / currentIntervalNanos;
+            }
+            waitUntil += IDLE_INTERVAL_NANOS;
+            sleepUntil(waitUntil);
+        }
+
+        // sleep until the next tick
+        sleepUntil(waitUntil);
+    }
+
+    @Override
+    public long getIntendedStartNanos() {
+        return waitUntil;
+    }
+
+    @Override
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    private long getIntervalNanos(long elapsedNanos) {
+        double frequency = loadProfile.getFrequency(elapsedNanos);
+        if (frequency <= 0) {
+            return 0;
+        }
+        return Math.max(1, round(ONE_SECOND_NANOS / frequency));
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        while (remainingNanos > 0) {
+            sleepNanos(remainingNanos);
+            remainingNanos = deadlineNanos - System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.metronome;
+
+/**
+ * Defines the shape of a {@link LoadProfile}.
+ */
+public enum LoadProfileType {
+
+    /**
+     * Runs with the target frequency all the time.
+     */
+    CONSTANT,
+
+    /**
+     * Increases the frequency linearly from the start to the target frequency within the period.
+     */
+    RAMP,
+
+    /**
+     * Increases the frequency in equal steps from the start to the target frequency, each step lasts for the period.
+     */
+    STEP,
+
+    /**
+     * Oscillates between the start and the target frequency, a full cycle lasts for the period.
+     */
+    SINUSOID,
+
+    /**
+     * Runs with the target frequency at the beginning of each period for the burst duration, otherwise with the start frequency.
+     */
+    BURST
+}
@@ -17,6 +17,9 @@ package com.hazelcast.simulator.worker.metronome;
 
 /**
  * Used to clock a running task or worker with a defined interval.
+ *
+ * A {@link ScheduledMetronome} additionally reports its schedule, which is needed to correct the recorded latencies for
+ * coordinated omission (see {@link LatencyCorrection}).
  */
 public interface Metronome {
 
@@ -88,4 +88,52 @@ public final class MetronomeFactory {
                 return new BusySpinningMetronome(intervalNanos);
         }
     }
+
+    /**
+     * Creates a {@link ScheduledMetronome} instance with a fixed millisecond interval.
+     *
+     * In contrast to {@link #withFixedIntervalMs(int, MetronomeType)} the schedule is not shifted by delayed operations, which
+     * is required by a {@link LatencyCorrection} other than {@link LatencyCorrection#NONE}.
+     *
+     * If the interval is 0 ms the method {@link Metronome#waitForNext()} will have no delay and there is no schedule.
+     *
+     * @param intervalMs wait interval in milliseconds
+     * @param type       {@link MetronomeType} to create
+     * @return a {@link Metronome} instance
+     */
+    public static Metronome withFixedScheduleIntervalMs(int intervalMs, MetronomeType type) {
+        if (intervalMs == 0) {
+            return EMPTY_METRONOME;
+        }
+        return new FixedScheduleMetronome(TimeUnit.MILLISECONDS.toNanos(intervalMs), type);
+    }
+
+    /**
+     * Creates a {@link ScheduledMetronome} instance with a fixed frequency in Hz.
+     *
+     * In contrast to {@link #withFixedFrequency(float, MetronomeType)} the schedule is not shifted by delayed operations, which
+     * is required by a {@link LatencyCorrection} other than {@link LatencyCorrection#NONE}.
+     *
+     * If the frequency is 0 Hz the method {@link Metronome#waitForNext()} will have no delay and there is no schedule.
+     *
+     * @param frequency frequency in Hz
+     * @param type      {@link MetronomeType} to create
+     * @return a {@link Metronome} instance
+     */
+    public static Metronome withFixedScheduleFrequency(float frequency, MetronomeType type) {
+        if (frequency == 0) {
+            return EMPTY_METRONOME;
+        }
+        return new FixedScheduleMetronome(round((double) TimeUnit.SECONDS.toNanos(1) / frequency), type);
+    }
+
+    /**
+     * Creates a {@link Metronome} instance which follows the frequency of the given {@link LoadProfile}.
+     *
+     * @param loadProfile the {@link LoadProfile} which defines the frequency over time
+     * @return a {@link Metronome} instance
+     */
+    public static Metronome withLoadProfile(LoadProfile loadProfile) {
+        return new LoadProfileMetronome(loadProfile);
+    }
 }
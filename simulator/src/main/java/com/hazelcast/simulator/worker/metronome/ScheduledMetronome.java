@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.metronome;
+
+/**
+ * A {@link Metronome} with a fixed schedule.
+ *
+ * The next tick is calculated from the intended start time of the previous operation, not from the time
+ * {@link #waitForNext()} returned, so a delayed operation doesn't shift all following operations. The delayed operations are
+ * released without waiting until the schedule has caught up.
+ */
+public interface ScheduledMetronome extends Metronome {
+
+    /**
+     * Returns the intended start time of the operation, which was released by the last call of {@link #waitForNext()}.
+     *
+     * @return the intended start time in nanoseconds based on {@link System#nanoTime()}
+     */
+    long getIntendedStartNanos();
+
+    /**
+     * Returns the current interval between two ticks of the schedule.
+     *
+     * @return the interval in nanoseconds
+     */
+    long getIntervalNanos();
+}
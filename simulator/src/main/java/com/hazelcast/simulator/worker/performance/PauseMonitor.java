@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.performance;
+
+import org.apache.log4j.Logger;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.hazelcast.simulator.worker.performance.PauseState.NOT_AVAILABLE;
+import static java.lang.Math.max;
+
+/**
+ * Collects the JVM pauses of a Simulator Worker per performance monitor interval.
+ *
+ * The number and duration of garbage collections is polled from the {@link GarbageCollectorMXBean} instances, which works on
+ * all JVMs. The longest single collection is retrieved via GC notifications, which are available since Java 7u4. Collectors
+ * which just report their concurrent cycles are ignored, since those are no pauses of the application threads.
+ *
+ * The safepoint statistics are retrieved from the internal HotSpot runtime MBean. This is best effort, since the MBean is not
+ * accessible on all JVMs, in which case the safepoint values are reported as {@link PauseState#NOT_AVAILABLE}.
+ */
+final class PauseMonitor {
+
+    static final String GC_NOTIFICATION_TYPE = "com.sun.management.gc.notification";
+
+    private static final Set<String> CONCURRENT_COLLECTOR_NAMES = new HashSet<String>(Arrays.asList(
+            "G1 Concurrent GC", "ZGC Cycles", "Shenandoah Cycles"));
+
+    private static final Logger LOGGER = Logger.getLogger(PauseMonitor.class);
+
+    private final List<GarbageCollectorMXBean> collectors = new ArrayList<GarbageCollectorMXBean>();
+    private final List<NotificationEmitter> emitters = new ArrayList<NotificationEmitter>();
+    private final NotificationListener listener = new GcNotificationListener();
+
+    private final Object safepointMBean;
+    private final Method safepointCountMethod;
+    private final Method safepointTimeMethod;
+
+    private long lastGcCount;
+    private long lastGcMillis;
+    private long lastSafepointCount;
+    private long lastSafepointMillis;
+
+    private long maxGcMillis = NOT_AVAILABLE;
+
+    PauseMonitor() {
+        registerCollectors();
+
+        Object mBean = getSafepointMBean();
+        this.safepointMBean = mBean;
+        this.safepointCountMethod = (mBean == null ? null : getAccessibleMethod(mBean, "getSafepointCount"));
+        this.safepointTimeMethod = (mBean == null ? null : getAccessibleMethod(mBean, "getTotalSafepointTime"));
+
+        lastGcCount = getGcCount();
+        lastGcMillis = getGcMillis();
+        lastSafepointCount = invokeSafepointMethod(safepointCountMethod);
+        lastSafepointMillis = invokeSafepointMethod(safepointTimeMethod);
+    }
+
+    boolean hasSafepointStatistics() {
+        return (safepointMBean != null);
+    }
+
+    /**
+     * Returns the pauses since the last call (or the creation of this instance).
+     *
+     * @param timestamp the timestamp of the end of the interval
+     * @return the {@link PauseState} of the interval
+     */
+    synchronized PauseState getIntervalPauseState(long timestamp) {
+        long gcCount = getGcCount();
+        long gcMillis = getGcMillis();
+        long safepointCount = invokeSafepointMethod(safepointCountMethod);
+        long safepointMillis = invokeSafepointMethod(safepointTimeMethod);
+
+        long intervalGcCount = gcCount - lastGcCount;
+        long intervalGcMillis = gcMillis - lastGcMillis;
+        long intervalMaxGcMillis = (intervalGcCount == 1 ? intervalGcMillis : maxGcMillis);
+        if (intervalGcCount == 0) {
+            intervalMaxGcMillis = 0;
+        }
+
+        PauseState pauseState = new PauseState(timestamp, intervalGcCount, intervalGcMillis, intervalMaxGcMillis,
+                getDelta(safepointCount, lastSafepointCount), getDelta(safepointMillis, lastSafepointMillis));
+
+        lastGcCount = gcCount;
+        lastGcMillis = gcMillis;
+        lastSafepointCount = safepointCount;
+        lastSafepointMillis = safepointMillis;
+        maxGcMillis = NOT_AVAILABLE;
+
+        return pauseState;
+    }
+
+    void stop() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(listener);
+            } catch (ListenerNotFoundException e) {
+                LOGGER.debug("Could not remove GC notification listener", e);
+            }
+        }
+        emitters.clear();
+    }
+
+    private synchronized void recordGcDuration(long durationMillis) {
+        maxGcMillis = max(maxGcMillis, durationMillis);
+    }
+
+    private long getGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += max(collector.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private long getGcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            millis += max(collector.getCollectionTime(), 0);
+        }
+        return millis;
+    }
+
+    private long invokeSafepointMethod(Method method) {
+        if (safepointMBean == null) {
+            return NOT_AVAILABLE;
+        }
+        try {
+            return (Long) method.invoke(safepointMBean);
+        } catch (Exception e) {
+            return NOT_AVAILABLE;
+        }
+    }
+
+    private static long getDelta(long value, long lastValue) {
+        if (value == NOT_AVAILABLE || lastValue == NOT_AVAILABLE) {
+            return NOT_AVAILABLE;
+        }
+        return value - lastValue;
+    }
+
+    private void registerCollectors() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (CONCURRENT_COLLECTOR_NAMES.contains(collector.getName())) {
+                continue;
+            }
+            collectors.add(collector);
+            if (collector instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) collector;
+                emitter.addNotificationListener(listener, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    /**
+     * Returns the HotSpot runtime MBean, if its safepoint statistics can be accessed on this JVM.
+     *
+     * @return the HotSpot runtime MBean or {@code null} if not available
+     */
+    private static Object getSafepointMBean() {
+        try {
+            Class<?> helperClass = Class.forName("sun.management.ManagementFactoryHelper");
+            Object mBean = helperClass.getMethod("getHotspotRuntimeMBean").invoke(null);
+            // check that the methods can be accessed and invoked
+            getAccessibleMethod(mBean, "getSafepointCount").invoke(mBean);
+            getAccessibleMethod(mBean, "getTotalSafepointTime").invoke(mBean);
+            return mBean;
+        } catch (Throwable t) {
+            LOGGER.debug("Safepoint statistics are not available: " + t);
+            return null;
+        }
+    }
+
+    private static Method getAccessibleMethod(Object object, String methodName) {
+        try {
+            Method method = object.getClass().getMethod(methodName);
+            method.setAccessible(true);
+            return method;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static long getGcDuration(Notification notification) {
+        if (!GC_NOTIFICATION_TYPE.equals(notification.getType()) || !(notification.getUserData() instanceof CompositeData)) {
+            return NOT_AVAILABLE;
+        }
+        CompositeData userData = (CompositeData) notification.getUserData();
+        if (!userData.containsKey("gcName") || CONCURRENT_COLLECTOR_NAMES.contains(userData.get("gcName"))
+                || !userData.containsKey("gcInfo")) {
+            return NOT_AVAILABLE;
+        }
+        CompositeData gcInfo = (CompositeData) userData.get("gcInfo");
+        if (gcInfo == null || !gcInfo.containsKey("duration")) {
+            return NOT_AVAILABLE;
+        }
+        return ((Number) gcInfo.get("duration")).longValue();
+    }
+
+    private final class GcNotificationListener implements NotificationListener {
+
+        @Override
+        public void handleNotification(Notification notification, Object handback) {
+            long duration = getGcDuration(notification);
+            if (duration != NOT_AVAILABLE) {
+                recordGcDuration(duration);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.performance;
+
+/**
+ * Container to transfer the JVM pauses of a Simulator Worker in a performance monitor interval to the Coordinator.
+ *
+ * Contains the number and duration of the garbage collections and, if available, of the safepoints in the interval. The
+ * durations are in milliseconds. The safepoint values are {@link #NOT_AVAILABLE} if the JVM doesn't expose them.
+ */
+public class PauseState {
+
+    public static final long NOT_AVAILABLE = -1;
+
+    private final long timestamp;
+
+    private final long gcCount;
+    private final long gcTotalMillis;
+    private final long gcMaxMillis;
+
+    private final long safepointCount;
+    private final long safepointTotalMillis;
+
+    /**
+     * Creates a {@link PauseState} instance with values.
+     *
+     * @param timestamp            end of the interval in milliseconds since epoch
+     * @param gcCount              number of garbage collections in the interval
+     * @param gcTotalMillis        total duration of the garbage collections in the interval
+     * @param gcMaxMillis          longest garbage collection in the interval
+     * @param safepointCount       number of safepoints in the interval or {@link #NOT_AVAILABLE}
+     * @param safepointTotalMillis total duration of the safepoints in the interval or {@link #NOT_AVAILABLE}
+     */
+    public PauseState(long timestamp, long gcCount, long gcTotalMillis, long gcMaxMillis, long safepointCount,
+                      long safepointTotalMillis) {
+        this.timestamp = timestamp;
+        this.gcCount = gcCount;
+        this.gcTotalMillis = gcTotalMillis;
+        this.gcMaxMillis = gcMaxMillis;
+        this.safepointCount = safepointCount;
+        this.safepointTotalMillis = safepointTotalMillis;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    public long getGcTotalMillis() {
+        return gcTotalMillis;
+    }
+
+    public long getGcMaxMillis() {
+        return gcMaxMillis;
+    }
+
+    public long getSafepointCount() {
+        return safepointCount;
+    }
+
+    public long getSafepointTotalMillis() {
+        return safepointTotalMillis;
+    }
+
+    public boolean hasSafepoints() {
+        return (safepointCount != NOT_AVAILABLE);
+    }
+
+    @Override
+    public String toString() {
+        return "PauseState{"
+                + "timestamp=" + timestamp
+                + ", gcCount=" + gcCount
+                + ", gcTotalMillis=" + gcTotalMillis
+                + ", gcMaxMillis=" + gcMaxMillis
+                + ", safepointCount=" + safepointCount
+                + ", safepointTotalMillis=" + safepointTotalMillis
+                + '}';
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.performance;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import static com.hazelcast.simulator.utils.FormatUtils.fillString;
+import static com.hazelcast.simulator.utils.FormatUtils.formatDouble;
+import static com.hazelcast.simulator.utils.FormatUtils.formatLong;
+import static com.hazelcast.simulator.worker.performance.PerformanceState.INTERVAL_LATENCY_PERCENTILE;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.ONE_SECOND_IN_MILLIS;
+import static java.lang.String.format;
+
+/**
+ * Ring buffer for the high resolution performance samples of a single Simulator Test.
+ *
+ * Each sample is stored as a few primitive values in pre-allocated arrays, so the buffer has a fixed memory footprint and
+ * creates no garbage. If the buffer is full, the oldest sample is overwritten.
+ *
+ * The latency values are always in microseconds, regardless of the probe resolution.
+ */
+final class PerformanceSampleBuffer {
+
+    private static final int NUMBER_FORMAT_LENGTH = 14;
+
+    private final long[] timestamps;
+    private final long[] operationCounts;
+    private final long[] percentileLatencies;
+    private final long[] maxLatencies;
+
+    private int head;
+    private int size;
+
+    PerformanceSampleBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive, but was " + capacity);
+        }
+        this.timestamps = new long[capacity];
+        this.operationCounts = new long[capacity];
+        this.percentileLatencies = new long[capacity];
+        this.maxLatencies = new long[capacity];
+    }
+
+    int capacity() {
+        return timestamps.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void add(long timestamp, long operationCount, long percentileLatency, long maxLatency) {
+        timestamps[head] = timestamp;
+        operationCounts[head] = operationCount;
+        percentileLatencies[head] = percentileLatency;
+        maxLatencies[head] = maxLatency;
+
+        head = (head + 1) % timestamps.length;
+        if (size < timestamps.length) {
+            size++;
+        }
+    }
+
+    long getTimestamp(int index) {
+        return timestamps[toArrayIndex(index)];
+    }
+
+    long getOperationCount(int index) {
+        return operationCounts[toArrayIndex(index)];
+    }
+
+    long getPercentileLatency(int index) {
+        return percentileLatencies[toArrayIndex(index)];
+    }
+
+    long getMaxLatency(int index) {
+        return maxLatencies[toArrayIndex(index)];
+    }
+
+    /**
+     * Formats all samples, from the oldest to the newest, as text table.
+     *
+     * @return the formatted samples
+     */
+    String formatSamples() {
+        return formatHeader() + formatSamples(0);
+    }
+
+    /**
+     * Formats the header of the text table of {@link #formatSamples()}.
+     *
+     * @return the formatted header
+     */
+    static String formatHeader() {
+        String columns = format("%-25s %14s %14s %14s %14s", "Timestamp", "Ops (delta)", "Ops/s",
+                INTERVAL_LATENCY_PERCENTILE + "th (us)", "Max (us)");
+        return format("%s%n%s%n", columns, fillString(columns.length(), '-'));
+    }
+
+    /**
+     * Formats the samples from the given index to the newest as rows of the text table of {@link #formatSamples()}.
+     *
+     * @param fromIndex the index of the first sample to format
+     * @return the formatted samples
+     */
+    String formatSamples(int fromIndex) {
+        SimpleDateFormat simpleDateFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss.SSS");
+        StringBuilder sb = new StringBuilder();
+        for (int i = fromIndex; i < size; i++) {
+            long timestamp = getTimestamp(i);
+            long operationCount = getOperationCount(i);
+            long timeDelta = (i == 0) ? 0 : timestamp - getTimestamp(i - 1);
+            double throughput = (timeDelta > 0) ? (operationCount * ONE_SECOND_IN_MILLIS) / (double) timeDelta : 0;
+
+            sb.append(format("[%s] %s %s %s %s%n", simpleDateFormat.format(new Date(timestamp)),
+                    formatLong(operationCount, NUMBER_FORMAT_LENGTH),
+                    formatDouble(throughput, NUMBER_FORMAT_LENGTH),
+                    formatLong(getPercentileLatency(i), NUMBER_FORMAT_LENGTH),
+                    formatLong(getMaxLatency(i), NUMBER_FORMAT_LENGTH)));
+        }
+        return sb.toString();
+    }
+
+    private int toArrayIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " is out of bounds for size " + size);
+        }
+        int oldest = (size < timestamps.length) ? 0 : head;
+        return (oldest + index) % timestamps.length;
+    }
+}
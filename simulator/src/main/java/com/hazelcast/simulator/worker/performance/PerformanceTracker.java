@@ -15,26 +15,32 @@
  */
 package com.hazelcast.simulator.worker.performance;
 
+import com.hazelcast.simulator.probes.OperationCost;
+import com.hazelcast.simulator.probes.ProbeResolution;
 import com.hazelcast.simulator.test.TestException;
+import com.hazelcast.simulator.worker.metronome.LoadProfile;
 import org.HdrHistogram.Histogram;
-import org.HdrHistogram.HistogramLogReader;
 import org.HdrHistogram.HistogramLogWriter;
 
 import javax.xml.bind.DatatypeConverter;
 import java.io.File;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.zip.Deflater;
 
-import static com.hazelcast.simulator.probes.impl.ProbeImpl.LATENCY_PRECISION;
-import static com.hazelcast.simulator.probes.impl.ProbeImpl.MAXIMUM_LATENCY;
 import static com.hazelcast.simulator.worker.performance.PerformanceUtils.ONE_SECOND_IN_MILLIS;
-import static com.hazelcast.simulator.worker.performance.PerformanceUtils.writeThroughputHeader;
-import static com.hazelcast.simulator.worker.performance.PerformanceUtils.writeThroughputStats;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.formatThroughputHeader;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.formatThroughputStats;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.getAvgLatency;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.getMaxLatency;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.getPercentileLatency;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * Container for performance related values for a single Simulator Test.
@@ -42,18 +48,52 @@ import static com.hazelcast.simulator.worker.performance.PerformanceUtils.writeT
  * Has methods to update the performance values and write them to files.
  *
  * Holds a map of {@link Histogram} for each {@link com.hazelcast.simulator.probes.Probe} of a Simulator Test.
+ *
+ * The interval histograms are added to a cumulative histogram per probe on each update, so the final histograms are available
+ * without reading the latency files again.
+ *
+ * The histograms can be added in high resolution samples via {@link #addSample(Map, long, long)}. Each sample is recorded in a
+ * {@link PerformanceSampleBuffer}, which can be appended to a file, and is merged into the histograms of the current interval.
+ * The samples are appended to the file before the buffer wraps, so no sample is lost on long running tests.
+ * Only these downsampled interval histograms are reported by {@link #updateFromSamples(long)}.
+ *
+ * If the probes account the {@link OperationCost} of the operations, the costs are aggregated per probe like the histograms and
+ * are written as comment in front of each interval histogram and the aggregated histogram.
+ *
+ * If the workers run with a {@link LoadProfile}, the target throughput of each interval is written to the throughput file and
+ * as comment in front of each interval histogram, so the latencies can be correlated with the offered load.
  */
 final class PerformanceTracker {
 
+    static final int SAMPLE_BUFFER_CAPACITY = 6000;
+
     private final Map<String, HistogramLogWriter> histogramLogWriterMap = new HashMap<String, HistogramLogWriter>();
+    private final Map<String, Histogram> cumulativeHistogramMap = new HashMap<String, Histogram>();
+    private final Map<String, OperationCost> cumulativeCostMap = new HashMap<String, OperationCost>();
 
+    private final PerformanceWriter writer;
     private final File throughputFile;
+    private final File samplesFile;
+    private final PerformanceSampleBuffer sampleBuffer = new PerformanceSampleBuffer(SAMPLE_BUFFER_CAPACITY);
     private final long testStartedTimestamp;
+    private final ProbeResolution probeResolution;
+    private final boolean hasTargetThroughput;
+    private final int threadCount;
+
+    private LoadProfile loadProfile;
 
     private long lastTimestamp;
 
     private Map<String, Histogram> intervalHistogramMap;
 
+    private Map<String, Histogram> sampledHistogramMap;
+    private Map<String, OperationCost> sampledCostMap = new HashMap<String, OperationCost>();
+    private Map<String, OperationCost> intervalCostMap = new HashMap<String, OperationCost>();
+    private long sampledOperationCount;
+    private long lastSampleTimestamp;
+    private int unwrittenSampleCount;
+    private boolean isSamplesHeaderWritten;
+
     private double intervalAvgLatency;
     private long intervalPercentileLatency;
     private long intervalMaxLatency;
@@ -63,21 +103,43 @@ final class PerformanceTracker {
 
     private double intervalThroughput;
     private double totalThroughput;
+    private double targetThroughput;
 
     private boolean isUpdated;
 
     PerformanceTracker(String testId, Collection<String> probeNames, long testStartedTimestamp) {
+        this(testId, probeNames, testStartedTimestamp, PerformanceTrackerParameters.DEFAULT, new PerformanceWriter(false));
+    }
+
+    PerformanceTracker(String testId, Collection<String> probeNames, long testStartedTimestamp,
+                       PerformanceTrackerParameters parameters, PerformanceWriter writer) {
+        LoadProfile loadProfile = parameters.getLoadProfile();
+        this.writer = writer;
         this.throughputFile = new File("throughput-" + testId + ".txt");
+        this.samplesFile = new File("samples-" + testId + ".txt");
         this.testStartedTimestamp = testStartedTimestamp;
+        this.probeResolution = parameters.getProbeResolution();
+        this.hasTargetThroughput = (loadProfile != null);
+        this.threadCount = parameters.getThreadCount();
+        this.loadProfile = loadProfile;
         this.lastTimestamp = testStartedTimestamp;
 
-        writeThroughputHeader(throughputFile, false);
+        writer.append(throughputFile, formatThroughputHeader(false, hasTargetThroughput));
 
         for (String probeName : probeNames) {
-            histogramLogWriterMap.put(probeName, createHistogramLogWriter(testId, probeName, testStartedTimestamp));
+            HistogramLogWriter histogramLogWriter = createHistogramLogWriter(testId, probeName, testStartedTimestamp,
+                    probeResolution, writer);
+            if (loadProfile != null) {
+                histogramLogWriter.outputComment("[Load profile: " + loadProfile + " with " + threadCount + " threads]");
+            }
+            histogramLogWriterMap.put(probeName, histogramLogWriter);
         }
     }
 
+    ProbeResolution getProbeResolution() {
+        return probeResolution;
+    }
+
     long getIntervalOperationCount() {
         return intervalOperationCount;
     }
@@ -90,6 +152,23 @@ final class PerformanceTracker {
         return intervalThroughput;
     }
 
+    double getTargetThroughput() {
+        return targetThroughput;
+    }
+
+    /**
+     * Updates the {@link LoadProfile} of the workers, e.g. if the target throughput of the test was changed.
+     *
+     * The target throughput is only tracked if the tracker was created with a {@link LoadProfile}.
+     *
+     * @param loadProfile the current {@link LoadProfile} of the workers
+     */
+    void setLoadProfile(LoadProfile loadProfile) {
+        if (hasTargetThroughput && loadProfile != null) {
+            this.loadProfile = loadProfile;
+        }
+    }
+
     boolean isUpdated() {
         return isUpdated;
     }
@@ -103,6 +182,7 @@ final class PerformanceTracker {
     void update(Map<String, Histogram> intervalHistograms, long intervalPercentileLatency, double intervalAvgLatency,
                 long intervalMaxLatency, long intervalOperationCount, long currentTimestamp) {
         this.intervalHistogramMap = intervalHistograms;
+        addToCumulativeHistograms(intervalHistograms);
 
         this.intervalPercentileLatency = intervalPercentileLatency;
         this.intervalAvgLatency = intervalAvgLatency;
@@ -116,21 +196,162 @@ final class PerformanceTracker {
 
         this.intervalThroughput = (intervalOperationCount * ONE_SECOND_IN_MILLIS) / (double) intervalTimeDelta;
         this.totalThroughput = (totalOperationCount * ONE_SECOND_IN_MILLIS / (double) totalTimeDelta);
+        if (hasTargetThroughput) {
+            this.targetThroughput = loadProfile.getFrequency(MILLISECONDS.toNanos(totalTimeDelta)) * threadCount;
+        }
 
         this.lastTimestamp = currentTimestamp;
         this.isUpdated = true;
     }
 
+    /**
+     * Adds the histograms of a high resolution sample.
+     *
+     * The sample is recorded in the {@link PerformanceSampleBuffer} and merged into the histograms of the current interval,
+     * which are reported by the next call of {@link #updateFromSamples(long)}.
+     *
+     * @param sampleHistograms     the histograms of the sample per probe
+     * @param sampleOperationCount the operation count of the sample
+     * @param currentTimestamp     the timestamp of the sample
+     */
+    void addSample(Map<String, Histogram> sampleHistograms, long sampleOperationCount, long currentTimestamp) {
+        addSample(sampleHistograms, Collections.<String, OperationCost>emptyMap(), sampleOperationCount, currentTimestamp);
+    }
+
+    /**
+     * Adds the histograms and operation costs of a high resolution sample.
+     *
+     * @param sampleHistograms     the histograms of the sample per probe
+     * @param sampleCosts          the {@link OperationCost} of the sample per probe
+     * @param sampleOperationCount the operation count of the sample
+     * @param currentTimestamp     the timestamp of the sample
+     * @see #addSample(Map, long, long)
+     */
+    void addSample(Map<String, Histogram> sampleHistograms, Map<String, OperationCost> sampleCosts, long sampleOperationCount,
+                   long currentTimestamp) {
+        addCosts(sampledCostMap, sampleCosts);
+        sampleBuffer.add(currentTimestamp, sampleOperationCount, getPercentileLatency(sampleHistograms, probeResolution),
+                getMaxLatency(sampleHistograms, probeResolution));
+        lastSampleTimestamp = currentTimestamp;
+        // keep the last written sample in the buffer, since it's needed for the throughput of the next sample
+        if (++unwrittenSampleCount >= sampleBuffer.capacity() - 1) {
+            writeSamplesToFile();
+        }
+
+        sampledOperationCount += sampleOperationCount;
+        if (sampledHistogramMap == null) {
+            sampledHistogramMap = sampleHistograms;
+            return;
+        }
+        for (Map.Entry<String, Histogram> histogramEntry : sampleHistograms.entrySet()) {
+            Histogram sampleHistogram = histogramEntry.getValue();
+            Histogram sampledHistogram = sampledHistogramMap.get(histogramEntry.getKey());
+            if (sampledHistogram == null) {
+                sampledHistogramMap.put(histogramEntry.getKey(), sampleHistogram);
+            } else {
+                sampledHistogram.add(sampleHistogram);
+                sampledHistogram.setEndTimeStamp(sampleHistogram.getEndTimeStamp());
+            }
+        }
+    }
+
+    /**
+     * Updates the performance values with the samples, which have been added since the last update.
+     *
+     * Does nothing if no samples have been added.
+     *
+     * @param currentTimestamp the timestamp of the update
+     */
+    void updateFromSamples(long currentTimestamp) {
+        if (sampledHistogramMap == null) {
+            return;
+        }
+        update(sampledHistogramMap, getPercentileLatency(sampledHistogramMap, probeResolution),
+                getAvgLatency(sampledHistogramMap, probeResolution), getMaxLatency(sampledHistogramMap, probeResolution),
+                sampledOperationCount, currentTimestamp);
+
+        intervalCostMap = sampledCostMap;
+        addCosts(cumulativeCostMap, sampledCostMap);
+
+        sampledHistogramMap = null;
+        sampledCostMap = new HashMap<String, OperationCost>();
+        sampledOperationCount = 0;
+    }
+
+    /**
+     * Returns the aggregated {@link OperationCost} of a probe.
+     *
+     * @param probeName the name of the probe
+     * @return the {@link OperationCost} or <tt>null</tt> if the probe has no operation cost accounting
+     */
+    OperationCost getOperationCost(String probeName) {
+        return cumulativeCostMap.get(probeName);
+    }
+
+    long getLastSampleTimestamp() {
+        return lastSampleTimestamp;
+    }
+
+    boolean hasUnwrittenSamples() {
+        return unwrittenSampleCount > 0;
+    }
+
+    PerformanceSampleBuffer getSampleBuffer() {
+        return sampleBuffer;
+    }
+
+    void writeSamplesToFile() {
+        if (unwrittenSampleCount == 0) {
+            return;
+        }
+        String samples = sampleBuffer.formatSamples(sampleBuffer.size() - unwrittenSampleCount);
+        if (!isSamplesHeaderWritten) {
+            isSamplesHeaderWritten = true;
+            samples = PerformanceSampleBuffer.formatHeader() + samples;
+        }
+        writer.append(samplesFile, samples);
+        unwrittenSampleCount = 0;
+    }
+
+    /**
+     * Writes the performance values and interval histograms of the last update to files.
+     *
+     * The values are formatted by the calling thread, but the files are written by the {@link PerformanceWriter}. The interval
+     * histograms are copied, since they are still encoded for the Coordinator by the calling thread.
+     *
+     * @param timestamp the formatted timestamp of the last update
+     */
     void writeStatsToFile(String timestamp) {
-        writeThroughputStats(throughputFile, timestamp, totalOperationCount, intervalOperationCount, intervalThroughput, 0, 0);
+        if (!hasTargetThroughput) {
+            writer.append(throughputFile, formatThroughputStats(timestamp, totalOperationCount, intervalOperationCount,
+                    intervalThroughput, 0, 0));
+        } else {
+            writer.append(throughputFile, formatThroughputStats(timestamp, totalOperationCount, intervalOperationCount,
+                    intervalThroughput, targetThroughput));
+        }
 
+        final Map<String, Histogram> histograms = new HashMap<String, Histogram>(intervalHistogramMap.size());
         for (Map.Entry<String, Histogram> histogramEntry : intervalHistogramMap.entrySet()) {
-            String probeName = histogramEntry.getKey();
-            HistogramLogWriter histogramLogWriter = histogramLogWriterMap.get(probeName);
-
-            Histogram intervalHistogram = histogramEntry.getValue();
-            histogramLogWriter.outputIntervalHistogram(intervalHistogram);
+            histograms.put(histogramEntry.getKey(), histogramEntry.getValue().copy());
         }
+        final Map<String, OperationCost> costs = intervalCostMap;
+        final String comment = (hasTargetThroughput) ? "[Load profile target: " + targetThroughput + " ops/s]" : null;
+        writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (Map.Entry<String, Histogram> histogramEntry : histograms.entrySet()) {
+                    HistogramLogWriter histogramLogWriter = histogramLogWriterMap.get(histogramEntry.getKey());
+                    if (comment != null) {
+                        histogramLogWriter.outputComment(comment);
+                    }
+                    OperationCost cost = costs.get(histogramEntry.getKey());
+                    if (cost != null) {
+                        histogramLogWriter.outputComment("[Operation cost: " + cost + ']');
+                    }
+                    histogramLogWriter.outputIntervalHistogram(histogramEntry.getValue());
+                }
+            }
+        });
     }
 
     PerformanceState createPerformanceState() {
@@ -138,57 +359,105 @@ final class PerformanceTracker {
                 intervalAvgLatency, intervalPercentileLatency, intervalMaxLatency);
     }
 
+    /**
+     * Encodes the interval histograms of the last update, so they can be merged with the histograms of other Workers.
+     *
+     * Uses a fast compression level, since this is done in every interval.
+     *
+     * @return a map with the encoded interval histogram per probe
+     */
+    Map<String, String> getEncodedIntervalHistograms() {
+        Map<String, String> encodedHistograms = new HashMap<String, String>();
+        if (intervalHistogramMap == null) {
+            return encodedHistograms;
+        }
+        for (Map.Entry<String, Histogram> histogramEntry : intervalHistogramMap.entrySet()) {
+            encodedHistograms.put(histogramEntry.getKey(), getEncodedHistogram(histogramEntry.getValue(), Deflater.BEST_SPEED));
+        }
+        return encodedHistograms;
+    }
+
     Map<String, String> aggregateIntervalHistograms(String testId) {
         Map<String, String> probeResults = new HashMap<String, String>();
 
-        HistogramLogWriter histogramLogWriter = createHistogramLogWriter(testId, "aggregated", 0);
-        for (Map.Entry<String, Histogram> histogramEntry : intervalHistogramMap.entrySet()) {
+        HistogramLogWriter histogramLogWriter = createHistogramLogWriter(testId, "aggregated", 0, probeResolution);
+        for (Map.Entry<String, Histogram> histogramEntry : cumulativeHistogramMap.entrySet()) {
             String probeName = histogramEntry.getKey();
-            HistogramLogReader histogramLogReader = createHistogramLogReader(testId, probeName);
-            Histogram combined = new Histogram(MAXIMUM_LATENCY, LATENCY_PRECISION);
-
-            Histogram histogram = (Histogram) histogramLogReader.nextIntervalHistogram();
-            while (histogram != null) {
-                combined.add(histogram);
-                histogram = (Histogram) histogramLogReader.nextIntervalHistogram();
-            }
+            Histogram combined = histogramEntry.getValue();
 
             histogramLogWriter.outputComment("probeName=" + probeName);
+            OperationCost cost = cumulativeCostMap.get(probeName);
+            if (cost != null) {
+                histogramLogWriter.outputComment("[Operation cost: " + cost + ']');
+            }
             histogramLogWriter.outputIntervalHistogram(combined);
 
-            String encodedHistogram = getEncodedHistogram(combined);
+            String encodedHistogram = getEncodedHistogram(combined, Deflater.BEST_COMPRESSION);
             probeResults.put(probeName, encodedHistogram);
         }
 
         return probeResults;
     }
 
-    static HistogramLogWriter createHistogramLogWriter(String testId, String probeName, long baseTime) {
+    static HistogramLogWriter createHistogramLogWriter(String testId, String probeName, long baseTime,
+                                                       ProbeResolution probeResolution) {
         try {
-            File latencyFile = getLatencyFile(testId, probeName);
-            HistogramLogWriter histogramLogWriter = new HistogramLogWriter(latencyFile);
-            histogramLogWriter.setBaseTime(baseTime);
-            histogramLogWriter.outputComment("[Latency histograms for " + testId + '.' + probeName + ']');
-            histogramLogWriter.outputLogFormatVersion();
-            histogramLogWriter.outputLegend();
-            return histogramLogWriter;
+            HistogramLogWriter histogramLogWriter = new HistogramLogWriter(getLatencyFile(testId, probeName));
+            return initHistogramLogWriter(histogramLogWriter, testId, probeName, baseTime, probeResolution);
         } catch (IOException e) {
             throw new TestException("Could not initialize HistogramLogWriter for test " + testId, e);
         }
     }
 
-    static HistogramLogReader createHistogramLogReader(String testName, String probeName) {
+    static HistogramLogWriter createHistogramLogWriter(String testId, String probeName, long baseTime,
+                                                       ProbeResolution probeResolution, PerformanceWriter writer) {
         try {
-            File latencyFile = getLatencyFile(testName, probeName);
-            return new HistogramLogReader(latencyFile);
+            PrintStream printStream = writer.getPrintStream(getLatencyFile(testId, probeName));
+            HistogramLogWriter histogramLogWriter = new HistogramLogWriter(printStream);
+            return initHistogramLogWriter(histogramLogWriter, testId, probeName, baseTime, probeResolution);
         } catch (IOException e) {
-            throw new TestException("Could not initialize HistogramLogReader for test " + testName, e);
+            throw new TestException("Could not initialize HistogramLogWriter for test " + testId, e);
+        }
+    }
+
+    private static HistogramLogWriter initHistogramLogWriter(HistogramLogWriter histogramLogWriter, String testId,
+                                                             String probeName, long baseTime, ProbeResolution probeResolution) {
+        histogramLogWriter.setBaseTime(baseTime);
+        histogramLogWriter.outputComment("[Latency histograms for " + testId + '.' + probeName + ']');
+        histogramLogWriter.outputComment("[Latency resolution: " + probeResolution.getSymbol() + ']');
+        histogramLogWriter.outputLogFormatVersion();
+        histogramLogWriter.outputLegend();
+        return histogramLogWriter;
+    }
+
+    private void addToCumulativeHistograms(Map<String, Histogram> intervalHistograms) {
+        for (Map.Entry<String, Histogram> histogramEntry : intervalHistograms.entrySet()) {
+            String probeName = histogramEntry.getKey();
+            Histogram intervalHistogram = histogramEntry.getValue();
+
+            Histogram cumulativeHistogram = cumulativeHistogramMap.get(probeName);
+            if (cumulativeHistogram == null) {
+                cumulativeHistogram = new Histogram(intervalHistogram.getHighestTrackableValue(),
+                        intervalHistogram.getNumberOfSignificantValueDigits());
+                cumulativeHistogram.setAutoResize(true);
+                cumulativeHistogram.setStartTimeStamp(intervalHistogram.getStartTimeStamp());
+                cumulativeHistogramMap.put(probeName, cumulativeHistogram);
+            }
+            cumulativeHistogram.add(intervalHistogram);
+            cumulativeHistogram.setEndTimeStamp(intervalHistogram.getEndTimeStamp());
+        }
+    }
+
+    private static void addCosts(Map<String, OperationCost> costMap, Map<String, OperationCost> costs) {
+        for (Map.Entry<String, OperationCost> costEntry : costs.entrySet()) {
+            OperationCost cost = costMap.get(costEntry.getKey());
+            costMap.put(costEntry.getKey(), costEntry.getValue().add(cost));
         }
     }
 
-    private static String getEncodedHistogram(Histogram combined) {
-        ByteBuffer targetBuffer = ByteBuffer.allocate(combined.getNeededByteBufferCapacity());
-        int compressedLength = combined.encodeIntoCompressedByteBuffer(targetBuffer, Deflater.BEST_COMPRESSION);
+    private static String getEncodedHistogram(Histogram histogram, int compressionLevel) {
+        ByteBuffer targetBuffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int compressedLength = histogram.encodeIntoCompressedByteBuffer(targetBuffer, compressionLevel);
         byte[] compressedArray = Arrays.copyOf(targetBuffer.array(), compressedLength);
         return DatatypeConverter.printBase64Binary(compressedArray);
     }
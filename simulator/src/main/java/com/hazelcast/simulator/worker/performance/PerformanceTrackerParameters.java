@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.performance;
+
+import com.hazelcast.simulator.probes.ProbeResolution;
+import com.hazelcast.simulator.worker.metronome.LoadProfile;
+
+/**
+ * Optional parameters of a {@link PerformanceTracker}, which are taken from the test configuration.
+ */
+final class PerformanceTrackerParameters {
+
+    static final PerformanceTrackerParameters DEFAULT = new PerformanceTrackerParameters(ProbeResolution.MICROSECONDS, null, 0);
+
+    private final ProbeResolution probeResolution;
+    private final LoadProfile loadProfile;
+    private final int threadCount;
+
+    /**
+     * Creates the parameters of a {@link PerformanceTracker}.
+     *
+     * @param probeResolution the {@link ProbeResolution} of the recorded latencies
+     * @param loadProfile     the {@link LoadProfile} of the test or {@code null} if the test has no target throughput
+     * @param threadCount     the number of worker threads which share the load profile
+     */
+    PerformanceTrackerParameters(ProbeResolution probeResolution, LoadProfile loadProfile, int threadCount) {
+        this.probeResolution = probeResolution;
+        this.loadProfile = loadProfile;
+        this.threadCount = threadCount;
+    }
+
+    ProbeResolution getProbeResolution() {
+        return probeResolution;
+    }
+
+    LoadProfile getLoadProfile() {
+        return loadProfile;
+    }
+
+    int getThreadCount() {
+        return threadCount;
+    }
+}
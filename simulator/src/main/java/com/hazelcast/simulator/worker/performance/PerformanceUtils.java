@@ -15,12 +15,16 @@
  */
 package com.hazelcast.simulator.worker.performance;
 
-import java.io.File;
+import com.hazelcast.simulator.probes.ProbeResolution;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
 
-import static com.hazelcast.simulator.utils.FileUtils.appendText;
 import static com.hazelcast.simulator.utils.FormatUtils.fillString;
 import static com.hazelcast.simulator.utils.FormatUtils.formatDouble;
 import static com.hazelcast.simulator.utils.FormatUtils.formatLong;
+import static com.hazelcast.simulator.utils.FormatUtils.padLeft;
+import static com.hazelcast.simulator.worker.performance.PerformanceState.INTERVAL_LATENCY_PERCENTILE;
 import static java.lang.String.format;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -42,29 +46,105 @@ final class PerformanceUtils {
     private PerformanceUtils() {
     }
 
-    static void writeThroughputHeader(File file, boolean isGlobal) {
+    static String formatThroughputHeader(boolean isGlobal) {
+        return formatThroughputHeader(isGlobal, false);
+    }
+
+    static String formatThroughputHeader(boolean isGlobal, boolean hasTargetThroughput) {
         String columns = "Timestamp                      Ops (sum)        Ops (delta)                Ops/s";
         if (isGlobal) {
             columns += " Number of tests";
         }
-        appendText(format("%s%n%s%n", columns, fillString(columns.length(), '-')), file);
+        if (hasTargetThroughput) {
+            columns += "         Target ops/s";
+        }
+        return format("%s%n%s%n", columns, fillString(columns.length(), '-'));
     }
 
-    static void writeThroughputStats(File file, String timestamp, long opsSum, long opsDelta, double opsPerSecDelta,
-                                     long numberOfTests, long totalTests) {
+    static String formatThroughputStats(String timestamp, long opsSum, long opsDelta, double opsPerSecDelta,
+                                        long numberOfTests, long totalTests) {
         String dataString = "[%s] %s ops %s ops %s ops/s";
         if (totalTests > 0) {
             dataString += " %s/%s";
         }
         dataString += "%n";
         int fieldLength = getNumberOfDigits(totalTests);
-        appendText(format(dataString, timestamp,
+        return format(dataString, timestamp,
                 formatLong(opsSum, NUMBER_FORMAT_LENGTH),
                 formatLong(opsDelta, NUMBER_FORMAT_LENGTH),
                 formatDouble(opsPerSecDelta, NUMBER_FORMAT_LENGTH),
                 formatLong(numberOfTests, NUMBER_FORMAT_LENGTH - fieldLength),
-                formatLong(totalTests, fieldLength)),
-                file);
+                formatLong(totalTests, fieldLength));
+    }
+
+    static String formatThroughputStats(String timestamp, long opsSum, long opsDelta, double opsPerSecDelta,
+                                        double targetOpsPerSec) {
+        return format("[%s] %s ops %s ops %s ops/s %s ops/s%n", timestamp,
+                formatLong(opsSum, NUMBER_FORMAT_LENGTH),
+                formatLong(opsDelta, NUMBER_FORMAT_LENGTH),
+                formatDouble(opsPerSecDelta, NUMBER_FORMAT_LENGTH),
+                formatDouble(targetOpsPerSec, NUMBER_FORMAT_LENGTH));
+    }
+
+    static String formatPauseHeader() {
+        String columns = "Timestamp                   GC count   GC time (ms)    GC max (ms)     Safepoints Safepoint (ms)";
+        return format("%s%n%s%n", columns, fillString(columns.length(), '-'));
+    }
+
+    static String formatPauseStats(String timestamp, PauseState pauseState) {
+        return format("[%s] %s %s %s %s %s%n", timestamp,
+                formatPauseValue(pauseState.getGcCount()),
+                formatPauseValue(pauseState.getGcTotalMillis()),
+                formatPauseValue(pauseState.getGcMaxMillis()),
+                formatPauseValue(pauseState.getSafepointCount()),
+                formatPauseValue(pauseState.getSafepointTotalMillis()));
+    }
+
+    private static String formatPauseValue(long value) {
+        if (value == PauseState.NOT_AVAILABLE) {
+            return padLeft("n/a", NUMBER_FORMAT_LENGTH);
+        }
+        return formatLong(value, NUMBER_FORMAT_LENGTH);
+    }
+
+    /**
+     * Returns the highest {@link PerformanceState#INTERVAL_LATENCY_PERCENTILE} latency of the given histograms in microseconds.
+     *
+     * @param histograms      the histograms per probe
+     * @param probeResolution the {@link ProbeResolution} of the histograms
+     * @return the highest percentile latency or {@link Long#MIN_VALUE} if there are no histograms
+     */
+    static long getPercentileLatency(Map<String, Histogram> histograms, ProbeResolution probeResolution) {
+        long percentileLatency = Long.MIN_VALUE;
+        for (Histogram histogram : histograms.values()) {
+            long percentileValue = probeResolution.toMicros(histogram.getValueAtPercentile(INTERVAL_LATENCY_PERCENTILE));
+            if (percentileValue > percentileLatency) {
+                percentileLatency = percentileValue;
+            }
+        }
+        return percentileLatency;
+    }
+
+    static double getAvgLatency(Map<String, Histogram> histograms, ProbeResolution probeResolution) {
+        double avgLatency = Long.MIN_VALUE;
+        for (Histogram histogram : histograms.values()) {
+            double avgValue = histogram.getMean() / probeResolution.getMicrosScalingRatio();
+            if (avgValue > avgLatency) {
+                avgLatency = avgValue;
+            }
+        }
+        return avgLatency;
+    }
+
+    static long getMaxLatency(Map<String, Histogram> histograms, ProbeResolution probeResolution) {
+        long maxLatency = Long.MIN_VALUE;
+        for (Histogram histogram : histograms.values()) {
+            long maxValue = probeResolution.toMicros(histogram.getMaxValue());
+            if (maxValue > maxLatency) {
+                maxLatency = maxValue;
+            }
+        }
+        return maxLatency;
     }
 
     static int getNumberOfDigits(long number) {
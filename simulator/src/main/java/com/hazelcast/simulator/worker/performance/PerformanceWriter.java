@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.performance;
+
+import org.apache.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.simulator.utils.CommonUtils.closeQuietly;
+import static com.hazelcast.simulator.utils.CommonUtils.joinThread;
+import static com.hazelcast.simulator.utils.FileUtils.writeText;
+
+/**
+ * Writes the performance files of a Worker, e.g. the throughput, latency and sample files.
+ *
+ * Each file is opened once and written via a {@link BufferedOutputStream}. In asynchronous mode all writes are executed by a
+ * dedicated thread, so the sampling of the {@link WorkerPerformanceMonitor} is not affected by the latency of the disk.
+ * The writer thread executes all pending tasks as a batch, flushes the files after each batch and syncs them to the disk at
+ * most once per {@link #SYNC_INTERVAL_MILLIS}.
+ *
+ * In synchronous mode the tasks are executed by the calling thread and the files are flushed after each task.
+ */
+final class PerformanceWriter {
+
+    static final long SYNC_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(1);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Runnable POISON_PILL = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+
+    private static final Logger LOGGER = Logger.getLogger(PerformanceWriter.class);
+
+    private final ConcurrentMap<File, OutputFile> outputFiles = new ConcurrentHashMap<File, OutputFile>();
+    private final BlockingQueue<Runnable> taskQueue = new LinkedBlockingQueue<Runnable>();
+
+    private final WriterThread thread;
+
+    private volatile boolean isShutdown;
+
+    PerformanceWriter(boolean async) {
+        if (async) {
+            thread = new WriterThread();
+            thread.start();
+        } else {
+            thread = null;
+        }
+    }
+
+    boolean isAsync() {
+        return (thread != null);
+    }
+
+    /**
+     * Returns the buffered {@link PrintStream} of a file, which is opened in append mode if needed.
+     *
+     * The stream must only be written by tasks of this writer, e.g. by a {@link org.HdrHistogram.HistogramLogWriter}.
+     *
+     * @param file the file to write to
+     * @return the {@link PrintStream} of the file
+     * @throws FileNotFoundException if the file cannot be opened
+     */
+    PrintStream getPrintStream(File file) throws FileNotFoundException {
+        OutputFile outputFile = outputFiles.get(file);
+        if (outputFile == null) {
+            OutputFile newOutputFile = new OutputFile(file);
+            outputFile = outputFiles.putIfAbsent(file, newOutputFile);
+            if (outputFile == null) {
+                outputFile = newOutputFile;
+            } else {
+                newOutputFile.close();
+            }
+        }
+        return outputFile.printStream;
+    }
+
+    /**
+     * Appends a text to a file.
+     *
+     * @param file the file to append the text to
+     * @param text the text to append
+     */
+    void append(final File file, final String text) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    getPrintStream(file).print(text);
+                } catch (FileNotFoundException e) {
+                    LOGGER.error("Could not open performance file " + file.getAbsolutePath(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Replaces the content of a file with a text.
+     *
+     * The file is written directly and is not kept open.
+     *
+     * @param file the file to write the text to
+     * @param text the text to write
+     */
+    void write(final File file, final String text) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                writeText(text, file);
+            }
+        });
+    }
+
+    /**
+     * Executes a write task, e.g. the output of a histogram to a {@link PrintStream} of this writer.
+     *
+     * @param task the task to execute
+     */
+    void execute(Runnable task) {
+        if (isShutdown) {
+            LOGGER.warn("PerformanceWriter is already shut down, dropping write task");
+            return;
+        }
+        if (thread == null) {
+            runTask(task);
+            flush();
+            return;
+        }
+        taskQueue.add(task);
+    }
+
+    /**
+     * Executes all pending tasks, syncs all files to the disk and closes them.
+     */
+    void shutdown() {
+        if (isShutdown) {
+            return;
+        }
+        isShutdown = true;
+        if (thread != null) {
+            taskQueue.add(POISON_PILL);
+            joinThread(thread);
+        }
+        for (OutputFile outputFile : outputFiles.values()) {
+            outputFile.sync();
+            outputFile.close();
+        }
+        outputFiles.clear();
+    }
+
+    private void flush() {
+        for (OutputFile outputFile : outputFiles.values()) {
+            outputFile.printStream.flush();
+        }
+    }
+
+    private void sync() {
+        for (OutputFile outputFile : outputFiles.values()) {
+            outputFile.sync();
+        }
+    }
+
+    private static void runTask(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            LOGGER.error("Could not write performance file", e);
+        }
+    }
+
+    private static final class OutputFile {
+
+        private final FileOutputStream fileOutputStream;
+        private final PrintStream printStream;
+
+        private OutputFile(File file) throws FileNotFoundException {
+            this.fileOutputStream = new FileOutputStream(file, true);
+            this.printStream = new PrintStream(new BufferedOutputStream(fileOutputStream, BUFFER_SIZE), false);
+        }
+
+        private void sync() {
+            printStream.flush();
+            try {
+                fileOutputStream.getChannel().force(false);
+            } catch (IOException e) {
+                LOGGER.warn("Could not sync performance file: " + e.getMessage());
+            }
+        }
+
+        private void close() {
+            closeQuietly(printStream);
+        }
+    }
+
+    private final class WriterThread extends Thread {
+
+        private WriterThread() {
+            super("PerformanceWriterThread");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            List<Runnable> batch = new ArrayList<Runnable>();
+            long lastSyncMillis = System.currentTimeMillis();
+            boolean isRunning = true;
+            boolean hasUnsyncedWrites = false;
+            while (isRunning) {
+                try {
+                    Runnable task = taskQueue.poll(SYNC_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (task != null) {
+                        batch.add(task);
+                        taskQueue.drainTo(batch);
+                    }
+                } catch (InterruptedException e) {
+                    LOGGER.warn("PerformanceWriterThread was interrupted");
+                    taskQueue.drainTo(batch);
+                    isRunning = false;
+                }
+                for (Runnable task : batch) {
+                    if (task == POISON_PILL) {
+                        isRunning = false;
+                    } else {
+                        runTask(task);
+                        hasUnsyncedWrites = true;
+                    }
+                }
+                batch.clear();
+                flush();
+
+                long currentMillis = System.currentTimeMillis();
+                if (hasUnsyncedWrites && currentMillis - lastSyncMillis >= SYNC_INTERVAL_MILLIS) {
+                    sync();
+                    lastSyncMillis = currentMillis;
+                    hasUnsyncedWrites = false;
+                }
+            }
+        }
+    }
+}
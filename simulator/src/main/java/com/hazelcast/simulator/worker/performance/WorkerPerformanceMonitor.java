@@ -15,6 +15,7 @@
  */
 package com.hazelcast.simulator.worker.performance;
 
+import com.hazelcast.simulator.probes.OperationCost;
 import com.hazelcast.simulator.probes.Probe;
 import com.hazelcast.simulator.protocol.connector.ServerConnector;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
@@ -36,14 +37,22 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.hazelcast.simulator.utils.CommonUtils.joinThread;
 import static com.hazelcast.simulator.utils.CommonUtils.sleepNanos;
-import static com.hazelcast.simulator.worker.performance.PerformanceState.INTERVAL_LATENCY_PERCENTILE;
-import static com.hazelcast.simulator.worker.performance.PerformanceUtils.writeThroughputHeader;
-import static com.hazelcast.simulator.worker.performance.PerformanceUtils.writeThroughputStats;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.formatPauseHeader;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.formatPauseStats;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.formatThroughputHeader;
+import static com.hazelcast.simulator.worker.performance.PerformanceUtils.formatThroughputStats;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Monitors the performance of all running Simulator Tests on {@link com.hazelcast.simulator.worker.MemberWorker}
  * and {@link com.hazelcast.simulator.worker.ClientWorker} instances.
+ *
+ * The probes are sampled with a sample interval, which can be shorter than the monitor interval. The high resolution samples are
+ * kept in a {@link PerformanceSampleBuffer} per test, which is appended to a file when it's full, when the test has stopped and
+ * on shutdown. Only the downsampled values of the monitor interval are sent to the Coordinator.
+ *
+ * The GC and safepoint pauses of each monitor interval are collected by a {@link PauseMonitor}. They are written to a pause
+ * timeline next to the throughput files and are sent to the Coordinator, so they can be correlated with the latency numbers.
  */
 public class WorkerPerformanceMonitor {
 
@@ -53,8 +62,19 @@ public class WorkerPerformanceMonitor {
 
     public WorkerPerformanceMonitor(ServerConnector serverConnector, Collection<TestContainer> testContainers,
                                     int workerPerformanceMonitorInterval, TimeUnit workerPerformanceIntervalTimeUnit) {
+        this(serverConnector, testContainers, workerPerformanceMonitorInterval, workerPerformanceIntervalTimeUnit,
+                workerPerformanceMonitorInterval, workerPerformanceIntervalTimeUnit);
+    }
+
+    public WorkerPerformanceMonitor(ServerConnector serverConnector, Collection<TestContainer> testContainers,
+                                    int workerPerformanceMonitorInterval, TimeUnit workerPerformanceIntervalTimeUnit,
+                                    int sampleInterval, TimeUnit sampleIntervalTimeUnit) {
         long intervalNanos = workerPerformanceIntervalTimeUnit.toNanos(workerPerformanceMonitorInterval);
-        this.thread = new MonitorThread(serverConnector, testContainers, intervalNanos);
+        long sampleIntervalNanos = sampleIntervalTimeUnit.toNanos(sampleInterval);
+        if (sampleIntervalNanos <= 0 || sampleIntervalNanos > intervalNanos) {
+            sampleIntervalNanos = intervalNanos;
+        }
+        this.thread = new MonitorThread(serverConnector, testContainers, intervalNanos, sampleIntervalNanos);
     }
 
     public boolean start() {
@@ -72,14 +92,19 @@ public class WorkerPerformanceMonitor {
         thread.isRunning = false;
         thread.interrupt();
         joinThread(thread);
+
+        thread.writeSamplesToFiles();
+        thread.pauseMonitor.stop();
+        thread.writer.shutdown();
     }
 
     /**
      * Internal thread to monitor the performance of Simulator Tests.
      *
-     * Iterates over all {@link TestContainer} to retrieve performance values from all {@link Probe} instances.
-     * Sends performance numbers as {@link PerformanceState} to the Coordinator.
-     * Writes performance stats to files.
+     * Iterates over all {@link TestContainer} to retrieve performance values from all {@link Probe} instances in each sample
+     * interval. Sends the downsampled performance numbers of each monitor interval as {@link PerformanceState} to the
+     * Coordinator. Writes performance stats to files via an asynchronous {@link PerformanceWriter}, so the sample interval is
+     * not affected by the latency of the disk.
      *
      * Holds one {@link PerformanceTracker} instance per Simulator Test.
      */
@@ -90,46 +115,65 @@ public class WorkerPerformanceMonitor {
         private static final Logger LOGGER = Logger.getLogger(MonitorThread.class);
 
         private final File globalThroughputFile = new File("throughput.txt");
+        private final File pauseFile = new File("pauses.txt");
         private final SimpleDateFormat simpleDateFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
         private final Map<String, PerformanceTracker> trackerMap = new HashMap<String, PerformanceTracker>();
+        private final PerformanceWriter writer = new PerformanceWriter(true);
+        private final PauseMonitor pauseMonitor = new PauseMonitor();
 
         private final ServerConnector serverConnector;
         private final Collection<TestContainer> testContainers;
-        private final long intervalNanos;
+        private final long sampleIntervalNanos;
+        private final long samplesPerInterval;
 
         private volatile boolean isRunning = true;
 
-        private MonitorThread(ServerConnector serverConnector, Collection<TestContainer> testContainers, long intervalNanos) {
+        private MonitorThread(ServerConnector serverConnector, Collection<TestContainer> testContainers, long intervalNanos,
+                              long sampleIntervalNanos) {
             super("WorkerPerformanceMonitorThread");
             setDaemon(true);
 
             this.serverConnector = serverConnector;
             this.testContainers = testContainers;
-            this.intervalNanos = intervalNanos;
+            this.sampleIntervalNanos = sampleIntervalNanos;
+            this.samplesPerInterval = intervalNanos / sampleIntervalNanos;
 
-            writeThroughputHeader(globalThroughputFile, true);
+            writer.append(globalThroughputFile, formatThroughputHeader(true));
+            writer.append(pauseFile, formatPauseHeader());
         }
 
         @Override
         public void run() {
+            long samplesSinceLastUpdate = 0;
             while (isRunning) {
                 long startedNanos = System.nanoTime();
                 long currentTimestamp = System.currentTimeMillis();
 
-                boolean runningTestContainerFound = updatePerformanceStates(currentTimestamp);
-                sendPerformanceStates();
-                writeStatsToFiles(currentTimestamp);
+                boolean runningTestContainerFound = samplePerformance(currentTimestamp);
+                samplesSinceLastUpdate++;
+                if (samplesSinceLastUpdate >= samplesPerInterval) {
+                    updatePerformanceStates(currentTimestamp);
+                    PauseState pauseState = pauseMonitor.getIntervalPauseState(currentTimestamp);
+                    sendPerformanceStates(pauseState);
+                    writeStatsToFiles(currentTimestamp, pauseState);
+                    samplesSinceLastUpdate = 0;
+                }
+                writeSamplesOfStoppedTests(currentTimestamp);
 
-                long elapsedNanos = System.nanoTime() - startedNanos;
-                if (intervalNanos > elapsedNanos) {
-                    if (runningTestContainerFound) {
-                        sleepNanos(intervalNanos - elapsedNanos);
-                    } else {
-                        sleepNanos(WAIT_FOR_TEST_CONTAINERS_DELAY_NANOS - elapsedNanos);
-                    }
+                sleepUntilNextSample(startedNanos, runningTestContainerFound);
+            }
+        }
+
+        private void sleepUntilNextSample(long startedNanos, boolean runningTestContainerFound) {
+            long elapsedNanos = System.nanoTime() - startedNanos;
+            if (sampleIntervalNanos > elapsedNanos) {
+                if (runningTestContainerFound) {
+                    sleepNanos(sampleIntervalNanos - elapsedNanos);
                 } else {
-                    LOGGER.warn("WorkerPerformanceMonitorThread.run() took " + NANOSECONDS.toMillis(elapsedNanos) + " ms");
+                    sleepNanos(WAIT_FOR_TEST_CONTAINERS_DELAY_NANOS - elapsedNanos);
                 }
+            } else {
+                LOGGER.warn("WorkerPerformanceMonitorThread.run() took " + NANOSECONDS.toMillis(elapsedNanos) + " ms");
             }
         }
 
@@ -140,13 +184,14 @@ public class WorkerPerformanceMonitor {
 
                 Map<String, String> histograms = tracker.aggregateIntervalHistograms(testId);
                 if (!histograms.isEmpty()) {
-                    TestHistogramOperation operation = new TestHistogramOperation(testId, histograms);
+                    TestHistogramOperation operation = new TestHistogramOperation(testId, histograms,
+                            tracker.getProbeResolution());
                     serverConnector.write(SimulatorAddress.COORDINATOR, operation);
                 }
             }
         }
 
-        private boolean updatePerformanceStates(long currentTimestamp) {
+        private boolean samplePerformance(long currentTimestamp) {
             boolean runningTestContainerFound = false;
             for (TestContainer testContainer : testContainers) {
                 if (!testContainer.isRunning()) {
@@ -155,60 +200,75 @@ public class WorkerPerformanceMonitor {
                 runningTestContainerFound = true;
 
                 Map<String, Probe> probeMap = testContainer.getProbeMap();
-                Map<String, Histogram> intervalHistograms = new HashMap<String, Histogram>(probeMap.size());
-
-                long intervalPercentileLatency = Long.MIN_VALUE;
-                double intervalAvgLatency = Long.MIN_VALUE;
-                long intervalMaxLatency = Long.MIN_VALUE;
-                long intervalOperationalCount = 0;
+                Map<String, Histogram> sampleHistograms = new HashMap<String, Histogram>(probeMap.size());
+                Map<String, OperationCost> sampleCosts = new HashMap<String, OperationCost>();
+                long sampleOperationCount = 0;
 
                 for (Map.Entry<String, Probe> entry : probeMap.entrySet()) {
                     Probe probe = entry.getValue();
-                    Histogram intervalHistogram = probe.getIntervalHistogram();
-                    intervalHistograms.put(entry.getKey(), intervalHistogram);
+                    Histogram sampleHistogram = probe.getIntervalHistogram();
+                    sampleHistograms.put(entry.getKey(), sampleHistogram);
 
-                    long percentileValue = intervalHistogram.getValueAtPercentile(INTERVAL_LATENCY_PERCENTILE);
-                    if (percentileValue > intervalPercentileLatency) {
-                        intervalPercentileLatency = percentileValue;
-                    }
-                    double avgValue = intervalHistogram.getMean();
-                    if (avgValue > intervalAvgLatency) {
-                        intervalAvgLatency = avgValue;
-                    }
-                    long maxValue = intervalHistogram.getMaxValue();
-                    if (maxValue > intervalMaxLatency) {
-                        intervalMaxLatency = maxValue;
+                    OperationCost sampleCost = probe.getIntervalOperationCost();
+                    if (sampleCost != null) {
+                        sampleCosts.put(entry.getKey(), sampleCost);
                     }
+
                     if (probe.isThroughputProbe()) {
-                        intervalOperationalCount += intervalHistogram.getTotalCount();
+                        sampleOperationCount += sampleHistogram.getTotalCount();
                     }
                 }
 
                 String testId = testContainer.getTestContext().getTestId();
                 PerformanceTracker tracker = getOrCreatePerformanceTracker(testId, testContainer);
-                tracker.update(intervalHistograms, intervalPercentileLatency, intervalAvgLatency, intervalMaxLatency,
-                        intervalOperationalCount, currentTimestamp);
+                tracker.setLoadProfile(testContainer.getLoadProfile());
+                tracker.addSample(sampleHistograms, sampleCosts, sampleOperationCount, currentTimestamp);
             }
             return runningTestContainerFound;
         }
 
+        private void updatePerformanceStates(long currentTimestamp) {
+            for (PerformanceTracker tracker : trackerMap.values()) {
+                tracker.updateFromSamples(currentTimestamp);
+            }
+        }
+
+        private void writeSamplesOfStoppedTests(long currentTimestamp) {
+            for (PerformanceTracker tracker : trackerMap.values()) {
+                if (tracker.hasUnwrittenSamples() && tracker.getLastSampleTimestamp() != currentTimestamp) {
+                    tracker.writeSamplesToFile();
+                }
+            }
+        }
+
+        private void writeSamplesToFiles() {
+            for (PerformanceTracker tracker : trackerMap.values()) {
+                tracker.writeSamplesToFile();
+            }
+        }
+
         private PerformanceTracker getOrCreatePerformanceTracker(String testId, TestContainer testContainer) {
             PerformanceTracker tracker = trackerMap.get(testId);
             if (tracker == null) {
                 Set<String> probeNames = testContainer.getProbeMap().keySet();
-                tracker = new PerformanceTracker(testId, probeNames, testContainer.getTestStartedTimestamp());
+                PerformanceTrackerParameters parameters = new PerformanceTrackerParameters(testContainer.getProbeResolution(),
+                        testContainer.getLoadProfile(), testContainer.getRunWithWorkerThreadCount());
+                tracker = new PerformanceTracker(testId, probeNames, testContainer.getTestStartedTimestamp(), parameters,
+                        writer);
                 trackerMap.put(testId, tracker);
             }
             return tracker;
         }
 
-        private void sendPerformanceStates() {
+        private void sendPerformanceStates(PauseState pauseState) {
             PerformanceStateOperation operation = new PerformanceStateOperation();
+            operation.setPauseState(pauseState);
             for (Map.Entry<String, PerformanceTracker> trackerEntry : trackerMap.entrySet()) {
                 PerformanceTracker stats = trackerEntry.getValue();
                 if (stats.isUpdated()) {
                     String testId = trackerEntry.getKey();
                     operation.addPerformanceState(testId, stats.createPerformanceState());
+                    operation.addIntervalHistograms(testId, stats.getEncodedIntervalHistograms(), stats.getProbeResolution());
                 }
             }
             if (operation.getPerformanceStates().size() > 0) {
@@ -216,7 +276,7 @@ public class WorkerPerformanceMonitor {
             }
         }
 
-        private void writeStatsToFiles(long currentTimestamp) {
+        private void writeStatsToFiles(long currentTimestamp, PauseState pauseState) {
             if (trackerMap.isEmpty()) {
                 return;
             }
@@ -238,8 +298,11 @@ public class WorkerPerformanceMonitor {
             }
 
             // global performance stats
-            writeThroughputStats(globalThroughputFile, dateString, globalOperationsCount, globalIntervalOperationCount,
-                    globalIntervalThroughput, trackerMap.size(), testContainers.size());
+            writer.append(globalThroughputFile, formatThroughputStats(dateString, globalOperationsCount,
+                    globalIntervalOperationCount, globalIntervalThroughput, trackerMap.size(), testContainers.size()));
+
+            // pause timeline
+            writer.append(pauseFile, formatPauseStats(dateString, pauseState));
         }
     }
 }
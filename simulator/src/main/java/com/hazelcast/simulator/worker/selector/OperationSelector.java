@@ -15,28 +15,46 @@
  */
 package com.hazelcast.simulator.worker.selector;
 
-import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Facility to select different operations based on probabilities. Each operations is represented as an enum item.
  *
- * Calling {@link #select()} method will select an operation according to the configured probabilities.
+ * Calling {@link #select()} method will select an operation according to the configured probabilities. The selection uses an
+ * alias table, so it needs a single random number and has constant costs. The random numbers are created by an internal xorshift
+ * generator, which is not shared with other instances.
  *
  * This class does not give any thread-safety guarantees. It is strongly recommended to construct a new instance for each thread,
- * at least to prevent contention on the random generator. Just use a single builder and call the
- * {@link OperationSelectorBuilder#build()} method in each thread constructor.
+ * since the random generator is not thread-safe. Just use a single builder and call the {@link OperationSelectorBuilder#build()}
+ * method in each thread constructor.
  *
  * @param <T> enum of operations
  */
 public class OperationSelector<T extends Enum<T>> {
 
-    private final Random random = new Random();
+    private static final long LOWER_BITS_MASK = 0xFFFFFFFFL;
+    private static final long XORSHIFT_MULTIPLIER = 2685821657736338717L;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final AtomicLong SEED_GENERATOR = new AtomicLong(System.nanoTime());
+
     private final Object[] operations;
-    private final int length;
+    private final long[] thresholds;
+    private final int[] aliases;
+    private final long length;
+
+    private long state;
+
+    OperationSelector(Object[] operations, long[] thresholds, int[] aliases) {
+        this(operations, thresholds, aliases, SEED_GENERATOR.addAndGet(GOLDEN_GAMMA) ^ System.nanoTime());
+    }
 
-    OperationSelector(Object[] operations) {
-        this.operations = operations.clone();
+    OperationSelector(Object[] operations, long[] thresholds, int[] aliases, long seed) {
+        this.operations = operations;
+        this.thresholds = thresholds;
+        this.aliases = aliases;
         this.length = operations.length;
+        this.state = mix(seed);
     }
 
     /**
@@ -44,9 +62,34 @@ public class OperationSelector<T extends Enum<T>> {
      *
      * @return selected operation
      */
-    @SuppressWarnings("unchecked")
+    @SuppressWarnings({"unchecked", "checkstyle:magicnumber"})
     public T select() {
-        int chance = random.nextInt(length);
-        return (T) operations[chance];
+        long random = nextRandom();
+        // the upper 32 bits select the column, the lower 32 bits decide between the column and its alias
+        int column = (int) (((random >>> 32) * length) >>> 32);
+        if ((random & LOWER_BITS_MASK) < thresholds[column]) {
+            return (T) operations[column];
+        }
+        return (T) operations[aliases[column]];
+    }
+
+    @SuppressWarnings("checkstyle:magicnumber")
+    private long nextRandom() {
+        long x = state;
+        x ^= x >>> 12;
+        x ^= x << 25;
+        x ^= x >>> 27;
+        state = x;
+        return x * XORSHIFT_MULTIPLIER;
+    }
+
+    @SuppressWarnings("checkstyle:magicnumber")
+    private static long mix(long seed) {
+        long z = seed + GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        // the state of a xorshift generator must not be zero
+        return (z == 0 ? GOLDEN_GAMMA : z);
     }
 }
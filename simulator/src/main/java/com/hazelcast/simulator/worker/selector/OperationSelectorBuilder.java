@@ -15,7 +15,7 @@
  */
 package com.hazelcast.simulator.worker.selector;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -26,8 +26,12 @@ import static java.lang.String.format;
  * Builder class to create an {@link OperationSelector} instance. Each operation is represented as an enum item and is registered
  * with its probability (0.0 to 1.0) via the {@link #addOperation(Enum, double)} method.
  *
- * The total sum of probabilities has to be exactly 1.0. You can use {@link #addDefaultOperation(Enum)} to add a default operation
- * which automatically consumes the remaining probability. The probability precision is {@value #PROBABILITY_PRECISION}.
+ * The total sum of probabilities has to be exactly 1.0 (with a tolerance of {@value #PROBABILITY_TOLERANCE} for rounding errors).
+ * You can use {@link #addDefaultOperation(Enum)} to add a default operation which automatically consumes the remaining
+ * probability. There is no fixed probability precision, so also very rare operations can be configured.
+ *
+ * The operations are selected via an alias table (Vose's alias method), so the selection has constant costs, independent of the
+ * number of operations and the precision of their probabilities.
  *
  * This builder class is not thread-safe. The created {@link OperationSelector} does not give any thread-safety guarantees. It is
  * strongly recommended to construct a new instance for each thread, at least to prevent contention on the random generator. Just
@@ -37,14 +41,17 @@ import static java.lang.String.format;
  */
 public class OperationSelectorBuilder<T extends Enum<T>> {
 
-    static final int PROBABILITY_PRECISION = 3;
-    static final double PROBABILITY_LENGTH = Math.pow(10, PROBABILITY_PRECISION);
-    static final double PROBABILITY_INTERVAL = 1.0 / PROBABILITY_LENGTH;
+    static final double PROBABILITY_TOLERANCE = 0.000001;
+
+    // the alias probabilities are stored as thresholds for a 32-bit random number
+    static final long THRESHOLD_RANGE = 0x100000000L;
 
-    private final Map<T, Double> operations = new HashMap<T, Double>();
+    private final Map<T, Double> operations = new LinkedHashMap<T, Double>();
 
     private double probSum;
     private Object[] operationsArray;
+    private long[] thresholds;
+    private int[] aliases;
 
     /**
      * Register a new operation for selection.
@@ -65,7 +72,7 @@ public class OperationSelectorBuilder<T extends Enum<T>> {
             throw new IllegalStateException("Operation " + operation + " has been already added to this selector");
         }
         probSum += probability;
-        if (probSum - 1.0 > PROBABILITY_INTERVAL) {
+        if (probSum - 1.0 > PROBABILITY_TOLERANCE) {
             probabilityMismatch();
         }
         return this;
@@ -81,7 +88,7 @@ public class OperationSelectorBuilder<T extends Enum<T>> {
      * @return this instance to allow method-chaining
      */
     public OperationSelectorBuilder<T> addDefaultOperation(T operation) {
-        addOperation(operation, 1.0 - probSum);
+        addOperation(operation, Math.max(0.0, 1.0 - probSum));
         return this;
     }
 
@@ -100,24 +107,19 @@ public class OperationSelectorBuilder<T extends Enum<T>> {
      * @return instance of OperationSelector
      */
     public OperationSelector<T> build() {
-        if (Math.abs(probSum - 1.0) > PROBABILITY_INTERVAL) {
+        if (Math.abs(probSum - 1.0) > PROBABILITY_TOLERANCE) {
             probabilityMismatch();
         }
         if (operationsArray == null) {
-            populateOperationsArray();
+            populateAliasTable();
         }
-        return new OperationSelector<T>(operationsArray);
+        return new OperationSelector<T>(operationsArray, thresholds, aliases);
     }
 
     private void checkProbabilityArgument(double probability) {
-        if (probability < 0.0) {
+        if (probability < 0.0 || probability > 1.0 || Double.isNaN(probability)) {
             throw new IllegalArgumentException("Probability has to be between 0.0 and 1.0, but was " + probability);
         }
-        double probabilityDecimalPlaces = probability - Math.floor(probability);
-        if (probabilityDecimalPlaces > 0.0 && probabilityDecimalPlaces < PROBABILITY_INTERVAL) {
-            throw new IllegalArgumentException(format("Maximum probability precision is %f, but was %f",
-                    PROBABILITY_INTERVAL, probability));
-        }
     }
 
     private void probabilityMismatch() {
@@ -128,18 +130,85 @@ public class OperationSelectorBuilder<T extends Enum<T>> {
         throw new IllegalStateException(sb.toString());
     }
 
-    private void populateOperationsArray() {
-        int arraySize = (int) PROBABILITY_LENGTH;
-        operationsArray = new Object[arraySize];
+    /**
+     * Creates the alias table with Vose's alias method.
+     *
+     * Each column of the table is selected with the same probability. The column either returns its own operation or its alias,
+     * depending on the threshold of the column.
+     */
+    private void populateAliasTable() {
+        int size = operations.size();
+        operationsArray = new Object[size];
+        thresholds = new long[size];
+        aliases = new int[size];
+
+        // scale the probabilities, so the average column has a probability of 1.0
+        double[] scaledProbabilities = new double[size];
         int index = 0;
         for (Map.Entry<T, Double> entry : operations.entrySet()) {
-            T operation = entry.getKey();
-            for (int i = 0; i < Math.round(entry.getValue() * arraySize); i++) {
-                if (index < arraySize) {
-                    operationsArray[index] = operation;
-                    index++;
-                }
-            }
+            operationsArray[index] = entry.getKey();
+            scaledProbabilities[index] = entry.getValue() * size / probSum;
+            index++;
+        }
+
+        ColumnStack small = new ColumnStack(size);
+        ColumnStack large = new ColumnStack(size);
+        for (int column = 0; column < size; column++) {
+            pushColumn(column, scaledProbabilities, small, large);
+        }
+
+        // fill each small column with the probability of a large one, which becomes its alias
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.pop();
+            int more = large.pop();
+
+            thresholds[less] = Math.round(scaledProbabilities[less] * THRESHOLD_RANGE);
+            aliases[less] = more;
+
+            scaledProbabilities[more] = (scaledProbabilities[more] + scaledProbabilities[less]) - 1.0;
+            pushColumn(more, scaledProbabilities, small, large);
+        }
+
+        // the remaining columns are full (apart from rounding errors), so they always return their own operation
+        fillRemainingColumns(large);
+        fillRemainingColumns(small);
+    }
+
+    private static void pushColumn(int column, double[] scaledProbabilities, ColumnStack small, ColumnStack large) {
+        if (scaledProbabilities[column] < 1.0) {
+            small.push(column);
+        } else {
+            large.push(column);
+        }
+    }
+
+    private void fillRemainingColumns(ColumnStack columns) {
+        while (!columns.isEmpty()) {
+            int column = columns.pop();
+            thresholds[column] = THRESHOLD_RANGE;
+            aliases[column] = column;
+        }
+    }
+
+    private static final class ColumnStack {
+
+        private final int[] columns;
+        private int size;
+
+        private ColumnStack(int capacity) {
+            this.columns = new int[capacity];
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void push(int column) {
+            columns[size++] = column;
+        }
+
+        private int pop() {
+            return columns[--size];
         }
     }
 }
@@ -15,6 +15,9 @@
  */
 package com.hazelcast.simulator.worker.tasks;
 
+import com.hazelcast.simulator.worker.metronome.LatencyCorrection;
+import com.hazelcast.simulator.worker.metronome.Metronome;
+
 /**
  * Monotonic version of {@link AbstractWorker}.
  *
@@ -23,11 +26,24 @@ package com.hazelcast.simulator.worker.tasks;
  */
 public abstract class AbstractMonotonicWorker extends AbstractWorker {
 
+    public AbstractMonotonicWorker() {
+    }
+
+    /**
+     * Creates a worker which executes its operations with the schedule of the given {@link Metronome}.
+     *
+     * @param metronome         the {@link Metronome} which defines the schedule of the operations
+     * @param latencyCorrection the {@link LatencyCorrection} to apply to the recorded latencies
+     */
+    public AbstractMonotonicWorker(Metronome metronome, LatencyCorrection latencyCorrection) {
+        super(metronome, latencyCorrection);
+    }
+
     @Override
     public final void doRun() throws Exception {
-        long started = System.nanoTime();
+        long started = waitForNextOperation();
         timeStep();
-        getWorkerProbe().recordValue(System.nanoTime() - started);
+        recordLatency(getWorkerProbe(), started);
 
         increaseIteration();
     }
@@ -16,6 +16,8 @@
 package com.hazelcast.simulator.worker.tasks;
 
 import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.worker.metronome.LatencyCorrection;
+import com.hazelcast.simulator.worker.metronome.Metronome;
 
 /**
  * Monotonic version of {@link AbstractWorker} which allows full control over the built-in {@link Probe}.
@@ -25,8 +27,23 @@ import com.hazelcast.simulator.probes.Probe;
  */
 public abstract class AbstractMonotonicWorkerWithProbeControl extends AbstractWorker {
 
+    public AbstractMonotonicWorkerWithProbeControl() {
+    }
+
+    /**
+     * Creates a worker which executes its operations with the schedule of the given {@link Metronome}.
+     *
+     * Use {@link #getIntendedStartNanos()} to record latencies from the intended start time of an operation.
+     *
+     * @param metronome the {@link Metronome} which defines the schedule of the operations
+     */
+    public AbstractMonotonicWorkerWithProbeControl(Metronome metronome) {
+        super(metronome, LatencyCorrection.NONE);
+    }
+
     @Override
     public final void doRun() throws Exception {
+        waitForNextOperation();
         timeStep(getWorkerProbe());
 
         increaseIteration();
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.worker.tasks;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.simulator.utils.ExceptionReporter;
+import com.hazelcast.simulator.worker.metronome.LatencyCorrection;
+import com.hazelcast.simulator.worker.metronome.Metronome;
+import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
+
+import java.util.concurrent.Semaphore;
+
+import static com.hazelcast.simulator.worker.metronome.MetronomeFactory.withFixedFrequency;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Open-loop asynchronous version of {@link AbstractWorker}.
+ *
+ * The worker submits the asynchronous operation returned by {@link #timeStepAsync(Enum)} without waiting for its completion,
+ * but limits the number of outstanding operations to the configured maximum. An optional {@link Metronome} defines the target
+ * rate of the submitted operations.
+ *
+ * The latency of each operation is recorded in the built-in {@link com.hazelcast.simulator.probes.Probe} from its intended
+ * start time until its {@link ExecutionCallback} is called, so waiting for a free slot is part of the recorded latency. The
+ * {@link Throwable} is automatically reported after each call of {@link ExecutionCallback#onFailure(Throwable)}.
+ *
+ * After the run phase the worker waits for all outstanding operations, before {@link #afterRun()} is called.
+ *
+ * @param <O> Type of {@link Enum} used by the {@link com.hazelcast.simulator.worker.selector.OperationSelector}
+ * @param <V> Type of the result of the asynchronous operations
+ */
+public abstract class AbstractOpenLoopAsyncWorker<O extends Enum<O>, V> extends AbstractWorker<O> {
+
+    private static final long AWAIT_PENDING_OPERATIONS_TIMEOUT_MINUTES = 5;
+
+    private final int maxInFlightOperations;
+    private final Semaphore inFlightOperations;
+
+    /**
+     * Creates a worker which submits its operations as fast as the in-flight limit allows.
+     *
+     * @param operationSelectorBuilder the {@link OperationSelectorBuilder} to select the operations
+     * @param maxInFlightOperations    the maximum number of outstanding operations of this worker
+     */
+    public AbstractOpenLoopAsyncWorker(OperationSelectorBuilder<O> operationSelectorBuilder, int maxInFlightOperations) {
+        this(operationSelectorBuilder, maxInFlightOperations, withFixedFrequency(0));
+    }
+
+    /**
+     * Creates a worker which submits its operations with the target rate of the given {@link Metronome}.
+     *
+     * A {@link com.hazelcast.simulator.worker.metronome.ScheduledMetronome} keeps the target rate if operations are delayed and
+     * records their latency from the intended start time. Other metronomes record the latency from the actual submission.
+     *
+     * @param operationSelectorBuilder the {@link OperationSelectorBuilder} to select the operations
+     * @param maxInFlightOperations    the maximum number of outstanding operations of this worker
+     * @param metronome                the {@link Metronome} which defines the target rate of the operations
+     */
+    public AbstractOpenLoopAsyncWorker(OperationSelectorBuilder<O> operationSelectorBuilder, int maxInFlightOperations,
+                                       Metronome metronome) {
+        super(operationSelectorBuilder, metronome, LatencyCorrection.NONE);
+        if (maxInFlightOperations < 1) {
+            throw new IllegalArgumentException("maxInFlightOperations must be at least 1, but was " + maxInFlightOperations);
+        }
+        this.maxInFlightOperations = maxInFlightOperations;
+        this.inFlightOperations = new Semaphore(maxInFlightOperations);
+    }
+
+    @Override
+    protected final void doRun() throws Exception {
+        waitForNextOperation();
+        long intendedStartNanos = getIntendedStartNanos();
+
+        inFlightOperations.acquire();
+        ICompletableFuture<V> future;
+        try {
+            future = timeStepAsync(getRandomOperation());
+        } catch (Exception e) {
+            inFlightOperations.release();
+            throw e;
+        }
+        future.andThen(new OperationCallback(intendedStartNanos));
+
+        increaseIteration();
+    }
+
+    /**
+     * Fake implementation of abstract method, should not be used.
+     *
+     * @param operation ignored
+     */
+    @Override
+    protected final void timeStep(O operation) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This method is called for each iteration of {@link #run()} and has to submit a single asynchronous operation.
+     *
+     * Won't be called if an error occurs in {@link #beforeRun()}.
+     *
+     * @param operation The selected operation for this iteration
+     * @return the {@link ICompletableFuture} of the submitted operation
+     */
+    protected abstract ICompletableFuture<V> timeStepAsync(O operation) throws Exception;
+
+    /**
+     * Override this method if you need to execute code after the latency of a successful operation has been recorded.
+     *
+     * Is called on the thread which completes the operation, before the operation is removed from the in-flight operations.
+     *
+     * @param response the result of the successful execution
+     */
+    protected void handleResponse(V response) {
+    }
+
+    /**
+     * Override this method if you need to execute code after the throwable of a failed operation has been reported.
+     *
+     * Is called on the thread which completes the operation, before the operation is removed from the in-flight operations.
+     *
+     * @param t the exception that is thrown
+     */
+    protected void handleFailure(Throwable t) {
+    }
+
+    /**
+     * Returns the number of currently outstanding operations of this worker.
+     *
+     * @return the number of outstanding operations
+     */
+    protected final int getInFlightOperations() {
+        return maxInFlightOperations - inFlightOperations.availablePermits();
+    }
+
+    @Override
+    void awaitPendingOperations() throws Exception {
+        if (!inFlightOperations.tryAcquire(maxInFlightOperations, AWAIT_PENDING_OPERATIONS_TIMEOUT_MINUTES, MINUTES)) {
+            LOGGER.warning(format("%d operations have not completed within %d seconds", getInFlightOperations(),
+                    MINUTES.toSeconds(AWAIT_PENDING_OPERATIONS_TIMEOUT_MINUTES)));
+            return;
+        }
+        inFlightOperations.release(maxInFlightOperations);
+    }
+
+    private final class OperationCallback implements ExecutionCallback<V> {
+
+        private final long intendedStartNanos;
+
+        private OperationCallback(long intendedStartNanos) {
+            this.intendedStartNanos = intendedStartNanos;
+        }
+
+        @Override
+        public void onResponse(V response) {
+            try {
+                getWorkerProbe().recordValue(System.nanoTime() - intendedStartNanos);
+                handleResponse(response);
+            } finally {
+                inFlightOperations.release();
+            }
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            try {
+                ExceptionReporter.report(getTestId(), t);
+                handleFailure(t);
+            } finally {
+                inFlightOperations.release();
+            }
+        }
+    }
+}
@@ -21,12 +21,21 @@ import com.hazelcast.simulator.probes.Probe;
 import com.hazelcast.simulator.test.TestContext;
 import com.hazelcast.simulator.test.annotations.InjectProbe;
 import com.hazelcast.simulator.test.annotations.InjectTestContext;
+import com.hazelcast.simulator.worker.distribution.KeyDistribution;
+import com.hazelcast.simulator.worker.distribution.KeyDistributionType;
+import com.hazelcast.simulator.worker.metronome.LatencyCorrection;
+import com.hazelcast.simulator.worker.metronome.LoadProfile;
+import com.hazelcast.simulator.worker.metronome.Metronome;
+import com.hazelcast.simulator.worker.metronome.ScheduledMetronome;
 import com.hazelcast.simulator.worker.selector.OperationSelector;
 import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
 
 import java.util.Random;
 
 import static com.hazelcast.simulator.utils.CommonUtils.rethrow;
+import static com.hazelcast.simulator.worker.distribution.KeyDistributionFactory.create;
+import static com.hazelcast.simulator.worker.metronome.MetronomeFactory.withFixedFrequency;
+import static com.hazelcast.simulator.worker.metronome.MetronomeFactory.withLoadProfile;
 
 /**
  * Base implementation of {@link IWorker} which is returned by {@link com.hazelcast.simulator.test.annotations.RunWithWorker}
@@ -43,6 +52,10 @@ public abstract class AbstractWorker<O extends Enum<O>> implements IWorker {
 
     private final Random random = new Random();
     private final OperationSelector<O> selector;
+    private volatile Metronome metronome;
+    private volatile LatencyCorrection latencyCorrection;
+    private KeyDistributionType keyDistributionType;
+    private KeyDistribution keyDistribution;
 
     @InjectTestContext
     private TestContext testContext;
@@ -50,17 +63,50 @@ public abstract class AbstractWorker<O extends Enum<O>> implements IWorker {
     private Probe workerProbe;
 
     private long iteration;
+    private long intendedStartNanos;
+    private long expectedIntervalNanos;
     private boolean isWorkerStopped;
 
     public AbstractWorker(OperationSelectorBuilder<O> operationSelectorBuilder) {
+        this(operationSelectorBuilder, withFixedFrequency(0), LatencyCorrection.NONE);
+    }
+
+    /**
+     * Creates a worker which executes its operations with the schedule of the given {@link Metronome}.
+     *
+     * @param operationSelectorBuilder the {@link OperationSelectorBuilder} to select the operations
+     * A {@link LatencyCorrection} other than {@link LatencyCorrection#NONE} requires a {@link ScheduledMetronome}, e.g. from
+     * {@link com.hazelcast.simulator.worker.metronome.MetronomeFactory#withFixedScheduleFrequency(float,
+     * com.hazelcast.simulator.worker.metronome.MetronomeType)}, otherwise the latencies are recorded from the actual start.
+     *
+     * @param operationSelectorBuilder the {@link OperationSelectorBuilder} to select the operations
+     * @param metronome                the {@link Metronome} which defines the schedule of the operations
+     * @param latencyCorrection        the {@link LatencyCorrection} to apply to the recorded latencies
+     */
+    public AbstractWorker(OperationSelectorBuilder<O> operationSelectorBuilder, Metronome metronome,
+                          LatencyCorrection latencyCorrection) {
         this.selector = operationSelectorBuilder.build();
+        this.metronome = metronome;
+        this.latencyCorrection = latencyCorrection;
     }
 
     /**
      * This constructor is for inherited classes which don't use the {@link OperationSelectorBuilder}.
      */
     AbstractWorker() {
+        this(withFixedFrequency(0), LatencyCorrection.NONE);
+    }
+
+    /**
+     * This constructor is for inherited classes which don't use the {@link OperationSelectorBuilder}.
+     *
+     * @param metronome         the {@link Metronome} which defines the schedule of the operations
+     * @param latencyCorrection the {@link LatencyCorrection} to apply to the recorded latencies
+     */
+    AbstractWorker(Metronome metronome, LatencyCorrection latencyCorrection) {
         this.selector = null;
+        this.metronome = metronome;
+        this.latencyCorrection = latencyCorrection;
     }
 
     @Override
@@ -70,6 +116,7 @@ public abstract class AbstractWorker<O extends Enum<O>> implements IWorker {
             while ((!testContext.isStopped() && !isWorkerStopped)) {
                 doRun();
             }
+            awaitPendingOperations();
             afterRun();
         } catch (Exception e) {
             throw rethrow(e);
@@ -77,13 +124,30 @@ public abstract class AbstractWorker<O extends Enum<O>> implements IWorker {
     }
 
     protected void doRun() throws Exception {
-        long started = System.nanoTime();
+        long started = waitForNextOperation();
         timeStep(selector.select());
-        workerProbe.recordValue(System.nanoTime() - started);
+        recordLatency(workerProbe, started);
 
         increaseIteration();
     }
 
+    /**
+     * Replaces the {@link Metronome} of this worker with a {@link Metronome} which follows the given {@link LoadProfile}.
+     *
+     * Is called by the {@link com.hazelcast.simulator.test.TestContainer} before the worker is started, if a load profile is
+     * configured for the test, or while the worker is running, if the target throughput of the test is changed. Since the
+     * operations have a fixed schedule then, latencies are recorded from the intended start time, unless the worker uses
+     * another {@link LatencyCorrection}.
+     *
+     * @param loadProfile the {@link LoadProfile} for this worker
+     */
+    public final void setLoadProfile(LoadProfile loadProfile) {
+        this.metronome = withLoadProfile(loadProfile);
+        if (latencyCorrection == LatencyCorrection.NONE) {
+            this.latencyCorrection = LatencyCorrection.INTENDED_START_TIME;
+        }
+    }
+
     /**
      * Stops the local worker, regardless of the {@link TestContext} stopped status.
      *
@@ -164,6 +228,24 @@ public abstract class AbstractWorker<O extends Enum<O>> implements IWorker {
         return random.nextInt(upperBond);
     }
 
+    /**
+     * Returns the index of the next key to access, selected by a {@link KeyDistribution} of the given type.
+     *
+     * The {@link KeyDistribution} is created on the first call and re-created if the type or the key count change. It uses
+     * the internal Random instance, so {@link KeyDistributionType#UNIFORM} is equivalent to {@link #randomInt(int)}.
+     *
+     * @param type     the {@link KeyDistributionType}, usually configured via a test property
+     * @param keyCount the number of keys
+     * @return the key index between {@code 0} (inclusive) and {@code keyCount} (exclusive)
+     */
+    protected final int nextKeyIndex(KeyDistributionType type, int keyCount) {
+        if (keyDistribution == null || keyDistributionType != type || keyDistribution.getKeyCount() != keyCount) {
+            keyDistribution = create(type, keyCount, random);
+            keyDistributionType = type;
+        }
+        return keyDistribution.nextKeyIndex();
+    }
+
     /**
      * Returns the inner {@link Random} instance to call methods which are not implemented.
      *
@@ -173,6 +255,19 @@ public abstract class AbstractWorker<O extends Enum<O>> implements IWorker {
         return random;
     }
 
+    /**
+     * Returns the intended start time of the current operation.
+     *
+     * This is the scheduled time of a {@link ScheduledMetronome} or the actual start time of the operation if the
+     * {@link Metronome} has no fixed schedule. It can be used to record latencies which are corrected for coordinated omission,
+     * e.g. via {@link Probe#done(long)} in workers with probe control.
+     *
+     * @return the intended start time in nanoseconds based on {@link System#nanoTime()}
+     */
+    protected final long getIntendedStartNanos() {
+        return intendedStartNanos;
+    }
+
     /**
      * Returns the iteration count of the worker.
      *
@@ -182,10 +277,46 @@ public abstract class AbstractWorker<O extends Enum<O>> implements IWorker {
         return iteration;
     }
 
+    /**
+     * Is called after the last {@link #doRun()} and before {@link #afterRun()}, so asynchronous workers can wait for their
+     * outstanding operations.
+     */
+    void awaitPendingOperations() throws Exception {
+    }
+
     void increaseIteration() {
         iteration++;
     }
 
+    long waitForNextOperation() {
+        Metronome localMetronome = metronome;
+        localMetronome.waitForNext();
+        long started = System.nanoTime();
+        if (localMetronome instanceof ScheduledMetronome) {
+            ScheduledMetronome scheduledMetronome = (ScheduledMetronome) localMetronome;
+            intendedStartNanos = scheduledMetronome.getIntendedStartNanos();
+            expectedIntervalNanos = scheduledMetronome.getIntervalNanos();
+        } else {
+            intendedStartNanos = started;
+            expectedIntervalNanos = 0;
+        }
+        return started;
+    }
+
+    void recordLatency(Probe probe, long started) {
+        long now = System.nanoTime();
+        switch (latencyCorrection) {
+            case INTENDED_START_TIME:
+                probe.recordValue(now - intendedStartNanos);
+                break;
+            case EXPECTED_INTERVAL:
+                probe.recordValue(now - started, expectedIntervalNanos);
+                break;
+            default:
+                probe.recordValue(now - started);
+        }
+    }
+
     O getRandomOperation() {
         return selector.select();
     }
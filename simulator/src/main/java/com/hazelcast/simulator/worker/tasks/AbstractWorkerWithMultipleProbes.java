@@ -16,6 +16,8 @@
 package com.hazelcast.simulator.worker.tasks;
 
 import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.worker.metronome.LatencyCorrection;
+import com.hazelcast.simulator.worker.metronome.Metronome;
 import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
 
 import java.util.Map;
@@ -41,6 +43,19 @@ public abstract class AbstractWorkerWithMultipleProbes<O extends Enum<O>> extend
         this.operationSelectorBuilder = operationSelectorBuilder;
     }
 
+    /**
+     * Creates a worker which executes its operations with the schedule of the given {@link Metronome}.
+     *
+     * Use {@link #getIntendedStartNanos()} to record latencies from the intended start time of an operation.
+     *
+     * @param operationSelectorBuilder the {@link OperationSelectorBuilder} to select the operations
+     * @param metronome                the {@link Metronome} which defines the schedule of the operations
+     */
+    public AbstractWorkerWithMultipleProbes(OperationSelectorBuilder<O> operationSelectorBuilder, Metronome metronome) {
+        super(operationSelectorBuilder, metronome, LatencyCorrection.NONE);
+        this.operationSelectorBuilder = operationSelectorBuilder;
+    }
+
     @Override
     public Set<? extends Enum> getOperations() {
         return operationSelectorBuilder.getOperations();
@@ -53,6 +68,7 @@ public abstract class AbstractWorkerWithMultipleProbes<O extends Enum<O>> extend
 
     @Override
     protected void doRun() throws Exception {
+        waitForNextOperation();
         O operation = getRandomOperation();
         Probe probe = probeMap.get(operation);
 
@@ -16,6 +16,8 @@
 package com.hazelcast.simulator.worker.tasks;
 
 import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.worker.metronome.LatencyCorrection;
+import com.hazelcast.simulator.worker.metronome.Metronome;
 import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
 
 /**
@@ -32,8 +34,21 @@ public abstract class AbstractWorkerWithProbeControl<O extends Enum<O>> extends
         super(operationSelectorBuilder);
     }
 
+    /**
+     * Creates a worker which executes its operations with the schedule of the given {@link Metronome}.
+     *
+     * Use {@link #getIntendedStartNanos()} to record latencies from the intended start time of an operation.
+     *
+     * @param operationSelectorBuilder the {@link OperationSelectorBuilder} to select the operations
+     * @param metronome                the {@link Metronome} which defines the schedule of the operations
+     */
+    public AbstractWorkerWithProbeControl(OperationSelectorBuilder<O> operationSelectorBuilder, Metronome metronome) {
+        super(operationSelectorBuilder, metronome, LatencyCorrection.NONE);
+    }
+
     @Override
     protected void doRun() throws Exception {
+        waitForNextOperation();
         timeStep(getRandomOperation(), getWorkerProbe());
 
         increaseIteration();
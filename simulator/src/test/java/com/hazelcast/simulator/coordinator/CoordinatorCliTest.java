@@ -23,6 +23,7 @@ import static com.hazelcast.simulator.utils.FileUtils.writeText;
 import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class CoordinatorCliTest {
@@ -275,6 +276,68 @@ public class CoordinatorCliTest {
         assertEquals(TestPhase.LOCAL_VERIFY, coordinator.getCoordinatorParameters().getLastTestPhaseToSync());
     }
 
+    @Test
+    public void testInit_throughputSearch() {
+        args.add("--duration");
+        args.add("10m");
+        args.add("--monitorPerformance");
+        args.add("--throughputSearchLatency");
+        args.add("1000");
+        args.add("--throughputSearchMaxThroughput");
+        args.add("5000");
+
+        Coordinator coordinator = createCoordinator();
+
+        ThroughputSearchParameters parameters = coordinator.getCoordinatorParameters().getThroughputSearchParameters();
+        assertEquals(1000, parameters.getLatencyLimitMicros());
+        assertEquals(99.0, parameters.getLatencyPercentile(), 0.0001);
+        assertEquals(5000, parameters.getMaxThroughput(), 0.0001);
+        assertEquals(8, parameters.getSteps());
+    }
+
+    @Test
+    public void testInit_throughputSearch_disabled() {
+        args.add("--duration");
+        args.add("10m");
+
+        Coordinator coordinator = createCoordinator();
+
+        assertNull(coordinator.getCoordinatorParameters().getThroughputSearchParameters());
+    }
+
+    @Test(expected = CommandLineExitException.class)
+    public void testInit_throughputSearch_withoutMonitorPerformance() {
+        args.add("--duration");
+        args.add("10m");
+        args.add("--throughputSearchLatency");
+        args.add("1000");
+
+        createCoordinator();
+    }
+
+    @Test(expected = CommandLineExitException.class)
+    public void testInit_throughputSearch_withoutDuration() {
+        args.add("--waitForTestCaseCompletion");
+        args.add("--monitorPerformance");
+        args.add("--throughputSearchLatency");
+        args.add("1000");
+
+        createCoordinator();
+    }
+
+    @Test(expected = CommandLineExitException.class)
+    public void testInit_throughputSearch_invalidSteps() {
+        args.add("--duration");
+        args.add("10m");
+        args.add("--monitorPerformance");
+        args.add("--throughputSearchLatency");
+        args.add("1000");
+        args.add("--throughputSearchSteps");
+        args.add("0");
+
+        createCoordinator();
+    }
+
     @Test
     public void testInit_git() {
         args.add("--waitForTestCaseCompletion");
@@ -1,20 +1,29 @@
 package com.hazelcast.simulator.coordinator;
 
+import com.hazelcast.simulator.probes.ProbeResolution;
 import com.hazelcast.simulator.protocol.core.AddressLevel;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.utils.FormatUtils;
+import com.hazelcast.simulator.worker.performance.PauseState;
 import com.hazelcast.simulator.worker.performance.PerformanceState;
+import org.HdrHistogram.Histogram;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.simulator.coordinator.PerformanceStateContainer.LATENCY_FORMAT_LENGTH;
 import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
 import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static com.hazelcast.simulator.utils.FormatUtils.formatLong;
+import static javax.xml.bind.DatatypeConverter.printBase64Binary;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -105,6 +114,126 @@ public class PerformanceStateContainerTest {
         assertFalse(performance.contains("µs"));
     }
 
+    @Test
+    public void testGetPerformanceNumbers_withIntervalHistograms() {
+        // worker1 has a low tail latency, worker2 has a few slow operations
+        Histogram histogram1 = new Histogram(4);
+        histogram1.recordValueWithCount(100, 9990);
+        Histogram histogram2 = new Histogram(4);
+        histogram2.recordValueWithCount(100, 990);
+        histogram2.recordValueWithCount(5000, 10);
+
+        updateIntervalHistograms(TEST_CASE_ID_1, "probe", histogram1, ProbeResolution.MICROSECONDS);
+        updateIntervalHistograms(TEST_CASE_ID_1, "probe", histogram2, ProbeResolution.MICROSECONDS);
+
+        // the 99.9th percentile of the merged histogram is not the maximum of the percentiles per Worker
+        String performance = performanceStateContainer.getPerformanceNumbers(TEST_CASE_ID_1);
+        assertTrue(performance.contains(formatLong(100, LATENCY_FORMAT_LENGTH) + " µs (99.9th)"));
+        assertTrue(performance.contains(formatLong(5000, LATENCY_FORMAT_LENGTH) + " µs (max)"));
+    }
+
+    @Test
+    public void testGetPerformanceNumbers_withIntervalHistograms_inNanoseconds() {
+        Histogram histogram = new Histogram(4);
+        histogram.recordValueWithCount(300000, 1000);
+
+        updateIntervalHistograms(TEST_CASE_ID_1, "probe", histogram, ProbeResolution.NANOSECONDS);
+
+        String performance = performanceStateContainer.getPerformanceNumbers(TEST_CASE_ID_1);
+        assertTrue(performance.contains(formatLong(300, LATENCY_FORMAT_LENGTH) + " µs (max)"));
+    }
+
+    @Test
+    public void testGetPerformanceNumbers_withPauseStates() {
+        performanceStateContainer.updatePauseState(Collections.singleton(TEST_CASE_ID_1), new PauseState(0, 2, 120, 90, 5, 130));
+        performanceStateContainer.updatePauseState(Collections.singleton(TEST_CASE_ID_1),
+                new PauseState(0, 3, 150, PauseState.NOT_AVAILABLE, PauseState.NOT_AVAILABLE, PauseState.NOT_AVAILABLE));
+
+        String performance = performanceStateContainer.getPerformanceNumbers(TEST_CASE_ID_1);
+        assertTrue(performance.contains(formatLong(150, LATENCY_FORMAT_LENGTH) + " ms (gc max)"));
+        assertTrue(performance.contains(formatLong(5, LATENCY_FORMAT_LENGTH) + " gcs"));
+    }
+
+    @Test
+    public void testGetPauseNumbers() {
+        performanceStateContainer.updatePauseState(Collections.singleton(TEST_CASE_ID_1), new PauseState(0, 1, 40, 40, 2, 45));
+        performanceStateContainer.updatePauseState(Collections.singleton(TEST_CASE_ID_2), null);
+
+        assertTrue(performanceStateContainer.getPauseNumbers(TEST_CASE_ID_1).contains("(gc max)"));
+        assertEquals("", performanceStateContainer.getPauseNumbers(TEST_CASE_ID_1));
+        assertEquals("", performanceStateContainer.getPauseNumbers(TEST_CASE_ID_2));
+        assertEquals("", performanceStateContainer.getPauseNumbers("notFound"));
+    }
+
+    @Test
+    public void testGetPauseNumbers_keepsLatestPausesIfNotRetrieved() {
+        performanceStateContainer.updatePauseState(Collections.singleton(TEST_CASE_ID_1), new PauseState(0, 1, 500, 500, 2, 45));
+        for (int i = 0; i < PerformanceStateContainer.MAX_QUEUED_INTERVALS; i++) {
+            performanceStateContainer.updatePauseState(Collections.singleton(TEST_CASE_ID_1), new PauseState(0, 1, 40, 40, 2, 45));
+        }
+
+        String pauses = performanceStateContainer.getPauseNumbers(TEST_CASE_ID_1);
+        assertTrue(pauses.contains(formatLong(40, LATENCY_FORMAT_LENGTH) + " ms (gc max)"));
+        assertTrue(pauses.contains(formatLong(PerformanceStateContainer.MAX_QUEUED_INTERVALS, LATENCY_FORMAT_LENGTH) + " gcs"));
+    }
+
+    @Test
+    public void testGetIntervalHistogramsForTestCase() {
+        Histogram histogram1 = new Histogram(4);
+        histogram1.recordValueWithCount(100, 500);
+        Histogram histogram2 = new Histogram(4);
+        histogram2.recordValueWithCount(200, 300);
+
+        updateIntervalHistograms(TEST_CASE_ID_1, "probe", histogram1, ProbeResolution.MICROSECONDS);
+        updateIntervalHistograms(TEST_CASE_ID_1, "probe", histogram2, ProbeResolution.MICROSECONDS);
+        updateIntervalHistograms(TEST_CASE_ID_2, "otherProbe", histogram2, ProbeResolution.MICROSECONDS);
+
+        Map<String, Histogram> intervalHistograms = performanceStateContainer.getIntervalHistogramsForTestCase(TEST_CASE_ID_1);
+        assertEquals(1, intervalHistograms.size());
+
+        Histogram merged = intervalHistograms.get("probe");
+        assertEquals(800, merged.getTotalCount());
+        assertEquals(100, merged.getMinValue());
+        assertEquals(200, merged.getMaxValue());
+
+        // the queue of interval histograms has been swapped
+        assertTrue(performanceStateContainer.getIntervalHistogramsForTestCase(TEST_CASE_ID_1).isEmpty());
+    }
+
+    @Test
+    public void testGetIntervalHistogramsForTestCase_keepsLatestIntervalsIfNotRetrieved() {
+        Histogram oldHistogram = new Histogram(4);
+        oldHistogram.recordValue(5000);
+        Histogram histogram = new Histogram(4);
+        histogram.recordValue(100);
+
+        updateIntervalHistograms(TEST_CASE_ID_1, "probe", oldHistogram, ProbeResolution.MICROSECONDS);
+        for (int i = 0; i < PerformanceStateContainer.MAX_QUEUED_INTERVALS; i++) {
+            updateIntervalHistograms(TEST_CASE_ID_1, "probe", histogram, ProbeResolution.MICROSECONDS);
+        }
+
+        Histogram merged = performanceStateContainer.getIntervalHistogramsForTestCase(TEST_CASE_ID_1).get("probe");
+        assertEquals(PerformanceStateContainer.MAX_QUEUED_INTERVALS, merged.getTotalCount());
+        assertEquals(100, merged.getMaxValue());
+    }
+
+    @Test
+    public void testGetIntervalHistogramsForTestCase_testCaseNotFound() {
+        assertTrue(performanceStateContainer.getIntervalHistogramsForTestCase("notFound").isEmpty());
+    }
+
+    @Test
+    public void testGetIntervalHistogramsForTestCase_invalidHistogram() {
+        Map<String, String> probeHistograms = new HashMap<String, String>();
+        probeHistograms.put("probe", "invalid");
+        Map<String, Map<String, String>> intervalHistograms = new HashMap<String, Map<String, String>>();
+        intervalHistograms.put(TEST_CASE_ID_1, probeHistograms);
+
+        performanceStateContainer.updateIntervalHistograms(intervalHistograms, new HashMap<String, ProbeResolution>());
+
+        assertTrue(performanceStateContainer.getIntervalHistogramsForTestCase(TEST_CASE_ID_1).isEmpty());
+    }
+
     @Test
     public void testGetPerformanceStateForTestCase() {
         PerformanceState performanceState = performanceStateContainer.getPerformanceStateForTestCase(TEST_CASE_ID_1);
@@ -224,4 +353,19 @@ public class PerformanceStateContainerTest {
         assertEquals(0, agentPerformanceStateMap.size());
         assertTrue(totalPerformanceState.isEmpty());
     }
+
+    private void updateIntervalHistograms(String testCaseId, String probeName, Histogram histogram,
+                                          ProbeResolution probeResolution) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+
+        Map<String, String> probeHistograms = new HashMap<String, String>();
+        probeHistograms.put(probeName, printBase64Binary(Arrays.copyOf(buffer.array(), length)));
+        Map<String, Map<String, String>> intervalHistograms = new HashMap<String, Map<String, String>>();
+        intervalHistograms.put(testCaseId, probeHistograms);
+        Map<String, ProbeResolution> probeResolutions = new HashMap<String, ProbeResolution>();
+        probeResolutions.put(testCaseId, probeResolution);
+
+        performanceStateContainer.updateIntervalHistograms(intervalHistograms, probeResolutions);
+    }
 }
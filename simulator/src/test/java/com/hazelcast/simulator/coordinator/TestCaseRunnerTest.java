@@ -4,8 +4,10 @@ import com.hazelcast.simulator.agent.workerjvm.WorkerJvmSettings;
 import com.hazelcast.simulator.common.AgentsFile;
 import com.hazelcast.simulator.common.JavaProfiler;
 import com.hazelcast.simulator.common.SimulatorProperties;
+import com.hazelcast.simulator.probes.binary.ResultBinaryUtils;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.operation.FailureOperation;
+import com.hazelcast.simulator.protocol.operation.SetTargetThroughputOperation;
 import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
 import com.hazelcast.simulator.protocol.registry.ComponentRegistry;
 import com.hazelcast.simulator.protocol.registry.TestData;
@@ -28,11 +30,13 @@ import static com.hazelcast.simulator.test.FailureType.WORKER_EXCEPTION;
 import static com.hazelcast.simulator.test.FailureType.WORKER_FINISHED;
 import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
 import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.atMost;
@@ -53,6 +57,7 @@ public class TestCaseRunnerTest {
     private boolean parallel = false;
     private boolean verifyEnabled = true;
     private boolean monitorPerformance = false;
+    private ThroughputSearchParameters throughputSearchParameters;
 
     @BeforeClass
     public static void prepareEnvironment() {
@@ -86,8 +91,9 @@ public class TestCaseRunnerTest {
     public void cleanUp() {
         deleteQuiet(AgentsFile.NAME);
         deleteQuiet("failures-" + testSuite.getId() + ".txt");
-        deleteQuiet("probes-" + testSuite.getId() + "_CoordinatorTest1.xml");
-        deleteQuiet("probes-" + testSuite.getId() + "_CoordinatorTest2.xml");
+        deleteQuiet("probes-" + testSuite.getId() + "_CoordinatorTest1." + ResultBinaryUtils.FILE_EXTENSION);
+        deleteQuiet("probes-" + testSuite.getId() + "_CoordinatorTest2." + ResultBinaryUtils.FILE_EXTENSION);
+        deleteQuiet(TestCaseRunner.MAX_SUSTAINABLE_THROUGHPUT_FILE_NAME);
     }
 
     @Test
@@ -244,6 +250,46 @@ public class TestCaseRunnerTest {
         verifyRemoteClient(coordinator);
     }
 
+    @Test
+    public void runTestSuiteSequential_withThroughputSearch() {
+        TestCase testCase = new TestCase("CoordinatorTest");
+
+        testSuite = new TestSuite();
+        testSuite.addTest(testCase);
+        testSuite.setDurationSeconds(6);
+
+        monitorPerformance = true;
+        throughputSearchParameters = new ThroughputSearchParameters(1000, 99, 1000, 1);
+
+        Coordinator coordinator = createCoordinator();
+        coordinator.runTestSuite();
+
+        // the target throughput is set before the test is started and in the single step of the search
+        verify(remoteClient, times(2)).sendToTestOnAllWorkers(anyString(), isA(SetTargetThroughputOperation.class));
+        // no performance data was received, so the target throughput is not sustainable
+        assertEquals("CoordinatorTest 0.00", fileAsText(TestCaseRunner.MAX_SUSTAINABLE_THROUGHPUT_FILE_NAME).trim());
+    }
+
+    @Test
+    public void runTestSuiteSequential_withThroughputSearch_abortsOnFailureWithFailFast() {
+        TestCase testCase = new TestCase("CoordinatorTest");
+
+        testSuite = new TestSuite();
+        testSuite.addTest(testCase);
+        testSuite.setDurationSeconds(6);
+        testSuite.setFailFast(true);
+
+        monitorPerformance = true;
+        throughputSearchParameters = new ThroughputSearchParameters(1000, 99, 1000, 1);
+
+        Coordinator coordinator = createCoordinator();
+        // the failure of another test aborts the search before its first step
+        coordinator.getFailureContainer().addFailureOperation(criticalFailureOperation);
+        coordinator.runTestSuite();
+
+        verify(remoteClient, times(1)).sendToTestOnAllWorkers(anyString(), isA(SetTargetThroughputOperation.class));
+    }
+
     private Coordinator createCoordinator() {
         return createCoordinator(true);
     }
@@ -262,6 +308,7 @@ public class TestCaseRunnerTest {
         when(coordinatorParameters.isVerifyEnabled()).thenReturn(verifyEnabled);
         when(coordinatorParameters.isParallel()).thenReturn(parallel);
         when(coordinatorParameters.isRefreshJvm()).thenReturn(false);
+        when(coordinatorParameters.getThroughputSearchParameters()).thenReturn(throughputSearchParameters);
 
         ClusterLayoutParameters clusterLayoutParameters = mock(ClusterLayoutParameters.class);
         when(clusterLayoutParameters.getDedicatedMemberMachineCount()).thenReturn(0);
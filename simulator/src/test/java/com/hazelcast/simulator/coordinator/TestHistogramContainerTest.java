@@ -1,5 +1,8 @@
 package com.hazelcast.simulator.coordinator;
 
+import com.hazelcast.simulator.probes.ProbeResolution;
+import com.hazelcast.simulator.probes.binary.ResultBinaryUtils;
+import com.hazelcast.simulator.probes.xml.ResultXmlUtils;
 import com.hazelcast.simulator.protocol.core.AddressLevel;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.worker.performance.PerformanceState;
@@ -19,6 +22,7 @@ import static com.hazelcast.simulator.probes.impl.ProbeImpl.LATENCY_PRECISION;
 import static com.hazelcast.simulator.probes.impl.ProbeImpl.MAXIMUM_LATENCY;
 import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
 import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -26,17 +30,19 @@ import static org.mockito.Mockito.when;
 
 public class TestHistogramContainerTest {
 
-    private File probeFile = new File("probes-testSuiteId_testId.xml");
+    private File probeFile = new File("probes-testSuiteId_testId." + ResultBinaryUtils.FILE_EXTENSION);
+    private File probeXmlFile = new File("probes-testSuiteId_testId.xml");
     private SimulatorAddress workerAddress1 = new SimulatorAddress(AddressLevel.WORKER, 1, 1, 0);
     private SimulatorAddress workerAddress2 = new SimulatorAddress(AddressLevel.WORKER, 1, 2, 0);
 
+    private PerformanceStateContainer performanceStateContainer;
     private TestHistogramContainer testHistogramContainer;
 
     @Before
     public void setUp() {
         PerformanceState performanceState = new PerformanceState();
 
-        PerformanceStateContainer performanceStateContainer = mock(PerformanceStateContainer.class);
+        performanceStateContainer = mock(PerformanceStateContainer.class);
         when(performanceStateContainer.getPerformanceStateForTestCase("testId")).thenReturn(performanceState);
 
         testHistogramContainer = new TestHistogramContainer(performanceStateContainer);
@@ -45,6 +51,7 @@ public class TestHistogramContainerTest {
     @After
     public void tearDown() {
         deleteQuiet(probeFile);
+        deleteQuiet(probeXmlFile);
     }
 
     @Test
@@ -57,6 +64,31 @@ public class TestHistogramContainerTest {
 
         testHistogramContainer.createProbeResults("testSuiteId", "testId");
         assertTrue(probeFile.exists());
+        assertFalse(probeXmlFile.exists());
+    }
+
+    @Test
+    public void testCreateProbeResults_exportAsXml() {
+        testHistogramContainer = new TestHistogramContainer(performanceStateContainer, true);
+
+        String histogram = createEncodedHistogram();
+        testHistogramContainer.addTestHistograms(workerAddress1, "testId", singletonMap("workerProbe", histogram));
+
+        testHistogramContainer.createProbeResults("testSuiteId", "testId");
+        assertTrue(probeFile.exists());
+        assertTrue(probeXmlFile.exists());
+        assertEquals(ResultBinaryUtils.fromBinary(probeFile).getHistogram("workerProbe"),
+                ResultXmlUtils.fromXml(probeXmlFile).getHistogram("workerProbe"));
+    }
+
+    @Test
+    public void testCreateProbeResults_withProbeResolution() {
+        String histogram = createEncodedHistogram();
+        testHistogramContainer.addTestHistograms(workerAddress1, "testId", singletonMap("workerProbe", histogram),
+                ProbeResolution.NANOSECONDS);
+
+        testHistogramContainer.createProbeResults("testSuiteId", "testId");
+        assertEquals(ProbeResolution.NANOSECONDS, ResultBinaryUtils.fromBinary(probeFile).getResolution());
     }
 
     @Test
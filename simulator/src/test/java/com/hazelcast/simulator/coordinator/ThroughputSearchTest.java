@@ -0,0 +1,96 @@
+package com.hazelcast.simulator.coordinator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ThroughputSearchTest {
+
+    private static final double DELTA = 0.0001;
+
+    @Test
+    public void testSearch_maxThroughputIsSustainable() {
+        ThroughputSearch search = new ThroughputSearch(new ThroughputSearchParameters(1000, 99, 1000, 8));
+
+        assertTrue(search.hasNextStep());
+        assertEquals(1000, search.getTargetThroughput(), DELTA);
+        assertTrue(search.addResult(1000, 500));
+
+        assertFalse(search.hasNextStep());
+        assertEquals(1000, search.getMaxSustainableThroughput(), DELTA);
+    }
+
+    @Test
+    public void testSearch_binarySearch() {
+        // the system under test can sustain up to 700 ops/s
+        ThroughputSearch search = new ThroughputSearch(new ThroughputSearchParameters(1000, 99, 1000, 4));
+
+        assertEquals(1000, search.getTargetThroughput(), DELTA);
+        assertFalse(search.addResult(1000, 5000));
+
+        assertEquals(500, search.getTargetThroughput(), DELTA);
+        assertTrue(search.addResult(500, 200));
+
+        assertEquals(750, search.getTargetThroughput(), DELTA);
+        assertFalse(search.addResult(750, 1500));
+
+        assertEquals(625, search.getTargetThroughput(), DELTA);
+        assertTrue(search.addResult(625, 300));
+
+        assertFalse(search.hasNextStep());
+        assertEquals(4, search.getStep());
+        assertEquals(625, search.getMaxSustainableThroughput(), DELTA);
+    }
+
+    @Test
+    public void testSearch_stopsWhenPrecisionIsReached() {
+        ThroughputSearch search = new ThroughputSearch(new ThroughputSearchParameters(1000, 99, 1000, 100));
+
+        while (search.hasNextStep()) {
+            double targetThroughput = search.getTargetThroughput();
+            search.addResult(targetThroughput, targetThroughput > 300 ? 2000 : 100);
+        }
+
+        assertTrue(search.getStep() < 100);
+        assertEquals(300, search.getMaxSustainableThroughput(), 300 * ThroughputSearch.PRECISION);
+    }
+
+    @Test
+    public void testSearch_notSustainable_withoutLatency() {
+        ThroughputSearch search = new ThroughputSearch(new ThroughputSearchParameters(1000, 99, 1000, 1));
+
+        assertFalse(search.addResult(1000, -1));
+        assertFalse(search.hasNextStep());
+        assertEquals(0, search.getMaxSustainableThroughput(), DELTA);
+    }
+
+    @Test
+    public void testSearch_notSustainable_withLowThroughput() {
+        ThroughputSearch search = new ThroughputSearch(new ThroughputSearchParameters(1000, 99, 1000, 8));
+
+        assertFalse(search.addResult(500, 100));
+        assertEquals(500, search.getTargetThroughput(), DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParameters_invalidLatencyLimit() {
+        new ThroughputSearchParameters(0, 99, 1000, 8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParameters_invalidPercentile() {
+        new ThroughputSearchParameters(1000, 101, 1000, 8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParameters_invalidMaxThroughput() {
+        new ThroughputSearchParameters(1000, 99, 0, 8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParameters_invalidSteps() {
+        new ThroughputSearchParameters(1000, 99, 1000, 0);
+    }
+}
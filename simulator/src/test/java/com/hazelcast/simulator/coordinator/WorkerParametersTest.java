@@ -54,6 +54,7 @@ public class WorkerParametersTest {
         assertTrue(workerParameters.isAutoCreateHzInstance());
         assertEquals(2342, workerParameters.getWorkerStartupTimeout());
         assertEquals(1234, workerParameters.getWorkerPerformanceMonitorIntervalSeconds());
+        assertEquals(100, workerParameters.getWorkerPerformanceMonitorSampleIntervalMillis());
         assertEquals(HazelcastJARs.OUT_OF_THE_BOX, workerParameters.getHazelcastVersionSpec());
 
         assertEquals("memberJvmOptions", workerParameters.getMemberJvmOptions());
@@ -0,0 +1,113 @@
+package com.hazelcast.simulator.protocol;
+
+import com.hazelcast.simulator.protocol.core.Response;
+import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import com.hazelcast.simulator.utils.ThreadSpawner;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.simulator.TestEnvironmentUtils.resetLogLevel;
+import static com.hazelcast.simulator.TestEnvironmentUtils.setLogLevel;
+import static com.hazelcast.simulator.protocol.ProtocolUtil.assertAllTargets;
+import static com.hazelcast.simulator.protocol.ProtocolUtil.assertEmptyFutureMaps;
+import static com.hazelcast.simulator.protocol.ProtocolUtil.assertSingleTarget;
+import static com.hazelcast.simulator.protocol.ProtocolUtil.sendFromCoordinator;
+import static com.hazelcast.simulator.protocol.ProtocolUtil.startSimulatorComponents;
+import static com.hazelcast.simulator.protocol.ProtocolUtil.stopSimulatorComponents;
+import static com.hazelcast.simulator.protocol.core.AddressLevel.WORKER;
+import static com.hazelcast.simulator.protocol.core.ResponseType.SUCCESS;
+import static java.lang.String.format;
+
+/**
+ * Measures the throughput of messages, which are relayed by an Agent to its Workers.
+ */
+public class ProtocolRelayThroughputTest {
+
+    private static final int NUMBER_OF_WORKERS = 8;
+    private static final int NUMBER_OF_THREADS = 8;
+    private static final int MESSAGES_PER_THREAD = 500;
+
+    private static final int DEFAULT_TEST_TIMEOUT_MILLIS = 60000;
+
+    private static final Logger LOGGER = Logger.getLogger(ProtocolRelayThroughputTest.class);
+
+    @BeforeClass
+    public static void setUp() {
+        setLogLevel(Level.INFO);
+
+        startSimulatorComponents(1, NUMBER_OF_WORKERS, 1);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        stopSimulatorComponents();
+
+        resetLogLevel();
+    }
+
+    @After
+    public void commonAsserts() {
+        assertEmptyFutureMaps();
+    }
+
+    @Test(timeout = DEFAULT_TEST_TIMEOUT_MILLIS)
+    public void relayToSingleWorker() {
+        runBenchmark("relayToSingleWorker", new MessageSender() {
+            private final Random random = new Random();
+
+            @Override
+            public void send() {
+                SimulatorAddress destination = new SimulatorAddress(WORKER, 1, random.nextInt(NUMBER_OF_WORKERS) + 1, 0);
+                Response response = sendFromCoordinator(destination);
+
+                assertSingleTarget(response, destination, SUCCESS);
+            }
+        });
+    }
+
+    @Test(timeout = DEFAULT_TEST_TIMEOUT_MILLIS)
+    public void relayToAllWorkers() {
+        final SimulatorAddress destination = new SimulatorAddress(WORKER, 1, 0, 0);
+        runBenchmark("relayToAllWorkers", new MessageSender() {
+            @Override
+            public void send() {
+                Response response = sendFromCoordinator(destination);
+
+                assertAllTargets(response, destination, SUCCESS, NUMBER_OF_WORKERS);
+            }
+        });
+    }
+
+    private static void runBenchmark(String name, final MessageSender sender) {
+        ThreadSpawner spawner = new ThreadSpawner(name, true);
+        long started = System.nanoTime();
+        for (int i = 0; i < NUMBER_OF_THREADS; i++) {
+            spawner.spawn(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < MESSAGES_PER_THREAD; j++) {
+                        sender.send();
+                    }
+                }
+            });
+        }
+        spawner.awaitCompletion();
+
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        int messages = NUMBER_OF_THREADS * MESSAGES_PER_THREAD;
+        LOGGER.info(format("%s: %d messages in %d ms (%.0f messages/s)", name, messages, elapsedMillis,
+                messages * 1000d / elapsedMillis));
+    }
+
+    private interface MessageSender {
+
+        void send();
+    }
+}
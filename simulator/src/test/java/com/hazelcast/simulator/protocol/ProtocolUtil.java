@@ -12,7 +12,7 @@ import com.hazelcast.simulator.protocol.connector.ServerConnector;
 import com.hazelcast.simulator.protocol.connector.WorkerConnector;
 import com.hazelcast.simulator.protocol.core.AddressLevel;
 import com.hazelcast.simulator.protocol.core.Response;
-import com.hazelcast.simulator.protocol.core.ResponseFuture;
+import com.hazelcast.simulator.protocol.core.ResponseFutureRegistry;
 import com.hazelcast.simulator.protocol.core.ResponseType;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.exception.ExceptionLogger;
@@ -29,7 +29,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.concurrent.ConcurrentMap;
 
 import static com.hazelcast.simulator.TestEnvironmentUtils.deleteLogs;
 import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
@@ -248,10 +247,10 @@ class ProtocolUtil {
 
     private static <C extends ServerConnector> void assertEmptyFutureMaps(List<C> connectorList, String connectorName) {
         for (C connector : connectorList) {
-            ConcurrentMap<String, ResponseFuture> futureMap = connector.getFutureMap();
-            int futureMapSize = futureMap.size();
-            if (futureMapSize > 0) {
-                LOGGER.error("Future entries: " + futureMap.toString());
+            ResponseFutureRegistry futureRegistry = connector.getFutureRegistry();
+            int futureRegistrySize = futureRegistry.size();
+            if (futureRegistrySize > 0) {
+                LOGGER.error("Future entries: " + futureRegistry.toString());
                 fail(format("FutureMap of %s %s is not empty", connectorName, connector.getAddress()));
             }
         }
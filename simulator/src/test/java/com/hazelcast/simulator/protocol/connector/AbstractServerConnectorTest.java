@@ -3,23 +3,22 @@ package com.hazelcast.simulator.protocol.connector;
 import com.hazelcast.simulator.protocol.core.AddressLevel;
 import com.hazelcast.simulator.protocol.core.Response;
 import com.hazelcast.simulator.protocol.core.ResponseFuture;
+import com.hazelcast.simulator.protocol.core.ResponseFutureRegistry;
 import com.hazelcast.simulator.protocol.core.ResponseType;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.operation.IntegrationTestOperation;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.group.ChannelGroup;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
-import java.util.Map;
+import java.util.Collections;
 import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
-import static com.hazelcast.simulator.protocol.core.ResponseFuture.getMessageIdFromFutureKey;
 import static com.hazelcast.simulator.protocol.core.ResponseType.EXCEPTION_DURING_OPERATION_EXECUTION;
 import static com.hazelcast.simulator.protocol.core.ResponseType.SUCCESS;
 import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
@@ -40,18 +39,18 @@ public class AbstractServerConnectorTest {
     private boolean shutdownAfterTest = true;
 
     private SimulatorAddress connectorAddress;
-    private ConcurrentMap<String, ResponseFuture> futureMap;
+    private ResponseFutureRegistry futureRegistry;
     private ExecutorService executorService;
 
     private TestServerConnector testServerConnector;
 
     @Before
     public void setUp() {
-        futureMap = new ConcurrentHashMap<String, ResponseFuture>();
+        futureRegistry = new ResponseFutureRegistry();
         connectorAddress = new SimulatorAddress(AddressLevel.WORKER, 1, 1, 0);
         executorService = mock(ExecutorService.class);
 
-        testServerConnector = new TestServerConnector(futureMap, connectorAddress, PORT, THREAD_POOL_SIZE, executorService);
+        testServerConnector = new TestServerConnector(futureRegistry, connectorAddress, PORT, THREAD_POOL_SIZE, executorService);
     }
 
     @After
@@ -138,10 +137,9 @@ public class AbstractServerConnectorTest {
         int responseSetCounter = 0;
         int tries = 0;
         do {
-            for (Map.Entry<String, ResponseFuture> entry : futureMap.entrySet()) {
-                long messageId = getMessageIdFromFutureKey(entry.getKey());
-                Response response = new Response(messageId, connectorAddress, COORDINATOR, responseType);
-                entry.getValue().set(response);
+            for (ResponseFuture future : futureRegistry.getFutures()) {
+                Response response = new Response(future.getMessageId(), connectorAddress, COORDINATOR, responseType);
+                future.set(response);
                 responseSetCounter++;
             }
             sleepMillis(50);
@@ -152,9 +150,10 @@ public class AbstractServerConnectorTest {
 
         private final ChannelGroup channelGroup = mock(ChannelGroup.class);
 
-        TestServerConnector(ConcurrentMap<String, ResponseFuture> futureMap, SimulatorAddress localAddress, int port,
+        TestServerConnector(ResponseFutureRegistry futureRegistry, SimulatorAddress localAddress, int port,
                             int threadPoolSize, ExecutorService executorService) {
-            super(futureMap, localAddress, port, threadPoolSize, executorService);
+            super(futureRegistry, localAddress, port, threadPoolSize, TransportType.NIO, executorService);
+            when(channelGroup.iterator()).thenReturn(Collections.<Channel>emptyList().iterator());
         }
 
         @Override
@@ -30,7 +30,7 @@ public class CoordinatorConnectorTest {
         executorService = mock(ExecutorService.class);
 
         coordinatorConnector = new CoordinatorConnector(failureContainer, testPhaseListenerContainer, performanceStateContainer,
-                testHistogramContainer, executorService);
+                testHistogramContainer, TransportType.NIO, executorService);
     }
 
     @Test
@@ -0,0 +1,69 @@
+package com.hazelcast.simulator.protocol.connector;
+
+import com.hazelcast.simulator.utils.CommandLineExitException;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.junit.Test;
+
+import static com.hazelcast.simulator.protocol.connector.TransportType.EPOLL;
+import static com.hazelcast.simulator.protocol.connector.TransportType.NIO;
+import static com.hazelcast.simulator.protocol.connector.TransportType.fromString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TransportTypeTest {
+
+    @Test
+    public void testFromString_null() {
+        assertEquals(NIO, fromString(null));
+    }
+
+    @Test
+    public void testFromString_empty() {
+        assertEquals(NIO, fromString(" "));
+    }
+
+    @Test
+    public void testFromString_nio() {
+        assertEquals(NIO, fromString("nio"));
+    }
+
+    @Test
+    public void testFromString_epoll() {
+        TransportType expected = Epoll.isAvailable() ? EPOLL : NIO;
+
+        assertEquals(expected, fromString("EPOLL"));
+    }
+
+    @Test
+    public void testFromString_invalid() {
+        try {
+            fromString("invalid");
+            fail("Expected CommandLineExitException");
+        } catch (CommandLineExitException e) {
+            assertTrue(e.getMessage().contains("invalid"));
+            assertTrue(e.getMessage().contains("[NIO, EPOLL]"));
+        }
+    }
+
+    @Test
+    public void testNio() {
+        assertTrue(NIO.isAvailable());
+        assertEquals(NioServerSocketChannel.class, NIO.getServerChannelClass());
+        assertEquals(NioSocketChannel.class, NIO.getChannelClass());
+
+        EventLoopGroup group = NIO.newEventLoopGroup(1);
+        group.shutdownGracefully();
+    }
+
+    @Test
+    public void testEpoll() {
+        assertEquals(Epoll.isAvailable(), EPOLL.isAvailable());
+        assertEquals(EpollSocketChannel.class, EPOLL.getChannelClass());
+        assertTrue(EPOLL.getAllocator().isDirectBufferPooled());
+    }
+}
@@ -0,0 +1,131 @@
+package com.hazelcast.simulator.protocol.core;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.simulator.protocol.core.ResponseType.SUCCESS;
+import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ResponseFutureRegistryTest {
+
+    private static final SimulatorAddress WORKER = new SimulatorAddress(AddressLevel.WORKER, 1, 2, 0);
+
+    private final ResponseFutureRegistry registry = new ResponseFutureRegistry(4);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_slotCountNotPowerOfTwo() {
+        new ResponseFutureRegistry(3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_slotCountZero() {
+        new ResponseFutureRegistry(0);
+    }
+
+    @Test
+    public void testCreateFuture() {
+        ResponseFuture future = registry.createFuture(COORDINATOR, 42, 23);
+
+        assertEquals(1, registry.size());
+        assertFalse(registry.isEmpty());
+        assertSame(future, registry.get(COORDINATOR, 42, 23));
+    }
+
+    @Test
+    public void testGet_notFound() {
+        registry.createFuture(COORDINATOR, 42, 23);
+
+        assertNull(registry.get(COORDINATOR, 42, 24));
+        assertNull(registry.get(COORDINATOR, 43, 23));
+        assertNull(registry.get(WORKER, 42, 23));
+    }
+
+    @Test
+    public void testGet_withCollisions() {
+        ResponseFuture[] futures = new ResponseFuture[20];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = registry.createFuture(i % 2 == 0 ? COORDINATOR : WORKER, i / 2, 1);
+        }
+
+        assertEquals(futures.length, registry.size());
+        for (int i = 0; i < futures.length; i++) {
+            assertSame(futures[i], registry.get(i % 2 == 0 ? COORDINATOR : WORKER, i / 2, 1));
+        }
+    }
+
+    @Test
+    public void testRemove() {
+        ResponseFuture first = registry.createFuture(COORDINATOR, 1, 1);
+        ResponseFuture second = registry.createFuture(COORDINATOR, 5, 1);
+        ResponseFuture third = registry.createFuture(COORDINATOR, 9, 1);
+
+        assertTrue(registry.remove(second));
+        assertFalse(registry.remove(second));
+
+        assertEquals(2, registry.size());
+        assertSame(first, registry.get(COORDINATOR, 1, 1));
+        assertNull(registry.get(COORDINATOR, 5, 1));
+        assertSame(third, registry.get(COORDINATOR, 9, 1));
+    }
+
+    @Test
+    public void testGetFutures() {
+        ResponseFuture first = registry.createFuture(COORDINATOR, 1, 1);
+        ResponseFuture second = registry.createFuture(WORKER, 2, 3);
+
+        List<ResponseFuture> futures = registry.getFutures();
+
+        assertEquals(2, futures.size());
+        assertTrue(futures.contains(first));
+        assertTrue(futures.contains(second));
+        assertNotNull(registry.toString());
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentCreateAndSet() throws Exception {
+        final int threadCount = 4;
+        final int futuresPerThread = 10000;
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final AtomicInteger completed = new AtomicInteger();
+
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            final int remoteAddressIndex = i;
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        startLatch.await();
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                    for (int messageId = 0; messageId < futuresPerThread; messageId++) {
+                        registry.createFuture(COORDINATOR, messageId, remoteAddressIndex);
+                        ResponseFuture future = registry.get(COORDINATOR, messageId, remoteAddressIndex);
+                        if (future.set(new Response(messageId, COORDINATOR, COORDINATOR, SUCCESS))) {
+                            completed.incrementAndGet();
+                        }
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        startLatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(threadCount * futuresPerThread, completed.get());
+        assertTrue(registry.isEmpty());
+        assertTrue(registry.getFutures().isEmpty());
+    }
+}
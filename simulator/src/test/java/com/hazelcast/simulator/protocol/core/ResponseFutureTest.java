@@ -1,21 +1,22 @@
 package com.hazelcast.simulator.protocol.core;
 
 import com.hazelcast.util.EmptyStatement;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
 import org.junit.Test;
 
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
-import static com.hazelcast.simulator.protocol.core.ResponseFuture.createFutureKey;
-import static com.hazelcast.simulator.protocol.core.ResponseFuture.createInstance;
-import static com.hazelcast.simulator.protocol.core.ResponseFuture.getMessageIdFromFutureKey;
-import static com.hazelcast.simulator.protocol.core.ResponseFuture.getSourceFromFutureKey;
 import static com.hazelcast.simulator.protocol.core.ResponseType.SUCCESS;
 import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
 import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -24,31 +25,16 @@ public class ResponseFutureTest {
     private static final Response DEFAULT_RESULT = new Response(1L, COORDINATOR, COORDINATOR, SUCCESS);
     private static final int DEFAULT_TIMEOUT_MS = 500;
 
-    private final ResponseFuture future = createInstance(new ConcurrentHashMap<String, ResponseFuture>(), "key");
+    private final ResponseFutureRegistry registry = new ResponseFutureRegistry();
+    private final ResponseFuture future = registry.createFuture(COORDINATOR, 42, 23);
     private final FutureSetter futureSetter = new FutureSetter(DEFAULT_RESULT, DEFAULT_TIMEOUT_MS);
 
     @Test
-    public void testCreateFutureKey() {
-        String futureKey = createFutureKey(COORDINATOR, 42, 23);
-        assertTrue(futureKey.contains(COORDINATOR.toString()));
-        assertTrue(futureKey.contains("42"));
-        assertTrue(futureKey.contains("23"));
-    }
-
-    @Test
-    public void testGetSourceFromFutureKey() {
-        SimulatorAddress expectedAddress = new SimulatorAddress(AddressLevel.WORKER, 4, 8, 0);
-        String futureKey = createFutureKey(expectedAddress, 42, 23);
-        SimulatorAddress actualAddress = getSourceFromFutureKey(futureKey);
-        assertEquals(expectedAddress, actualAddress);
-    }
-
-    @Test
-    public void testGetMessageIdFromFutureKey() {
-        SimulatorAddress expectedAddress = new SimulatorAddress(AddressLevel.TEST, 4, 8, 23);
-        String futureKey = createFutureKey(expectedAddress, 42, 23);
-        long messageId = getMessageIdFromFutureKey(futureKey);
-        assertEquals(42, messageId);
+    public void testGetters() {
+        assertEquals(COORDINATOR, future.getSource());
+        assertEquals(42, future.getMessageId());
+        assertEquals(23, future.getRemoteAddressIndex());
+        assertNotNull(future.toString());
     }
 
     @Test(expected = UnsupportedOperationException.class)
@@ -71,6 +57,104 @@ public class ResponseFutureTest {
         assertTrue(future.isDone());
     }
 
+    @Test
+    public void testSet_removesFromRegistry() {
+        assertEquals(future, registry.get(COORDINATOR, 42, 23));
+
+        assertTrue(future.set(DEFAULT_RESULT));
+
+        assertNull(registry.get(COORDINATOR, 42, 23));
+        assertTrue(registry.isEmpty());
+    }
+
+    @Test
+    public void testSet_twice() throws Exception {
+        Response otherResult = new Response(2L, COORDINATOR, COORDINATOR, SUCCESS);
+
+        assertTrue(future.set(DEFAULT_RESULT));
+        assertFalse(future.set(otherResult));
+
+        assertEquals(DEFAULT_RESULT, future.get());
+    }
+
+    @Test
+    public void testRelay() throws Exception {
+        EmbeddedChannel relayChannel = new EmbeddedChannel();
+        ResponseFuture relayFuture = registry.createRelayFuture(COORDINATOR, 43, 23, relayChannel);
+        CountingListener listener = new CountingListener();
+        relayFuture.addListener(listener);
+        ByteBuf frame = Unpooled.buffer().writeInt(42);
+
+        assertTrue(relayFuture.isRelay());
+        assertTrue(relayFuture.relay(frame));
+        relayChannel.runPendingTasks();
+
+        assertSame(frame, relayChannel.readOutbound());
+        assertSame(ResponseFuture.RELAYED, relayFuture.get());
+        assertNull(registry.get(COORDINATOR, 43, 23));
+        assertEquals(1, listener.count);
+        assertEquals(1, frame.refCnt());
+
+        frame.release();
+        relayChannel.finish();
+    }
+
+    @Test
+    public void testRelay_afterSet() throws Exception {
+        EmbeddedChannel relayChannel = new EmbeddedChannel();
+        ResponseFuture relayFuture = registry.createRelayFuture(COORDINATOR, 43, 23, relayChannel);
+        ByteBuf frame = Unpooled.buffer().writeInt(42);
+
+        assertTrue(relayFuture.set(DEFAULT_RESULT));
+        assertFalse(relayFuture.relay(frame));
+        relayChannel.runPendingTasks();
+
+        assertNull(relayChannel.readOutbound());
+        assertEquals(DEFAULT_RESULT, relayFuture.get());
+        assertEquals(0, frame.refCnt());
+        relayChannel.finish();
+    }
+
+    @Test
+    public void testRelay_noRelayChannel() {
+        ByteBuf frame = Unpooled.buffer().writeInt(42);
+
+        assertFalse(future.isRelay());
+        try {
+            future.relay(frame);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+            EmptyStatement.ignore(expected);
+        }
+
+        assertEquals(0, frame.refCnt());
+        assertFalse(future.isDone());
+    }
+
+    @Test
+    public void testAddListener() {
+        CountingListener listener = new CountingListener();
+        future.addListener(listener);
+        assertEquals(0, listener.count);
+
+        future.set(DEFAULT_RESULT);
+        future.set(DEFAULT_RESULT);
+
+        assertEquals(1, listener.count);
+        assertEquals(DEFAULT_RESULT, listener.response);
+    }
+
+    @Test
+    public void testAddListener_afterSet() {
+        future.set(DEFAULT_RESULT);
+
+        CountingListener listener = new CountingListener();
+        future.addListener(listener);
+
+        assertEquals(1, listener.count);
+        assertEquals(DEFAULT_RESULT, listener.response);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testSet_null() {
         future.set(null);
@@ -155,4 +239,16 @@ public class ResponseFutureTest {
             future.set(result);
         }
     }
+
+    private static class CountingListener implements ResponseListener {
+
+        private int count;
+        private Response response;
+
+        @Override
+        public void onResponse(Response response) {
+            this.count++;
+            this.response = response;
+        }
+    }
 }
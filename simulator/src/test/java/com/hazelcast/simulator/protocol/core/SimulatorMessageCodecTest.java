@@ -1,15 +1,42 @@
 package com.hazelcast.simulator.protocol.core;
 
+import com.hazelcast.simulator.probes.ProbeResolution;
+import com.hazelcast.simulator.protocol.operation.BatchOperation;
+import com.hazelcast.simulator.protocol.operation.IntegrationTestOperation;
+import com.hazelcast.simulator.protocol.operation.OperationType;
+import com.hazelcast.simulator.protocol.operation.PerformanceStateOperation;
+import com.hazelcast.simulator.protocol.operation.TestHistogramOperation;
+import com.hazelcast.simulator.worker.performance.PauseState;
+import com.hazelcast.simulator.worker.performance.PerformanceState;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.junit.After;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
 import static com.hazelcast.simulator.protocol.core.SimulatorMessageCodec.decodeSimulatorMessage;
+import static com.hazelcast.simulator.protocol.core.SimulatorMessageCodec.encodeByteBuf;
+import static com.hazelcast.simulator.protocol.core.SimulatorMessageCodec.getMessageId;
+import static com.hazelcast.simulator.protocol.core.SimulatorMessageCodec.getSourceAddress;
+import static com.hazelcast.simulator.protocol.core.SimulatorMessageCodec.isSimulatorMessage;
+import static com.hazelcast.simulator.protocol.operation.IntegrationTestOperation.Type.EQUALS;
+import static com.hazelcast.simulator.protocol.operation.OperationCodec.fromSimulatorMessage;
+import static com.hazelcast.simulator.protocol.operation.OperationCodec.toJson;
 import static com.hazelcast.simulator.utils.ReflectionUtils.invokePrivateConstructor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 public class SimulatorMessageCodecTest {
 
+    private static final SimulatorAddress WORKER = new SimulatorAddress(AddressLevel.WORKER, 1, 2, 0);
+
     private ByteBuf buffer;
 
     @After
@@ -33,4 +60,130 @@ public class SimulatorMessageCodecTest {
 
         decodeSimulatorMessage(buffer);
     }
+
+    @Test
+    public void testCodec_withJsonOperation() {
+        IntegrationTestOperation operation = new IntegrationTestOperation(EQUALS, "codecTest_withJsonOperation");
+        SimulatorMessage message = new SimulatorMessage(WORKER, COORDINATOR, 42, OperationType.INTEGRATION_TEST,
+                toJson(operation));
+
+        SimulatorMessage decoded = encodeAndDecode(message);
+
+        assertFalse(decoded.isBinary());
+        assertEquals(message.getOperationData(), decoded.getOperationData());
+        IntegrationTestOperation decodedOperation = (IntegrationTestOperation) fromSimulatorMessage(decoded);
+        assertEquals(operation.getTestData(), decodedOperation.getTestData());
+    }
+
+    @Test
+    public void testCodec_withPerformanceStateOperation() {
+        PerformanceStateOperation operation = new PerformanceStateOperation();
+        operation.addPerformanceState("testId", new PerformanceState(1000, 500.5, 250.25, 12.5, 80, 120));
+        operation.addPerformanceState("emptyTest", new PerformanceState());
+        Map<String, String> histograms = new HashMap<String, String>();
+        histograms.put("probe", "HISTFAAAACl4nJNpmSzMwMBgzAABMJoxAQ==");
+        histograms.put("probe \u00e4\u00f6\u00fc", null);
+        operation.addIntervalHistograms("testId", histograms, ProbeResolution.NANOSECONDS);
+        SimulatorMessage message = new SimulatorMessage(WORKER, COORDINATOR, 23, OperationType.PERFORMANCE_STATE, null, operation);
+
+        SimulatorMessage decoded = encodeAndDecode(message);
+
+        assertTrue(decoded.isBinary());
+        assertNull(decoded.getOperationData());
+        PerformanceStateOperation decodedOperation = (PerformanceStateOperation) fromSimulatorMessage(decoded);
+
+        assertEquals(2, decodedOperation.getPerformanceStates().size());
+        PerformanceState state = decodedOperation.getPerformanceStates().get("testId");
+        assertEquals(1000, state.getOperationCount());
+        assertEquals(500.5, state.getIntervalThroughput(), 0.0001);
+        assertEquals(250.25, state.getTotalThroughput(), 0.0001);
+        assertEquals(12.5, state.getIntervalAvgLatency(), 0.0001);
+        assertEquals(80, state.getIntervalPercentileLatency());
+        assertEquals(120, state.getIntervalMaxLatency());
+        assertTrue(decodedOperation.getPerformanceStates().get("emptyTest").isEmpty());
+
+        assertEquals(histograms, decodedOperation.getIntervalHistograms().get("testId"));
+        assertEquals(ProbeResolution.NANOSECONDS, decodedOperation.getProbeResolutions().get("testId"));
+        assertNull(decodedOperation.getPauseState());
+    }
+
+    @Test
+    public void testCodec_withPerformanceStateOperation_withPauseState() {
+        PerformanceStateOperation operation = new PerformanceStateOperation();
+        operation.addPerformanceState("testId", new PerformanceState(1000, 500.5, 250.25, 12.5, 80, 120));
+        operation.setPauseState(new PauseState(123456789L, 3, 150, 80, PauseState.NOT_AVAILABLE, PauseState.NOT_AVAILABLE));
+        SimulatorMessage message = new SimulatorMessage(WORKER, COORDINATOR, 23, OperationType.PERFORMANCE_STATE, null, operation);
+
+        SimulatorMessage decoded = encodeAndDecode(message);
+        PerformanceStateOperation decodedOperation = (PerformanceStateOperation) fromSimulatorMessage(decoded);
+
+        assertEquals(1, decodedOperation.getPerformanceStates().size());
+        PauseState pauseState = decodedOperation.getPauseState();
+        assertEquals(123456789L, pauseState.getTimestamp());
+        assertEquals(3, pauseState.getGcCount());
+        assertEquals(150, pauseState.getGcTotalMillis());
+        assertEquals(80, pauseState.getGcMaxMillis());
+        assertFalse(pauseState.hasSafepoints());
+        assertEquals(PauseState.NOT_AVAILABLE, pauseState.getSafepointTotalMillis());
+    }
+
+    @Test
+    public void testCodec_withTestHistogramOperation() {
+        Map<String, String> histograms = new HashMap<String, String>();
+        histograms.put("workerProbe", "HISTFAAAACl4nJNpmSzMwMBgzAABMJoxAQ==");
+        TestHistogramOperation operation = new TestHistogramOperation("testId", histograms, ProbeResolution.MICROSECONDS);
+        SimulatorMessage message = new SimulatorMessage(WORKER, COORDINATOR, 5, OperationType.TEST_HISTOGRAMS, null, operation);
+
+        SimulatorMessage decoded = encodeAndDecode(message);
+
+        assertTrue(decoded.isBinary());
+        TestHistogramOperation decodedOperation = (TestHistogramOperation) fromSimulatorMessage(decoded);
+        assertEquals("testId", decodedOperation.getTestId());
+        assertEquals(histograms, decodedOperation.getProbeHistograms());
+        assertEquals(ProbeResolution.MICROSECONDS, decodedOperation.getProbeResolution());
+    }
+
+    @Test
+    public void testCodec_withBatchOperation() {
+        List<SimulatorMessage> messages = new ArrayList<SimulatorMessage>();
+        IntegrationTestOperation jsonOperation = new IntegrationTestOperation(EQUALS, "codecTest_withBatchOperation");
+        messages.add(new SimulatorMessage(COORDINATOR, WORKER, 1, OperationType.INTEGRATION_TEST, toJson(jsonOperation)));
+        TestHistogramOperation binaryOperation = new TestHistogramOperation("testId", new HashMap<String, String>());
+        messages.add(new SimulatorMessage(COORDINATOR, WORKER, 2, OperationType.TEST_HISTOGRAMS, null, binaryOperation));
+        SimulatorMessage message = new SimulatorMessage(COORDINATOR, WORKER, 3, OperationType.BATCH, null,
+                new BatchOperation(messages));
+
+        SimulatorMessage decoded = encodeAndDecode(message);
+
+        List<SimulatorMessage> decodedMessages = ((BatchOperation) fromSimulatorMessage(decoded)).getMessages();
+        assertEquals(2, decodedMessages.size());
+
+        SimulatorMessage first = decodedMessages.get(0);
+        assertEquals(1, first.getMessageId());
+        assertEquals(WORKER, first.getSource());
+        IntegrationTestOperation decodedJsonOperation = (IntegrationTestOperation) fromSimulatorMessage(first);
+        assertEquals(jsonOperation.getTestData(), decodedJsonOperation.getTestData());
+
+        SimulatorMessage second = decodedMessages.get(1);
+        assertEquals(2, second.getMessageId());
+        assertEquals("testId", ((TestHistogramOperation) fromSimulatorMessage(second)).getTestId());
+    }
+
+    private SimulatorMessage encodeAndDecode(SimulatorMessage message) {
+        buffer = Unpooled.buffer();
+        encodeByteBuf(message, buffer);
+
+        assertEquals(buffer.readableBytes() - 4, buffer.getInt(0));
+        assertTrue(isSimulatorMessage(buffer));
+        assertEquals(message.getMessageId(), getMessageId(buffer));
+        assertEquals(message.getSource(), getSourceAddress(buffer));
+
+        SimulatorMessage decoded = decodeSimulatorMessage(buffer);
+        assertEquals(0, buffer.readableBytes());
+        assertEquals(message.getDestination(), decoded.getDestination());
+        assertEquals(message.getSource(), decoded.getSource());
+        assertEquals(message.getMessageId(), decoded.getMessageId());
+        assertEquals(message.getOperationType(), decoded.getOperationType());
+        return decoded;
+    }
 }
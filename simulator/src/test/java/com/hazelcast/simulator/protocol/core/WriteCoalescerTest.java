@@ -0,0 +1,90 @@
+package com.hazelcast.simulator.protocol.core;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class WriteCoalescerTest {
+
+    private FlushCounter flushCounter;
+    private EmbeddedChannel channel;
+
+    @Before
+    public void setUp() {
+        flushCounter = new FlushCounter();
+        channel = new EmbeddedChannel(flushCounter);
+    }
+
+    @Test
+    public void testGetInstance() {
+        WriteCoalescer writeCoalescer = WriteCoalescer.getInstance(channel);
+
+        assertSame(writeCoalescer, WriteCoalescer.getInstance(channel));
+    }
+
+    @Test
+    public void testWrite() {
+        WriteCoalescer writeCoalescer = WriteCoalescer.getInstance(channel);
+
+        writeCoalescer.write("first");
+        writeCoalescer.write("second");
+        writeCoalescer.write("third");
+        assertNull(channel.readOutbound());
+
+        channel.runPendingTasks();
+
+        assertEquals("first", channel.readOutbound());
+        assertEquals("second", channel.readOutbound());
+        assertEquals("third", channel.readOutbound());
+        assertNull(channel.readOutbound());
+        assertEquals(1, flushCounter.flushCount);
+    }
+
+    @Test
+    public void testWrite_afterFlush() {
+        WriteCoalescer writeCoalescer = WriteCoalescer.getInstance(channel);
+
+        writeCoalescer.write("first");
+        channel.runPendingTasks();
+        writeCoalescer.write("second");
+        channel.runPendingTasks();
+
+        assertEquals("first", channel.readOutbound());
+        assertEquals("second", channel.readOutbound());
+        assertEquals(2, flushCounter.flushCount);
+    }
+
+    @Test
+    public void testWrite_moreThanMaxMessagesPerFlush() {
+        WriteCoalescer writeCoalescer = WriteCoalescer.getInstance(channel);
+
+        int messageCount = WriteCoalescer.MAX_MESSAGES_PER_FLUSH + 1;
+        for (int i = 0; i < messageCount; i++) {
+            writeCoalescer.write(i);
+        }
+        channel.runPendingTasks();
+        channel.runPendingTasks();
+
+        for (int i = 0; i < messageCount; i++) {
+            assertEquals(i, channel.readOutbound());
+        }
+        assertEquals(2, flushCounter.flushCount);
+    }
+
+    private static class FlushCounter extends ChannelOutboundHandlerAdapter {
+
+        private int flushCount;
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) throws Exception {
+            flushCount++;
+            super.flush(ctx);
+        }
+    }
+}
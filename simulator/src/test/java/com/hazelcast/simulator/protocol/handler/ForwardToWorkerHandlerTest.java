@@ -1,27 +1,51 @@
 package com.hazelcast.simulator.protocol.handler;
 
+import com.hazelcast.simulator.protocol.connector.ClientConnector;
 import com.hazelcast.simulator.protocol.core.AddressLevel;
 import com.hazelcast.simulator.protocol.core.ClientConnectorManager;
 import com.hazelcast.simulator.protocol.core.Response;
 import com.hazelcast.simulator.protocol.core.ResponseCodec;
+import com.hazelcast.simulator.protocol.core.ResponseFuture;
+import com.hazelcast.simulator.protocol.core.ResponseFutureRegistry;
+import com.hazelcast.simulator.protocol.core.ResponseType;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
-import com.hazelcast.simulator.utils.ExecutorFactory;
+import com.hazelcast.simulator.protocol.core.SimulatorMessage;
+import com.hazelcast.simulator.protocol.core.SimulatorMessageCodec;
+import com.hazelcast.simulator.protocol.operation.OperationType;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
 import io.netty.util.Attribute;
 import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.EventExecutorGroup;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.mockito.runners.MockitoJUnitRunner;
 
-import java.util.concurrent.ExecutorService;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.simulator.protocol.core.ResponseType.FAILURE_WORKER_NOT_FOUND;
+import static com.hazelcast.simulator.protocol.core.ResponseType.FAILURE_WORKER_TIMEOUT;
+import static com.hazelcast.simulator.protocol.core.ResponseType.SUCCESS;
+import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -29,8 +53,16 @@ import static org.mockito.Mockito.when;
 @RunWith(MockitoJUnitRunner.class)
 public class ForwardToWorkerHandlerTest {
 
+    private static final long MESSAGE_ID = 4223;
+    private static final int VERIFY_TIMEOUT_MILLIS = 5000;
+
     private final AttributeKey<Integer> forwardAddressIndex = AttributeKey.valueOf("forwardAddressIndex");
-    private final ExecutorService executorService = ExecutorFactory.createFixedThreadPool(2, "ForwardToWorkerHandlerTest");
+    private final EventExecutorGroup executorGroup = new DefaultEventExecutorGroup(1);
+
+    private final SimulatorAddress agentAddress = new SimulatorAddress(AddressLevel.AGENT, 1, 0, 0);
+    private final ResponseFutureRegistry futureRegistry = new ResponseFutureRegistry();
+    private final ClientConnectorManager clientConnectorManager = new ClientConnectorManager();
+    private final EmbeddedChannel coordinatorChannel = new EmbeddedChannel();
 
     @Mock
     private Attribute<Integer> forwardAddressIndexAttribute;
@@ -47,11 +79,10 @@ public class ForwardToWorkerHandlerTest {
         when(forwardAddressIndexAttribute.get()).thenReturn(1);
 
         when(ctx.attr(forwardAddressIndex)).thenReturn(forwardAddressIndexAttribute);
+        when(ctx.executor()).thenReturn(executorGroup.next());
+        when(ctx.channel()).thenReturn(coordinatorChannel);
 
-        ClientConnectorManager clientConnectorManager = new ClientConnectorManager();
-
-        forwardToWorkerHandler = new ForwardToWorkerHandler(SimulatorAddress.COORDINATOR, clientConnectorManager,
-                executorService);
+        forwardToWorkerHandler = new ForwardToWorkerHandler(SimulatorAddress.COORDINATOR, clientConnectorManager);
     }
 
     @After
@@ -60,8 +91,8 @@ public class ForwardToWorkerHandlerTest {
             buffer.release();
         }
 
-        executorService.shutdown();
-        executorService.awaitTermination(1, TimeUnit.SECONDS);
+        coordinatorChannel.finish();
+        executorGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).await();
     }
 
     @Test
@@ -78,4 +109,157 @@ public class ForwardToWorkerHandlerTest {
         verify(ctx).writeAndFlush(any(Response.class));
         verifyNoMoreInteractions(ctx);
     }
+
+    @Test
+    public void testChannelRead0_forwardMessage_WorkerNotFound() throws Exception {
+        encodeSimulatorMessage();
+
+        forwardToWorkerHandler.channelRead0(ctx, buffer);
+
+        Response response = verifyResponse();
+        assertEquals(FAILURE_WORKER_NOT_FOUND, response.getFirstErrorResponseType());
+    }
+
+    @Test
+    public void testChannelRead0_forwardMessage_toAllWorkers_noWorkers() throws Exception {
+        when(forwardAddressIndexAttribute.get()).thenReturn(0);
+        encodeSimulatorMessage();
+
+        forwardToWorkerHandler.channelRead0(ctx, buffer);
+
+        Response response = verifyResponse();
+        assertEquals(0, response.size());
+    }
+
+    @Test
+    public void testChannelRead0_forwardMessage_toAllWorkers() throws Exception {
+        when(forwardAddressIndexAttribute.get()).thenReturn(0);
+        SimulatorAddress worker1 = addWorker(1);
+        SimulatorAddress worker2 = addWorker(2);
+        encodeSimulatorMessage();
+
+        forwardToWorkerHandler.channelRead0(ctx, buffer);
+
+        ResponseFuture future1 = futureRegistry.get(COORDINATOR, MESSAGE_ID, 1);
+        ResponseFuture future2 = futureRegistry.get(COORDINATOR, MESSAGE_ID, 2);
+
+        future2.set(new Response(MESSAGE_ID, COORDINATOR, worker2, SUCCESS));
+        verify(ctx, never()).writeAndFlush(any(Response.class));
+
+        future1.set(new Response(MESSAGE_ID, COORDINATOR, worker1, SUCCESS));
+        Response response = verifyResponse();
+
+        assertEquals(MESSAGE_ID, response.getMessageId());
+        assertEquals(COORDINATOR, response.getDestination());
+        assertEquals(2, response.size());
+        assertEquals(SUCCESS, response.getFirstErrorResponseType());
+        assertTrue(futureRegistry.isEmpty());
+    }
+
+    @Test
+    public void testChannelRead0_forwardMessage_toAllWorkers_duplicatesBuffer() throws Exception {
+        when(forwardAddressIndexAttribute.get()).thenReturn(0);
+        ClientConnector clientConnector1 = addWorkerConnector(1);
+        ClientConnector clientConnector2 = addWorkerConnector(2);
+        encodeSimulatorMessage();
+
+        forwardToWorkerHandler.channelRead0(ctx, buffer);
+
+        ArgumentCaptor<ByteBuf> captor1 = ArgumentCaptor.forClass(ByteBuf.class);
+        ArgumentCaptor<ByteBuf> captor2 = ArgumentCaptor.forClass(ByteBuf.class);
+        verify(clientConnector1).writeAsync(captor1.capture());
+        verify(clientConnector2).writeAsync(captor2.capture());
+
+        assertNotSame(captor1.getValue(), captor2.getValue());
+        assertEquals(buffer, captor1.getValue());
+        assertEquals(buffer, captor2.getValue());
+        assertEquals(3, buffer.refCnt());
+
+        captor1.getValue().release();
+        captor2.getValue().release();
+        for (ResponseFuture future : futureRegistry.getFutures()) {
+            future.set(new Response(MESSAGE_ID, COORDINATOR, agentAddress, SUCCESS));
+        }
+    }
+
+    @Test
+    public void testChannelRead0_forwardMessage_toSingleWorker_relaysResponse() throws Exception {
+        addWorker(1);
+        encodeSimulatorMessage();
+
+        forwardToWorkerHandler.channelRead0(ctx, buffer);
+
+        ResponseFuture future = futureRegistry.get(COORDINATOR, MESSAGE_ID, 1);
+        assertTrue(future.isRelay());
+
+        ByteBuf frame = Unpooled.buffer();
+        ResponseCodec.encodeByteBuf(new Response(MESSAGE_ID, COORDINATOR, agentAddress.getChild(1), SUCCESS), frame);
+        assertTrue(future.relay(frame));
+        coordinatorChannel.runPendingTasks();
+
+        assertSame(frame, coordinatorChannel.readOutbound());
+        assertSame(ResponseFuture.RELAYED, future.get());
+        assertTrue(futureRegistry.isEmpty());
+        verify(ctx, never()).writeAndFlush(any(Response.class));
+
+        frame.release();
+        buffer.release();
+    }
+
+    @Test
+    public void testChannelRead0_forwardMessage_timeout() throws Exception {
+        forwardToWorkerHandler = new ForwardToWorkerHandler(SimulatorAddress.COORDINATOR, clientConnectorManager, 50);
+        SimulatorAddress worker1 = addWorker(1);
+        encodeSimulatorMessage();
+
+        forwardToWorkerHandler.channelRead0(ctx, buffer);
+
+        Response response = verifyResponse();
+        assertEquals(1, response.size());
+        Map.Entry<SimulatorAddress, ResponseType> entry = response.entrySet().iterator().next();
+        assertEquals(worker1, entry.getKey());
+        assertEquals(FAILURE_WORKER_TIMEOUT, entry.getValue());
+        assertTrue(futureRegistry.isEmpty());
+    }
+
+    private SimulatorAddress addWorker(int workerIndex) {
+        return addWorkerConnector(workerIndex).getRemoteAddress();
+    }
+
+    private ClientConnector addWorkerConnector(final int workerIndex) {
+        SimulatorAddress workerAddress = agentAddress.getChild(workerIndex);
+
+        ClientConnector clientConnector = mock(ClientConnector.class);
+        when(clientConnector.getRemoteAddress()).thenReturn(workerAddress);
+        when(clientConnector.writeAsync(any(ByteBuf.class))).thenAnswer(new Answer<ResponseFuture>() {
+            @Override
+            public ResponseFuture answer(InvocationOnMock invocation) throws Throwable {
+                return futureRegistry.createFuture(COORDINATOR, MESSAGE_ID, workerIndex);
+            }
+        });
+        when(clientConnector.relayAsync(any(ByteBuf.class), any(Channel.class))).thenAnswer(new Answer<ResponseFuture>() {
+            @Override
+            public ResponseFuture answer(InvocationOnMock invocation) throws Throwable {
+                Channel relayChannel = (Channel) invocation.getArguments()[1];
+                return futureRegistry.createRelayFuture(COORDINATOR, MESSAGE_ID, workerIndex, relayChannel);
+            }
+        });
+
+        clientConnectorManager.addClient(workerIndex, clientConnector);
+        return clientConnector;
+    }
+
+    private void encodeSimulatorMessage() {
+        SimulatorMessage message = new SimulatorMessage(agentAddress.getChild(1), COORDINATOR, MESSAGE_ID,
+                OperationType.INTEGRATION_TEST, "{}");
+
+        buffer = Unpooled.buffer();
+        SimulatorMessageCodec.encodeByteBuf(message, buffer);
+    }
+
+    private Response verifyResponse() {
+        ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+        verify(ctx, timeout(VERIFY_TIMEOUT_MILLIS)).writeAndFlush(captor.capture());
+        return captor.getValue();
+    }
 }
@@ -0,0 +1,123 @@
+package com.hazelcast.simulator.protocol.handler;
+
+import com.hazelcast.simulator.agent.workerjvm.WorkerJvmManager;
+import com.hazelcast.simulator.protocol.core.AddressLevel;
+import com.hazelcast.simulator.protocol.core.Response;
+import com.hazelcast.simulator.protocol.core.ResponseCodec;
+import com.hazelcast.simulator.protocol.core.ResponseFuture;
+import com.hazelcast.simulator.protocol.core.ResponseFutureRegistry;
+import com.hazelcast.simulator.protocol.core.SimulatorAddress;
+import com.hazelcast.simulator.protocol.core.SimulatorMessage;
+import com.hazelcast.simulator.protocol.core.SimulatorMessageCodec;
+import com.hazelcast.simulator.protocol.operation.OperationType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.hazelcast.simulator.protocol.core.ResponseType.SUCCESS;
+import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class RelayResponseHandlerTest {
+
+    private static final long MESSAGE_ID = 2342;
+
+    private final SimulatorAddress agentAddress = new SimulatorAddress(AddressLevel.AGENT, 1, 0, 0);
+    private final SimulatorAddress workerAddress = agentAddress.getChild(1);
+
+    private ResponseFutureRegistry futureRegistry;
+    private WorkerJvmManager workerJvmManager;
+
+    private EmbeddedChannel coordinatorChannel;
+    private EmbeddedChannel workerChannel;
+
+    @Before
+    public void setUp() {
+        futureRegistry = new ResponseFutureRegistry();
+        workerJvmManager = mock(WorkerJvmManager.class);
+
+        coordinatorChannel = new EmbeddedChannel();
+        workerChannel = new EmbeddedChannel(new RelayResponseHandler(agentAddress, workerAddress, futureRegistry,
+                workerJvmManager));
+    }
+
+    @After
+    public void tearDown() {
+        coordinatorChannel.finish();
+        workerChannel.finish();
+    }
+
+    @Test
+    public void testChannelRead_relayFuture() throws Exception {
+        ResponseFuture future = futureRegistry.createRelayFuture(COORDINATOR, MESSAGE_ID, 1, coordinatorChannel);
+        ByteBuf frame = encodeResponse();
+
+        workerChannel.writeInbound(frame);
+        coordinatorChannel.runPendingTasks();
+
+        assertNull(workerChannel.readInbound());
+        assertSame(frame, coordinatorChannel.readOutbound());
+        assertSame(ResponseFuture.RELAYED, future.get());
+        assertTrue(futureRegistry.isEmpty());
+        verify(workerJvmManager).updateLastSeenTimestamp(workerAddress);
+
+        frame.release();
+    }
+
+    @Test
+    public void testChannelRead_normalFuture() {
+        ResponseFuture future = futureRegistry.createFuture(COORDINATOR, MESSAGE_ID, 1);
+        ByteBuf frame = encodeResponse();
+
+        workerChannel.writeInbound(frame);
+
+        assertSame(frame, workerChannel.readInbound());
+        assertFalse(future.isDone());
+        verifyZeroInteractions(workerJvmManager);
+
+        frame.release();
+    }
+
+    @Test
+    public void testChannelRead_noFuture() {
+        ByteBuf frame = encodeResponse();
+
+        workerChannel.writeInbound(frame);
+
+        assertSame(frame, workerChannel.readInbound());
+
+        frame.release();
+    }
+
+    @Test
+    public void testChannelRead_simulatorMessage() {
+        futureRegistry.createRelayFuture(COORDINATOR, MESSAGE_ID, 1, coordinatorChannel);
+        SimulatorMessage message = new SimulatorMessage(COORDINATOR, workerAddress, MESSAGE_ID, OperationType.INTEGRATION_TEST,
+                "{}");
+        ByteBuf frame = Unpooled.buffer();
+        SimulatorMessageCodec.encodeByteBuf(message, frame);
+
+        workerChannel.writeInbound(frame);
+
+        assertSame(frame, workerChannel.readInbound());
+        assertEquals(1, futureRegistry.size());
+
+        frame.release();
+    }
+
+    private ByteBuf encodeResponse() {
+        ByteBuf frame = Unpooled.buffer();
+        ResponseCodec.encodeByteBuf(new Response(MESSAGE_ID, COORDINATOR, workerAddress, SUCCESS), frame);
+        return frame;
+    }
+}
@@ -3,32 +3,30 @@ package com.hazelcast.simulator.protocol.handler;
 import com.hazelcast.simulator.protocol.core.AddressLevel;
 import com.hazelcast.simulator.protocol.core.Response;
 import com.hazelcast.simulator.protocol.core.ResponseFuture;
+import com.hazelcast.simulator.protocol.core.ResponseFutureRegistry;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import org.junit.Before;
 import org.junit.Test;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
-import static com.hazelcast.simulator.protocol.core.ResponseFuture.createFutureKey;
-import static com.hazelcast.simulator.protocol.core.ResponseFuture.createInstance;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class ResponseHandlerTest {
 
     private final SimulatorAddress localAddress = SimulatorAddress.COORDINATOR;
     private final SimulatorAddress remoteAddress = new SimulatorAddress(AddressLevel.WORKER, 1, 1, 0);
 
-    private ConcurrentMap<String, ResponseFuture> futureMap;
+    private ResponseFutureRegistry futureRegistry;
 
     private ResponseHandler responseHandler;
 
     @Before
     public void setUp() {
-        futureMap = new ConcurrentHashMap<String, ResponseFuture>();
+        futureRegistry = new ResponseFutureRegistry();
 
-        responseHandler = new ResponseHandler(localAddress, remoteAddress, futureMap);
+        responseHandler = new ResponseHandler(localAddress, remoteAddress, futureRegistry);
     }
 
     @Test
@@ -36,12 +34,13 @@ public class ResponseHandlerTest {
         long messageId = 2948;
         Response response = new Response(messageId, remoteAddress);
 
-        String futureKey = createFutureKey(response.getDestination(), messageId, remoteAddress.getAddressIndex());
-        ResponseFuture responseFuture = createInstance(futureMap, futureKey);
+        ResponseFuture responseFuture = futureRegistry.createFuture(response.getDestination(), messageId,
+                remoteAddress.getAddressIndex());
 
         responseHandler.channelRead0(null, response);
 
         assertEquals(response, responseFuture.get(1, TimeUnit.SECONDS));
+        assertTrue(futureRegistry.isEmpty());
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -5,6 +5,7 @@ import com.hazelcast.simulator.common.SimulatorProperties;
 import com.hazelcast.simulator.coordinator.WorkerParameters;
 import com.hazelcast.simulator.protocol.core.SimulatorMessage;
 import com.hazelcast.simulator.worker.WorkerType;
+import io.netty.buffer.Unpooled;
 import org.apache.log4j.Logger;
 import org.junit.Test;
 
@@ -12,13 +13,18 @@ import java.util.Collections;
 
 import static com.hazelcast.simulator.protocol.core.SimulatorAddress.COORDINATOR;
 import static com.hazelcast.simulator.protocol.operation.IntegrationTestOperation.Type.EQUALS;
+import static com.hazelcast.simulator.protocol.operation.OperationCodec.createSimulatorMessage;
+import static com.hazelcast.simulator.protocol.operation.OperationCodec.decodeBinary;
 import static com.hazelcast.simulator.protocol.operation.OperationCodec.fromJson;
 import static com.hazelcast.simulator.protocol.operation.OperationCodec.fromSimulatorMessage;
 import static com.hazelcast.simulator.protocol.operation.OperationCodec.toJson;
 import static com.hazelcast.simulator.utils.FormatUtils.NEW_LINE;
 import static com.hazelcast.simulator.utils.ReflectionUtils.invokePrivateConstructor;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
 public class OperationCodecTest {
@@ -51,6 +57,45 @@ public class OperationCodecTest {
         assertEquals(operation.getTestData(), decoded.getTestData());
     }
 
+    @Test
+    public void testCodec_createSimulatorMessage_withJsonOperation() {
+        IntegrationTestOperation operation = new IntegrationTestOperation(EQUALS, "codecTest_createSimulatorMessage");
+
+        SimulatorMessage message = createSimulatorMessage(COORDINATOR, COORDINATOR, 1, operation);
+
+        assertEquals(OperationType.INTEGRATION_TEST, message.getOperationType());
+        assertFalse(message.isBinary());
+        assertEquals(toJson(operation), message.getOperationData());
+    }
+
+    @Test
+    public void testCodec_createSimulatorMessage_withBinaryOperation() {
+        PerformanceStateOperation operation = new PerformanceStateOperation();
+
+        SimulatorMessage message = createSimulatorMessage(COORDINATOR, COORDINATOR, 1, operation, false);
+
+        assertEquals(OperationType.PERFORMANCE_STATE, message.getOperationType());
+        assertTrue(message.isBinary());
+        assertNull(message.getOperationData());
+        assertEquals(operation, fromSimulatorMessage(message));
+        assertNotNull(message.toString());
+    }
+
+    @Test
+    public void testCodec_createSimulatorMessage_withBinaryOperation_jsonOnly() {
+        PerformanceStateOperation operation = new PerformanceStateOperation();
+
+        SimulatorMessage message = createSimulatorMessage(COORDINATOR, COORDINATOR, 1, operation, true);
+
+        assertFalse(message.isBinary());
+        assertEquals(toJson(operation), message.getOperationData());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCodec_decodeBinary_withoutBinaryCodec() {
+        decodeBinary(OperationType.INTEGRATION_TEST, Unpooled.EMPTY_BUFFER);
+    }
+
     @Test
     public void testCodec_withComplexOperation() {
         SimulatorProperties properties = mock(SimulatorProperties.class);
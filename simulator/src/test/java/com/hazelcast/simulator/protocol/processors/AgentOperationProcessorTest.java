@@ -8,6 +8,7 @@ import com.hazelcast.simulator.agent.workerjvm.WorkerJvmSettings;
 import com.hazelcast.simulator.common.CoordinatorLogger;
 import com.hazelcast.simulator.common.JavaProfiler;
 import com.hazelcast.simulator.protocol.connector.AgentConnector;
+import com.hazelcast.simulator.protocol.connector.TransportType;
 import com.hazelcast.simulator.protocol.core.ResponseType;
 import com.hazelcast.simulator.protocol.exception.ExceptionLogger;
 import com.hazelcast.simulator.protocol.operation.CreateTestOperation;
@@ -88,6 +89,7 @@ public class AgentOperationProcessorTest {
         Agent agent = mock(Agent.class);
         when(agent.getAddressIndex()).thenReturn(1);
         when(agent.getPublicAddress()).thenReturn("127.0.0.1");
+        when(agent.getTransportType()).thenReturn(TransportType.NIO);
         when(agent.getTestSuite()).thenReturn(testSuite);
         when(agent.getTestSuiteDir()).thenReturn(testSuiteDir);
         when(agent.getAgentConnector()).thenReturn(agentConnector);
@@ -7,6 +7,7 @@ import com.hazelcast.simulator.protocol.core.ResponseType;
 import com.hazelcast.simulator.protocol.core.SimulatorAddress;
 import com.hazelcast.simulator.protocol.operation.CreateWorkerOperation;
 import com.hazelcast.simulator.protocol.operation.IntegrationTestOperation;
+import com.hazelcast.simulator.protocol.operation.SetTargetThroughputOperation;
 import com.hazelcast.simulator.protocol.operation.SimulatorOperation;
 import com.hazelcast.simulator.protocol.operation.StartTestOperation;
 import com.hazelcast.simulator.protocol.operation.StartTestPhaseOperation;
@@ -43,6 +44,7 @@ public class TestOperationProcessorTest {
 
     private WorkerConnector workerConnector = mock(WorkerConnector.class);
 
+    private TestContainer testContainer;
     private TestOperationProcessor processor;
 
     @Test
@@ -110,6 +112,18 @@ public class TestOperationProcessorTest {
         exceptionLogger.assertNoException();
     }
 
+    @Test
+    public void process_SetTargetThroughput() {
+        createTestOperationProcessor();
+
+        SimulatorOperation operation = new SetTargetThroughputOperation(100);
+        ResponseType responseType = processor.process(operation, COORDINATOR);
+
+        assertEquals(SUCCESS, responseType);
+        assertEquals(10, testContainer.getLoadProfile().getFrequency(0), 0.0001);
+        exceptionLogger.assertNoException();
+    }
+
     @Test
     public void process_StartTestPhase_failingTest() throws Exception {
         createTestOperationProcessor(FailingTest.class);
@@ -196,7 +210,7 @@ public class TestOperationProcessorTest {
             testCase.setProperty("class", testClass.getName());
 
             TestContextImpl testContext = new TestContextImpl(null, testId, LOCALHOST);
-            TestContainer testContainer = new TestContainer(testContext, testCase);
+            testContainer = new TestContainer(testContext, testCase);
             SimulatorAddress testAddress = new SimulatorAddress(AddressLevel.TEST, 1, 1, 1);
 
             TestOperationProcessor.resetPendingTests();
@@ -1,15 +1,24 @@
 
 package com.hazelcast.simulator.test;
 
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.probes.ProbeResolution;
 import com.hazelcast.simulator.test.annotations.Run;
 import com.hazelcast.simulator.test.annotations.Setup;
+import com.hazelcast.simulator.tests.PerformanceMonitorTest;
 import com.hazelcast.simulator.tests.SuccessTest;
+import com.hazelcast.simulator.worker.metronome.LoadProfile;
+import com.hazelcast.simulator.worker.metronome.LoadProfileType;
 import org.junit.Test;
 
+import java.util.Map;
+
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class TestContainer_BasicTest extends AbstractTestContainerTest {
@@ -25,6 +34,112 @@ public class TestContainer_BasicTest extends AbstractTestContainerTest {
         assertTrue(testContainer.getTestInstance() instanceof SuccessTest);
     }
 
+    @Test
+    public void testConstructor_withTestcase_withProbeResolution() {
+        TestCase testCase = new TestCase("TestContainerProbeResolutionTest");
+        testCase.setProperty("class", SuccessTest.class.getName());
+        testCase.setProperty("probeResolution", "nanoseconds");
+        testCase.setProperty("probeSignificantDigits", "3");
+
+        testContainer = new TestContainer(testContext, testCase);
+
+        assertEquals(ProbeResolution.NANOSECONDS, testContainer.getProbeResolution());
+    }
+
+    @Test
+    public void testConstructor_withTestcase_withProbeCostSampleInterval() {
+        TestCase testCase = new TestCase("TestContainerProbeCostTest");
+        testCase.setProperty("class", PerformanceMonitorTest.class.getName());
+        testCase.setProperty("probeCostSampleInterval", "1");
+
+        testContainer = new TestContainer(testContext, testCase);
+
+        Map<String, Probe> probeMap = testContainer.getProbeMap();
+        assertEquals(1, probeMap.size());
+        assertNotNull(probeMap.values().iterator().next().getIntervalOperationCost());
+    }
+
+    @Test(expected = IllegalTestException.class)
+    public void testConstructor_withTestcase_withNegativeProbeCostSampleInterval() {
+        TestCase testCase = new TestCase("TestContainerProbeCostTest");
+        testCase.setProperty("class", SuccessTest.class.getName());
+        testCase.setProperty("probeCostSampleInterval", "-1");
+
+        new TestContainer(testContext, testCase);
+    }
+
+    @Test(expected = IllegalTestException.class)
+    public void testConstructor_withTestcase_withTooSmallProbeHighestTrackableValue() {
+        TestCase testCase = new TestCase("TestContainerProbeHighestTrackableValueTest");
+        testCase.setProperty("class", SuccessTest.class.getName());
+        testCase.setProperty("probeHighestTrackableValue", "1");
+
+        new TestContainer(testContext, testCase);
+    }
+
+    @Test(expected = IllegalTestException.class)
+    public void testConstructor_withTestcase_withNegativeProbeSignificantDigits() {
+        TestCase testCase = new TestCase("TestContainerProbeSignificantDigitsTest");
+        testCase.setProperty("class", SuccessTest.class.getName());
+        testCase.setProperty("probeSignificantDigits", "-1");
+
+        new TestContainer(testContext, testCase);
+    }
+
+    @Test(expected = IllegalTestException.class)
+    public void testConstructor_withTestcase_withTooManyProbeSignificantDigits() {
+        TestCase testCase = new TestCase("TestContainerProbeSignificantDigitsTest");
+        testCase.setProperty("class", SuccessTest.class.getName());
+        testCase.setProperty("probeSignificantDigits", "6");
+
+        new TestContainer(testContext, testCase);
+    }
+
+    @Test(expected = IllegalTestException.class)
+    public void testConstructor_withTestcase_withInvalidProbeResolution() {
+        TestCase testCase = new TestCase("TestContainerProbeResolutionTest");
+        testCase.setProperty("class", SuccessTest.class.getName());
+        testCase.setProperty("probeResolution", "picoseconds");
+
+        new TestContainer(testContext, testCase);
+    }
+
+    @Test
+    public void testConstructor_withTestcase_withLoadProfile() {
+        TestCase testCase = new TestCase("TestContainerLoadProfileTest");
+        testCase.setProperty("class", SuccessTest.class.getName());
+        testCase.setProperty("loadProfile", "ramp");
+        testCase.setProperty("loadProfileStartFrequency", "10");
+        testCase.setProperty("loadProfileTargetFrequency", "110");
+        testCase.setProperty("loadProfilePeriodSeconds", "10");
+
+        testContainer = new TestContainer(testContext, testCase);
+
+        LoadProfile loadProfile = testContainer.getLoadProfile();
+        assertEquals(LoadProfileType.RAMP, loadProfile.getType());
+        assertEquals(60, loadProfile.getFrequency(SECONDS.toNanos(5)), 0.0001);
+    }
+
+    @Test(expected = IllegalTestException.class)
+    public void testConstructor_withTestcase_withUnknownLoadProfile() {
+        TestCase testCase = new TestCase("TestContainerLoadProfileTest");
+        testCase.setProperty("class", SuccessTest.class.getName());
+        testCase.setProperty("loadProfile", "zigzag");
+
+        new TestContainer(testContext, testCase);
+    }
+
+    @Test(expected = IllegalTestException.class)
+    public void testConstructor_withTestcase_withInvalidLoadProfile() {
+        TestCase testCase = new TestCase("TestContainerLoadProfileTest");
+        testCase.setProperty("class", SuccessTest.class.getName());
+        testCase.setProperty("loadProfile", "burst");
+        testCase.setProperty("loadProfilePeriodSeconds", "10");
+        testCase.setProperty("loadProfileBurstSeconds", "20");
+
+        new TestContainer(testContext, testCase);
+    }
+
     @Test
     public void testConstructor_withTestClassInstance() {
         SuccessTest test = new SuccessTest();
@@ -111,6 +226,20 @@ public class TestContainer_BasicTest extends AbstractTestContainerTest {
         assertEquals(0, testContainer.getProbeMap().size());
     }
 
+    @Test
+    public void testGetProbeResolution_default() {
+        testContainer = createTestContainer(new BaseTest());
+
+        assertEquals(ProbeResolution.MICROSECONDS, testContainer.getProbeResolution());
+    }
+
+    @Test
+    public void testGetLoadProfile_default() {
+        testContainer = createTestContainer(new BaseTest());
+
+        assertNull(testContainer.getLoadProfile());
+    }
+
     @Test
     public void testAnnotationInheritance_withSetupInBaseClass_withRunInChildClass() throws Exception {
         // @Setup method will be called from base class, not from child class
@@ -13,6 +13,7 @@ import com.hazelcast.simulator.worker.tasks.IWorker;
 import org.junit.Test;
 
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hazelcast.simulator.test.TestContainer_RunTest.MultiProbeWorkerTest.Operation.FIRST_OPERATION;
 import static com.hazelcast.simulator.test.TestContainer_RunTest.MultiProbeWorkerTest.Operation.SECOND_OPERATION;
@@ -69,6 +70,44 @@ public class TestContainer_RunTest extends AbstractTestContainerTest {
         assertFalse(test.runWithWorkerCalled);
     }
 
+    @Test
+    public void testRunWithWorker_withTargetThroughput() throws Exception {
+        CountingWorkerTest test = new CountingWorkerTest();
+        testContainer = new TestContainer(testContext, test, 2);
+        testContainer.setTargetThroughput(20);
+        Thread testStopper = new Thread() {
+            @Override
+            public void run() {
+                sleepMillis(1000);
+                testContext.stop();
+            }
+        };
+
+        testStopper.start();
+        testContainer.invoke(TestPhase.RUN);
+        testStopper.join();
+
+        assertEquals(10, testContainer.getLoadProfile().getFrequency(0), 0.0001);
+        int iterations = test.iterations.get();
+        assertTrue("Expected at most 40 iterations, but was " + iterations, iterations <= 40);
+    }
+
+    private static class CountingWorkerTest {
+
+        final AtomicInteger iterations = new AtomicInteger();
+
+        @RunWithWorker
+        IWorker createWorker() {
+            return new AbstractMonotonicWorker() {
+
+                @Override
+                protected void timeStep() throws Exception {
+                    iterations.incrementAndGet();
+                }
+            };
+        }
+    }
+
     private static class RunWithWorkerTest {
 
         volatile boolean runWithWorkerCreated;
@@ -63,6 +63,7 @@ public class MemberWorkerTest {
             deleteLogs();
 
             deleteQuiet("throughput.txt");
+            deleteQuiet("pauses.txt");
             deleteQuiet("worker.address");
 
             deleteQuiet(MEMBER_CONFIG_FILE);
@@ -0,0 +1,140 @@
+package com.hazelcast.simulator.worker.distribution;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static com.hazelcast.simulator.utils.ReflectionUtils.invokePrivateConstructor;
+import static com.hazelcast.simulator.worker.distribution.KeyDistributionFactory.create;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class KeyDistributionFactoryTest {
+
+    private static final int KEY_COUNT = 1000;
+    private static final int ITERATIONS = 100000;
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void testConstructor() throws Exception {
+        invokePrivateConstructor(KeyDistributionFactory.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreate_withInvalidKeyCount() {
+        create(KeyDistributionType.UNIFORM, 0, random);
+    }
+
+    @Test
+    public void testCreate_allTypes_inRange() {
+        for (KeyDistributionType type : KeyDistributionType.values()) {
+            KeyDistribution keyDistribution = create(type, KEY_COUNT, random);
+            assertEquals(KEY_COUNT, keyDistribution.getKeyCount());
+
+            int[] histogram = createHistogram(keyDistribution);
+            int accessCount = 0;
+            for (int count : histogram) {
+                accessCount += count;
+            }
+            assertEquals(type.name(), ITERATIONS, accessCount);
+        }
+    }
+
+    @Test
+    public void testCreate_allTypes_withSingleKey() {
+        for (KeyDistributionType type : KeyDistributionType.values()) {
+            KeyDistribution keyDistribution = create(type, 1, random);
+            for (int i = 0; i < 100; i++) {
+                assertEquals(type.name(), 0, keyDistribution.nextKeyIndex());
+            }
+        }
+    }
+
+    @Test
+    public void testUniform() {
+        int[] histogram = createHistogram(create(KeyDistributionType.UNIFORM, KEY_COUNT, random));
+
+        for (int count : histogram) {
+            assertTrue(count > 0);
+        }
+    }
+
+    @Test
+    public void testZipfian_firstKeysArePopular() {
+        int[] histogram = createHistogram(create(KeyDistributionType.ZIPFIAN, KEY_COUNT, random));
+
+        assertTrue(histogram[0] > histogram[1]);
+        assertTrue(histogram[1] > histogram[KEY_COUNT - 1]);
+        assertTrue(sum(histogram, 0, KEY_COUNT / 10) > ITERATIONS / 2);
+    }
+
+    @Test
+    public void testLatest_lastKeysArePopular() {
+        int[] histogram = createHistogram(create(KeyDistributionType.LATEST, KEY_COUNT, random));
+
+        assertTrue(histogram[KEY_COUNT - 1] > histogram[KEY_COUNT - 2]);
+        assertTrue(histogram[KEY_COUNT - 2] > histogram[0]);
+    }
+
+    @Test
+    public void testScrambledZipfian_popularKeysAreScattered() {
+        int[] histogram = createHistogram(create(KeyDistributionType.SCRAMBLED_ZIPFIAN, KEY_COUNT, random));
+
+        int maxCount = 0;
+        for (int count : histogram) {
+            maxCount = Math.max(maxCount, count);
+        }
+        // the popularity is still skewed, but not clustered at the first keys
+        assertTrue(maxCount > 5 * ITERATIONS / KEY_COUNT);
+        assertTrue(sum(histogram, 0, KEY_COUNT / 10) < ITERATIONS / 2);
+    }
+
+    @Test
+    public void testHotspot() {
+        int[] histogram = createHistogram(create(KeyDistributionType.HOTSPOT, KEY_COUNT, random));
+
+        int hotKeyCount = (int) (KEY_COUNT * HotspotKeyDistribution.HOT_KEY_FRACTION);
+        double hotFraction = sum(histogram, 0, hotKeyCount) / (double) ITERATIONS;
+        assertEquals(HotspotKeyDistribution.HOT_OPERATION_FRACTION, hotFraction, 0.01);
+        assertTrue(histogram[KEY_COUNT - 1] > 0);
+    }
+
+    @Test
+    public void testSequential() {
+        KeyDistribution keyDistribution = create(KeyDistributionType.SEQUENTIAL, 3, random);
+
+        assertEquals(0, keyDistribution.nextKeyIndex());
+        assertEquals(1, keyDistribution.nextKeyIndex());
+        assertEquals(2, keyDistribution.nextKeyIndex());
+        assertEquals(0, keyDistribution.nextKeyIndex());
+    }
+
+    @Test
+    public void testHashFNV64_isStable() {
+        Set<Long> hashes = new HashSet<Long>();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            assertEquals(ScrambledZipfianKeyDistribution.hashFNV64(i), ScrambledZipfianKeyDistribution.hashFNV64(i));
+            hashes.add(ScrambledZipfianKeyDistribution.hashFNV64(i));
+        }
+        assertEquals(KEY_COUNT, hashes.size());
+    }
+
+    private static int[] createHistogram(KeyDistribution keyDistribution) {
+        int[] histogram = new int[keyDistribution.getKeyCount()];
+        for (int i = 0; i < ITERATIONS; i++) {
+            histogram[keyDistribution.nextKeyIndex()]++;
+        }
+        return histogram;
+    }
+
+    private static int sum(int[] histogram, int fromIndex, int toIndex) {
+        int sum = 0;
+        for (int i = fromIndex; i < toIndex; i++) {
+            sum += histogram[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,186 @@
+package com.hazelcast.simulator.worker.loadsupport;
+
+import org.junit.Test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_minLimitTooSmall() {
+        new AdaptiveConcurrencyLimit(1, 0, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_maxLimitSmallerThanMinLimit() {
+        new AdaptiveConcurrencyLimit(5, 5, 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_initialLimitOutOfRange() {
+        new AdaptiveConcurrencyLimit(11, 1, 10);
+    }
+
+    @Test
+    public void testAcquire() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10);
+
+        limit.acquire(1, SECONDS);
+        limit.acquire(1, SECONDS);
+
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAcquire_timeout() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 10);
+
+        limit.acquire(1, SECONDS);
+        limit.acquire(10, MILLISECONDS);
+    }
+
+    @Test
+    public void testRelease_increasesLimitWithStableLatency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 3);
+
+        for (int i = 0; i < 100; i++) {
+            limit.acquire(1, SECONDS);
+            limit.release(1000);
+        }
+
+        assertEquals(3, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    public void testRelease_decreasesLimitWithInflatedLatency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 8);
+
+        limit.acquire(1, SECONDS);
+        limit.release(1000);
+        limit.acquire(1, SECONDS);
+        limit.release(SECONDS.toNanos(1));
+
+        assertEquals(6, limit.getLimit());
+    }
+
+    @Test
+    public void testRelease_decreasesLimitOncePerLatency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 8);
+
+        limit.acquire(1, SECONDS);
+        limit.release(1000);
+        for (int i = 0; i < 5; i++) {
+            limit.acquire(1, SECONDS);
+            limit.release(SECONDS.toNanos(10));
+        }
+
+        assertEquals(6, limit.getLimit());
+    }
+
+    @Test
+    public void testRelease_returnsQueueingDelay() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 8);
+
+        limit.acquire(1, SECONDS);
+        assertEquals(0, limit.release(1000));
+        limit.acquire(1, SECONDS);
+        assertEquals(0, limit.release(500));
+        limit.acquire(1, SECONDS);
+        // the baseline latency drifts by 1/100 of the difference towards the latency
+        assertEquals(1485, limit.release(2000));
+    }
+
+    @Test
+    public void testRelease_slowStartIncreasesLimitPerOperation() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 100);
+
+        for (int i = 0; i < 10; i++) {
+            limit.acquire(1, SECONDS);
+            limit.release(1000);
+        }
+
+        assertEquals(11, limit.getLimit());
+    }
+
+    @Test
+    public void testRelease_increasesLimitPerWindowAfterDecrease() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 100);
+
+        limit.acquire(1, SECONDS);
+        limit.release(1000);
+        limit.acquire(1, SECONDS);
+        limit.release(SECONDS.toNanos(1));
+        for (int i = 0; i < 6; i++) {
+            limit.acquire(1, SECONDS);
+            limit.release(1000);
+        }
+
+        // slow start has ended with the decrease from 9 to 6.75, so the limit just grows by about one per window
+        assertEquals(7, limit.getLimit());
+    }
+
+    @Test
+    public void testGetAvgQueueingDelayNanos() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 8);
+        assertEquals(0, limit.getAvgQueueingDelayNanos());
+
+        limit.acquire(1, SECONDS);
+        limit.release(1000);
+        limit.acquire(1, SECONDS);
+        limit.release(500);
+        limit.acquire(1, SECONDS);
+        limit.release(2000);
+
+        assertEquals(495, limit.getAvgQueueingDelayNanos());
+    }
+
+    @Test
+    public void testReleaseOnFailure() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 2, 8);
+
+        for (int i = 0; i < 5; i++) {
+            limit.acquire(1, SECONDS);
+            limit.releaseOnFailure();
+        }
+
+        assertEquals(2, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    public void testAwaitCompletion() {
+        final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 2);
+        limit.acquire(1, SECONDS);
+
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                limit.release(1000);
+            }
+        };
+        thread.start();
+
+        limit.awaitCompletion(10, SECONDS);
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    public void testAwaitCompletion_noInFlightOperations() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 2);
+
+        limit.awaitCompletion(10, MILLISECONDS);
+        assertTrue(limit.getLimit() > 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAwaitCompletion_timeout() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 2);
+        limit.acquire(1, SECONDS);
+
+        limit.awaitCompletion(10, MILLISECONDS);
+    }
+}
@@ -10,6 +10,9 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import static com.hazelcast.simulator.utils.CommonUtils.joinThread;
+import static com.hazelcast.simulator.worker.loadsupport.AbstractAsyncStreamer.INITIAL_CONCURRENCY_LIMIT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
@@ -76,6 +79,46 @@ public class AsyncMapStreamerTest {
         joinThread(thread);
     }
 
+    @Test
+    public void testPushEntry_withExceptionOnStoreAsync_releasesPermit() {
+        doThrow(new IllegalArgumentException()).when(map).putAsync(anyInt(), anyString());
+
+        for (int i = 0; i < INITIAL_CONCURRENCY_LIMIT * 2; i++) {
+            try {
+                streamer.pushEntry(i, "value");
+                fail("Expected exception directly thrown by pushEntry() method");
+            } catch (IllegalArgumentException expected) {
+                EmptyStatement.ignore(expected);
+            }
+        }
+
+        streamer.await();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAwait_withExceptionInFuture_decreasesConcurrencyLimit() {
+        when(map.putAsync(anyInt(), anyString())).thenReturn(future);
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                ExecutionCallback<String> callback = (ExecutionCallback<String>) invocation.getArguments()[0];
+                callback.onFailure(new IllegalArgumentException("expected exception"));
+                return null;
+            }
+        }).when(future).andThen(any(ExecutionCallback.class));
+
+        streamer.pushEntry(1, "value");
+
+        assertTrue(((AbstractAsyncStreamer) streamer).getConcurrencyLimit() < INITIAL_CONCURRENCY_LIMIT);
+        try {
+            streamer.await();
+            fail("Expected exception of the future to be thrown by await() method");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("expected exception", expected.getMessage());
+        }
+    }
+
     @Test(expected = IllegalArgumentException.class)
     @SuppressWarnings("unchecked")
     public void testAwait_withExceptionInFuture() {
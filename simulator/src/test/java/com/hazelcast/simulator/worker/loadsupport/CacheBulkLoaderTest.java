@@ -0,0 +1,56 @@
+package com.hazelcast.simulator.worker.loadsupport;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.Member;
+import com.hazelcast.core.Partition;
+import com.hazelcast.core.PartitionService;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.cache.Cache;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CacheBulkLoaderTest {
+
+    @SuppressWarnings("unchecked")
+    private final Cache<Integer, String> cache = mock(Cache.class);
+    private final HazelcastInstance hz = mock(HazelcastInstance.class);
+
+    private Streamer<Integer, String> streamer;
+
+    @Before
+    public void setUp() {
+        Partition partition = mock(Partition.class);
+        when(partition.getOwner()).thenReturn(mock(Member.class));
+        PartitionService partitionService = mock(PartitionService.class);
+        when(partitionService.getPartition(any())).thenReturn(partition);
+        when(hz.getPartitionService()).thenReturn(partitionService);
+
+        streamer = StreamerFactory.getBulkInstance(hz, cache, 2, 10);
+    }
+
+    @Test
+    public void testPushEntry() {
+        for (int i = 0; i < 25; i++) {
+            streamer.pushEntry(i, "value");
+        }
+        streamer.await();
+
+        verify(cache, times(3)).putAll(anyMap());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAwait_withExceptionInPutAll() {
+        doThrow(new IllegalArgumentException("expected exception")).when(cache).putAll(anyMap());
+
+        streamer.pushEntry(1, "value");
+        streamer.await();
+    }
+}
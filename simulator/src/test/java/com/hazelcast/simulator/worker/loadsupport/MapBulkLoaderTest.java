@@ -0,0 +1,184 @@
+package com.hazelcast.simulator.worker.loadsupport;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.Member;
+import com.hazelcast.core.Partition;
+import com.hazelcast.core.PartitionService;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MapBulkLoaderTest {
+
+    @SuppressWarnings("unchecked")
+    private final IMap<Integer, String> map = mock(IMap.class);
+    private final PartitionService partitionService = mock(PartitionService.class);
+    private final HazelcastInstance hz = mock(HazelcastInstance.class);
+
+    private final Member member1 = mock(Member.class);
+    private final Member member2 = mock(Member.class);
+
+    private Streamer<Integer, String> streamer;
+
+    @Before
+    public void setUp() {
+        final Partition partition1 = mock(Partition.class);
+        when(partition1.getOwner()).thenReturn(member1);
+        final Partition partition2 = mock(Partition.class);
+        when(partition2.getOwner()).thenReturn(member2);
+
+        when(partitionService.getPartition(any())).thenAnswer(new Answer<Partition>() {
+            @Override
+            public Partition answer(InvocationOnMock invocation) throws Throwable {
+                Integer key = (Integer) invocation.getArguments()[0];
+                return (key % 2 == 0) ? partition1 : partition2;
+            }
+        });
+        when(hz.getPartitionService()).thenReturn(partitionService);
+
+        streamer = StreamerFactory.getBulkInstance(hz, map, 2, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_invalidThreadCount() {
+        StreamerFactory.getBulkInstance(hz, map, 0, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_invalidBatchSize() {
+        StreamerFactory.getBulkInstance(hz, map, 1, 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPushEntry_storesBatchesPerOwner() {
+        for (int i = 0; i < 100; i++) {
+            streamer.pushEntry(i, "value" + i);
+        }
+        streamer.await();
+
+        ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
+        verify(map, times(10)).putAll(captor.capture());
+
+        Map<Integer, String> storedEntries = new HashMap<Integer, String>();
+        for (Map<Integer, String> batch : (List<Map<Integer, String>>) (List) captor.getAllValues()) {
+            assertEquals(10, batch.size());
+            int ownerIndex = batch.keySet().iterator().next() % 2;
+            for (Integer key : batch.keySet()) {
+                assertEquals(ownerIndex, key % 2);
+            }
+            storedEntries.putAll(batch);
+        }
+        assertEquals(100, storedEntries.size());
+        assertEquals("value42", storedEntries.get(42));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAwait_storesIncompleteBatches() {
+        for (int i = 0; i < 5; i++) {
+            streamer.pushEntry(i, "value");
+        }
+        verify(map, never()).putAll(anyMap());
+
+        streamer.await();
+
+        verify(map, times(2)).putAll(anyMap());
+    }
+
+    @Test
+    public void testAwait_withoutEntries() {
+        streamer.await();
+
+        verify(map, never()).putAll(anyMap());
+    }
+
+    @Test
+    public void testAwait_canBeReused() {
+        streamer.pushEntry(1, "value");
+        streamer.await();
+        streamer.pushEntry(2, "value");
+        streamer.await();
+
+        verify(map, times(2)).putAll(anyMap());
+    }
+
+    @Test
+    public void testPushEntry_withoutOwner() {
+        Partition partition = mock(Partition.class);
+        doReturn(partition).when(partitionService).getPartition(any());
+
+        for (int i = 0; i < 20; i++) {
+            streamer.pushEntry(i, "value");
+        }
+        streamer.await();
+
+        verify(map, times(2)).putAll(anyMap());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAwait_withExceptionInPutAll() {
+        doThrow(new IllegalArgumentException("expected exception")).when(map).putAll(anyMap());
+
+        streamer.pushEntry(1, "value");
+        streamer.await();
+    }
+
+    @Test
+    public void testPushEntry_withExceptionInPreviousBatch() {
+        doThrow(new IllegalArgumentException("expected exception")).when(map).putAll(anyMap());
+
+        try {
+            for (int i = 0; i < 1000; i++) {
+                streamer.pushEntry(i, "value");
+            }
+            fail("Expected exception of a previous batch to be thrown by pushEntry() method");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("expected exception", expected.getMessage());
+        }
+        verify(map, atLeastOnce()).putAll(anyMap());
+        assertFalse(((AbstractBulkLoader) streamer).isStarted());
+    }
+
+    @Test
+    public void testAwait_withExceptionInPreviousBatch() {
+        doThrow(new IllegalArgumentException("expected exception")).when(map).putAll(anyMap());
+
+        for (int i = 0; i < 10; i++) {
+            streamer.pushEntry(i * 2, "value");
+        }
+        streamer.pushEntry(1, "value");
+        sleepMillis(500);
+
+        try {
+            streamer.await();
+            fail("Expected exception of a previous batch to be thrown by await() method");
+        } catch (IllegalArgumentException expected) {
+            assertEquals("expected exception", expected.getMessage());
+        }
+        verify(map, times(1)).putAll(anyMap());
+        assertFalse(((AbstractBulkLoader) streamer).isStarted());
+    }
+}
@@ -1,7 +1,10 @@
 package com.hazelcast.simulator.worker.loadsupport;
 
 import com.hazelcast.cache.ICache;
+import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
+import com.hazelcast.core.PartitionService;
+import org.junit.Before;
 import org.junit.Test;
 
 import javax.cache.Cache;
@@ -10,18 +13,25 @@ import static com.hazelcast.simulator.utils.ReflectionUtils.invokePrivateConstru
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class StreamerFactoryTest {
 
     private final IMap iMap = mock(IMap.class);
     private final ICache iCache = mock(ICache.class);
     private final Cache cache = mock(Cache.class);
+    private final HazelcastInstance hz = mock(HazelcastInstance.class);
 
     @Test
     public void testConstructor() throws Exception {
         invokePrivateConstructor(StreamerFactory.class);
     }
 
+    @Before
+    public void setUp() {
+        when(hz.getPartitionService()).thenReturn(mock(PartitionService.class));
+    }
+
     @Test
     public void testGetInstance_withMap() {
         Streamer streamer = StreamerFactory.getInstance(iMap);
@@ -87,4 +97,18 @@ public class StreamerFactoryTest {
         assertNotNull(streamer);
         assertTrue(streamer instanceof SyncCacheStreamer);
     }
+
+    @Test
+    public void testGetBulkInstance_withMap() {
+        Streamer streamer = StreamerFactory.getBulkInstance(hz, iMap);
+        assertNotNull(streamer);
+        assertTrue(streamer instanceof MapBulkLoader);
+    }
+
+    @Test
+    public void testGetBulkInstance_withCache() {
+        Streamer streamer = StreamerFactory.getBulkInstance(hz, cache);
+        assertNotNull(streamer);
+        assertTrue(streamer instanceof CacheBulkLoader);
+    }
 }
@@ -0,0 +1,50 @@
+package com.hazelcast.simulator.worker.metronome;
+
+import org.junit.Test;
+
+import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
+import static com.hazelcast.simulator.worker.metronome.MetronomeFactory.withFixedScheduleFrequency;
+import static com.hazelcast.simulator.worker.metronome.MetronomeFactory.withFixedScheduleIntervalMs;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FixedScheduleMetronomeTest {
+
+    @Test
+    public void testWaitForNext_SLEEPING() {
+        assertFixedSchedule(MetronomeType.SLEEPING);
+    }
+
+    @Test
+    public void testWaitForNext_BUSY_SPINNING() {
+        assertFixedSchedule(MetronomeType.BUSY_SPINNING);
+    }
+
+    @Test
+    public void testGetIntervalNanos() {
+        ScheduledMetronome metronome = (ScheduledMetronome) withFixedScheduleFrequency(25, MetronomeType.SLEEPING);
+
+        assertEquals(MILLISECONDS.toNanos(40), metronome.getIntervalNanos());
+    }
+
+    private static void assertFixedSchedule(MetronomeType type) {
+        int intervalMs = 10;
+        long intervalNanos = MILLISECONDS.toNanos(intervalMs);
+
+        ScheduledMetronome metronome = (ScheduledMetronome) withFixedScheduleIntervalMs(intervalMs, type);
+        metronome.waitForNext();
+        long firstIntendedStart = metronome.getIntendedStartNanos();
+        for (int i = 1; i < 10; i++) {
+            // a delayed operation must not shift the schedule of the following operations
+            if (i == 5) {
+                sleepMillis(intervalMs * 3);
+            }
+            metronome.waitForNext();
+            long intendedStart = metronome.getIntendedStartNanos();
+
+            assertEquals(firstIntendedStart + i * intervalNanos, intendedStart);
+            assertTrue(System.nanoTime() >= intendedStart);
+        }
+    }
+}
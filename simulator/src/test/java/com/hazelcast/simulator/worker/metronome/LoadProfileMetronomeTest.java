@@ -0,0 +1,65 @@
+package com.hazelcast.simulator.worker.metronome;
+
+import org.junit.Test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LoadProfileMetronomeTest {
+
+    @Test
+    public void testWaitForNext_withConstantProfile() {
+        ScheduledMetronome metronome = (ScheduledMetronome) MetronomeFactory.withLoadProfile(LoadProfile.constant(100));
+
+        long startNanos = System.nanoTime();
+        metronome.waitForNext();
+        long firstIntendedStart = metronome.getIntendedStartNanos();
+        for (int i = 1; i < 10; i++) {
+            metronome.waitForNext();
+            long intendedStart = metronome.getIntendedStartNanos();
+
+            assertEquals(firstIntendedStart + i * MILLISECONDS.toNanos(10), intendedStart);
+            assertTrue(System.nanoTime() >= intendedStart);
+        }
+        assertEquals(MILLISECONDS.toNanos(10), metronome.getIntervalNanos());
+        assertTrue(System.nanoTime() - startNanos >= MILLISECONDS.toNanos(90));
+    }
+
+    @Test
+    public void testWaitForNext_withRampProfile_increasesFrequency() {
+        ScheduledMetronome metronome = (ScheduledMetronome) MetronomeFactory.withLoadProfile(LoadProfile.ramp(0, 1000, 1));
+
+        metronome.waitForNext();
+        long firstIntervalNanos = metronome.getIntervalNanos();
+        for (int i = 0; i < 50; i++) {
+            metronome.waitForNext();
+        }
+
+        assertTrue(metronome.getIntervalNanos() < firstIntervalNanos);
+    }
+
+    @Test
+    public void testWaitForNext_withRampProfileFromZero_followsIncreasingFrequency() {
+        // the frequency at the first idle step is below 1 Hz, but has reached 1 Hz after 60 ms
+        Metronome metronome = MetronomeFactory.withLoadProfile(LoadProfile.ramp(0, 1000, 60));
+
+        long startNanos = System.nanoTime();
+        metronome.waitForNext();
+        metronome.waitForNext();
+
+        assertTrue(System.nanoTime() - startNanos < SECONDS.toNanos(5));
+    }
+
+    @Test
+    public void testWaitForNext_skipsPeriodsWithoutLoad() {
+        ScheduledMetronome metronome = (ScheduledMetronome) MetronomeFactory.withLoadProfile(LoadProfile.step(0, 1000, 1, 2));
+
+        long startNanos = System.nanoTime();
+        metronome.waitForNext();
+
+        assertTrue(System.nanoTime() - startNanos >= MILLISECONDS.toNanos(900));
+        assertEquals(MILLISECONDS.toNanos(1), metronome.getIntervalNanos());
+    }
+}
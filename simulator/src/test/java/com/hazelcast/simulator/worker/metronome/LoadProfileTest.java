@@ -0,0 +1,120 @@
+package com.hazelcast.simulator.worker.metronome;
+
+import org.junit.Test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LoadProfileTest {
+
+    private static final double DELTA = 0.0001;
+
+    @Test
+    public void testConstant() {
+        LoadProfile loadProfile = LoadProfile.constant(50);
+
+        assertEquals(LoadProfileType.CONSTANT, loadProfile.getType());
+        assertEquals(50, loadProfile.getFrequency(0), DELTA);
+        assertEquals(50, loadProfile.getFrequency(SECONDS.toNanos(1000)), DELTA);
+    }
+
+    @Test
+    public void testRamp() {
+        LoadProfile loadProfile = LoadProfile.ramp(10, 110, 10);
+
+        assertEquals(LoadProfileType.RAMP, loadProfile.getType());
+        assertEquals(10, loadProfile.getFrequency(0), DELTA);
+        assertEquals(60, loadProfile.getFrequency(SECONDS.toNanos(5)), DELTA);
+        assertEquals(110, loadProfile.getFrequency(SECONDS.toNanos(10)), DELTA);
+        assertEquals(110, loadProfile.getFrequency(SECONDS.toNanos(60)), DELTA);
+    }
+
+    @Test
+    public void testRamp_downwards() {
+        LoadProfile loadProfile = LoadProfile.ramp(100, 0, 10);
+
+        assertEquals(50, loadProfile.getFrequency(SECONDS.toNanos(5)), DELTA);
+        assertEquals(0, loadProfile.getFrequency(SECONDS.toNanos(20)), DELTA);
+    }
+
+    @Test
+    public void testStep() {
+        LoadProfile loadProfile = LoadProfile.step(10, 40, 5, 4);
+
+        assertEquals(LoadProfileType.STEP, loadProfile.getType());
+        assertEquals(10, loadProfile.getFrequency(0), DELTA);
+        assertEquals(10, loadProfile.getFrequency(MILLISECONDS.toNanos(4999)), DELTA);
+        assertEquals(20, loadProfile.getFrequency(SECONDS.toNanos(5)), DELTA);
+        assertEquals(30, loadProfile.getFrequency(SECONDS.toNanos(10)), DELTA);
+        assertEquals(40, loadProfile.getFrequency(SECONDS.toNanos(15)), DELTA);
+        assertEquals(40, loadProfile.getFrequency(SECONDS.toNanos(100)), DELTA);
+    }
+
+    @Test
+    public void testStep_withSingleStep() {
+        LoadProfile loadProfile = LoadProfile.step(10, 40, 5, 1);
+
+        assertEquals(40, loadProfile.getFrequency(0), DELTA);
+    }
+
+    @Test
+    public void testSinusoid() {
+        LoadProfile loadProfile = LoadProfile.sinusoid(10, 30, 20);
+
+        assertEquals(LoadProfileType.SINUSOID, loadProfile.getType());
+        assertEquals(10, loadProfile.getFrequency(0), DELTA);
+        assertEquals(20, loadProfile.getFrequency(SECONDS.toNanos(5)), DELTA);
+        assertEquals(30, loadProfile.getFrequency(SECONDS.toNanos(10)), DELTA);
+        assertEquals(20, loadProfile.getFrequency(SECONDS.toNanos(15)), DELTA);
+        assertEquals(10, loadProfile.getFrequency(SECONDS.toNanos(20)), DELTA);
+        assertEquals(30, loadProfile.getFrequency(SECONDS.toNanos(30)), DELTA);
+    }
+
+    @Test
+    public void testBurst() {
+        LoadProfile loadProfile = LoadProfile.burst(10, 100, 10, 2);
+
+        assertEquals(LoadProfileType.BURST, loadProfile.getType());
+        assertEquals(100, loadProfile.getFrequency(0), DELTA);
+        assertEquals(100, loadProfile.getFrequency(MILLISECONDS.toNanos(1999)), DELTA);
+        assertEquals(10, loadProfile.getFrequency(SECONDS.toNanos(2)), DELTA);
+        assertEquals(10, loadProfile.getFrequency(SECONDS.toNanos(9)), DELTA);
+        assertEquals(100, loadProfile.getFrequency(SECONDS.toNanos(11)), DELTA);
+    }
+
+    @Test
+    public void testCreate() {
+        assertEquals(LoadProfileType.CONSTANT, LoadProfile.create(LoadProfileType.CONSTANT, 0, 10, 60, 10, 1).getType());
+        assertEquals(LoadProfileType.RAMP, LoadProfile.create(LoadProfileType.RAMP, 0, 10, 60, 10, 1).getType());
+        assertEquals(LoadProfileType.STEP, LoadProfile.create(LoadProfileType.STEP, 0, 10, 60, 10, 1).getType());
+        assertEquals(LoadProfileType.SINUSOID, LoadProfile.create(LoadProfileType.SINUSOID, 0, 10, 60, 10, 1).getType());
+        assertEquals(LoadProfileType.BURST, LoadProfile.create(LoadProfileType.BURST, 0, 10, 60, 10, 1).getType());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeFrequency() {
+        LoadProfile.ramp(-1, 10, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPeriod() {
+        LoadProfile.sinusoid(1, 10, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSteps() {
+        LoadProfile.step(1, 10, 10, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBurstLongerThanPeriod() {
+        LoadProfile.burst(1, 10, 10, 11);
+    }
+
+    @Test
+    public void testToString() {
+        assertTrue(LoadProfile.burst(1, 10, 10, 2).toString().contains("BURST"));
+    }
+}
@@ -81,4 +81,39 @@ public class MetronomeFactoryTest {
 
         assertTrue(metronome instanceof BusySpinningMetronome);
     }
+
+    @Test
+    public void testWithFixedScheduleIntervalMs_returnsEmptyMetronome() {
+        Metronome metronome = MetronomeFactory.withFixedScheduleIntervalMs(0, MetronomeType.SLEEPING);
+
+        assertTrue(metronome instanceof EmptyMetronome);
+    }
+
+    @Test
+    public void testWithFixedScheduleIntervalMs_returnsFixedScheduleMetronome() {
+        Metronome metronome = MetronomeFactory.withFixedScheduleIntervalMs(23, MetronomeType.BUSY_SPINNING);
+
+        assertTrue(metronome instanceof FixedScheduleMetronome);
+    }
+
+    @Test
+    public void testWithFixedScheduleFrequency_returnsEmptyMetronome() {
+        Metronome metronome = MetronomeFactory.withFixedScheduleFrequency(0, MetronomeType.SLEEPING);
+
+        assertTrue(metronome instanceof EmptyMetronome);
+    }
+
+    @Test
+    public void testWithFixedScheduleFrequency_returnsFixedScheduleMetronome() {
+        Metronome metronome = MetronomeFactory.withFixedScheduleFrequency(23, MetronomeType.SLEEPING);
+
+        assertTrue(metronome instanceof FixedScheduleMetronome);
+    }
+
+    @Test
+    public void testWithLoadProfile_returnsLoadProfileMetronome() {
+        Metronome metronome = MetronomeFactory.withLoadProfile(LoadProfile.constant(23));
+
+        assertTrue(metronome instanceof LoadProfileMetronome);
+    }
 }
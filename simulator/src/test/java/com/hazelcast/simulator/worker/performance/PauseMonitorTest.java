@@ -0,0 +1,79 @@
+package com.hazelcast.simulator.worker.performance;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.Notification;
+
+import static com.hazelcast.simulator.worker.performance.PauseMonitor.getGcDuration;
+import static com.hazelcast.simulator.worker.performance.PauseState.NOT_AVAILABLE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PauseMonitorTest {
+
+    private PauseMonitor pauseMonitor;
+
+    @Before
+    public void setUp() {
+        pauseMonitor = new PauseMonitor();
+    }
+
+    @After
+    public void tearDown() {
+        pauseMonitor.stop();
+    }
+
+    @Test
+    public void testGetIntervalPauseState() {
+        System.gc();
+
+        PauseState pauseState = pauseMonitor.getIntervalPauseState(12345);
+
+        assertEquals(12345, pauseState.getTimestamp());
+        assertTrue(pauseState.getGcCount() >= 0);
+        assertTrue(pauseState.getGcTotalMillis() >= 0);
+        assertTrue(pauseState.getGcMaxMillis() >= NOT_AVAILABLE);
+        assertEquals(pauseMonitor.hasSafepointStatistics(), pauseState.hasSafepoints());
+        if (pauseState.hasSafepoints()) {
+            assertTrue(pauseState.getSafepointCount() >= 0);
+            assertTrue(pauseState.getSafepointTotalMillis() >= 0);
+        } else {
+            assertEquals(NOT_AVAILABLE, pauseState.getSafepointTotalMillis());
+        }
+    }
+
+    @Test
+    public void testGetIntervalPauseState_resetsInterval() {
+        pauseMonitor.getIntervalPauseState(1);
+        PauseState pauseState = pauseMonitor.getIntervalPauseState(2);
+
+        // no GC should be triggered between the two calls, but we cannot rule it out completely
+        assertTrue(pauseState.getGcCount() >= 0);
+        if (pauseState.getGcCount() == 0) {
+            assertEquals(0, pauseState.getGcTotalMillis());
+            assertEquals(0, pauseState.getGcMaxMillis());
+        }
+    }
+
+    @Test
+    public void testStop_twice() {
+        pauseMonitor.stop();
+        pauseMonitor.stop();
+    }
+
+    @Test
+    public void testGetGcDuration_withOtherNotification() {
+        Notification notification = new Notification("other", this, 1);
+
+        assertEquals(NOT_AVAILABLE, getGcDuration(notification));
+    }
+
+    @Test
+    public void testGetGcDuration_withoutUserData() {
+        Notification notification = new Notification(PauseMonitor.GC_NOTIFICATION_TYPE, this, 1);
+
+        assertEquals(NOT_AVAILABLE, getGcDuration(notification));
+    }
+}
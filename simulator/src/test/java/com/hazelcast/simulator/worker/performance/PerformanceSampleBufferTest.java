@@ -0,0 +1,74 @@
+package com.hazelcast.simulator.worker.performance;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PerformanceSampleBufferTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_invalidCapacity() {
+        new PerformanceSampleBuffer(0);
+    }
+
+    @Test
+    public void testAdd() {
+        PerformanceSampleBuffer buffer = new PerformanceSampleBuffer(4);
+        buffer.add(100, 10, 20, 30);
+        buffer.add(200, 11, 21, 31);
+
+        assertEquals(4, buffer.capacity());
+        assertEquals(2, buffer.size());
+        assertEquals(100, buffer.getTimestamp(0));
+        assertEquals(10, buffer.getOperationCount(0));
+        assertEquals(20, buffer.getPercentileLatency(0));
+        assertEquals(30, buffer.getMaxLatency(0));
+        assertEquals(200, buffer.getTimestamp(1));
+        assertEquals(31, buffer.getMaxLatency(1));
+    }
+
+    @Test
+    public void testAdd_overwritesOldestSample() {
+        PerformanceSampleBuffer buffer = new PerformanceSampleBuffer(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(i * 100, i, i, i);
+        }
+
+        assertEquals(3, buffer.size());
+        assertEquals(300, buffer.getTimestamp(0));
+        assertEquals(400, buffer.getTimestamp(1));
+        assertEquals(500, buffer.getTimestamp(2));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGet_indexOutOfBounds() {
+        PerformanceSampleBuffer buffer = new PerformanceSampleBuffer(3);
+        buffer.add(100, 10, 20, 30);
+
+        buffer.getTimestamp(1);
+    }
+
+    @Test
+    public void testFormatSamples() {
+        PerformanceSampleBuffer buffer = new PerformanceSampleBuffer(3);
+        buffer.add(1000, 100, 20, 30);
+        buffer.add(1100, 250, 21, 4242);
+
+        String content = buffer.formatSamples();
+        assertEquals(4, content.split("\\n").length);
+        assertTrue(content.contains("2,500.00"));
+        assertTrue(content.contains("4,242"));
+    }
+
+    @Test
+    public void testFormatSamples_fromIndex() {
+        PerformanceSampleBuffer buffer = new PerformanceSampleBuffer(3);
+        buffer.add(1000, 100, 20, 30);
+        buffer.add(1100, 250, 21, 4242);
+
+        String content = buffer.formatSamples(1);
+        assertEquals(1, content.split("\\n").length);
+        assertTrue(content.contains("2,500.00"));
+    }
+}
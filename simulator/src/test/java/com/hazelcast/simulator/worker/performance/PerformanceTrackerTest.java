@@ -1,17 +1,256 @@
 package com.hazelcast.simulator.worker.performance;
 
+import com.hazelcast.simulator.probes.OperationCost;
+import com.hazelcast.simulator.probes.ProbeResolution;
 import com.hazelcast.simulator.test.TestException;
+import com.hazelcast.simulator.worker.metronome.LoadProfile;
+import org.HdrHistogram.Histogram;
+import org.junit.After;
 import org.junit.Test;
 
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static javax.xml.bind.DatatypeConverter.parseBase64Binary;
+import static org.HdrHistogram.Histogram.decodeFromCompressedByteBuffer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
 public class PerformanceTrackerTest {
 
+    private static final String TEST_ID = "PerformanceTrackerTest";
+    private static final String PROBE_NAME = "probe";
+
+    @After
+    public void tearDown() {
+        deleteQuiet(new File("throughput-" + TEST_ID + ".txt"));
+        deleteQuiet(new File("latency-" + TEST_ID + '-' + PROBE_NAME + ".txt"));
+        deleteQuiet(new File("latency-" + TEST_ID + "-aggregated.txt"));
+        deleteQuiet(new File("samples-" + TEST_ID + ".txt"));
+    }
+
     @Test(expected = TestException.class)
     public void testCreateHistogramLogWriter_withInvalidFilename() {
-        PerformanceTracker.createHistogramLogWriter("invalidFileName", ":\\//", System.currentTimeMillis());
+        PerformanceTracker.createHistogramLogWriter("invalidFileName", ":\\//", System.currentTimeMillis(),
+                ProbeResolution.MICROSECONDS);
     }
 
-    @Test(expected = TestException.class)
-    public void testCreateHistogramLogReader_withInvalidFilename() {
-        PerformanceTracker.createHistogramLogReader("invalidFileName", ":\\//");
+    @Test
+    public void testAggregateIntervalHistograms() throws Exception {
+        long started = System.currentTimeMillis();
+        PerformanceTracker tracker = new PerformanceTracker(TEST_ID, Collections.singleton(PROBE_NAME), started);
+
+        tracker.update(createIntervalHistograms(100, 500), 100, 100.0, 100, 500, started + 1000);
+        tracker.update(createIntervalHistograms(300, 200), 300, 300.0, 300, 200, started + 2000);
+
+        Map<String, String> probeResults = tracker.aggregateIntervalHistograms(TEST_ID);
+        assertEquals(1, probeResults.size());
+
+        ByteBuffer buffer = ByteBuffer.wrap(parseBase64Binary(probeResults.get(PROBE_NAME)));
+        Histogram histogram = decodeFromCompressedByteBuffer(buffer, 0);
+        assertEquals(700, histogram.getTotalCount());
+        assertEquals(100, histogram.getMinValue());
+        assertEquals(300, histogram.getMaxValue());
+    }
+
+    @Test
+    public void testAggregateIntervalHistograms_withoutUpdate() {
+        PerformanceTracker tracker = new PerformanceTracker(TEST_ID, Collections.singleton(PROBE_NAME),
+                System.currentTimeMillis());
+
+        assertTrue(tracker.aggregateIntervalHistograms(TEST_ID).isEmpty());
+    }
+
+    @Test
+    public void testUpdate_withLoadProfile() {
+        long started = System.currentTimeMillis();
+        PerformanceTrackerParameters parameters = new PerformanceTrackerParameters(ProbeResolution.MICROSECONDS,
+                LoadProfile.ramp(0, 100, 10), 4);
+        PerformanceTracker tracker = new PerformanceTracker(TEST_ID, Collections.singleton(PROBE_NAME), started, parameters,
+                new PerformanceWriter(false));
+
+        tracker.update(createIntervalHistograms(100, 500), 100, 100.0, 100, 500, started + 5000);
+        tracker.writeStatsToFile("timestamp");
+
+        assertEquals(200.0, tracker.getTargetThroughput(), 0.0001);
+        assertTrue(fileAsText(new File("throughput-" + TEST_ID + ".txt")).contains("Target ops/s"));
+        assertTrue(fileAsText(new File("latency-" + TEST_ID + '-' + PROBE_NAME + ".txt"))
+                .contains("[Load profile target: 200.0 ops/s]"));
+    }
+
+    @Test
+    public void testUpdate_withChangedLoadProfile() {
+        long started = System.currentTimeMillis();
+        PerformanceTrackerParameters parameters = new PerformanceTrackerParameters(ProbeResolution.MICROSECONDS,
+                LoadProfile.constant(10), 4);
+        PerformanceTracker tracker = new PerformanceTracker(TEST_ID, Collections.singleton(PROBE_NAME), started, parameters,
+                new PerformanceWriter(false));
+
+        tracker.setLoadProfile(LoadProfile.constant(50));
+        tracker.update(createIntervalHistograms(100, 500), 100, 100.0, 100, 500, started + 5000);
+
+        assertEquals(200.0, tracker.getTargetThroughput(), 0.0001);
+    }
+
+    @Test
+    public void testUpdate_withoutLoadProfile() {
+        long started = System.currentTimeMillis();
+        PerformanceTracker tracker = new PerformanceTracker(TEST_ID, Collections.singleton(PROBE_NAME), started);
+
+        tracker.setLoadProfile(LoadProfile.constant(50));
+        tracker.update(createIntervalHistograms(100, 500), 100, 100.0, 100, 500, started + 5000);
+        tracker.writeStatsToFile("timestamp");
+
+        assertEquals(0.0, tracker.getTargetThroughput(), 0.0001);
+        assertFalse(fileAsText(new File("throughput-" + TEST_ID + ".txt")).contains("Target ops/s"));
+    }
+
+    @Test
+    public void testUpdateFromSamples() {
+        long started = System.currentTimeMillis();
+        PerformanceTracker tracker = new PerformanceTracker(TEST_ID, Collections.singleton(PROBE_NAME), started);
+
+        tracker.addSample(createIntervalHistograms(100, 500), 500, started + 100);
+        tracker.addSample(createIntervalHistograms(300, 200), 200, started + 200);
+        tracker.addSample(createIntervalHistograms(200, 300), 300, started + 300);
+        assertFalse(tracker.isUpdated());
+
+        tracker.updateFromSamples(started + 1000);
+
+        assertTrue(tracker.isUpdated());
+        assertEquals(1000, tracker.getIntervalOperationCount());
+        assertEquals(1000, tracker.getTotalOperationCount());
+        assertEquals(1000.0, tracker.getIntervalThroughput(), 0.0001);
+
+        PerformanceState state = tracker.createPerformanceState();
+        assertEquals(300, state.getIntervalPercentileLatency());
+        assertEquals(300, state.getIntervalMaxLatency());
+
+        PerformanceSampleBuffer sampleBuffer = tracker.getSampleBuffer();
+        assertEquals(3, sampleBuffer.size());
+        assertEquals(100, sampleBuffer.getMaxLatency(0));
+        assertEquals(300, sampleBuffer.getMaxLatency(1));
+        assertEquals(200, sampleBuffer.getMaxLatency(2));
+    }
+
+    @Test
+    public void testUpdateFromSamples_withOperationCost() {
+        long started = System.currentTimeMillis();
+        PerformanceTracker tracker = new PerformanceTracker(TEST_ID, Collections.singleton(PROBE_NAME), started);
+
+        tracker.addSample(createIntervalHistograms(100, 500), createOperationCosts(new OperationCost(500, 5000, 1000)), 500,
+                started + 100);
+        tracker.addSample(createIntervalHistograms(100, 500), createOperationCosts(new OperationCost(500, 15000, 3000)), 500,
+                started + 200);
+        assertNull(tracker.getOperationCost(PROBE_NAME));
+
+        tracker.updateFromSamples(started + 1000);
+        tracker.writeStatsToFile("timestamp");
+
+        OperationCost cost = tracker.getOperationCost(PROBE_NAME);
+        assertEquals(1000, cost.getOperationCount());
+        assertEquals(20.0, cost.getCpuTimeNanosPerOperation(), 0.0001);
+        assertEquals(4.0, cost.getAllocatedBytesPerOperation(), 0.0001);
+        assertTrue(fileAsText(new File("latency-" + TEST_ID + '-' + PROBE_NAME + ".txt")).contains("[Operation cost: "));
+
+        tracker.addSample(createIntervalHistograms(100, 500), createOperationCosts(new OperationCost(1000, 10000, 2000)), 1000,
+                started + 1100);
+        tracker.updateFromSamples(started + 2000);
+
+        cost = tracker.getOperationCost(PROBE_NAME);
+        assertEquals(2000, cost.getOperationCount());
+        assertEquals(15.0, cost.getCpuTimeNanosPerOperation(), 0.0001);
+    }
+
+    @Test
+    public void testUpdateFromSamples_withoutSamples() {
+        long started = System.currentTimeMillis();
+        PerformanceTracker tracker = new PerformanceTracker(TEST_ID, Collections.singleton(PROBE_NAME), started);
+
+        tracker.updateFromSamples(started + 1000);
+
+        assertFalse(tracker.isUpdated());
+    }
+
+    @Test
+    public void testWriteSamplesToFile() {
+        long started = System.currentTimeMillis();
+        PerformanceTracker tracker = new PerformanceTracker(TEST_ID, Collections.singleton(PROBE_NAME), started);
+        assertFalse(tracker.hasUnwrittenSamples());
+
+        tracker.addSample(createIntervalHistograms(100, 500), 500, started + 100);
+        tracker.addSample(createIntervalHistograms(300, 200), 200, started + 200);
+        assertTrue(tracker.hasUnwrittenSamples());
+        assertEquals(started + 200, tracker.getLastSampleTimestamp());
+
+        tracker.writeSamplesToFile();
+
+        assertFalse(tracker.hasUnwrittenSamples());
+        String samples = fileAsText(new File("samples-" + TEST_ID + ".txt"));
+        assertEquals(4, samples.split("\n").length);
+        assertTrue(samples.contains("2,000.00"));
+    }
+
+    @Test
+    public void testWriteSamplesToFile_appendsSamples() {
+        long started = System.currentTimeMillis();
+        PerformanceTracker tracker = new PerformanceTracker(TEST_ID, Collections.singleton(PROBE_NAME), started);
+
+        tracker.addSample(createIntervalHistograms(100, 500), 500, started + 100);
+        tracker.writeSamplesToFile();
+        tracker.addSample(createIntervalHistograms(300, 200), 200, started + 200);
+        tracker.writeSamplesToFile();
+        tracker.writeSamplesToFile();
+
+        String samples = fileAsText(new File("samples-" + TEST_ID + ".txt"));
+        assertEquals(4, samples.split("\n").length);
+        assertTrue(samples.contains("2,000.00"));
+    }
+
+    @Test
+    public void testAddSample_writesSamplesBeforeBufferWraps() {
+        long started = System.currentTimeMillis();
+        PerformanceTracker tracker = new PerformanceTracker(TEST_ID, Collections.singleton(PROBE_NAME), started);
+
+        int sampleCount = PerformanceTracker.SAMPLE_BUFFER_CAPACITY * 2;
+        for (int i = 1; i <= sampleCount; i++) {
+            Histogram histogram = new Histogram(1000, 0);
+            histogram.recordValue(100);
+            tracker.addSample(Collections.singletonMap(PROBE_NAME, histogram), 1, started + i * 100);
+            tracker.updateFromSamples(started + i * 100);
+        }
+        assertTrue(tracker.hasUnwrittenSamples());
+        tracker.writeSamplesToFile();
+
+        // all samples are written and just the first sample has no throughput, since it has no predecessor
+        String[] lines = fileAsText(new File("samples-" + TEST_ID + ".txt")).split("\n");
+        assertEquals(sampleCount + 2, lines.length);
+        int samplesWithThroughput = 0;
+        for (String line : lines) {
+            if (line.contains(" 10.00 ")) {
+                samplesWithThroughput++;
+            }
+        }
+        assertEquals(sampleCount - 1, samplesWithThroughput);
+    }
+
+    private static Map<String, OperationCost> createOperationCosts(OperationCost cost) {
+        return Collections.singletonMap(PROBE_NAME, cost);
+    }
+
+    private static Map<String, Histogram> createIntervalHistograms(long value, long count) {
+        Histogram histogram = new Histogram(4);
+        histogram.recordValueWithCount(value, count);
+
+        Map<String, Histogram> intervalHistograms = new HashMap<String, Histogram>();
+        intervalHistograms.put(PROBE_NAME, histogram);
+        return intervalHistograms;
     }
 }
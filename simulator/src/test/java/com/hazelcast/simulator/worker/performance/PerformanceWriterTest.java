@@ -0,0 +1,108 @@
+package com.hazelcast.simulator.worker.performance;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.PrintStream;
+
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PerformanceWriterTest {
+
+    private final File file = new File("PerformanceWriterTest.txt");
+
+    private PerformanceWriter writer;
+
+    @After
+    public void tearDown() {
+        if (writer != null) {
+            writer.shutdown();
+        }
+        deleteQuiet(file);
+    }
+
+    @Test
+    public void testAppend_async() {
+        writer = new PerformanceWriter(true);
+        assertTrue(writer.isAsync());
+
+        writer.append(file, "first\n");
+        writer.append(file, "second\n");
+        writer.shutdown();
+
+        assertEquals("first\nsecond\n", fileAsText(file));
+    }
+
+    @Test
+    public void testAppend_sync() {
+        writer = new PerformanceWriter(false);
+        assertFalse(writer.isAsync());
+
+        writer.append(file, "first\n");
+        assertEquals("first\n", fileAsText(file));
+
+        writer.append(file, "second\n");
+        assertEquals("first\nsecond\n", fileAsText(file));
+    }
+
+    @Test
+    public void testWrite_replacesContent() {
+        writer = new PerformanceWriter(true);
+
+        writer.write(file, "first\n");
+        writer.write(file, "second\n");
+        writer.shutdown();
+
+        assertEquals("second\n", fileAsText(file));
+    }
+
+    @Test
+    public void testExecute_withPrintStream() throws Exception {
+        writer = new PerformanceWriter(true);
+        final PrintStream printStream = writer.getPrintStream(file);
+        assertSame(printStream, writer.getPrintStream(file));
+
+        writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                printStream.print("value");
+            }
+        });
+        writer.shutdown();
+
+        assertEquals("value", fileAsText(file));
+    }
+
+    @Test
+    public void testExecute_throwsException() {
+        writer = new PerformanceWriter(true);
+
+        writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException("expected");
+            }
+        });
+        writer.append(file, "value");
+        writer.shutdown();
+
+        assertEquals("value", fileAsText(file));
+    }
+
+    @Test
+    public void testExecute_afterShutdown() {
+        writer = new PerformanceWriter(true);
+        writer.append(file, "first");
+        writer.shutdown();
+
+        writer.append(file, "second");
+
+        assertEquals("first", fileAsText(file));
+    }
+}
@@ -18,6 +18,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.verification.VerificationWithTimeout;
 
+import java.io.File;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
@@ -25,6 +26,7 @@ import java.util.concurrent.TimeUnit;
 import static com.hazelcast.simulator.utils.CommonUtils.joinThread;
 import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
 import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.fileAsText;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
@@ -63,9 +65,11 @@ public class WorkerPerformanceMonitorTest {
     @AfterClass
     public static void cleanUp() {
         deleteQuiet("throughput.txt");
+        deleteQuiet("pauses.txt");
         deleteQuiet("throughput-" + TEST_NAME + ".txt");
         deleteQuiet("latency-" + TEST_NAME + "-" + "workerProbe.txt");
         deleteQuiet("latency-" + TEST_NAME + "-aggregated.txt");
+        deleteQuiet("samples-" + TEST_NAME + ".txt");
     }
 
     @Test
@@ -121,6 +125,39 @@ public class WorkerPerformanceMonitorTest {
         verifyServerConnector();
     }
 
+    @Test
+    public void test_testWithProbe_running_withSampleInterval() throws Exception {
+        performanceMonitor = new WorkerPerformanceMonitor(serverConnector, tests.values(), 300, TimeUnit.MILLISECONDS,
+                50, TimeUnit.MILLISECONDS);
+        assertTrue(performanceMonitor.start());
+
+        PerformanceMonitorProbeTest test = new PerformanceMonitorProbeTest();
+        addTest(test);
+
+        Thread testRunnerThread = new TestRunnerThread();
+        testRunnerThread.start();
+
+        test.recordValue(TimeUnit.MICROSECONDS.toNanos(500));
+        sleepMillis(200);
+
+        test.recordValue(TimeUnit.MICROSECONDS.toNanos(200));
+        sleepMillis(200);
+
+        test.stopTest();
+        joinThread(testRunnerThread);
+
+        verifyServerConnector();
+
+        performanceMonitor.shutdown();
+        File samplesFile = new File("samples-" + TEST_NAME + ".txt");
+        assertTrue(samplesFile.exists());
+        assertTrue(fileAsText(samplesFile).split("\\n").length > 3);
+
+        File pauseFile = new File("pauses.txt");
+        assertTrue(pauseFile.exists());
+        assertTrue(fileAsText(pauseFile).contains("GC count"));
+    }
+
     @Test
     public void test_testWithProbe_runningWithDelay() {
         PerformanceMonitorProbeTest test = new PerformanceMonitorProbeTest();
@@ -6,6 +6,7 @@ import org.junit.Test;
 import java.util.HashMap;
 import java.util.Map;
 
+import static com.hazelcast.simulator.utils.ReflectionUtils.getFieldValue;
 import static java.lang.String.format;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -71,7 +72,7 @@ public class OperationSelectorTest {
     @Test(expected = IllegalStateException.class)
     public void testAddOperations_sumOfProbabilitiesExceedsLimit_MaximumPrecision() {
         builder.addOperation(Operation.OP1, 0.8)
-               .addOperation(Operation.OP2, 0.2 + OperationSelectorBuilder.PROBABILITY_INTERVAL)
+               .addOperation(Operation.OP2, 0.2 + 2 * OperationSelectorBuilder.PROBABILITY_TOLERANCE)
                .build();
     }
 
@@ -88,15 +89,26 @@ public class OperationSelectorTest {
     }
 
     @Test
-    public void testAddOperations_maxPrecisionHitsLimit() {
-        builder.addOperation(Operation.OP1, OperationSelectorBuilder.PROBABILITY_INTERVAL)
+    public void testAddOperations_highPrecision() {
+        builder.addOperation(Operation.OP1, 0.0001)
+               .addOperation(Operation.OP2, 0.00000001)
                .addDefaultOperation(Operation.DEFAULT)
                .build();
     }
 
     @Test(expected = IllegalArgumentException.class)
-    public void testAddOperations_maxPrecisionExceeded() {
-        builder.addOperation(Operation.OP1, OperationSelectorBuilder.PROBABILITY_INTERVAL / 2)
+    public void testAddOperation_probabilityAboveOne() {
+        builder.addOperation(Operation.OP1, 1.1);
+    }
+
+    @Test
+    public void testAddOperations_defaultOperationAfterRoundingError() {
+        // these probabilities add up to 1.0000000000000002, so the default operation gets no probability
+        builder.addOperation(Operation.OP1, 0.4)
+               .addOperation(Operation.OP2, 0.2)
+               .addOperation(Operation.OP3, 0.15)
+               .addOperation(Operation.OP4, 0.2)
+               .addOperation(Operation.OP5, 0.05)
                .addDefaultOperation(Operation.DEFAULT)
                .build();
     }
@@ -182,6 +194,51 @@ public class OperationSelectorTest {
         assertCountIsWithinTolerance(Operation.OP3, op3Count, op3Probability);
     }
 
+    @Test
+    public void testSelect_rareOperation() {
+        double op1Probability = 0.001;
+
+        selector = builder.addOperation(Operation.OP1, op1Probability)
+                          .addDefaultOperation(Operation.DEFAULT)
+                          .build();
+
+        // a precision of 0.1% is not enough for TOLERANCE, so we assert a tighter bound
+        Map<Operation, Integer> opsStats = exerciseSelector(selector);
+        int op1Count = opsStats.get(Operation.OP1);
+        assertTrue(format("Operation OP1 was selected %d times", op1Count), op1Count > 700 && op1Count < 1300);
+    }
+
+    @Test
+    public void testSelect_singleOperation() {
+        selector = builder.addDefaultOperation(Operation.DEFAULT).build();
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Operation.DEFAULT, selector.select());
+        }
+    }
+
+    @Test
+    public void testSelect_sameSeedReturnsSameSequence() {
+        builder.addOperation(Operation.OP1, 0.3)
+               .addOperation(Operation.OP2, 0.3)
+               .addDefaultOperation(Operation.DEFAULT)
+               .build();
+
+        OperationSelector<Operation> selector1 = createSelector(42);
+        OperationSelector<Operation> selector2 = createSelector(42);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(selector1.select(), selector2.select());
+        }
+    }
+
+    private OperationSelector<Operation> createSelector(long seed) {
+        OperationSelector<Operation> template = builder.build();
+        Object[] operations = getFieldValue(template, "operations");
+        long[] thresholds = getFieldValue(template, "thresholds");
+        int[] aliases = getFieldValue(template, "aliases");
+        return new OperationSelector<Operation>(operations, thresholds, aliases, seed);
+    }
+
     private void assertCountIsWithinTolerance(Operation op, int count, double probability) {
         double lowerBound = (ITERATIONS * probability - ITERATIONS * TOLERANCE);
         double upperBound = (ITERATIONS * probability + ITERATIONS * TOLERANCE);
@@ -0,0 +1,203 @@
+package com.hazelcast.simulator.worker.tasks;
+
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.simulator.probes.Probe;
+import com.hazelcast.simulator.test.TestContainer;
+import com.hazelcast.simulator.test.TestContext;
+import com.hazelcast.simulator.test.TestContextImpl;
+import com.hazelcast.simulator.test.TestException;
+import com.hazelcast.simulator.test.TestPhase;
+import com.hazelcast.simulator.test.annotations.RunWithWorker;
+import com.hazelcast.simulator.test.annotations.Setup;
+import com.hazelcast.simulator.utils.ExceptionReporter;
+import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
+import com.hazelcast.spi.impl.AbstractCompletableFuture;
+import com.hazelcast.util.executor.CompletedFuture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
+import static com.hazelcast.simulator.utils.ExecutorFactory.createFixedThreadPool;
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AbstractOpenLoopAsyncWorkerTest {
+
+    private static final int THREAD_COUNT = 3;
+    private static final int ITERATION_COUNT = 100;
+    private static final int MAX_IN_FLIGHT_OPERATIONS = 5;
+    private static final int DEFAULT_TEST_TIMEOUT = 30000;
+
+    private enum Operation {
+        ON_RESPONSE,
+        ON_FAILURE,
+        PENDING
+    }
+
+    private WorkerTest test;
+    private TestContextImpl testContext;
+    private TestContainer testContainer;
+
+    @Before
+    public void setUp() {
+        test = new WorkerTest();
+        testContext = new TestContextImpl("AbstractOpenLoopAsyncWorkerTest");
+        testContainer = new TestContainer(testContext, test, THREAD_COUNT);
+
+        ExceptionReporter.reset();
+    }
+
+    @After
+    public void tearDown() {
+        try {
+            for (int i = 1; i <= THREAD_COUNT * ITERATION_COUNT; i++) {
+                deleteQuiet(i + ".exception");
+            }
+
+            ExceptionReporter.reset();
+        } finally {
+            test.executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_invalidMaxInFlightOperations() {
+        test.operationSelectorBuilder.addDefaultOperation(Operation.ON_RESPONSE);
+        test.new Worker(0);
+    }
+
+    @Test(timeout = DEFAULT_TEST_TIMEOUT)
+    public void testRun_onResponse() throws Exception {
+        test.operationSelectorBuilder.addDefaultOperation(Operation.ON_RESPONSE);
+
+        testContainer.invoke(TestPhase.SETUP);
+        testContainer.invoke(TestPhase.RUN);
+
+        // all operations have been completed before the run phase has finished
+        assertEquals(THREAD_COUNT * ITERATION_COUNT, test.responseCount.get());
+
+        Probe probe = testContainer.getProbeMap().get(IWorker.DEFAULT_WORKER_PROBE_NAME);
+        assertEquals(THREAD_COUNT * ITERATION_COUNT, probe.getIntervalHistogram().getTotalCount());
+    }
+
+    @Test(timeout = DEFAULT_TEST_TIMEOUT)
+    public void testRun_onFailure() throws Exception {
+        test.operationSelectorBuilder.addDefaultOperation(Operation.ON_FAILURE);
+
+        testContainer.invoke(TestPhase.SETUP);
+        testContainer.invoke(TestPhase.RUN);
+
+        assertEquals(THREAD_COUNT * ITERATION_COUNT, test.failureCount.get());
+        assertTrue(new File("1.exception").exists());
+    }
+
+    @Test(timeout = DEFAULT_TEST_TIMEOUT)
+    public void testRun_maxInFlightOperations() throws Exception {
+        test.operationSelectorBuilder.addDefaultOperation(Operation.PENDING);
+        testContainer.invoke(TestPhase.SETUP);
+
+        Future<Object> runFuture = test.executor.submit(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                testContainer.invoke(TestPhase.RUN);
+                return null;
+            }
+        });
+
+        while (test.pendingFutures.size() < THREAD_COUNT * MAX_IN_FLIGHT_OPERATIONS) {
+            sleepMillis(10);
+        }
+        // the workers are blocked, since no operation has been completed yet
+        sleepMillis(200);
+        assertEquals(THREAD_COUNT * MAX_IN_FLIGHT_OPERATIONS, test.pendingFutures.size());
+
+        testContext.stop();
+        while (!runFuture.isDone()) {
+            PendingFuture future = test.pendingFutures.poll();
+            if (future != null) {
+                future.complete("response");
+            }
+        }
+        runFuture.get();
+
+        assertEquals(test.submitCount.get(), test.responseCount.get());
+    }
+
+    private static class PendingFuture extends AbstractCompletableFuture<String> {
+
+        PendingFuture(ExecutorService executor) {
+            super(executor, null);
+        }
+
+        void complete(String response) {
+            setResult(response);
+        }
+    }
+
+    private static class WorkerTest {
+
+        private final OperationSelectorBuilder<Operation> operationSelectorBuilder = new OperationSelectorBuilder<Operation>();
+        private final ExecutorService executor = createFixedThreadPool(THREAD_COUNT * 2, "AbstractOpenLoopAsyncWorkerTest");
+
+        private final Queue<PendingFuture> pendingFutures = new ConcurrentLinkedQueue<PendingFuture>();
+        private final AtomicInteger submitCount = new AtomicInteger();
+        private final AtomicInteger responseCount = new AtomicInteger();
+        private final AtomicInteger failureCount = new AtomicInteger();
+
+        @Setup
+        public void setup(TestContext testContext) {
+        }
+
+        @RunWithWorker
+        public Worker createWorker() {
+            return new Worker(MAX_IN_FLIGHT_OPERATIONS);
+        }
+
+        private class Worker extends AbstractOpenLoopAsyncWorker<Operation, String> {
+
+            Worker(int maxInFlightOperations) {
+                super(operationSelectorBuilder, maxInFlightOperations);
+            }
+
+            @Override
+            protected ICompletableFuture<String> timeStepAsync(Operation operation) throws Exception {
+                if (operation != Operation.PENDING && getIteration() == ITERATION_COUNT - 1) {
+                    stopWorker();
+                }
+                submitCount.incrementAndGet();
+                switch (operation) {
+                    case ON_RESPONSE:
+                        return new CompletedFuture<String>(null, "response", executor);
+                    case ON_FAILURE:
+                        return new CompletedFuture<String>(null, new TestException("expected exception"), executor);
+                    case PENDING:
+                        PendingFuture future = new PendingFuture(executor);
+                        pendingFutures.add(future);
+                        return future;
+                    default:
+                        throw new UnsupportedOperationException("Unsupported operation: " + operation);
+                }
+            }
+
+            @Override
+            protected void handleResponse(String response) {
+                responseCount.incrementAndGet();
+            }
+
+            @Override
+            protected void handleFailure(Throwable t) {
+                failureCount.incrementAndGet();
+            }
+        }
+    }
+}
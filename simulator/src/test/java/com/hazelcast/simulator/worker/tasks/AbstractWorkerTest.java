@@ -8,14 +8,19 @@ import com.hazelcast.simulator.test.TestPhase;
 import com.hazelcast.simulator.test.annotations.RunWithWorker;
 import com.hazelcast.simulator.test.annotations.Setup;
 import com.hazelcast.simulator.utils.ExceptionReporter;
+import com.hazelcast.simulator.worker.distribution.KeyDistributionType;
+import com.hazelcast.simulator.worker.metronome.LatencyCorrection;
+import com.hazelcast.simulator.worker.metronome.MetronomeType;
 import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.worker.metronome.MetronomeFactory.withFixedScheduleIntervalMs;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -25,6 +30,7 @@ public class AbstractWorkerTest {
 
     private static final int THREAD_COUNT = 3;
     private static final int ITERATION_COUNT = 10;
+    private static final int METRONOME_INTERVAL_MS = 10;
     private static final int DEFAULT_TEST_TIMEOUT = 30000;
 
     private enum Operation {
@@ -32,7 +38,8 @@ public class AbstractWorkerTest {
         STOP_WORKER,
         STOP_TEST_CONTEXT,
         RANDOM,
-        ITERATION
+        ITERATION,
+        INTENDED_START_TIME
     }
 
     private WorkerTest test;
@@ -110,6 +117,8 @@ public class AbstractWorkerTest {
         assertNotNull(test.randomInt);
         assertNotNull(test.randomIntWithBond);
         assertNotNull(test.randomLong);
+        assertTrue(test.keyIndex >= 0 && test.keyIndex < 1000);
+        assertEquals(0, test.sequentialKeyIndex.intValue());
     }
 
     @Test(timeout = DEFAULT_TEST_TIMEOUT)
@@ -123,6 +132,17 @@ public class AbstractWorkerTest {
         assertEquals(THREAD_COUNT + 1, test.workerCreated);
     }
 
+    @Test(timeout = DEFAULT_TEST_TIMEOUT)
+    public void testGetIntendedStartNanos_withMetronome() throws Exception {
+        test.operationSelectorBuilder.addDefaultOperation(Operation.INTENDED_START_TIME);
+        test.metronomeIntervalMs = METRONOME_INTERVAL_MS;
+
+        testContainer.invoke(TestPhase.SETUP);
+        testContainer.invoke(TestPhase.RUN);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(METRONOME_INTERVAL_MS), test.intendedStartInterval);
+    }
+
     private static class WorkerTest {
 
         private final OperationSelectorBuilder<Operation> operationSelectorBuilder = new OperationSelectorBuilder<Operation>();
@@ -133,7 +153,11 @@ public class AbstractWorkerTest {
         private volatile Integer randomInt;
         private volatile Integer randomIntWithBond;
         private volatile Long randomLong;
+        private volatile Integer keyIndex;
+        private volatile Integer sequentialKeyIndex;
         private volatile long testIteration;
+        private volatile int metronomeIntervalMs;
+        private volatile long intendedStartInterval;
 
         @Setup
         public void setup(TestContext testContext) {
@@ -148,8 +172,11 @@ public class AbstractWorkerTest {
 
         private class Worker extends AbstractWorker<Operation> {
 
+            private long lastIntendedStart;
+
             Worker() {
-                super(operationSelectorBuilder);
+                super(operationSelectorBuilder, withFixedScheduleIntervalMs(metronomeIntervalMs, MetronomeType.SLEEPING),
+                        LatencyCorrection.INTENDED_START_TIME);
             }
 
             @Override
@@ -167,6 +194,8 @@ public class AbstractWorkerTest {
                         randomInt = randomInt();
                         randomIntWithBond = randomInt(1000);
                         randomLong = getRandom().nextLong();
+                        keyIndex = nextKeyIndex(KeyDistributionType.ZIPFIAN, 1000);
+                        sequentialKeyIndex = nextKeyIndex(KeyDistributionType.SEQUENTIAL, 1000);
                         stopTestContext();
                         break;
                     case ITERATION:
@@ -175,6 +204,14 @@ public class AbstractWorkerTest {
                             stopTestContext();
                         }
                         break;
+                    case INTENDED_START_TIME:
+                        long intendedStart = getIntendedStartNanos();
+                        if (getIteration() == 1) {
+                            intendedStartInterval = intendedStart - lastIntendedStart;
+                            stopTestContext();
+                        }
+                        lastIntendedStart = intendedStart;
+                        break;
                     default:
                         throw new UnsupportedOperationException("Unsupported operation: " + operation);
                 }
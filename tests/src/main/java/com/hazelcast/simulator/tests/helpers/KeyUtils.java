@@ -19,8 +19,12 @@ import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.Member;
 import com.hazelcast.core.Partition;
 import com.hazelcast.core.PartitionService;
+import com.hazelcast.simulator.utils.MappedStringPool;
 
+import java.io.File;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Random;
 import java.util.Set;
 
@@ -105,6 +109,44 @@ public final class KeyUtils {
         return keys;
     }
 
+    /**
+     * Generates an array of int keys with a configurable keyLocality, which are taken from a {@link PartitionKeyCatalog}.
+     *
+     * The catalog is created once and reused by all Workers and tests which use the same directory, so the expensive search
+     * for balanced keys is done just once. The Workers on different members take disjoint keys from the catalog.
+     *
+     * If no directory is given, the hz is a client or the keyLocality is neither {@link KeyLocality#LOCAL} nor
+     * {@link KeyLocality#REMOTE}, the keys are generated as in {@link #generateIntKeys(int, KeyLocality, HazelcastInstance)}.
+     *
+     * @param keyCount            the number of keys in the array
+     * @param keyLocality         if the key is local/remote/random
+     * @param hz                  the HazelcastInstance that is used for keyLocality
+     * @param keyCatalogDirectory the directory of the key catalog or <tt>null</tt> if no catalog should be used
+     * @return the created array of keys
+     */
+    public static int[] generateIntKeys(int keyCount, KeyLocality keyLocality, HazelcastInstance hz, File keyCatalogDirectory) {
+        if (!isCatalogLocality(keyLocality, hz, keyCatalogDirectory)) {
+            return generateIntKeys(keyCount, keyLocality, hz);
+        }
+
+        int[] targetPartitions = getTargetPartitions(hz, keyLocality);
+        int keysPerPartition = getKeysPerPartition(keyCount, targetPartitions);
+        int keyOffset = getCatalogKeyOffset(hz, keyLocality);
+        int keyStride = getCatalogKeyStride(hz, keyLocality);
+        PartitionKeyCatalog catalog = PartitionKeyCatalog.getOrCreateIntKeyCatalog(keyCatalogDirectory, hz,
+                keysPerPartition * keyStride);
+        try {
+            KeyGenerator<String> keyGenerator = new CatalogKeyGenerator(catalog, targetPartitions, keyOffset, keyStride);
+            int[] keys = new int[keyCount];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = Integer.parseInt(keyGenerator.next());
+            }
+            return keys;
+        } finally {
+            catalog.close();
+        }
+    }
+
     /**
      * Generates a string key with a configurable keyLocality.
      *
@@ -172,10 +214,220 @@ public final class KeyUtils {
         return keys;
     }
 
+    /**
+     * Generates an array of string keys with a configurable keyLocality, which are taken from a {@link PartitionKeyCatalog}.
+     *
+     * If no directory is given, the hz is a client or the keyLocality is neither {@link KeyLocality#LOCAL} nor
+     * {@link KeyLocality#REMOTE}, the keys are generated as in
+     * {@link #generateStringKeys(String, int, int, KeyLocality, HazelcastInstance)}.
+     *
+     * @param prefix              prefix for the generated keys
+     * @param keyCount            the number of keys in the array
+     * @param keyLength           the length of each string key
+     * @param keyLocality         if the key is local/remote/random
+     * @param hz                  the HazelcastInstance that is used for keyLocality
+     * @param keyCatalogDirectory the directory of the key catalog or <tt>null</tt> if no catalog should be used
+     * @return the created array of keys
+     */
+    public static String[] generateStringKeys(String prefix, int keyCount, int keyLength, KeyLocality keyLocality,
+                                              HazelcastInstance hz, File keyCatalogDirectory) {
+        if (!isCatalogLocality(keyLocality, hz, keyCatalogDirectory)) {
+            return generateStringKeys(prefix, keyCount, keyLength, keyLocality, hz);
+        }
+
+        int[] targetPartitions = getTargetPartitions(hz, keyLocality);
+        int keysPerPartition = getKeysPerPartition(keyCount, targetPartitions);
+        int keyOffset = getCatalogKeyOffset(hz, keyLocality);
+        int keyStride = getCatalogKeyStride(hz, keyLocality);
+        PartitionKeyCatalog catalog = PartitionKeyCatalog.getOrCreateStringKeyCatalog(keyCatalogDirectory, hz,
+                keysPerPartition * keyStride, keyLength, prefix);
+        try {
+            KeyGenerator<String> keyGenerator = new CatalogKeyGenerator(catalog, targetPartitions, keyOffset, keyStride);
+            String[] keys = new String[keyCount];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = keyGenerator.next();
+            }
+            return keys;
+        } finally {
+            catalog.close();
+        }
+    }
+
+    /**
+     * Generates a {@link MappedStringPool} of string keys with a configurable keyLocality, so the keys are not stored on the
+     * heap.
+     *
+     * Only {@link KeyLocality#SHARED} keys are the same on all Workers, so only those are read from an existing pool file. The
+     * keys of all other localities are generated again and replace an existing pool file, which must not be shared by Workers.
+     *
+     * If the hz is a client, keyLocality is ignored.
+     *
+     * @param file        the pool file
+     * @param keyCount    the number of keys in the pool
+     * @param keyLength   the length of each string key
+     * @param keyLocality if the key is local/remote/random
+     * @param hz          the HazelcastInstance that is used for keyLocality
+     * @return the {@link MappedStringPool} with the keys
+     */
+    public static MappedStringPool generateStringKeyPool(File file, int keyCount, int keyLength, KeyLocality keyLocality,
+                                                         HazelcastInstance hz) {
+        return generateStringKeyPool(file, keyCount, keyLength, keyLocality, hz, null);
+    }
+
+    /**
+     * Generates a {@link MappedStringPool} of string keys with a configurable keyLocality, which are taken from a
+     * {@link PartitionKeyCatalog} if a catalog directory is given.
+     *
+     * @param file                the pool file
+     * @param keyCount            the number of keys in the pool
+     * @param keyLength           the length of each string key
+     * @param keyLocality         if the key is local/remote/random
+     * @param hz                  the HazelcastInstance that is used for keyLocality
+     * @param keyCatalogDirectory the directory of the key catalog or <tt>null</tt> if no catalog should be used
+     * @return the {@link MappedStringPool} with the keys
+     * @see #generateStringKeyPool(File, int, int, KeyLocality, HazelcastInstance)
+     */
+    public static MappedStringPool generateStringKeyPool(File file, int keyCount, int keyLength, KeyLocality keyLocality,
+                                                         HazelcastInstance hz, File keyCatalogDirectory) {
+        if (keyLocality == KeyLocality.SHARED) {
+            KeyGenerator<String> keyGenerator = newStringKeyGenerator(hz, keyLocality, keyCount, keyLength, "");
+            return MappedStringPool.getOrCreate(file, keyCount, keyLength, new KeyGeneratorIterator<String>(keyGenerator));
+        }
+        if (!isCatalogLocality(keyLocality, hz, keyCatalogDirectory)) {
+            KeyGenerator<String> keyGenerator = newStringKeyGenerator(hz, keyLocality, keyCount, keyLength, "");
+            return MappedStringPool.create(file, keyCount, keyLength, new KeyGeneratorIterator<String>(keyGenerator));
+        }
+
+        int[] targetPartitions = getTargetPartitions(hz, keyLocality);
+        int keysPerPartition = getKeysPerPartition(keyCount, targetPartitions);
+        int keyOffset = getCatalogKeyOffset(hz, keyLocality);
+        int keyStride = getCatalogKeyStride(hz, keyLocality);
+        PartitionKeyCatalog catalog = PartitionKeyCatalog.getOrCreateStringKeyCatalog(keyCatalogDirectory, hz,
+                keysPerPartition * keyStride, keyLength, "");
+        try {
+            KeyGenerator<String> keyGenerator = new CatalogKeyGenerator(catalog, targetPartitions, keyOffset, keyStride);
+            return MappedStringPool.create(file, keyCount, keyLength, new KeyGeneratorIterator<String>(keyGenerator));
+        } finally {
+            catalog.close();
+        }
+    }
+
+    private static boolean isCatalogLocality(KeyLocality keyLocality, HazelcastInstance hz, File keyCatalogDirectory) {
+        if (keyCatalogDirectory == null || getLocalMember(hz) == null) {
+            return false;
+        }
+        return keyLocality == KeyLocality.LOCAL || keyLocality == KeyLocality.REMOTE;
+    }
+
+    /**
+     * Returns the step between the catalog key indexes of a Worker, so the Workers on different members take disjoint keys.
+     *
+     * The local partitions of the members are disjoint, so {@link KeyLocality#LOCAL} keys are taken one after another. The
+     * remote partitions of the members overlap, so {@link KeyLocality#REMOTE} keys are interleaved by the member index.
+     */
+    private static int getCatalogKeyStride(HazelcastInstance hz, KeyLocality keyLocality) {
+        return (keyLocality == KeyLocality.REMOTE) ? hz.getCluster().getMembers().size() : 1;
+    }
+
+    private static int getCatalogKeyOffset(HazelcastInstance hz, KeyLocality keyLocality) {
+        if (keyLocality != KeyLocality.REMOTE) {
+            return 0;
+        }
+        Member localMember = getLocalMember(hz);
+        int memberIndex = 0;
+        for (Member member : hz.getCluster().getMembers()) {
+            if (member.equals(localMember)) {
+                return memberIndex;
+            }
+            memberIndex++;
+        }
+        throw new IllegalStateException("Local member is not a member of the cluster: " + localMember);
+    }
+
+    private static int getKeysPerPartition(int keyCount, int[] targetPartitions) {
+        if (targetPartitions.length == 0) {
+            throw new IllegalStateException("There are no partitions to generate keys for");
+        }
+        return (int) Math.ceil(keyCount / (double) targetPartitions.length);
+    }
+
+    private static int[] getTargetPartitions(HazelcastInstance hz, KeyLocality keyLocality) {
+        Set<Integer> targetPartitions = getTargetPartitionSet(hz, keyLocality);
+        int[] partitionIds = new int[targetPartitions.size()];
+        int i = 0;
+        for (Integer partitionId : targetPartitions) {
+            partitionIds[i++] = partitionId;
+        }
+        Arrays.sort(partitionIds);
+        return partitionIds;
+    }
+
+    private static Set<Integer> getTargetPartitionSet(HazelcastInstance hz, KeyLocality keyLocality) {
+        Set<Integer> targetPartitions = new HashSet<Integer>();
+        Member localMember = getLocalMember(hz);
+        switch (keyLocality) {
+            case LOCAL:
+                for (Partition partition : hz.getPartitionService().getPartitions()) {
+                    if (localMember == null || localMember.equals(partition.getOwner())) {
+                        targetPartitions.add(partition.getPartitionId());
+                    }
+                }
+                break;
+            case REMOTE:
+                for (Partition partition : hz.getPartitionService().getPartitions()) {
+                    if (localMember == null || !localMember.equals(partition.getOwner())) {
+                        targetPartitions.add(partition.getPartitionId());
+                    }
+                }
+                break;
+            case RANDOM:
+                for (Partition partition : hz.getPartitionService().getPartitions()) {
+                    targetPartitions.add(partition.getPartitionId());
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported keyLocality: " + keyLocality);
+        }
+        return targetPartitions;
+    }
+
+    private static Member getLocalMember(HazelcastInstance hz) {
+        try {
+            return hz.getCluster().getLocalMember();
+        } catch (UnsupportedOperationException ignore) {
+            // clients throw UnsupportedOperationExceptions
+            return null;
+        }
+    }
+
     private interface KeyGenerator<K> {
         K next();
     }
 
+    private static final class KeyGeneratorIterator<K> implements Iterator<K> {
+
+        private final KeyGenerator<K> keyGenerator;
+
+        private KeyGeneratorIterator(KeyGenerator<K> keyGenerator) {
+            this.keyGenerator = keyGenerator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return true;
+        }
+
+        @Override
+        public K next() {
+            return keyGenerator.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     private abstract static class BalancedKeyGenerator<K> implements KeyGenerator<K> {
 
         protected final Random random = new Random();
@@ -185,17 +437,15 @@ public final class KeyUtils {
         private final Set<K>[] keysPerPartition;
         private final PartitionService partitionService;
         private final int maxKeysPerPartition;
-        private final KeyLocality keyLocality;
 
         @SuppressWarnings("unchecked")
         private BalancedKeyGenerator(HazelcastInstance hz, KeyLocality keyLocality, int keyCount) {
             this.hz = hz;
-            this.keyLocality = keyLocality;
             this.keyCount = keyCount;
 
             this.partitionService = hz.getPartitionService();
 
-            Set<Integer> targetPartitions = getTargetPartitions();
+            Set<Integer> targetPartitions = getTargetPartitionSet(hz, keyLocality);
             this.maxKeysPerPartition = (int) Math.ceil(keyCount / (float) targetPartitions.size());
 
             int partitionCount = partitionService.getPartitions().size();
@@ -231,43 +481,37 @@ public final class KeyUtils {
         }
 
         protected abstract K generateKey();
+    }
 
-        private Set<Integer> getTargetPartitions() {
-            Set<Integer> targetPartitions = new HashSet<Integer>();
-            Member localMember = getLocalMember(hz);
-            switch (keyLocality) {
-                case LOCAL:
-                    for (Partition partition : partitionService.getPartitions()) {
-                        if (localMember == null || localMember.equals(partition.getOwner())) {
-                            targetPartitions.add(partition.getPartitionId());
-                        }
-                    }
-                    break;
-                case REMOTE:
-                    for (Partition partition : partitionService.getPartitions()) {
-                        if (localMember == null || !localMember.equals(partition.getOwner())) {
-                            targetPartitions.add(partition.getPartitionId());
-                        }
-                    }
-                    break;
-                case RANDOM:
-                    for (Partition partition : partitionService.getPartitions()) {
-                        targetPartitions.add(partition.getPartitionId());
-                    }
-                    break;
-                default:
-                    throw new IllegalArgumentException("Unsupported keyLocality: " + keyLocality);
-            }
-            return targetPartitions;
+    /**
+     * Takes the keys from a {@link PartitionKeyCatalog}, one key of each target partition in turn, so the keys are balanced.
+     * The keys of each partition are taken from the given key offset on, with the given step between them.
+     */
+    private static final class CatalogKeyGenerator implements KeyGenerator<String> {
+
+        private final PartitionKeyCatalog catalog;
+        private final int[] targetPartitions;
+        private final int keyStride;
+
+        private int partitionIndex;
+        private int keyIndex;
+
+        private CatalogKeyGenerator(PartitionKeyCatalog catalog, int[] targetPartitions, int keyOffset, int keyStride) {
+            this.catalog = catalog;
+            this.targetPartitions = targetPartitions;
+            this.keyStride = keyStride;
+            this.keyIndex = keyOffset;
         }
 
-        private Member getLocalMember(HazelcastInstance hz) {
-            try {
-                return hz.getCluster().getLocalMember();
-            } catch (UnsupportedOperationException ignore) {
-                // clients throw UnsupportedOperationExceptions
-                return null;
+        @Override
+        public String next() {
+            String key = catalog.getKey(targetPartitions[partitionIndex], keyIndex);
+            partitionIndex++;
+            if (partitionIndex == targetPartitions.length) {
+                partitionIndex = 0;
+                keyIndex += keyStride;
             }
+            return key;
         }
     }
 
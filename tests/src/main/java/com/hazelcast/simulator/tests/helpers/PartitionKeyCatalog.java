@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.tests.helpers;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.PartitionService;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.simulator.utils.FileUtilsException;
+import com.hazelcast.simulator.utils.MappedStringPool;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
+import static com.hazelcast.simulator.utils.GeneratorUtils.generateString;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A catalog of keys per partition, which is persisted in a {@link MappedStringPool} file, so it can be reused by all Workers
+ * and all tests of a test suite.
+ *
+ * Searching random keys until each partition has enough of them dominates the setup time of tests with many keys. The
+ * partition of a key just depends on its serialized form and the partition count, not on the members of the cluster, so the
+ * catalog is valid for every cluster with the same partition count. The partition ownership is resolved when the keys are
+ * taken from the catalog.
+ *
+ * The keys are generated with a seed which is derived from the key spec, so Workers which create the same catalog concurrently
+ * write identical files. A catalog which is too small for a request is extended, the existing keys keep their position.
+ */
+public final class PartitionKeyCatalog implements Closeable {
+
+    static final int MIN_KEYS_PER_PARTITION = 16;
+
+    private static final int MAX_INT_KEY_LENGTH = String.valueOf(Integer.MAX_VALUE).length();
+
+    private static final ILogger LOGGER = Logger.getLogger(PartitionKeyCatalog.class);
+
+    private final MappedStringPool pool;
+    private final int partitionCount;
+    private final int keysPerPartition;
+
+    private PartitionKeyCatalog(MappedStringPool pool, int partitionCount) {
+        this.pool = pool;
+        this.partitionCount = partitionCount;
+        this.keysPerPartition = pool.size() / partitionCount;
+    }
+
+    /**
+     * Returns a catalog of int keys with at least the given number of keys per partition.
+     *
+     * @param directory        the directory of the catalog files
+     * @param hz               the HazelcastInstance to determine the partitions of the keys
+     * @param keysPerPartition the minimum number of keys per partition
+     * @return the {@link PartitionKeyCatalog}
+     */
+    public static PartitionKeyCatalog getOrCreateIntKeyCatalog(File directory, HazelcastInstance hz, int keysPerPartition) {
+        int partitionCount = hz.getPartitionService().getPartitions().size();
+        ensureExistingDirectory(directory);
+        File file = new File(directory, format("key-catalog-int-%d.pool", partitionCount));
+        return getOrCreate(file, hz, keysPerPartition, MAX_INT_KEY_LENGTH, new IntKeyFactory());
+    }
+
+    /**
+     * Returns a catalog of string keys with at least the given number of keys per partition.
+     *
+     * @param directory        the directory of the catalog files
+     * @param hz               the HazelcastInstance to determine the partitions of the keys
+     * @param keysPerPartition the minimum number of keys per partition
+     * @param keyLength        the length of each key
+     * @param prefix           the prefix of each key
+     * @return the {@link PartitionKeyCatalog}
+     */
+    public static PartitionKeyCatalog getOrCreateStringKeyCatalog(File directory, HazelcastInstance hz, int keysPerPartition,
+                                                                  int keyLength, String prefix) {
+        int partitionCount = hz.getPartitionService().getPartitions().size();
+        String fileName = format("key-catalog-string-%d-%d-%08x.pool", partitionCount, keyLength, prefix.hashCode());
+        ensureExistingDirectory(directory);
+        File file = new File(directory, fileName);
+        return getOrCreate(file, hz, keysPerPartition, keyLength, new StringKeyFactory(keyLength, prefix));
+    }
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    public int getKeysPerPartition() {
+        return keysPerPartition;
+    }
+
+    /**
+     * Returns a key of the given partition.
+     *
+     * @param partitionId the partition of the key
+     * @param index       the index of the key within the partition
+     * @return the key
+     */
+    public String getKey(int partitionId, int index) {
+        if (index < 0 || index >= keysPerPartition) {
+            throw new IndexOutOfBoundsException(format("Index %d is out of range [0, %d)", index, keysPerPartition));
+        }
+        return pool.get(partitionId * keysPerPartition + index);
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    private static PartitionKeyCatalog getOrCreate(File file, HazelcastInstance hz, int keysPerPartition, int maxKeyLength,
+                                                   KeyFactory keyFactory) {
+        PartitionService partitionService = hz.getPartitionService();
+        int partitionCount = partitionService.getPartitions().size();
+
+        MappedStringPool existingPool = openExistingPool(file, partitionCount, maxKeyLength);
+        if (existingPool != null && existingPool.size() / partitionCount >= keysPerPartition) {
+            return new PartitionKeyCatalog(existingPool, partitionCount);
+        }
+
+        // round up, so the catalog can be reused by later tests with a few more keys
+        int newKeysPerPartition = Math.max(MIN_KEYS_PER_PARTITION, Integer.highestOneBit(keysPerPartition - 1) << 1);
+        long started = System.nanoTime();
+        List<Set<String>> keys = createKeys(partitionService, existingPool, partitionCount, newKeysPerPartition, keyFactory,
+                new Random(file.getName().hashCode()));
+
+        List<String> orderedKeys = new ArrayList<String>(partitionCount * newKeysPerPartition);
+        for (Set<String> partitionKeys : keys) {
+            orderedKeys.addAll(partitionKeys);
+        }
+        MappedStringPool pool = MappedStringPool.create(file, orderedKeys.size(), maxKeyLength, orderedKeys.iterator());
+        LOGGER.info(format("Created key catalog %s with %d keys per partition in %d ms", file.getName(), newKeysPerPartition,
+                NANOSECONDS.toMillis(System.nanoTime() - started)));
+        return new PartitionKeyCatalog(pool, partitionCount);
+    }
+
+    private static MappedStringPool openExistingPool(File file, int partitionCount, int maxKeyLength) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            MappedStringPool pool = MappedStringPool.open(file);
+            if (pool.getMaxLength() == maxKeyLength && pool.size() % partitionCount == 0) {
+                return pool;
+            }
+            pool.close();
+        } catch (FileUtilsException e) {
+            LOGGER.warning("Could not open key catalog " + file.getAbsolutePath(), e);
+        }
+        return null;
+    }
+
+    private static List<Set<String>> createKeys(PartitionService partitionService, MappedStringPool existingPool,
+                                                int partitionCount, int keysPerPartition, KeyFactory keyFactory, Random random) {
+        List<Set<String>> keys = new ArrayList<Set<String>>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            keys.add(new LinkedHashSet<String>());
+        }
+
+        // keep the existing keys at their position
+        int missingKeys = partitionCount * keysPerPartition;
+        if (existingPool != null) {
+            int existingKeysPerPartition = existingPool.size() / partitionCount;
+            for (int i = 0; i < existingPool.size(); i++) {
+                keys.get(i / existingKeysPerPartition).add(existingPool.get(i));
+            }
+            missingKeys -= existingPool.size();
+            existingPool.close();
+        }
+
+        while (missingKeys > 0) {
+            String key = keyFactory.newKey(random);
+            int partitionId = partitionService.getPartition(keyFactory.toKey(key)).getPartitionId();
+            Set<String> partitionKeys = keys.get(partitionId);
+            if (partitionKeys.size() < keysPerPartition && partitionKeys.add(key)) {
+                missingKeys--;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Creates the keys of a catalog, which are stored as strings.
+     */
+    interface KeyFactory {
+
+        String newKey(Random random);
+
+        Object toKey(String key);
+    }
+
+    static final class IntKeyFactory implements KeyFactory {
+
+        @Override
+        public String newKey(Random random) {
+            return String.valueOf(random.nextInt(Integer.MAX_VALUE));
+        }
+
+        @Override
+        public Object toKey(String key) {
+            return Integer.parseInt(key);
+        }
+    }
+
+    static final class StringKeyFactory implements KeyFactory {
+
+        private final int keyLength;
+        private final String prefix;
+
+        StringKeyFactory(int keyLength, String prefix) {
+            this.keyLength = keyLength;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public String newKey(Random random) {
+            return prefix + generateString(random, keyLength - prefix.length());
+        }
+
+        @Override
+        public Object toKey(String key) {
+            return key;
+        }
+    }
+}
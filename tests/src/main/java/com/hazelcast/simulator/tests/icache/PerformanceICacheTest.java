@@ -22,6 +22,7 @@ import com.hazelcast.simulator.test.annotations.RunWithWorker;
 import com.hazelcast.simulator.test.annotations.Setup;
 import com.hazelcast.simulator.test.annotations.Teardown;
 import com.hazelcast.simulator.test.annotations.Warmup;
+import com.hazelcast.simulator.worker.distribution.KeyDistributionType;
 import com.hazelcast.simulator.worker.loadsupport.Streamer;
 import com.hazelcast.simulator.worker.loadsupport.StreamerFactory;
 import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
@@ -46,6 +47,7 @@ public class PerformanceICacheTest {
     // properties
     public String basename = PerformanceICacheTest.class.getSimpleName();
     public int keyCount = 1000000;
+    public KeyDistributionType keyDistribution = KeyDistributionType.UNIFORM;
     public double putProb = 0.1;
 
     private final OperationSelectorBuilder<Operation> operationSelectorBuilder = new OperationSelectorBuilder<Operation>();
@@ -92,7 +94,7 @@ public class PerformanceICacheTest {
 
         @Override
         public void timeStep(Operation operation) {
-            Integer key = randomInt(keyCount);
+            Integer key = nextKeyIndex(keyDistribution, keyCount);
             switch (operation) {
                 case PUT:
                     cache.put(key, value++);
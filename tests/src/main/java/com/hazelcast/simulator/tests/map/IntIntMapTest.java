@@ -27,11 +27,13 @@ import com.hazelcast.simulator.test.annotations.Setup;
 import com.hazelcast.simulator.test.annotations.Teardown;
 import com.hazelcast.simulator.test.annotations.Warmup;
 import com.hazelcast.simulator.tests.helpers.KeyLocality;
+import com.hazelcast.simulator.worker.distribution.KeyDistributionType;
 import com.hazelcast.simulator.worker.loadsupport.Streamer;
 import com.hazelcast.simulator.worker.loadsupport.StreamerFactory;
 import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
 import com.hazelcast.simulator.worker.tasks.AbstractWorkerWithMultipleProbes;
 
+import java.io.File;
 import java.util.Random;
 
 import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.getOperationCountInformation;
@@ -54,10 +56,18 @@ public class IntIntMapTest {
     public int keyLength = 10;
     public int valueLength = 10;
     public KeyLocality keyLocality = KeyLocality.SHARED;
+    public KeyDistributionType keyDistribution = KeyDistributionType.UNIFORM;
     public int minNumberOfMembers = 0;
 
     public double putProb = 0.1;
     public boolean useSet = false;
+    // takes local/remote keys from a partition key catalog, which is shared by all Workers and tests of the suite
+    public boolean useKeyCatalog = false;
+    public String keyCatalogDirectory = "..";
+    // loads the initial data in batches per member with multiple threads, the load throughput is logged
+    public boolean useBulkLoader = false;
+    public int bulkLoaderThreadCount = Runtime.getRuntime().availableProcessors();
+    public int bulkLoaderBatchSize = 1000;
 
     private final OperationSelectorBuilder<Operation> operationSelectorBuilder = new OperationSelectorBuilder<Operation>();
 
@@ -83,8 +93,11 @@ public class IntIntMapTest {
     @Warmup(global = false)
     public void warmup() {
         waitClusterSize(LOGGER, targetInstance, minNumberOfMembers);
-        keys = generateIntKeys(keyCount, keyLocality, targetInstance);
-        Streamer<Integer, Integer> streamer = StreamerFactory.getInstance(map);
+        File catalogDirectory = useKeyCatalog ? new File(keyCatalogDirectory) : null;
+        keys = generateIntKeys(keyCount, keyLocality, targetInstance, catalogDirectory);
+        Streamer<Integer, Integer> streamer = useBulkLoader
+                ? StreamerFactory.getBulkInstance(targetInstance, map, bulkLoaderThreadCount, bulkLoaderBatchSize)
+                : StreamerFactory.getInstance(map);
         Random random = new Random();
         for (int key : keys) {
             int value = random.nextInt(Integer.MAX_VALUE);
@@ -131,7 +144,7 @@ public class IntIntMapTest {
         }
 
         private int randomKey() {
-            return keys[randomInt(keys.length)];
+            return keys[nextKeyIndex(keyDistribution, keys.length)];
         }
 
         private int randomValue() {
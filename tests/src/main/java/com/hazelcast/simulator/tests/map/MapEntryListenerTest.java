@@ -28,13 +28,14 @@ import com.hazelcast.simulator.test.annotations.Verify;
 import com.hazelcast.simulator.test.annotations.Warmup;
 import com.hazelcast.simulator.tests.map.helpers.EntryListenerImpl;
 import com.hazelcast.simulator.tests.map.helpers.EventCount;
-import com.hazelcast.simulator.tests.map.helpers.ScrambledZipfianGenerator;
 import com.hazelcast.simulator.worker.selector.OperationSelector;
 import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
 import com.hazelcast.simulator.worker.tasks.AbstractWorker;
 
 import static com.hazelcast.simulator.utils.CommonUtils.sleepMillis;
 import static com.hazelcast.simulator.utils.GeneratorUtils.generateStrings;
+import static com.hazelcast.simulator.worker.distribution.KeyDistributionType.SCRAMBLED_ZIPFIAN;
+import static com.hazelcast.simulator.worker.distribution.KeyDistributionType.UNIFORM;
 import static java.lang.String.format;
 import static org.junit.Assert.assertEquals;
 
@@ -81,7 +82,6 @@ public class MapEntryListenerTest {
     public double putUsingPutIfAbsentProb = 0.25;
     public double putUsingReplaceProb = 0.25;
 
-    private final ScrambledZipfianGenerator keysZipfian = new ScrambledZipfianGenerator(keyCount);
     private final OperationSelectorBuilder<MapOperation> mapOperationSelectorBuilder
             = new OperationSelectorBuilder<MapOperation>();
     private final OperationSelectorBuilder<MapPutOperation> mapPutOperationSelectorBuilder
@@ -185,13 +185,7 @@ public class MapEntryListenerTest {
 
         @Override
         protected void timeStep(MapOperation mapOperation) {
-            int key;
-
-            if (randomDistributionUniform) {
-                key = randomInt(keyCount);
-            } else {
-                key = keysZipfian.nextInt();
-            }
+            int key = nextKeyIndex(randomDistributionUniform ? UNIFORM : SCRAMBLED_ZIPFIAN, keyCount);
 
             switch (mapOperation) {
                 case PUT:
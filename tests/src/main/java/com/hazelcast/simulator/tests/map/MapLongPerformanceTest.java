@@ -24,6 +24,7 @@ import com.hazelcast.simulator.test.annotations.RunWithWorker;
 import com.hazelcast.simulator.test.annotations.Setup;
 import com.hazelcast.simulator.test.annotations.Teardown;
 import com.hazelcast.simulator.test.annotations.Warmup;
+import com.hazelcast.simulator.worker.distribution.KeyDistributionType;
 import com.hazelcast.simulator.worker.loadsupport.Streamer;
 import com.hazelcast.simulator.worker.loadsupport.StreamerFactory;
 import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
@@ -39,6 +40,7 @@ public class MapLongPerformanceTest {
     // properties
     public String basename = MapLongPerformanceTest.class.getSimpleName();
     public int keyCount = 1000000;
+    public KeyDistributionType keyDistribution = KeyDistributionType.UNIFORM;
     public double writeProb = 0.1;
 
     private final OperationSelectorBuilder<Operation> operationSelectorBuilder = new OperationSelectorBuilder<Operation>();
@@ -82,7 +84,7 @@ public class MapLongPerformanceTest {
 
         @Override
         public void timeStep(Operation operation, Probe probe) {
-            Integer key = randomInt(keyCount);
+            Integer key = nextKeyIndex(keyDistribution, keyCount);
 
             long started;
             switch (operation) {
@@ -27,17 +27,25 @@ import com.hazelcast.simulator.test.annotations.Setup;
 import com.hazelcast.simulator.test.annotations.Teardown;
 import com.hazelcast.simulator.test.annotations.Warmup;
 import com.hazelcast.simulator.tests.helpers.KeyLocality;
+import com.hazelcast.simulator.utils.MappedStringPool;
+import com.hazelcast.simulator.worker.distribution.KeyDistributionType;
 import com.hazelcast.simulator.worker.loadsupport.Streamer;
 import com.hazelcast.simulator.worker.loadsupport.StreamerFactory;
 import com.hazelcast.simulator.worker.selector.OperationSelectorBuilder;
 import com.hazelcast.simulator.worker.tasks.AbstractWorkerWithMultipleProbes;
 
+import java.io.File;
 import java.util.Random;
 
 import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.getOperationCountInformation;
 import static com.hazelcast.simulator.tests.helpers.HazelcastTestUtils.waitClusterSize;
+import static com.hazelcast.simulator.tests.helpers.KeyUtils.generateStringKeyPool;
 import static com.hazelcast.simulator.tests.helpers.KeyUtils.generateStringKeys;
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.ensureExistingDirectory;
 import static com.hazelcast.simulator.utils.GeneratorUtils.generateStrings;
+import static com.hazelcast.simulator.utils.MappedStringPool.getOrCreateRandomStrings;
+import static java.lang.String.format;
 
 public class StringStringMapTest {
 
@@ -56,9 +64,20 @@ public class StringStringMapTest {
     public int keyLength = 10;
     public int valueLength = 10;
     public KeyLocality keyLocality = KeyLocality.SHARED;
+    public KeyDistributionType keyDistribution = KeyDistributionType.UNIFORM;
     public int minNumberOfMembers = 0;
     public double putProb = 0.1;
     public double setProb = 0.0;
+    // stores the keys and values in memory-mapped files instead of the heap, shared keys and values are shared by all Workers
+    public boolean useMappedPools = false;
+    public String mappedPoolDirectory = "..";
+    // takes local/remote keys from a partition key catalog, which is shared by all Workers and tests of the suite
+    public boolean useKeyCatalog = false;
+    public String keyCatalogDirectory = "..";
+    // loads the initial data in batches per member with multiple threads, the load throughput is logged
+    public boolean useBulkLoader = false;
+    public int bulkLoaderThreadCount = Runtime.getRuntime().availableProcessors();
+    public int bulkLoaderBatchSize = 1000;
 
     private final OperationSelectorBuilder<Operation> operationSelectorBuilder = new OperationSelectorBuilder<Operation>();
 
@@ -67,6 +86,8 @@ public class StringStringMapTest {
 
     private String[] keys;
     private String[] values;
+    private MappedStringPool keyPool;
+    private MappedStringPool valuePool;
 
     @Setup
     public void setUp(TestContext testContext) {
@@ -81,28 +102,61 @@ public class StringStringMapTest {
     @Teardown
     public void tearDown() {
         map.destroy();
+        closePool(keyPool);
+        closePool(valuePool);
         LOGGER.info(getOperationCountInformation(targetInstance));
     }
 
     @Warmup(global = false)
     public void warmup() {
         waitClusterSize(LOGGER, targetInstance, minNumberOfMembers);
-        keys = generateStringKeys(keyCount, keyLength, keyLocality, targetInstance);
-        values = generateStrings(valueCount, valueLength);
+        File catalogDirectory = useKeyCatalog ? new File(keyCatalogDirectory) : null;
+        if (useMappedPools) {
+            File poolDirectory = ensureExistingDirectory(mappedPoolDirectory);
+            File keyPoolFile = (keyLocality == KeyLocality.SHARED)
+                    ? new File(poolDirectory, format("%s-keys-%dx%d.pool", basename, keyCount, keyLength))
+                    : new File(basename + "-keys.pool");
+            keyPool = generateStringKeyPool(keyPoolFile, keyCount, keyLength, keyLocality, targetInstance, catalogDirectory);
+            valuePool = getOrCreateRandomStrings(
+                    new File(poolDirectory, format("%s-values-%dx%d.pool", basename, valueCount, valueLength)),
+                    valueCount, valueLength);
+        } else {
+            keys = generateStringKeys("", keyCount, keyLength, keyLocality, targetInstance, catalogDirectory);
+            values = generateStrings(valueCount, valueLength);
+        }
 
         loadInitialData();
     }
 
     private void loadInitialData() {
         Random random = new Random();
-        Streamer<String, String> streamer = StreamerFactory.getInstance(map);
-        for (String key : keys) {
-            String value = values[random.nextInt(valueCount)];
-            streamer.pushEntry(key, value);
+        Streamer<String, String> streamer = useBulkLoader
+                ? StreamerFactory.getBulkInstance(targetInstance, map, bulkLoaderThreadCount, bulkLoaderBatchSize)
+                : StreamerFactory.getInstance(map);
+        byte[] keyBuffer = new byte[keyLength];
+        byte[] valueBuffer = new byte[valueLength];
+        for (int i = 0; i < keyCount; i++) {
+            String value = getValue(random.nextInt(valueCount), valueBuffer);
+            streamer.pushEntry(getKey(i, keyBuffer), value);
         }
         streamer.await();
     }
 
+    private String getKey(int index, byte[] buffer) {
+        return (keyPool == null ? keys[index] : keyPool.get(index, buffer));
+    }
+
+    private String getValue(int index, byte[] buffer) {
+        return (valuePool == null ? values[index] : valuePool.get(index, buffer));
+    }
+
+    private static void closePool(MappedStringPool pool) {
+        if (pool != null) {
+            pool.close();
+            deleteQuiet(pool.getFile());
+        }
+    }
+
     @RunWithWorker
     public Worker createWorker() {
         return new Worker();
@@ -110,6 +164,10 @@ public class StringStringMapTest {
 
     private class Worker extends AbstractWorkerWithMultipleProbes<Operation> {
 
+        // reused for each access to the pools, so decoding a pooled string just allocates the string itself
+        private final byte[] keyBuffer = new byte[keyLength];
+        private final byte[] valueBuffer = new byte[valueLength];
+
         public Worker() {
             super(operationSelectorBuilder);
         }
@@ -143,11 +201,11 @@ public class StringStringMapTest {
         }
 
         private String randomKey() {
-            return keys[randomInt(keys.length)];
+            return getKey(nextKeyIndex(keyDistribution, keyCount), keyBuffer);
         }
 
         private String randomValue() {
-            return values[randomInt(values.length)];
+            return getValue(randomInt(valueCount), valueBuffer);
         }
     }
 
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.tests.helpers;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.PartitionService;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.hazelcast.simulator.tests.helpers.KeyUtils.generateIntKeys;
+import static com.hazelcast.simulator.tests.helpers.KeyUtils.generateStringKeys;
+import static com.hazelcast.simulator.tests.helpers.PartitionKeyCatalog.MIN_KEYS_PER_PARTITION;
+import static com.hazelcast.simulator.tests.helpers.PartitionKeyCatalog.getOrCreateIntKeyCatalog;
+import static com.hazelcast.simulator.tests.helpers.PartitionKeyCatalog.getOrCreateStringKeyCatalog;
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.HazelcastUtils.warmupPartitions;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PartitionKeyCatalogTest {
+
+    private static final int PARTITION_COUNT = 10;
+
+    private static HazelcastInstance hz;
+
+    private File directory;
+
+    @BeforeClass
+    public static void setUpClass() {
+        Config config = new Config();
+        config.setProperty("hazelcast.partition.count", "" + PARTITION_COUNT);
+
+        hz = Hazelcast.newHazelcastInstance(config);
+        warmupPartitions(hz);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        Hazelcast.shutdownAll();
+    }
+
+    @Before
+    public void setUp() {
+        directory = new File("partitionKeyCatalogTest-" + System.nanoTime()).getAbsoluteFile();
+    }
+
+    @After
+    public void tearDown() {
+        deleteQuiet(directory);
+    }
+
+    @Test
+    public void testGetOrCreateIntKeyCatalog() {
+        PartitionKeyCatalog catalog = getOrCreateIntKeyCatalog(directory, hz, 5);
+
+        assertEquals(PARTITION_COUNT, catalog.getPartitionCount());
+        assertEquals(MIN_KEYS_PER_PARTITION, catalog.getKeysPerPartition());
+        assertKeysInPartition(catalog, true);
+        catalog.close();
+    }
+
+    @Test
+    public void testGetOrCreateStringKeyCatalog() {
+        PartitionKeyCatalog catalog = getOrCreateStringKeyCatalog(directory, hz, 5, 12, "prefix");
+
+        assertEquals(PARTITION_COUNT, catalog.getPartitionCount());
+        assertEquals(MIN_KEYS_PER_PARTITION, catalog.getKeysPerPartition());
+        assertKeysInPartition(catalog, false);
+        for (int partitionId = 0; partitionId < PARTITION_COUNT; partitionId++) {
+            String key = catalog.getKey(partitionId, 0);
+            assertEquals(12, key.length());
+            assertTrue(key.startsWith("prefix"));
+        }
+        catalog.close();
+    }
+
+    @Test
+    public void testGetOrCreateIntKeyCatalog_reusesExistingCatalog() {
+        PartitionKeyCatalog catalog = getOrCreateIntKeyCatalog(directory, hz, 20);
+        String key = catalog.getKey(3, 7);
+        catalog.close();
+
+        PartitionKeyCatalog reusedCatalog = getOrCreateIntKeyCatalog(directory, hz, 10);
+        assertEquals(32, reusedCatalog.getKeysPerPartition());
+        assertEquals(key, reusedCatalog.getKey(3, 7));
+        reusedCatalog.close();
+    }
+
+    @Test
+    public void testGetOrCreateIntKeyCatalog_extendsExistingCatalog() {
+        PartitionKeyCatalog catalog = getOrCreateIntKeyCatalog(directory, hz, 10);
+        String key = catalog.getKey(3, 7);
+        catalog.close();
+
+        PartitionKeyCatalog extendedCatalog = getOrCreateIntKeyCatalog(directory, hz, 100);
+        assertEquals(128, extendedCatalog.getKeysPerPartition());
+        assertEquals(key, extendedCatalog.getKey(3, 7));
+        assertKeysInPartition(extendedCatalog, true);
+        extendedCatalog.close();
+    }
+
+    @Test
+    public void testGetOrCreateStringKeyCatalog_isDeterministic() {
+        PartitionKeyCatalog catalog = getOrCreateStringKeyCatalog(directory, hz, 5, 10, "");
+        String key = catalog.getKey(5, 5);
+        catalog.close();
+        deleteQuiet(directory);
+
+        PartitionKeyCatalog newCatalog = getOrCreateStringKeyCatalog(directory, hz, 5, 10, "");
+        assertEquals(key, newCatalog.getKey(5, 5));
+        newCatalog.close();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetKey_indexTooLarge() {
+        PartitionKeyCatalog catalog = getOrCreateIntKeyCatalog(directory, hz, 5);
+        try {
+            catalog.getKey(0, catalog.getKeysPerPartition());
+        } finally {
+            catalog.close();
+        }
+    }
+
+    @Test
+    public void testGenerateIntKeys_withCatalog() {
+        int[] keys = generateIntKeys(100, KeyLocality.LOCAL, hz, directory);
+
+        assertEquals(100, keys.length);
+        Set<Integer> uniqueKeys = new HashSet<Integer>();
+        int[] keysPerPartition = new int[PARTITION_COUNT];
+        for (int key : keys) {
+            uniqueKeys.add(key);
+            keysPerPartition[hz.getPartitionService().getPartition(key).getPartitionId()]++;
+        }
+        assertEquals(100, uniqueKeys.size());
+        for (int count : keysPerPartition) {
+            assertEquals(10, count);
+        }
+    }
+
+    @Test
+    public void testGenerateStringKeys_withCatalog() {
+        String[] keys = generateStringKeys("prefix", 25, 10, KeyLocality.LOCAL, hz, directory);
+
+        assertEquals(25, keys.length);
+        for (String key : keys) {
+            assertEquals(10, key.length());
+            assertTrue(KeyUtils.isLocalKey(hz, key));
+        }
+    }
+
+    @Test
+    public void testGenerateIntKeys_withCatalog_remoteKeysAreDisjoint() {
+        HazelcastInstance hz2 = Hazelcast.newHazelcastInstance(hz.getConfig());
+        HazelcastInstance hz3 = Hazelcast.newHazelcastInstance(hz.getConfig());
+        try {
+            warmupPartitions(hz);
+
+            Set<Integer> uniqueKeys = new HashSet<Integer>();
+            for (HazelcastInstance instance : new HazelcastInstance[]{hz, hz2, hz3}) {
+                for (int key : generateIntKeys(20, KeyLocality.REMOTE, instance, directory)) {
+                    assertTrue(uniqueKeys.add(key));
+                }
+            }
+        } finally {
+            hz2.shutdown();
+            hz3.shutdown();
+        }
+    }
+
+    @Test
+    public void testGenerateIntKeys_withCatalog_randomKeysAreNotTakenFromCatalog() {
+        generateIntKeys(100, KeyLocality.RANDOM, hz, directory);
+
+        assertFalse(directory.exists());
+    }
+
+    private static void assertKeysInPartition(PartitionKeyCatalog catalog, boolean intKeys) {
+        PartitionService partitionService = hz.getPartitionService();
+        Set<String> uniqueKeys = new HashSet<String>();
+        for (int partitionId = 0; partitionId < catalog.getPartitionCount(); partitionId++) {
+            for (int i = 0; i < catalog.getKeysPerPartition(); i++) {
+                String key = catalog.getKey(partitionId, i);
+                Object partitionKey = intKeys ? Integer.valueOf(key) : key;
+                assertEquals(partitionId, partitionService.getPartition(partitionKey).getPartitionId());
+                assertTrue(uniqueKeys.add(key));
+            }
+        }
+    }
+}
@@ -41,9 +41,20 @@ public final class GeneratorUtils {
     }
 
     public static String generateString(int length) {
+        return generateString(RANDOM, length);
+    }
+
+    /**
+     * Generates a string with the given {@link Random} instance, so the result can be reproduced with a seeded instance.
+     *
+     * @param random the {@link Random} instance to use
+     * @param length the length of the string
+     * @return the created String
+     */
+    public static String generateString(Random random, int length) {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < length; i++) {
-            char c = ALPHABET.charAt(RANDOM.nextInt(ALPHABET.length()));
+            char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
             sb.append(c);
         }
 
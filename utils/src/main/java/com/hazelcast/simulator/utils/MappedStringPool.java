@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.simulator.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.Random;
+
+import static com.hazelcast.simulator.utils.CommonUtils.closeQuietly;
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.GeneratorUtils.generateString;
+import static java.lang.String.format;
+
+/**
+ * A read-only pool of strings, which is stored in a memory-mapped file instead of the Java heap.
+ *
+ * Large key and value arrays on the heap distort the GC behavior of the load generator. This pool keeps the strings in the page
+ * cache, so they are not scanned or copied by the GC. The strings are decoded directly from the mapped file on each
+ * {@link #get(int)}, so only a short-lived {@link String} is created per access. A hot loop can pass a reusable buffer to
+ * {@link #get(int, byte[])}, so the {@link String} is the only allocation, or read the raw bytes with
+ * {@link #getBytes(int, byte[])} without any allocation.
+ *
+ * A pool file can be shared by all Worker JVMs on the same machine: it is written to a temporary file first and then renamed,
+ * so other JVMs either see the complete file or no file at all. Pools with random content use a seed derived from the file
+ * name, so concurrent writers produce identical files.
+ *
+ * The strings have to be ISO-8859-1 characters and are limited to the configured maximum length. The pool is thread-safe.
+ */
+public final class MappedStringPool implements Closeable {
+
+    static final int MAGIC = 0x53504f4c;
+    static final int HEADER_SIZE = 12;
+
+    private static final int MAX_CHAR = 0xff;
+    private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+    private static final int LENGTH_PREFIX_SIZE = 4;
+
+    private final File file;
+    private final int size;
+    private final int maxLength;
+    private final int recordSize;
+
+    private volatile ByteBuffer buffer;
+
+    private MappedStringPool(File file, ByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new FileUtilsException("Not a valid string pool file: " + file.getAbsolutePath());
+        }
+        this.size = buffer.getInt(LENGTH_PREFIX_SIZE);
+        this.maxLength = buffer.getInt(LENGTH_PREFIX_SIZE * 2);
+        this.recordSize = LENGTH_PREFIX_SIZE + maxLength;
+        if (buffer.capacity() != getFileSize(size, maxLength)) {
+            throw new FileUtilsException("Incomplete string pool file: " + file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Opens an existing pool file.
+     *
+     * @param file the pool file
+     * @return the {@link MappedStringPool}
+     */
+    public static MappedStringPool open(File file) {
+        RandomAccessFile randomAccessFile = null;
+        try {
+            randomAccessFile = new RandomAccessFile(file, "r");
+            FileChannel channel = randomAccessFile.getChannel();
+            MappedByteBuffer mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedStringPool(file, mappedBuffer);
+        } catch (IOException e) {
+            throw new FileUtilsException(e);
+        } finally {
+            // the mapping stays valid after the file has been closed
+            closeQuietly(randomAccessFile);
+        }
+    }
+
+    /**
+     * Opens the given pool file or creates it with random strings, if it doesn't exist yet.
+     *
+     * The random strings are created with {@link GeneratorUtils#generateString(Random, int)}.
+     *
+     * @param file   the pool file
+     * @param count  the number of strings
+     * @param length the length of each string
+     * @return the {@link MappedStringPool}
+     */
+    public static MappedStringPool getOrCreateRandomStrings(File file, int count, int length) {
+        MappedStringPool pool = openIfValid(file, count, length);
+        if (pool != null) {
+            return pool;
+        }
+        return create(file, count, length, new RandomStringIterator(count, length, file.getName().hashCode()));
+    }
+
+    /**
+     * Opens the given pool file or creates it with the given strings, if it doesn't exist yet.
+     *
+     * The strings have to be the same for all callers which share a pool file.
+     *
+     * @param file      the pool file
+     * @param count     the number of strings
+     * @param maxLength the maximum length of each string
+     * @param strings   the {@link Iterator} which provides at least {@code count} strings
+     * @return the {@link MappedStringPool}
+     */
+    public static MappedStringPool getOrCreate(File file, int count, int maxLength, Iterator<String> strings) {
+        MappedStringPool pool = openIfValid(file, count, maxLength);
+        if (pool != null) {
+            return pool;
+        }
+        return create(file, count, maxLength, strings);
+    }
+
+    /**
+     * Creates a new pool file with the given strings, which replaces an existing file.
+     *
+     * @param file      the pool file
+     * @param count     the number of strings
+     * @param maxLength the maximum length of each string
+     * @param strings   the {@link Iterator} which provides at least {@code count} strings
+     * @return the {@link MappedStringPool}
+     */
+    public static MappedStringPool create(File file, int count, int maxLength, Iterator<String> strings) {
+        if (count < 0 || maxLength < 0) {
+            throw new IllegalArgumentException(format("Invalid count %d or maxLength %d", count, maxLength));
+        }
+        long fileSize = getFileSize(count, maxLength);
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(format("A string pool with %d strings of length %d exceeds the maximum size of"
+                    + " %d bytes", count, maxLength, Integer.MAX_VALUE));
+        }
+
+        File tmpFile = new File(file.getAbsoluteFile().getParentFile(), file.getName() + "." + UuidUtil.newUnsecureUuidString());
+        RandomAccessFile randomAccessFile = null;
+        try {
+            randomAccessFile = new RandomAccessFile(tmpFile, "rw");
+            randomAccessFile.setLength(fileSize);
+            MappedByteBuffer mappedBuffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            writeStrings(mappedBuffer, count, maxLength, strings);
+            mappedBuffer.force();
+        } catch (IOException e) {
+            deleteQuiet(tmpFile);
+            throw new FileUtilsException(e);
+        } catch (RuntimeException e) {
+            deleteQuiet(tmpFile);
+            throw e;
+        } finally {
+            closeQuietly(randomAccessFile);
+        }
+
+        // the rename is atomic, so other JVMs will never open an incomplete pool file
+        if (!tmpFile.renameTo(file)) {
+            deleteQuiet(tmpFile);
+            if (!file.exists()) {
+                throw new FileUtilsException(format("Could not rename [%s] to [%s]", tmpFile, file));
+            }
+        }
+        return open(file);
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the number of strings in the pool.
+     *
+     * @return the number of strings
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Returns the string at the given index.
+     *
+     * @param index the index of the string
+     * @return the string
+     */
+    public String get(int index) {
+        return get(index, new byte[maxLength]);
+    }
+
+    /**
+     * Returns the string at the given index, which is decoded via the given buffer.
+     *
+     * The buffer is just used as scratch space and can be reused for the next call by the same thread.
+     *
+     * @param index  the index of the string
+     * @param buffer the buffer with a length of at least {@link #getMaxLength()}
+     * @return the string
+     */
+    public String get(int index, byte[] buffer) {
+        int length = getBytes(index, buffer);
+        return new String(buffer, 0, length, ISO_8859_1);
+    }
+
+    /**
+     * Copies the ISO-8859-1 bytes of the string at the given index into the given array.
+     *
+     * @param index the index of the string
+     * @param bytes the array with a length of at least {@link #getMaxLength()}
+     * @return the length of the string
+     */
+    public int getBytes(int index, byte[] bytes) {
+        ByteBuffer localBuffer = buffer;
+        if (localBuffer == null) {
+            throw new IllegalStateException("MappedStringPool has been closed: " + file.getAbsolutePath());
+        }
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(format("Index %d is out of range [0, %d)", index, size));
+        }
+        int offset = HEADER_SIZE + index * recordSize;
+        int length = localBuffer.getInt(offset);
+        if (bytes.length < length) {
+            throw new IllegalArgumentException(format("Buffer of length %d is too small for a string of length %d",
+                    bytes.length, length));
+        }
+        offset += LENGTH_PREFIX_SIZE;
+
+        for (int i = 0; i < length; i++) {
+            bytes[i] = localBuffer.get(offset + i);
+        }
+        return length;
+    }
+
+    /**
+     * Releases the reference to the mapped file, which is unmapped by the GC.
+     *
+     * The pool file itself is not deleted, since it can still be used by other JVMs.
+     */
+    @Override
+    public void close() {
+        buffer = null;
+    }
+
+    private static MappedStringPool openIfValid(File file, int count, int maxLength) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            MappedStringPool pool = open(file);
+            if (pool.size() == count && pool.getMaxLength() == maxLength) {
+                return pool;
+            }
+            pool.close();
+        } catch (FileUtilsException e) {
+            EmptyStatement.ignore(e);
+        }
+        return null;
+    }
+
+    private static void writeStrings(ByteBuffer buffer, int count, int maxLength, Iterator<String> strings) {
+        buffer.putInt(MAGIC);
+        buffer.putInt(count);
+        buffer.putInt(maxLength);
+        for (int i = 0; i < count; i++) {
+            if (!strings.hasNext()) {
+                throw new IllegalArgumentException(format("Expected %d strings, but got only %d", count, i));
+            }
+            String string = strings.next();
+            int length = string.length();
+            if (length > maxLength) {
+                throw new IllegalArgumentException(format("String [%s] is longer than %d characters", string, maxLength));
+            }
+            buffer.putInt(length);
+            for (int j = 0; j < length; j++) {
+                char c = string.charAt(j);
+                if (c > MAX_CHAR) {
+                    throw new IllegalArgumentException(format("String [%s] contains a non ISO-8859-1 character", string));
+                }
+                buffer.put((byte) c);
+            }
+            buffer.position(buffer.position() + maxLength - length);
+        }
+    }
+
+    private static long getFileSize(int count, int maxLength) {
+        return HEADER_SIZE + (long) count * (LENGTH_PREFIX_SIZE + maxLength);
+    }
+
+    private static final class RandomStringIterator implements Iterator<String> {
+
+        private final Random random;
+        private final int count;
+        private final int length;
+
+        private int current;
+
+        private RandomStringIterator(int count, int length, long seed) {
+            this.random = new Random(seed);
+            this.count = count;
+            this.length = length;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current < count;
+        }
+
+        @Override
+        public String next() {
+            current++;
+            return generateString(random, length);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -41,6 +41,15 @@ public class GeneratorUtilsTest {
         assertEqualsStringFormat("Expected generated string length to be %d, but was %d", 42, actual.length());
     }
 
+    @Test
+    public void testGenerateString_withSeededRandom() throws Exception {
+        String first = generateString(new Random(23), 42);
+        String second = generateString(new Random(23), 42);
+
+        assertEqualsStringFormat("Expected generated string length to be %d, but was %d", 42, first.length());
+        assertEqualsStringFormat("Expected generated strings to be equal (%s), but was %s", first, second);
+    }
+
     @Test
     public void testGenerateByteArray() throws Exception {
         byte[] actual = generateByteArray(new Random(), 23);
@@ -0,0 +1,190 @@
+package com.hazelcast.simulator.utils;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.hazelcast.simulator.utils.FileUtils.deleteQuiet;
+import static com.hazelcast.simulator.utils.FileUtils.writeText;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class MappedStringPoolTest {
+
+    private final File file = new File("MappedStringPoolTest.pool");
+
+    @After
+    public void tearDown() {
+        deleteQuiet(file);
+    }
+
+    @Test
+    public void testCreate() {
+        List<String> strings = Arrays.asList("a", "", "hello", "äöü");
+
+        MappedStringPool pool = MappedStringPool.create(file, strings.size(), 5, strings.iterator());
+
+        assertEquals(4, pool.size());
+        assertEquals(5, pool.getMaxLength());
+        assertEquals(file, pool.getFile());
+        for (int i = 0; i < strings.size(); i++) {
+            assertEquals(strings.get(i), pool.get(i));
+        }
+        assertTrue(file.isFile());
+    }
+
+    @Test
+    public void testCreate_noTemporaryFilesLeft() {
+        MappedStringPool.create(file, 1, 1, Collections.singletonList("a").iterator());
+
+        File[] files = file.getAbsoluteFile().getParentFile().listFiles();
+        for (File candidate : files) {
+            assertFalse(candidate.getName().startsWith(file.getName() + "."));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreate_stringTooLong() {
+        MappedStringPool.create(file, 1, 3, Collections.singletonList("toolong").iterator());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreate_notEnoughStrings() {
+        MappedStringPool.create(file, 2, 3, Collections.singletonList("a").iterator());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreate_nonLatin1Character() {
+        MappedStringPool.create(file, 1, 3, Collections.singletonList("€").iterator());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreate_tooLarge() {
+        MappedStringPool.create(file, Integer.MAX_VALUE, 100, Collections.<String>emptyList().iterator());
+    }
+
+    @Test
+    public void testGetOrCreateRandomStrings() {
+        MappedStringPool pool = MappedStringPool.getOrCreateRandomStrings(file, 100, 10);
+
+        assertEquals(100, pool.size());
+        for (int i = 0; i < pool.size(); i++) {
+            assertEquals(10, pool.get(i).length());
+        }
+    }
+
+    @Test
+    public void testGetOrCreateRandomStrings_isDeterministic() {
+        MappedStringPool pool = MappedStringPool.getOrCreateRandomStrings(file, 100, 10);
+        String first = pool.get(0);
+        String last = pool.get(99);
+        pool.close();
+        deleteQuiet(file);
+
+        MappedStringPool newPool = MappedStringPool.getOrCreateRandomStrings(file, 100, 10);
+        assertEquals(first, newPool.get(0));
+        assertEquals(last, newPool.get(99));
+    }
+
+    @Test
+    public void testGetOrCreate_opensExistingFile() {
+        MappedStringPool.create(file, 2, 5, Arrays.asList("first", "other").iterator());
+
+        MappedStringPool pool = MappedStringPool.getOrCreate(file, 2, 5, Arrays.asList("new", "new").iterator());
+
+        assertEquals("first", pool.get(0));
+    }
+
+    @Test
+    public void testGetOrCreate_replacesFileWithOtherDimensions() {
+        MappedStringPool.create(file, 1, 5, Collections.singletonList("first").iterator());
+
+        MappedStringPool pool = MappedStringPool.getOrCreate(file, 2, 3, Arrays.asList("new", "new").iterator());
+
+        assertEquals(2, pool.size());
+        assertEquals("new", pool.get(0));
+    }
+
+    @Test
+    public void testGetOrCreate_replacesInvalidFile() {
+        writeText("no pool", file);
+
+        MappedStringPool pool = MappedStringPool.getOrCreate(file, 1, 3, Collections.singletonList("new").iterator());
+
+        assertEquals("new", pool.get(0));
+    }
+
+    @Test(expected = FileUtilsException.class)
+    public void testOpen_invalidFile() {
+        writeText("no pool file", file);
+
+        MappedStringPool.open(file);
+    }
+
+    @Test(expected = FileUtilsException.class)
+    public void testOpen_notExistingFile() {
+        MappedStringPool.open(file);
+    }
+
+    @Test
+    public void testOpen_sharedFile() {
+        MappedStringPool pool = MappedStringPool.getOrCreateRandomStrings(file, 10, 10);
+        MappedStringPool otherPool = MappedStringPool.open(file);
+
+        assertNotSame(pool, otherPool);
+        assertEquals(pool.get(5), otherPool.get(5));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGet_negativeIndex() {
+        MappedStringPool.getOrCreateRandomStrings(file, 10, 10).get(-1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGet_indexTooLarge() {
+        MappedStringPool.getOrCreateRandomStrings(file, 10, 10).get(10);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGet_afterClose() {
+        MappedStringPool pool = MappedStringPool.getOrCreateRandomStrings(file, 10, 10);
+        pool.close();
+
+        pool.get(0);
+    }
+
+    @Test
+    public void testGet_withBuffer() {
+        List<String> strings = Arrays.asList("hello", "", "äöü");
+        MappedStringPool pool = MappedStringPool.create(file, strings.size(), 5, strings.iterator());
+
+        byte[] buffer = new byte[pool.getMaxLength()];
+        for (int i = 0; i < strings.size(); i++) {
+            assertEquals(strings.get(i), pool.get(i, buffer));
+        }
+    }
+
+    @Test
+    public void testGetBytes() {
+        List<String> strings = Arrays.asList("hello", "äöü");
+        MappedStringPool pool = MappedStringPool.create(file, strings.size(), 5, strings.iterator());
+
+        byte[] bytes = new byte[5];
+        assertEquals(3, pool.getBytes(1, bytes));
+        assertEquals((byte) 'ä', bytes[0]);
+        assertEquals((byte) 'ü', bytes[2]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetBytes_bufferTooSmall() {
+        MappedStringPool pool = MappedStringPool.getOrCreateRandomStrings(file, 10, 10);
+
+        pool.getBytes(0, new byte[9]);
+    }
+}
@@ -16,6 +16,7 @@
 package com.hazelcast.simulator.visualizer.io;
 
 import com.hazelcast.simulator.probes.Result;
+import com.hazelcast.simulator.probes.binary.ResultBinaryUtils;
 import com.hazelcast.simulator.probes.xml.ResultXmlUtils;
 import com.hazelcast.simulator.visualizer.data.Model;
 
@@ -35,7 +36,10 @@ public class ResultParserWorker extends SwingWorker<Result, Void> {
 
     @Override
     protected Result doInBackground() throws Exception {
-        return ResultXmlUtils.fromXml(file);
+        if (file.getName().endsWith(".xml")) {
+            return ResultXmlUtils.fromXml(file);
+        }
+        return ResultBinaryUtils.fromBinary(file);
     }
 
     @Override